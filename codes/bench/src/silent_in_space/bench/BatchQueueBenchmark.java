@@ -0,0 +1,46 @@
+package silent_in_space.bench;
+
+import org.openjdk.jmh.annotations.*;
+import silent_in_space.model.Utils.BatchQueue;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+// Une image de l'interface: nbMessages messages déposés puis repris par le thread JavaFX. Vidage d'un coup
+// (BatchQueue) contre une file concurrente du JDK vidée élément par élément.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchQueueBenchmark {
+
+    private static final String MESSAGE = "Ghainkix enters the room.";
+
+    @Param({"10", "1000"})
+    public int nbMessages;
+
+    private final BatchQueue<String> batchQueue = new BatchQueue<>();
+    private final ConcurrentLinkedQueue<String> linkedQueue = new ConcurrentLinkedQueue<>();
+
+    @Benchmark
+    public List<String> batchFrame() {
+        for (int i = 0; i < nbMessages; i++)
+            batchQueue.offer(MESSAGE);
+
+        return batchQueue.drain();
+    }
+
+    @Benchmark
+    public int linkedFrame() {
+        for (int i = 0; i < nbMessages; i++)
+            linkedQueue.offer(MESSAGE);
+
+        int n = 0;
+        while (linkedQueue.poll() != null)
+            n++;
+        return n;
+    }
+}
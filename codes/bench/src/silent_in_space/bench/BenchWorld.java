@@ -0,0 +1,87 @@
+package silent_in_space.bench;
+
+import silent_in_space.model.Characters.NPC;
+import silent_in_space.model.Doors.Door;
+import silent_in_space.model.Game.MessageChannel;
+import silent_in_space.model.Game.SIS;
+import silent_in_space.model.Items.Artefact;
+import silent_in_space.model.Location.Room;
+import silent_in_space.model.Location.Ship;
+import silent_in_space.model.Utils.Scalar2D;
+
+import silent_in_space.model.World.ShipGenerator;
+import silent_in_space.model.World.WorldHandler;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+/* -----------------------------------------------------------------------------
+ * Mondes de test des benchmarks:
+ *
+ * Rôle: Construit une partie muette (les messages partent dans un canal sans
+ * abonné lié au thread du benchmark) et des pièces de taille paramétrable
+ * rattachées au vaisseau par défaut, ou des vaisseaux générés de N pièces.
+ * ----------------------------------------------------------------------------- */
+
+public final class BenchWorld {
+
+    private BenchWorld() {
+    }
+
+    // Nouvelle partie sur le vaisseau par défaut, sans sortie
+    public static SIS newGame() {
+        MessageChannel.bind(new MessageChannel());
+        return new SIS(message -> {});
+    }
+
+    // Pièce contenant n objets, n portes et n NPCs
+    public static Room fillRoom(Ship ship, int id, int n) {
+        Room room = new Room(ship, id, "Bench room " + id);
+        Room destination = new Room(ship, id + 1, "Bench room " + (id + 1));
+
+        for(int i = 0; i < n; i++) {
+            Scalar2D pos = new Scalar2D(i % 11, (i / 11) % 11);
+            room.getInventory().addItem(new Artefact("item" + i, "Bench item " + i, pos));
+            room.addDoor(new Door("door" + i, pos), destination);
+            new NPC("npc" + i, "Bench npc " + i, false, true, new ArrayList<>(), room);
+        }
+
+        return room;
+    }
+
+    // Monde de nbRooms pièces en couloir (portes dans les deux sens), avec un objet par pièce et un
+    // NPC toutes les 10 pièces, envoyé enregistrement par enregistrement au récepteur:
+    public static void writeWorld(WorldHandler h, int nbRooms) throws IOException {
+        for(int i = 0; i < nbRooms; i++)
+            h.room(i, "Bench room " + i + ": a long and very descriptive sentence.");
+
+        for(int i = 0; i < nbRooms; i++) {
+            if(i + 1 < nbRooms)
+                h.door(i, "door" + (i + 1), 10, 5, i + 1);
+            if(i > 0)
+                h.door(i, "door" + (i - 1), 0, 5, i - 1);
+        }
+
+        for(int i = 0; i < nbRooms; i++) {
+            h.artefact("room:" + i, "item" + i, 1, 1, "Bench item " + i);
+
+            if(i % 10 == 0)
+                h.npc(i, "npc" + i, false, true, "Bench npc " + i, "Hello!");
+        }
+
+        h.player(0);
+    }
+
+    // Vaisseau généré de nbRooms pièces (toujours le même pour une même taille)
+    public static Ship generatedShip(int nbRooms) {
+        MessageChannel.bind(new MessageChannel());
+
+        try {
+            return new Ship(new ShipGenerator(2021, nbRooms));
+        }
+
+        catch(IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package silent_in_space.bench;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/* -----------------------------------------------------------------------------
+ * Lanceur des benchmarks du modèle:
+ *
+ * Accepte les options habituelles de JMH (ex: "Converter -p entitiesPerRoom=100").
+ * Sauf indication contraire (-rf / -rff), les résultats sont écrits au format
+ * JSON dans jmh-result.json pour pouvoir suivre les régressions.
+ * ----------------------------------------------------------------------------- */
+
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cli);
+
+        if(!cli.getResultFormat().hasValue())
+            options.resultFormat(ResultFormatType.JSON);
+
+        if(!cli.getResult().hasValue())
+            options.result("jmh-result.json");
+
+        new Runner(options.build()).run();
+    }
+}
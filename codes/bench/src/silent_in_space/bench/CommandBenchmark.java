@@ -0,0 +1,113 @@
+package silent_in_space.bench;
+
+import org.openjdk.jmh.annotations.*;
+import silent_in_space.model.Characters.NPC;
+import silent_in_space.model.Characters.Player;
+import silent_in_space.model.Commands.Command;
+import silent_in_space.model.Commands.UnknownVerb;
+import silent_in_space.model.Commands.Verb;
+import silent_in_space.model.Game.SIS;
+import silent_in_space.model.Items.File;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Coût d'une commande complète pour chaque verbe (hors quit/save/load, cf. SaveBenchmark):
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandBenchmark {
+
+    @Param({"ATTACK", "BACK", "DROP", "GIVE", "GO", "HELP", "INFO", "INVENTORY", "LOOK", "SEARCH", "TAKE", "TALK", "USE"})
+    public String verb;
+
+    private Player player;
+    private NPC kilen;
+    private String[] script;
+    private String[] scriptVerbs;
+    private List<List<String>> scriptArgs;
+    private int next;
+
+    //État de départ des deux combattants, remis après chaque attaque:
+    private int playerHp;
+    private int kilenHp;
+    private boolean kilenHostile;
+    private boolean kilenAlly;
+
+    @Setup(Level.Trial)
+    public void setUp() throws UnknownVerb {
+        SIS game = BenchWorld.newGame();
+        player = game.getShip().getPlayer();
+        kilen = game.getShip().getNPC("Kilen");
+        player.getInventory().addItem(new File("benchFile", "A bench file", "content"));
+
+        //Les scripts ramènent le monde dans son état de départ pour que chaque itération mesure la même chose:
+        switch(Verb.valueOf(verb)) {
+            case ATTACK -> script = new String[]{"attack Kilen"};
+            case BACK -> {
+                player.getDispatcher().dispatch("use passT doorT");
+                player.getDispatcher().dispatch("go doorT");
+                script = new String[]{"back"};
+            }
+            case DROP -> script = new String[]{"drop passT", "take passT"};
+            case GIVE -> script = new String[]{"give benchFile Kilen"};
+            case GO -> {
+                player.getDispatcher().dispatch("use passT doorT");
+                script = new String[]{"go doorT"};
+            }
+            case HELP -> script = new String[]{"help"};
+            case INFO -> script = new String[]{"info"};
+            case INVENTORY -> script = new String[]{"inventory"};
+            case LOOK -> script = new String[]{"look", "look Kilen", "look doorT", "look statue"};
+            case SEARCH -> script = new String[]{"search Kilen"};
+            case TAKE -> script = new String[]{"take statue", "drop statue"};
+            case TALK -> script = new String[]{"talk Kilen"};
+            case USE -> script = new String[]{"use HealthStation Me", "use statue"};
+        }
+
+        //Chaque ligne est exécutée avec son propre verbe (les lignes qui remettent le monde en état n'ont pas
+        //forcément celui mesuré):
+        scriptVerbs = Arrays.stream(script).map(line -> line.split(" ")[0]).toArray(String[]::new);
+        scriptArgs = Arrays.stream(script)
+                .map(line -> Arrays.asList(line.split(" ")).subList(1, line.split(" ").length))
+                .toList();
+        next = 0;
+
+        playerHp = player.getHp();
+        kilenHp = kilen.getHp();
+        kilenHostile = kilen.isHostile();
+        kilenAlly = kilen.isAlly();
+    }
+
+    @Benchmark
+    public void dispatch() throws UnknownVerb {
+        player.getDispatcher().dispatch(script[next]);
+        afterCommand();
+    }
+
+    @Benchmark
+    public void commandExec() throws UnknownVerb {
+        new Command(player, scriptVerbs[next], scriptArgs.get(next)).exec();
+        afterCommand();
+    }
+
+    private void afterCommand() {
+        //Le PNJ ne peut pas rendre l'objet par une commande, on le lui reprend directement:
+        if(kilen.getInventory().getItem("benchFile") != null)
+            kilen.getInventory().moveItem("benchFile", player.getInventory());
+
+        //Une attaque blesse Kilen (qui riposte) et le fâche: on remet les deux combattants comme au départ
+        if(kilen.getHp() != kilenHp || player.getHp() != playerHp) {
+            kilen.restore(kilen.getRoom(), kilen.getPreviousRoom(), kilenHp);
+            player.restore(player.getRoom(), player.getPreviousRoom(), playerHp);
+            kilen.setHostile(kilenHostile);
+            kilen.setAlly(kilenAlly);
+        }
+
+        next = (next + 1) % script.length;
+    }
+}
@@ -0,0 +1,72 @@
+package silent_in_space.bench;
+
+import org.openjdk.jmh.annotations.*;
+import silent_in_space.model.Characters.Player;
+import silent_in_space.model.Commands.Converter;
+import silent_in_space.model.Commands.StringRequestUnmatched;
+import silent_in_space.model.Game.SIS;
+import silent_in_space.model.Location.Room;
+
+import java.util.concurrent.TimeUnit;
+
+// Résolution des arguments d'une commande dans une pièce de plus en plus peuplée:
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConverterBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int entitiesPerRoom;
+
+    private Converter converter;
+    private String lastItem;
+    private String lastDoor;
+    private String lastNPC;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SIS game = BenchWorld.newGame();
+        Player player = game.getShip().getPlayer();
+        Room room = BenchWorld.fillRoom(game.getShip(), 1000, entitiesPerRoom);
+        player.changeRoom(room);
+
+        converter = new Converter(player);
+        lastItem = "item" + (entitiesPerRoom - 1);
+        lastDoor = "door" + (entitiesPerRoom - 1);
+        lastNPC = "npc" + (entitiesPerRoom - 1);
+    }
+
+    @Benchmark
+    public Object convertItem() throws StringRequestUnmatched {
+        return converter.convertItem(lastItem);
+    }
+
+    @Benchmark
+    public Object convertDoor() throws StringRequestUnmatched {
+        return converter.convertDoor(lastDoor);
+    }
+
+    @Benchmark
+    public Object convertLookableDoor() throws StringRequestUnmatched {
+        return converter.convertLookable(lastDoor);
+    }
+
+    @Benchmark
+    public Object convertUsableByActor() throws StringRequestUnmatched {
+        return converter.convertUsableBy(lastNPC);
+    }
+
+    @Benchmark
+    public Object convertLookableMiss() {
+        try {
+            return converter.convertLookable("nothing");
+        }
+
+        catch(StringRequestUnmatched e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package silent_in_space.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import silent_in_space.model.Containers.Inventory;
+import silent_in_space.model.Game.GameEventListener;
+import silent_in_space.model.Game.Message;
+import silent_in_space.model.Game.MessageChannel;
+import silent_in_space.model.Items.Artefact;
+import silent_in_space.model.Items.Item;
+
+import java.util.concurrent.TimeUnit;
+
+// Un objet qui passe d'un inventaire à l'autre et retour: sans abonné, avec un abonné au bus d'événements,
+// et en prévenant l'interface par un message texte qu'elle devrait relire (ce que faisaient les contrôleurs)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameEventsBenchmark {
+
+    private MessageChannel channel;
+    private Inventory inventory;
+    private Inventory other;
+    private Item item;
+
+    @Setup(Level.Trial)
+    public void setUp(Blackhole bh) {
+        channel = new MessageChannel();
+        MessageChannel.bind(channel);
+        inventory = new Inventory();
+        other = new Inventory();
+        item = new Artefact("statue", "A statue");
+        inventory.addItem(item);
+
+        channel.subscribe(bh::consume);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        MessageChannel.unbind();
+    }
+
+    private void subscribe(Blackhole bh) {
+        channel.getEvents().subscribe(new GameEventListener() {
+            @Override
+            public void itemMoved(Item moved, Inventory from, Inventory to) {
+                bh.consume(to);
+            }
+        });
+    }
+
+    @Benchmark
+    public void noSubscriber() {
+        inventory.moveItem(item, other);
+        other.moveItem(item, inventory);
+    }
+
+    @State(Scope.Thread)
+    public static class Subscribed {
+        @Setup(Level.Trial)
+        public void setUp(GameEventsBenchmark bench, Blackhole bh) { bench.subscribe(bh); }
+    }
+
+    @Benchmark
+    public void typedEvent(Subscribed subscribed) {
+        inventory.moveItem(item, other);
+        other.moveItem(item, inventory);
+    }
+
+    @Benchmark
+    public void stringMessage() {
+        inventory.moveItem(item, other);
+        Message.sendGameMessage(item.getTag() + " was moved.");
+        other.moveItem(item, inventory);
+        Message.sendGameMessage(item.getTag() + " was moved.");
+    }
+}
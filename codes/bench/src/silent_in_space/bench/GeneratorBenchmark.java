@@ -0,0 +1,60 @@
+package silent_in_space.bench;
+
+import org.openjdk.jmh.annotations.*;
+import silent_in_space.model.Game.MessageChannel;
+import silent_in_space.model.Location.Ship;
+import silent_in_space.model.World.BinaryWorldWriter;
+import silent_in_space.model.World.ShipGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// Génération d'un vaisseau de nbRooms pièces, seule (encodée vers un flux vide) ou jusqu'au Ship construit:
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class GeneratorBenchmark {
+
+    @Param({"10", "10000", "100000", "1000000"})
+    public int nbRooms;
+
+    private ForkJoinPool sequential;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MessageChannel.bind(new MessageChannel());
+        sequential = new ForkJoinPool(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sequential.shutdown();
+    }
+
+    @Benchmark
+    public void generate() throws IOException {
+        try(BinaryWorldWriter w = new BinaryWorldWriter(OutputStream.nullOutputStream())) {
+            new ShipGenerator(2021, nbRooms).read(w);
+        }
+    }
+
+    @Benchmark
+    public void generateOneThread() throws IOException {
+        ShipGenerator generator = new ShipGenerator(2021, nbRooms);
+        generator.setPool(sequential);
+
+        try(BinaryWorldWriter w = new BinaryWorldWriter(OutputStream.nullOutputStream())) {
+            generator.read(w);
+        }
+    }
+
+    @Benchmark
+    public Ship buildShip() throws IOException {
+        return new Ship(new ShipGenerator(2021, nbRooms));
+    }
+}
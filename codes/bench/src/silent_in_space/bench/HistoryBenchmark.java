@@ -0,0 +1,70 @@
+package silent_in_space.bench;
+
+import org.openjdk.jmh.annotations.*;
+import silent_in_space.model.Characters.Player;
+import silent_in_space.model.Doors.Door;
+import silent_in_space.model.Game.MessageChannel;
+import silent_in_space.model.Location.Ship;
+import silent_in_space.model.Save.History;
+import silent_in_space.model.Save.SaveSlot;
+import silent_in_space.model.Save.ShipState;
+import silent_in_space.model.World.ShipGenerator;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Un tour (porte au hasard) puis sa mémorisation pour undo: version persistante qui ne recopie que les pièces
+// touchées (commit) contre une copie de tout l'état de la partie à chaque tour (snapshot). frozenSave: ce qu'une
+// sauvegarde coûte au thread du jeu quand l'historique fige la partie (History.snapshot()), l'encodage passant
+// en tâche de fond.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class HistoryBenchmark {
+
+    @Param({"1000", "100000"})
+    public int nbRooms;
+
+    private Ship ship;
+    private Player player;
+    private History history;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        MessageChannel.bind(new MessageChannel());
+        ship = new Ship(new ShipGenerator(2021, nbRooms));
+        player = ship.getPlayer();
+        history = new History(ship, History.states(ship));
+        random = new SplittableRandom(7);
+    }
+
+    private void walk() {
+        List<Door> doors = player.getRoom().getDoors();
+        player.go(doors.get(random.nextInt(doors.size())));
+    }
+
+    @Benchmark
+    public boolean commit() throws IOException {
+        walk();
+        return history.commit();
+    }
+
+    @Benchmark
+    public SaveSlot snapshot() throws IOException {
+        walk();
+        return SaveSlot.capture(0, ship, 0);
+    }
+
+    @Benchmark
+    public ShipState frozenSave() throws IOException {
+        walk();
+        history.commit();
+        return history.snapshot();
+    }
+}
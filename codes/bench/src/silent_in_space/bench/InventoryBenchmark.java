@@ -0,0 +1,53 @@
+package silent_in_space.bench;
+
+import org.openjdk.jmh.annotations.*;
+import silent_in_space.model.Containers.Inventory;
+import silent_in_space.model.Game.MessageChannel;
+import silent_in_space.model.Items.Artefact;
+import silent_in_space.model.Items.Item;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InventoryBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int nbItems;
+
+    private Inventory inventory;
+    private Inventory other;
+    private String lastTag;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MessageChannel.bind(new MessageChannel());
+        inventory = new Inventory();
+        other = new Inventory();
+
+        for(int i = 0; i < nbItems; i++)
+            inventory.addItem(new Artefact("item" + i, "Bench item " + i));
+
+        lastTag = "item" + (nbItems - 1);
+    }
+
+    @Benchmark
+    public Item[] getItems() {
+        return inventory.getItems();
+    }
+
+    @Benchmark
+    public Item getItem() {
+        return inventory.getItem(lastTag);
+    }
+
+    @Benchmark
+    public void moveItem() {
+        inventory.moveItem(lastTag, other);
+        other.moveItem(lastTag, inventory);
+    }
+}
@@ -0,0 +1,81 @@
+package silent_in_space.bench;
+
+import org.openjdk.jmh.annotations.*;
+import silent_in_space.model.Game.SIS;
+import silent_in_space.model.Save.Journal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Coût du journal pour le jeu: un tour ajouté au journal (écrit par le thread du journal), et un tour
+// complet d'une partie journalisée ou non (instantané à chaque changement de pièce compris)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JournalBenchmark {
+
+    private static final List<String> TURN = List.of("use computer", "print", "recipe", "quit");
+
+    private Path dir;
+    private Path gameDir;
+    private Journal journal;
+    private SIS game;
+    private SIS journaledGame;
+    private int turn;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        game = BenchWorld.newGame();
+        game.playTurn("use passT doorT");
+
+        dir = Files.createTempDirectory("sis-journal");
+        journal = new Journal(dir);
+        journal.setSnapshotOnRoomChange(false);
+        journal.start(game.getShip());
+
+        gameDir = Files.createTempDirectory("sis-journal");
+        journaledGame = BenchWorld.newGame();
+        journaledGame.startJournal(gameDir);
+        journaledGame.playTurn("use passT doorT");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        journal.discard();
+        journaledGame.getJournal().discard();
+        Files.delete(dir);
+        Files.delete(gameDir);
+    }
+
+    @Benchmark
+    public void record() throws IOException {
+        journal.record(TURN, game.getShip());
+    }
+
+    // Aller-retour entre les pièces 21 et 22 (un changement de pièce par tour)
+    @Benchmark
+    public void playTurn() {
+        game.playTurn((turn++ & 1) == 0 ? "go doorT" : "back");
+    }
+
+    @Benchmark
+    public void playTurnJournaled() {
+        journaledGame.playTurn((turn++ & 1) == 0 ? "go doorT" : "back");
+    }
+
+    @Benchmark
+    public void look() {
+        game.playTurn("look");
+    }
+
+    @Benchmark
+    public void lookJournaled() {
+        journaledGame.playTurn("look");
+    }
+}
@@ -0,0 +1,78 @@
+package silent_in_space.bench;
+
+import org.openjdk.jmh.annotations.*;
+import silent_in_space.model.Characters.Player;
+import silent_in_space.model.Game.MessageChannel;
+import silent_in_space.model.Location.Ship;
+import silent_in_space.model.Save.Journal;
+import silent_in_space.model.World.ShipGenerator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Tour journalisé avec changement de pièce sur un vaisseau généré, tout en mémoire (residentRooms = 0) ou paginé:
+// instantané complet (pièces changées inconnues) ou partiel (seules les deux pièces du déplacement)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class JournalSnapshotBenchmark {
+
+    private static final List<String> TURN = List.of("go door");
+
+    @Param({"1000", "100000"})
+    public int nbRooms;
+
+    @Param({"0", "1000"})
+    public int residentRooms;
+
+    private Path dir;
+    private Journal journal;
+    private Ship ship;
+    private Player player;
+    private int[] rooms;
+    private int turn;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        MessageChannel.bind(new MessageChannel());
+        ShipGenerator generator = new ShipGenerator(2021, nbRooms);
+        ship = residentRooms > 0 ? new Ship(generator, residentRooms) : new Ship(generator);
+        player = ship.getPlayer();
+
+        int here = player.getRoom().getID();
+        rooms = new int[] {here, here == ShipGenerator.FIRST_ID ? here + 1 : ShipGenerator.FIRST_ID};
+
+        dir = Files.createTempDirectory("sis-journal");
+        journal = new Journal(dir);
+        journal.start(ship);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        journal.discard();
+        Files.delete(dir);
+        ship.close();
+    }
+
+    private void move() {
+        player.changeRoom(ship.getRoom(rooms[++turn & 1]));
+    }
+
+    @Benchmark
+    public void roomChangeFull() throws IOException {
+        move();
+        journal.record(TURN, ship);
+    }
+
+    @Benchmark
+    public void roomChangePartial() throws IOException {
+        move();
+        journal.record(TURN, ship, rooms);
+    }
+}
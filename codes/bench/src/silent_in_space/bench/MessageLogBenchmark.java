@@ -0,0 +1,55 @@
+package silent_in_space.bench;
+
+import org.openjdk.jmh.annotations.*;
+import silent_in_space.model.Game.MessageLog;
+
+import java.util.concurrent.TimeUnit;
+
+// Ajout d'un message après nbMessages autres: historique borné (MessageLog) contre l'ancienne
+// concaténation de tout le texte du dialogue (qui recopiait l'historique entier à chaque message).
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageLogBenchmark {
+
+    private static final String MESSAGE = "Ghainkix enters the room.";
+
+    @Param({"1000", "100000"})
+    public int nbMessages;
+
+    private MessageLog log;
+    private String text;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        log = new MessageLog();
+        StringBuilder sb = new StringBuilder();
+
+        for (int i = 0; i < nbMessages; i++) {
+            log.append(MESSAGE);
+            sb.append("\n\n").append(MESSAGE);
+        }
+
+        text = sb.toString();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        log.close();
+    }
+
+    @Benchmark
+    public int append() {
+        log.append(MESSAGE);
+        return log.size();
+    }
+
+    @Benchmark
+    public int concatenate() {
+        String t = text + "\n\n" + MESSAGE;
+        return t.length();
+    }
+}
@@ -0,0 +1,50 @@
+package silent_in_space.bench;
+
+import org.openjdk.jmh.annotations.*;
+import silent_in_space.model.Location.OccupancyGrid;
+import silent_in_space.model.Location.Room;
+import silent_in_space.model.Utils.Scalar2D;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Choix d'une case libre dans une pièce dont nbTaken cases sur 121 sont prises: tirage dans la liste des
+// cases libres (OccupancyGrid) contre l'ancien tirage au hasard recommencé jusqu'à tomber sur une case libre.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OccupancyBenchmark {
+
+    @Param({"10", "100", "120"})
+    public int nbTaken;
+
+    private OccupancyGrid grid;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        grid = new OccupancyGrid(Room.NB_COLS, Room.NB_LINES);
+        random = new Random(7);
+
+        for (int i = 0; i < nbTaken; i++)
+            grid.place(i, grid.randomFree(random));
+    }
+
+    @Benchmark
+    public Scalar2D freeList() {
+        return grid.randomFree(random);
+    }
+
+    @Benchmark
+    public Scalar2D rejectionSampling() {
+        while (true) {
+            int col = random.nextInt(grid.getNbCols());
+            int line = random.nextInt(grid.getNbLines());
+            if (grid.isFree(col, line))
+                return new Scalar2D(col, line);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package silent_in_space.bench;
+
+import org.openjdk.jmh.annotations.*;
+import silent_in_space.model.Characters.Player;
+import silent_in_space.model.Doors.Door;
+import silent_in_space.model.Game.MessageChannel;
+import silent_in_space.model.Location.Room;
+import silent_in_space.model.Location.Ship;
+import silent_in_space.model.World.ShipGenerator;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Déplacements et accès aux pièces d'un vaisseau généré, tout en mémoire (residentRooms = 0) ou paginé:
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PagingBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int nbRooms;
+
+    @Param({"0", "1000"})
+    public int residentRooms;
+
+    private Ship ship;
+    private Player player;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        MessageChannel.bind(new MessageChannel());
+        ShipGenerator generator = new ShipGenerator(2021, nbRooms);
+        ship = residentRooms > 0 ? new Ship(generator, residentRooms) : new Ship(generator);
+        player = ship.getPlayer();
+        random = new SplittableRandom(7);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        ship.close();
+    }
+
+    // Le joueur prend une porte au hasard (les pièces voisines sont souvent encore en mémoire)
+    @Benchmark
+    public Room walk() {
+        List<Door> doors = player.getRoom().getDoors();
+        player.go(doors.get(random.nextInt(doors.size())));
+        return player.getRoom();
+    }
+
+    // Pièce au hasard: presque toujours relue depuis le fichier de pagination
+    @Benchmark
+    public Room randomRoom() {
+        return ship.getRoom(ShipGenerator.FIRST_ID + random.nextInt(nbRooms));
+    }
+}
@@ -0,0 +1,55 @@
+package silent_in_space.bench;
+
+import org.openjdk.jmh.annotations.*;
+import silent_in_space.model.Doors.Door;
+import silent_in_space.model.Location.Room;
+import silent_in_space.model.Location.Ship;
+import silent_in_space.model.Location.ShipGraph;
+import silent_in_space.model.World.ShipGenerator;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PathBenchmark {
+
+    @Param({"10", "10000", "100000", "1000000"})
+    public int nbRooms;
+
+    private Ship ship;
+    private Room[] rooms;
+    private Room from;
+    private Room to;
+    private int nextTarget;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ship = BenchWorld.generatedShip(nbRooms);
+        rooms = ship.getRooms().toArray(new Room[0]);
+        from = ship.getPlayer().getRoom();
+        to = ship.getRoom(ShipGenerator.FIRST_ID + nbRooms - 1);
+        ship.getGraph().findPath(from, to);
+    }
+
+    @Benchmark
+    public ShipGraph buildGraph() {
+        return new ShipGraph(ship);
+    }
+
+    // Arrivée différente à chaque appel: le cache (CACHE_SIZE arbres) ne sert jamais
+    @Benchmark
+    public List<Door> findPathUncached() {
+        nextTarget = (nextTarget + 7919) % rooms.length;
+        return ship.getGraph().findPath(from, rooms[nextTarget]);
+    }
+
+    @Benchmark
+    public List<Door> findPathCached() {
+        return ship.getGraph().findPath(from, to);
+    }
+}
@@ -0,0 +1,54 @@
+package silent_in_space.bench;
+
+import org.openjdk.jmh.annotations.*;
+import silent_in_space.model.Characters.NPC;
+import silent_in_space.model.Doors.Door;
+import silent_in_space.model.Game.SIS;
+import silent_in_space.model.Location.Room;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoomBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int entitiesPerRoom;
+
+    private Room room;
+    private Room destination;
+    private String lastDoor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SIS game = BenchWorld.newGame();
+        room = BenchWorld.fillRoom(game.getShip(), 1000, entitiesPerRoom);
+        game.getShip().getPlayer().changeRoom(room);
+        destination = room.getDestination(room.getDoor(0));
+        lastDoor = "door" + (entitiesPerRoom - 1);
+    }
+
+    @Benchmark
+    public Door getDoorByTag() {
+        return room.getDoor(lastDoor);
+    }
+
+    @Benchmark
+    public Door getDoorByRoom() {
+        return room.getDoor(destination);
+    }
+
+    @Benchmark
+    public Door getDoorByIndex() {
+        return room.getDoor(entitiesPerRoom - 1);
+    }
+
+    @Benchmark
+    public NPC[] getNPCs() {
+        return room.getNPCs();
+    }
+}
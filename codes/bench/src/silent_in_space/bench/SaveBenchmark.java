@@ -0,0 +1,110 @@
+package silent_in_space.bench;
+
+import org.openjdk.jmh.annotations.*;
+import silent_in_space.model.Game.MessageChannel;
+import silent_in_space.model.Location.Ship;
+import silent_in_space.model.Save.SaveReader;
+import silent_in_space.model.Save.SaveWriter;
+import silent_in_space.model.World.BinaryWorldWriter;
+import silent_in_space.model.World.ShipGenerator;
+import silent_in_space.model.World.WorldSource;
+
+import java.io.*;
+import java.util.concurrent.TimeUnit;
+
+// Sauvegarde et chargement d'une partie sur le vaisseau par défaut (nbRooms = 0) ou sur un vaisseau généré:
+// le vaisseau entier sérialisé par ObjectOutputStream (ancien Player.save() / SIS.load()) contre l'état seul
+// (SaveWriter / SaveReader), rechargé sur un vaisseau neuf construit depuis le monde compilé.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SaveBenchmark {
+
+    @Param({"0", "1000", "10000", "100000"})
+    public int nbRooms;
+
+    private byte[] world;
+    private Ship ship;
+    private Ship fresh;
+    private byte[] objects;
+    private byte[] state;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        MessageChannel.bind(new MessageChannel());
+        WorldSource source = nbRooms > 0 ? new ShipGenerator(2021, nbRooms) : WorldSource.fromResource(WorldSource.DEFAULT_WORLD);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try(BinaryWorldWriter w = new BinaryWorldWriter(out)) {
+            source.read(w);
+        }
+        world = out.toByteArray();
+
+        //Une partie entamée: le joueur a traversé le vaisseau
+        ship = this.newShip();
+        int[] ids = ship.getRoomIDs();
+        ship.getPlayer().goTo(ship.getRoom(ids[ids.length / 2]));
+
+        objects = this.objectSave().toByteArray();
+        state = this.save().toByteArray();
+        fresh = this.load();
+    }
+
+    private Ship newShip() throws IOException {
+        return new Ship(h -> WorldSource.read(new ByteArrayInputStream(world), h));
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream objectSave() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try(ObjectOutputStream oos = new ObjectOutputStream(out)) {
+            oos.writeObject(ship);
+        }
+
+        return out;
+    }
+
+    @Benchmark
+    public Ship objectLoad() throws IOException, ClassNotFoundException {
+        try(ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(objects))) {
+            return new Ship((Ship) ois.readObject());
+        }
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream save() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try(SaveWriter w = new SaveWriter(out)) {
+            w.write(ship);
+        }
+
+        return out;
+    }
+
+    // Construction du vaisseau neuf comprise, comme dans SIS.load()
+    @Benchmark
+    public Ship load() throws IOException {
+        Ship loaded = this.newShip();
+
+        try(SaveReader r = new SaveReader(new ByteArrayInputStream(state))) {
+            r.read(loaded);
+        }
+
+        return loaded;
+    }
+
+    // Application de l'état seule (la même sauvegarde, réappliquée sur le même vaisseau)
+    @Benchmark
+    public Ship applyState() throws IOException {
+        try(SaveReader r = new SaveReader(new ByteArrayInputStream(state))) {
+            r.read(fresh);
+        }
+
+        return fresh;
+    }
+}
@@ -0,0 +1,75 @@
+package silent_in_space.bench;
+
+import org.openjdk.jmh.annotations.*;
+import silent_in_space.model.Game.MessageChannel;
+import silent_in_space.model.Location.Ship;
+import silent_in_space.model.Save.SaveSlot;
+import silent_in_space.model.Save.SaveSlots;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Menu des sauvegardes sur nbSlots emplacements: en-têtes lus dans l'index projeté en mémoire (list) contre
+// chaque sauvegarde relue en entier (readAll, ce qu'il fallait faire pour connaître la pièce ou les points
+// de vie d'une sauvegarde d'un seul bloc). quickSave écrit un emplacement (fichier renommé + index).
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SaveSlotsBenchmark {
+
+    @Param({"10", "500"})
+    public int nbSlots;
+
+    private Path dir;
+    private Ship ship;
+    private SaveSlots slots;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        MessageChannel.bind(new MessageChannel());
+        dir = Files.createTempDirectory("sis-slots-bench");
+        ship = new Ship();
+        slots = new SaveSlots(dir);
+
+        for(int i = 0; i < nbSlots; i++)
+            slots.write(SaveSlot.capture(i, ship, i * 1000L), null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        slots.close();
+
+        try(var files = Files.list(dir)) {
+            for(Path p : (Iterable<Path>) files::iterator)
+                Files.delete(p);
+        }
+
+        Files.delete(dir);
+    }
+
+    @Benchmark
+    public List<SaveSlot> list() {
+        return slots.list();
+    }
+
+    @Benchmark
+    public int readAll() throws IOException {
+        int hp = 0;
+
+        for(int i = 0; i < nbSlots; i++)
+            hp += slots.read(i).getHp();
+
+        return hp;
+    }
+
+    @Benchmark
+    public void quickSave() throws IOException {
+        slots.write(SaveSlot.capture(SaveSlots.QUICK_SLOT, ship, 0), null);
+    }
+}
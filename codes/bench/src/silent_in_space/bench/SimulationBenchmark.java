@@ -0,0 +1,42 @@
+package silent_in_space.bench;
+
+import org.openjdk.jmh.annotations.*;
+import silent_in_space.model.Characters.Player;
+import silent_in_space.model.Game.MessageChannel;
+import silent_in_space.model.Game.Simulation;
+import silent_in_space.model.Location.Ship;
+import silent_in_space.model.World.ShipGenerator;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Un pas de la simulation des NPCs d'un vaisseau généré (environ un NPC pour deux pièces): intentions calculées
+// en parallèle sur le pool fork-join commun, puis appliquées une à une.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SimulationBenchmark {
+
+    @Param({"1000", "100000"})
+    public int nbRooms;
+
+    private Simulation simulation;
+    private Player player;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        MessageChannel.bind(new MessageChannel());
+        simulation = new Simulation(new Ship(new ShipGenerator(2021, nbRooms)), 7);
+        player = simulation.getShip().getPlayer();
+    }
+
+    // Les NPCs hostiles qui ont rejoint le joueur l'attaquent: il est soigné pour que la simulation continue
+    @Benchmark
+    public Simulation.Report tick() {
+        player.restore(player.getRoom(), player.getPreviousRoom(), 100);
+        return simulation.tick();
+    }
+}
@@ -0,0 +1,59 @@
+package silent_in_space.bench;
+
+import org.openjdk.jmh.annotations.*;
+import silent_in_space.model.Location.Ship;
+import silent_in_space.model.World.BinaryWorldWriter;
+import silent_in_space.model.World.TextWorldWriter;
+import silent_in_space.model.World.WorldSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorldLoadBenchmark {
+
+    @Param({"1000", "50000"})
+    public int nbRooms;
+
+    private byte[] text;
+    private byte[] binary;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        BenchWorld.newGame();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try(TextWorldWriter w = new TextWorldWriter(out)) {
+            BenchWorld.writeWorld(w, nbRooms);
+        }
+        text = out.toByteArray();
+
+        out = new ByteArrayOutputStream();
+        try(BinaryWorldWriter w = new BinaryWorldWriter(out)) {
+            BenchWorld.writeWorld(w, nbRooms);
+        }
+        binary = out.toByteArray();
+    }
+
+    @Benchmark
+    public Ship loadText() throws IOException {
+        return new Ship(h -> WorldSource.read(new ByteArrayInputStream(text), h));
+    }
+
+    @Benchmark
+    public Ship loadBinary() throws IOException {
+        return new Ship(h -> WorldSource.read(new ByteArrayInputStream(binary), h));
+    }
+
+    @Benchmark
+    public Ship loadDefaultWorld() {
+        return new Ship();
+    }
+}
@@ -1,15 +1,18 @@
 package silent_in_space.controller;
 
 import javafx.concurrent.Task;
-import javafx.scene.image.Image;
 import javafx.scene.paint.Color;
-import javafx.application.Platform;
 import javafx.concurrent.ScheduledService;
 import javafx.util.Duration;
 import silent_in_space.model.Characters.Actor;
 import javafx.scene.layout.VBox;
 import silent_in_space.model.Characters.NPC;
+import silent_in_space.model.Game.GameEventListener;
+import silent_in_space.model.Game.MessageChannel;
+import silent_in_space.model.Game.Simulation;
+import silent_in_space.model.Location.Room;
 import silent_in_space.model.Utils.Scalar2D;
+import javafx.scene.shape.Shape;
 import silent_in_space.view.ActorView;
 
 import static silent_in_space.controller.GameController.DEFAULT_ROOMS_SIZE;
@@ -26,22 +29,40 @@ public class ActorController {
 
     //Gestion de l'ordinateur:
     private final VBox initialActorPanel;
+
+    //Le modèle n'est modifié que sur le thread JavaFX: chaque pas y est demandé pour la prochaine image. Des pas
+    //demandés pendant que le thread JavaFX est occupé n'en font qu'un (cf. FrameDispatcher.invalidate()):
+    private final Runnable simulateUpdate = this::simulate;
     private final ScheduledService<Void> moveNPCsService = new ScheduledService<>() {
         @Override
         protected Task<Void> createTask() {
             return new Task<>() {
                 @Override
                 protected Void call() {
-                    Platform.runLater(() -> {
-                        gameController.getRoomController().unloadNPCs();
-                        gameController.getRoomController().loadNPCs();
-                    });
+                    gameController.getFrameDispatcher().invalidate(simulateUpdate);
                     return null;
                 }
             };
         }
     };
 
+    //Les changements des personnages arrivent par le bus du modèle (cf. GameEvents): seul le personnage
+    //concerné est redessiné, et le cadre du joueur une seule fois par image quel que soit le nombre de coups:
+    private final Runnable playerUpdate = this::playerChanged;
+    private final GameEventListener actorEvents = new GameEventListener() {
+        @Override
+        public void actorDamaged(Actor actor, int damage) { actorChanged(actor); }
+
+        @Override
+        public void actorHealed(Actor actor, int healing) { actorChanged(actor); }
+
+        @Override
+        public void npcHostilityChanged(NPC npc) { actorChanged(npc); }
+
+        @Override
+        public void npcAllyChanged(NPC npc) { actorChanged(npc); }
+    };
+
 
     //=============== CONSTRUCTEURS/INITIALISEURS ===============
 
@@ -49,28 +70,64 @@ public class ActorController {
         gameController = c;
         initialActorPanel = c.getGameView().getActorVBox();
 
-        //Déplacement aléatoire des personnages:
-        moveNPCsService.setPeriod(Duration.seconds(2));
+        //Un pas de la simulation des personnages à intervalle fixe:
+        moveNPCsService.setPeriod(Duration.millis(Simulation.TICK_MILLIS));
         moveNPCsService.start();
+
+        MessageChannel.getDefault().getEvents().subscribe(actorEvents);
     }
 
     //====================== GETTERS ==========================
     public VBox getInitialActorPanel() { return initialActorPanel; }
     public ScheduledService<Void> getMoveNPCsService() { return moveNPCsService; }
 
-    public ActorView getNPCView(NPC npc){
+    public ActorView getNPCView(NPC npc){ return new ActorView(getNPCCategory(npc)); }
+
+    // Catégorie d'un NPC, qui donne sa couleur sur la carte (cf. ActorView)
+    public String getNPCCategory(NPC npc){
         if(npc.isDead())
-            return new ActorView("Dead");
+            return "Dead";
         else if(npc.isHostile())
-            return new ActorView("hostile");
+            return "hostile";
         else if(npc.isAlly())
-            return new ActorView("ally");
+            return "ally";
         else
-            return new ActorView("neutral");
+            return "neutral";
     }
 
     //====================== UPDATERS =========================
 
+    // Un pas de la simulation des NPCs (cf. Simulation), puis la vue reprend ce qui a changé
+    public void simulate(){
+        Simulation.Report report = gameController.getGameModel().getSimulation().tick();
+
+        //Rien à redessiner tant que personne n'entre dans la pièce du joueur ou n'en sort (les coups reçus
+        //par le joueur arrivent par actorEvents):
+        if(report.isPlayerRoomChanged())
+            gameController.getRoomController().renderActors();
+    }
+
+    // Le joueur a été blessé ou soigné
+    private void playerChanged(){
+        updatePlayerFrame();
+        updatePlayerView();
+        gameController.isGameOver();
+    }
+
+    // Un personnage a été blessé, soigné ou a changé de camp
+    private void actorChanged(Actor actor){
+        if(actor == gameController.getPlayerModel()) {
+            gameController.getFrameDispatcher().invalidate(playerUpdate);
+        }
+
+        else if(actor instanceof NPC && actor.getRoom() == gameController.getRoomController().getCurrentRoomModel()) {
+            Shape shape = gameController.getRoomController().getCurrentRoomView().getFromRoom(actor.getName());
+
+            if(shape instanceof ActorView)
+                ((ActorView) shape).setActorViewColor(getNPCCategory((NPC) actor));
+        }
+    }
+
     // Mise a jour de la Vue pour le cadre des NPCs (barre de vie, couleur du cadre, image)
     public void updateNPCFrame(NPC npc){
         ActorView actorView = getNPCView(npc);
@@ -78,7 +135,7 @@ public class ActorController {
         gameController.getGameView().getActorVBox().setStyle("-fx-border-color:"+colorString+";");
         gameController.getGameView().getActorBtnHBox().setStyle("-fx-border-color:"+colorString+";");
         gameController.getGameView().getActorLabel().setText(npc.getName());
-        gameController.getGameView().getActorImageView().setImage(new Image(getClass().getResource("../img/alien.png").toString(), true));
+        gameController.getAssets().show(gameController.getGameView().getActorImageView(), "alien.png");
         gameController.getGameView().getActorHProgressBar().setProgress(npc.getHp()/100.0);
     }
     // Mise a jour de la Vue pour le cadre du Joueur (barre de vie, couleur du cadre, image)
@@ -88,7 +145,7 @@ public class ActorController {
         gameController.getGameView().getActorVBox().setStyle("-fx-border-color:"+colorString+";");
         gameController.getGameView().getActorBtnHBox().setStyle("-fx-border-color:"+colorString+";");
         gameController.getGameView().getActorLabel().setText(gameController.getPlayerModel().getName());
-        gameController.getGameView().getActorImageView().setImage(new Image(getClass().getResource("../img/main_character.png").toString(), true));
+        gameController.getAssets().show(gameController.getGameView().getActorImageView(), "main_character.png");
         gameController.getGameView().getActorHProgressBar().setProgress(gameController.getPlayerModel().getHp()/100.0);
     }
 
@@ -101,9 +158,14 @@ public class ActorController {
     // Gestion de la mort d'un personnage et des items qu'il laisse tomber
     public void onNPCDeath(Actor npc){
         while(npc.getInventory().getItems().length != 0) {
-            //On redonne une position aléatoire à l'objet qui va être droppé au sol:
-            int[] availableRandPosInRoom = gameController.getRoomController().getCurrentRoomView().getRandPos();
-            Scalar2D droppedPos = new Scalar2D(availableRandPosInRoom[0], availableRandPosInRoom[1]);
+            //L'objet qui va être droppé au sol tombe sur la case libre la plus proche du personnage:
+            Scalar2D at = npc.getPos() != null ? npc.getPos() : Room.PLAYER_CELL;
+            Scalar2D droppedPos = npc.getRoom().getOccupancy().nearestFree(at.getScalar2DCol(), at.getScalar2DLine());
+
+            //Pièce pleine: le reste de l'inventaire reste sur le corps (cf. la commande search)
+            if(droppedPos == null)
+                break;
+
             npc.getInventory().getItems()[0].setScalar2D(droppedPos);
 
             //On met à jour le modèle:
@@ -120,18 +182,14 @@ public class ActorController {
         String actorTag = gameController.getGameView().getActorLabel().getText();
         Actor target = gameController.getRoomController().getCurrentRoomModel().getActor(actorTag);
 
+        //La couleur de la cible et le cadre du joueur suivent par actorEvents:
         gameController.getPlayerModel().attack(target);
+        gameController.endAction();
         if (target instanceof NPC) {
             updateNPCFrame((NPC) target);
-            gameController.getRoomController().getCurrentRoomView().getFromRoom(actorTag).setFill(getNPCView((NPC) target).getFill());
 
             if(target.isDead())
                 onNPCDeath(target);
-
-        } else {
-            updatePlayerFrame();
-            updatePlayerView();
-            gameController.isGameOver();
         }
     }
 
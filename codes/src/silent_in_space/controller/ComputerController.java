@@ -1,6 +1,5 @@
 package silent_in_space.controller;
 
-import javafx.fxml.FXMLLoader;
 import javafx.geometry.HPos;
 import javafx.geometry.VPos;
 import javafx.scene.layout.GridPane;
@@ -9,77 +8,110 @@ import silent_in_space.model.Items.Computer;
 import silent_in_space.model.Items.File;
 import silent_in_space.model.Items.Item;
 import silent_in_space.view.ComputerView;
+import silent_in_space.view.ComputerViewFactory;
 import silent_in_space.view.ItemView;
 
 import java.io.IOException;
+import java.util.List;
+
+/* -----------------------------------------------------------------------------
+ * Contrôleur des ordinateurs du jeu:
+ *
+ * Rôle: Affiche l'ordinateur utilisé par le joueur à la place du panneau des
+ * personnages. Un seul contrôleur sert pour tous les ordinateurs: ouvrir un
+ * ordinateur (open()) rattache une vue déjà chargée (cf. ComputerViewFactory)
+ * à ce modèle, sans relire le FXML ni recréer les gestionnaires d'événements.
+ * ----------------------------------------------------------------------------- */
 
 public class ComputerController {
+    //Vues chargées au lancement: une seule est affichée à la fois
+    public static final int NB_PRELOADED_VIEWS = 1;
+
     private final GameController gameController;
+    private final ComputerViewFactory viewFactory;
     private ComputerView computerView;
-    private final Computer computerModel;
+    private Computer computerModel;
 
     //=============== CONSTRUCTEURS/INITIALISEURS ===============
-    public ComputerController(Computer computerModel, GameController gameController) throws IOException {
-        //On charge la vue:
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("../view/ComputerView.fxml"));
-        loader.load();
-        computerView = loader.getController();
+    public ComputerController(GameController gameController) throws IOException {
+        this.gameController = gameController;
+
+        //On charge les vues d'avance:
+        viewFactory = new ComputerViewFactory(this::initHandlers);
+        viewFactory.warmUp(NB_PRELOADED_VIEWS);
+    }
 
+    // Ouverture d'un ordinateur: la vue affichée (ou une vue prête) est rattachée à ce modèle
+    public void open(Computer computerModel) throws IOException {
         this.computerModel = computerModel;
-        this.gameController = gameController;
 
-        initFiles();
-        initHandlers();
+        if(computerView == null)
+            computerView = viewFactory.acquire();
+
+        bindFiles();
 
         //On met à jour la vue du jeu:
         updateGameView(computerView.getComputer());
     }
 
-    // Initialisation des différents documents dans un ordinateur
-    private void initFiles(){
+    // Fermeture de l'ordinateur: sa vue redevient libre
+    public void close(){
+        updateGameView(gameController.getActorController().getInitialActorPanel());
+        viewFactory.release(computerView);
+        computerView = null;
+        computerModel = null;
+    }
+
+    //====================== GETTERS ==========================
+    public ComputerViewFactory getViewFactory() { return viewFactory; }
+
+    // Les documents de l'ordinateur sur le bureau: les icônes de la vue sont reprises, il n'en est créé que s'il en manque
+    private void bindFiles(){
         GridPane computerDesk = computerView.getComputerDesk();
+        List<ItemView> fileViews = computerView.getFileViews();
+        Item[] files = computerModel.getFILES().getItems();
         int nbCols = computerDesk.getColumnCount();
-        int colCounter = 0;
-        int rowCounter = 0;
-
-        //Pour chaque item on associe un gestionnaire d'événement:
-        for(Item item : computerModel.getFILES().getItems()){
-            File file = (File) item;
-            ItemView itemView = new ItemView();
-
-            itemView.setOnMousePressed(e -> {
-                if(e.isSecondaryButtonDown()){
-                    gameController.getGameView().handle(file.getContent());
-                }
-                else{
-                    computerModel.printFile(item.getTag(), gameController.getPlayerModel());
-                    gameController.getInventoryController().updateInventory();
-                }
-            });
-
-            GridPane.setHalignment(itemView, HPos.CENTER);
-            GridPane.setValignment(itemView, VPos.CENTER);
-            computerView.getComputerDesk().add(itemView, colCounter, rowCounter);
-
-            //TODO: Si l'ordinateur a un nombre de fichier qui excède les places dans le GridPane?
-            if(colCounter == nbCols){
-                colCounter = 0;
-                rowCounter++;
-            }
 
-            else{
-                colCounter++;
+        for(int i = 0; i < files.length; i++){
+            if(i == fileViews.size()){
+                ItemView itemView = new ItemView();
+                int index = i;
+
+                //Le gestionnaire vise le document n°index de l'ordinateur ouvert au moment du clic:
+                itemView.setOnMousePressed(e -> {
+                    File file = (File) computerModel.getFILES().getItems()[index];
+
+                    if(e.isSecondaryButtonDown()){
+                        gameController.getGameView().handle(file.getContent());
+                    }
+                    else{
+                        //La copie imprimée arrive dans la liste de l'inventaire par les événements du modèle:
+                        computerModel.printFile(file.getTag(), gameController.getPlayerModel());
+                        gameController.endAction();
+                    }
+                });
+
+                GridPane.setHalignment(itemView, HPos.CENTER);
+                GridPane.setValignment(itemView, VPos.CENTER);
+                computerDesk.add(itemView, i % nbCols, i / nbCols);
+                fileViews.add(itemView);
             }
+
+            fileViews.get(i).setVisible(true);
         }
+
+        for(int i = files.length; i < fileViews.size(); i++)
+            fileViews.get(i).setVisible(false);
     }
-    // Initialisation des handlers
-    private void initHandlers(){
-        computerView.getQuitBtn().setOnAction(e -> updateGameView(gameController.getActorController().getInitialActorPanel()));
 
-        computerView.getEventBtn().setOnAction(e -> {
+    // Initialisation des handlers (une fois par vue chargée)
+    private void initHandlers(ComputerView view){
+        view.getQuitBtn().setOnAction(e -> close());
+
+        view.getEventBtn().setOnAction(e -> {
             computerModel.getEVENT().getE().raise(gameController.getPlayerModel());
-            gameController.getRoomController().unloadDoors();
-            gameController.getRoomController().loadDoors();
+            gameController.endAction();
+            gameController.getRoomController().renderDoors();
         });
     }
 
@@ -1,14 +1,28 @@
 package silent_in_space.controller;
 
 import javafx.application.Platform;
+import javafx.beans.binding.Bindings;
+import javafx.concurrent.Task;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.control.Alert;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.layout.HBox;
 import silent_in_space.model.Characters.Player;
+import silent_in_space.model.Game.Message;
 import silent_in_space.model.Game.SIS;
+import silent_in_space.model.Location.Room;
+import silent_in_space.model.Location.Ship;
+import silent_in_space.model.Save.History;
+import silent_in_space.model.Save.SaveFile;
+import silent_in_space.model.Save.SaveFormatException;
+import silent_in_space.model.Save.SaveSlot;
+import silent_in_space.model.Save.SaveSlots;
+import silent_in_space.model.Save.ShipState;
 import silent_in_space.model.Utils.Scalar2D;
 import silent_in_space.view.*;
 import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 
 /* -----------------------------------------------------------------------------
@@ -22,18 +36,36 @@ import java.io.IOException;
  * ----------------------------------------------------------------------------- */
 
 public class GameController {
-    public final static Scalar2D DEFAULT_ROOMS_SIZE = new Scalar2D(11, 11);
+    public final static Scalar2D DEFAULT_ROOMS_SIZE = new Scalar2D(Room.NB_COLS, Room.NB_LINES);
+
+    //Images du jeu décodées à la taille du cadre des personnages (200x200, doublée pour les écrans denses).
+    //Les portraits des personnages partagent une seule texture:
+    public final static int MAX_CACHED_IMAGES = 32;
+    public final static double IMAGE_SIZE = 400;
+    public final static boolean USE_SPRITE_ATLAS = true;
+    public final static String ACTORS_ATLAS = "actors-atlas";
+    public final static String[] ACTOR_SPRITES = {"main_character.png", "alien.png", "alien_fille.png"};
+
+    //Thread des sauvegardes et chargements (jamais le thread JavaFX):
+    private static final ExecutorService SAVE_EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "sis-save");
+        t.setDaemon(true);
+        return t;
+    });
 
     //Quelques éléments du modèle et leurs vues associées:
     private final SIS gameModel;
     private final GameView gameView;
     private Player playerModel;
     private final ActorView playerView = new ActorView("player");
+    private final AssetCache assets = new AssetCache(MAX_CACHED_IMAGES, IMAGE_SIZE, IMAGE_SIZE);
+    private final FrameDispatcher frameDispatcher;
 
     //Les sous-contrôleurs spécialisés:
     private final ActorController actorController;
     private final RoomController roomController;
     private final InventoryController inventoryController;
+    private final ComputerController computerController;
 
     //=============== CONSTRUCTEURS/INITIALISEURS ===============
     public GameController() throws IOException {
@@ -44,8 +76,15 @@ public class GameController {
         gameView.setMapPaneClip();
         gameView.setCenteredSlidersOnWindowRedimensionned();
 
-        //On charge le modèle:
-        gameModel = new SIS(gameView);
+        //Les images sont décodées en tâche de fond pendant que le reste se charge:
+        if(USE_SPRITE_ATLAS)
+            assets.preload(ACTORS_ATLAS, ACTOR_SPRITES);
+        else
+            assets.preload(null);
+
+        //On charge le modèle. Ses messages arrivent à la vue une fois par image (cf. FrameDispatcher):
+        frameDispatcher = new FrameDispatcher(gameView);
+        gameModel = new SIS(frameDispatcher);
         playerModel = gameModel.getShip().getPlayer();
 
         //On initialise les sous-contrôleurs spécialisés qui par incidence lancent le jeu:
@@ -53,8 +92,12 @@ public class GameController {
         inventoryController = new InventoryController(this);
         roomController = new RoomController(this);
 
+        //La vue des ordinateurs est chargée dès le lancement (cf. ComputerViewFactory):
+        computerController = new ComputerController(this);
+
         //On charge les gestionnaires d'événement globaux du jeu:
         initSaveLoadHandlers();
+        initUndoRedoHandlers();
         initAttackHandler();
         initHelpManual();
     }
@@ -71,6 +114,7 @@ public class GameController {
                               ------------------------
                               - Left Click to talk to characters / use doors / use room equipments
                               - Right Click to bring up a description of the clicked element
+                              - Pick a room in the "Go to..." list to walk there by the shortest known way
                               
                               Inventory controls:
                               --------------------------
@@ -89,14 +133,103 @@ public class GameController {
 
     // Gestionnaire des sauvgardes
     public void initSaveLoadHandlers(){
-        gameView.getSaveButton().setOnMouseClicked(e -> playerModel.save());
+        gameView.getSaveButton().setOnMouseClicked(e -> save());
+        gameView.getLoadButton().setOnMouseClicked(e -> load());
+    }
+
+    // L'état de la partie est figé ici (le thread JavaFX est le seul à la modifier) par l'historique, qui n'écrit que
+    // les pièces touchées depuis le dernier tour; la sauvegarde entière est encodée puis écrite en tâche de fond:
+    public void save(){
+        ShipState state;
+        long playTime = gameModel.getPlayTime();
+
+        try {
+            state = gameModel.getHistory().snapshot();
+        } catch(IOException e) {
+            Message.sendGameMessage("Error :> The game can't be saved (" + e.getMessage() + ")");
+            return;
+        }
+
+        Task<Void> task = new Task<>() {
+            @Override
+            protected Void call() throws IOException {
+                gameModel.getSaveSlots().write(SaveSlot.capture(SaveSlots.QUICK_SLOT, state, playTime), this::updateProgress);
+                return null;
+            }
+        };
+
+        task.setOnSucceeded(e -> Message.sendGameMessage("You successfully saved the game!"));
+        task.setOnFailed(e -> Message.sendGameMessage("Error :> The game can't be saved (" + task.getException().getMessage() + ")"));
+        runInBackground(task);
+    }
+
+    // Le vaisseau sauvegardé est construit en tâche de fond pendant que la partie continue, avec l'état de départ de
+    // son historique, puis remplace l'ancien d'un seul coup:
+    public void load(){
+        gameView.getLoadButton().setDisable(true);
+
+        SaveSlot[] save = new SaveSlot[1];
+        History[] history = new History[1];
+
+        Task<Ship> task = new Task<>() {
+            @Override
+            protected Ship call() throws IOException {
+                //Durée inconnue pendant la construction du vaisseau neuf:
+                updateProgress(-1, 1);
 
-        gameView.getLoadButton().setOnMouseClicked(e-> {
-            gameModel.load();
+                //Le vaisseau est construit sur un canal privé: les abonnés de la vue ne sont prévenus que sur le thread JavaFX
+                save[0] = gameModel.getSaveSlots().read(SaveSlots.QUICK_SLOT);
+                Ship loaded = SaveFile.load(save[0].getState(), this::updateProgress);
+                history[0] = new History(loaded, History.states(loaded));
+                return loaded;
+            }
+        };
+
+        task.setOnSucceeded(e -> {
+            gameView.getLoadButton().setDisable(false);
+            gameModel.setShip(task.getValue(), history[0]);
+            gameModel.setPlayTime(save[0].getPlayTime());
             playerModel = gameModel.getShip().getPlayer();
             roomController.updateRoomView(DEFAULT_ROOMS_SIZE.getScalar2DCol(), DEFAULT_ROOMS_SIZE.getScalar2DLine());
             inventoryController.updateInventory();
+            Message.sendGameMessage("You successfully loaded the game!");
+        });
+
+        task.setOnFailed(e -> {
+            gameView.getLoadButton().setDisable(false);
+
+            if(task.getException() instanceof SaveFormatException)
+                Message.sendGameMessage("The save data can't be loaded (" + task.getException().getMessage() + ").");
+            else
+                Message.sendGameMessage("No save data was found! You need to save at least one time before being able to load a save.");
         });
+
+        runInBackground(task);
+    }
+
+    // Les sauvegardes et chargements passent un par un, dans l'ordre; la barre suit le dernier demandé:
+    private void runInBackground(Task<?> task){
+        ProgressBar bar = gameView.getSaveProgressBar();
+        bar.progressProperty().bind(task.progressProperty());
+        bar.visibleProperty().bind(Bindings.createBooleanBinding(() -> !task.isDone(), task.stateProperty()));
+        SAVE_EXECUTOR.execute(task);
+    }
+
+    // Gestionnaire de l'historique des tours
+    public void initUndoRedoHandlers(){
+        gameView.getUndoButton().setOnMouseClicked(e -> { if(gameModel.undo()) updateAfterJump(); });
+        gameView.getRedoButton().setOnMouseClicked(e -> { if(gameModel.redo()) updateAfterJump(); });
+    }
+
+    // Fin d'une action du joueur dans l'interface: elle devient un tour que l'on peut annuler
+    public void endAction(){
+        gameModel.commitTurn();
+    }
+
+    private void updateAfterJump(){
+        roomController.updateRoomView(DEFAULT_ROOMS_SIZE.getScalar2DCol(), DEFAULT_ROOMS_SIZE.getScalar2DLine());
+        inventoryController.updateInventory();
+        actorController.updatePlayerFrame();
     }
 
     // Gestionnaire des attaques
@@ -121,9 +254,12 @@ public class GameController {
     public ActorController getActorController() { return actorController; }
     public InventoryController getInventoryController() { return inventoryController; }
     public RoomController getRoomController() { return roomController; }
+    public ComputerController getComputerController() { return computerController; }
     public SIS getGameModel(){ return gameModel; }
     public GameView getGameView() { return gameView; }
     public Player getPlayerModel() { return playerModel; }
     public ActorView getPlayerView() { return playerView; }
+    public AssetCache getAssets() { return assets; }
+    public FrameDispatcher getFrameDispatcher() { return frameDispatcher; }
     public HBox getScene() { return gameView.getSceneHBox(); }
 }
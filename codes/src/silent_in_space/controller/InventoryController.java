@@ -1,32 +1,37 @@
 package silent_in_space.controller;
 
-import javafx.event.EventHandler;
-import javafx.scene.control.ToggleButton;
-import javafx.scene.control.ToggleGroup;
+import javafx.scene.control.MultipleSelectionModel;
 import javafx.scene.input.MouseEvent;
-import javafx.scene.shape.Shape;
 import silent_in_space.model.Characters.NPC;
+import silent_in_space.model.Game.Message;
+import silent_in_space.model.Game.MessageChannel;
 import silent_in_space.model.Items.Item;
 import silent_in_space.model.Utils.Scalar2D;
-
-import java.util.LinkedHashMap;
+import silent_in_space.view.InventoryList;
 
 
 /* -----------------------------------------------------------------------------
  * Contrôleur de l'inventaire du jeu:
  *
  * Rôle: Contrôleur global du jeu qui gère l'inventaire du joueur et son UI.
+ *
+ * Le panneau est une ListView sur l'inventaire du joueur (cf. InventoryList),
+ * tenue à jour par les événements du modèle: prendre, donner ou lâcher un objet
+ * ne touche qu'une cellule, quelle que soit la taille de l'inventaire. L'objet
+ * sélectionné s'utilise sur l'élément de la pièce cliqué ensuite (cf. useSelectedOn(),
+ * appelé par l'unique gestionnaire de la pièce).
  * ----------------------------------------------------------------------------- */
 
 public class InventoryController {
     private final GameController gameController;
-    private final ToggleGroup invTG;
-    private EventHandler<MouseEvent>[] fireHandlers;
+    private final InventoryList inventoryList;
+    private final MultipleSelectionModel<Item> selection;
 
     //=============== CONSTRUCTEURS/INITIALISEURS ===============
     public InventoryController(GameController c) {
         gameController = c;
-        invTG = new ToggleGroup();
+        inventoryList = c.getGameView().getInventoryList();
+        selection = c.getGameView().getInventoryListView().getSelectionModel();
         initHandlers();
         initInventory();
     }
@@ -35,8 +40,8 @@ public class InventoryController {
         //On initialise le handler du bouton drop():
         gameController.getGameView().getDropButton().setOnAction(e -> {
             //Si un objet a effectivement été sélectionné alors on le drop():
-            if(invTG.getSelectedToggle() != null)
-                drop(((ToggleButton) invTG.getSelectedToggle()).getText());
+            if(selection.getSelectedItem() != null)
+                drop(selection.getSelectedItem());
         });
 
         gameController.getGameView().getGiveButton().setOnAction(e -> give());
@@ -44,71 +49,54 @@ public class InventoryController {
     }
 
     public void initInventory(){
-        for(Item item : gameController.getPlayerModel().getInventory().getItems()){
-            ToggleButton tgBtn = new ToggleButton(item.getTag());
-            setTgBtnHandler(tgBtn);
-            invTG.getToggles().add(tgBtn);
-            gameController.getGameView().getInventoryVBox().getChildren().add(tgBtn);
-        }
+        //La liste suit l'inventaire du joueur par les événements du modèle (cf. GameEvents):
+        MessageChannel.getDefault().getEvents().subscribe(inventoryList);
+        inventoryList.follow(gameController.getPlayerModel().getInventory());
     }
 
     //====================== UPDATERS =========================
     public void addInInventory(Item item){
-        //On met à jour le modèle:
+        //On met à jour le modèle (la liste de l'inventaire suit):
         gameController.getPlayerModel().take(item);
+        gameController.endAction();
 
-        //On met à jour la vue:
-        ToggleButton tgBtn = new ToggleButton(item.getTag());
-        setTgBtnHandler(tgBtn);
-        invTG.getToggles().add(tgBtn);
-        gameController.getGameView().getInventoryVBox().getChildren().add(tgBtn);
-
+        //On met à jour la vue de la pièce:
         if(gameController.getRoomController().getCurrentRoomView().getFromRoom(item.getTag()) != null)
             gameController.getRoomController().getCurrentRoomView().removeFromRoom(item.getTag());
     }
 
-    public void clearEventHandlers(){
-        LinkedHashMap<String, Shape> roomViews = gameController.getRoomController().getCurrentRoomView().getGameElementViews();
-        int count = 0;
-        for (String viewTag : roomViews.keySet()) {
-            if(fireHandlers[count] != null) {
-                gameController.getRoomController().getCurrentRoomView().getFromRoom(viewTag).removeEventHandler(MouseEvent.MOUSE_PRESSED, fireHandlers[count]);
-                count++;
-            }
+    // Gestionnaire du drop (Poser un item dans un pièce, en l'enlevant de l'Inventaire)
+    public void drop(Item item){
+        Scalar2D pos = gameController.getRoomController().getRandomFreeCell();
+
+        if(pos == null){
+            Message.sendGameMessage("There's no room left on the floor to drop " + item.getTag() + ".");
+            return;
         }
-    }
 
-    // Gestionnaire du drop (Poser un item dans un pièce, en l'enlevant de l'Inventaire)
-    public void drop(String itemTag){
-        //Sinon on met à jour la vue:
-        gameController.getGameView().getInventoryVBox().getChildren().remove((ToggleButton) invTG.getSelectedToggle());
-        invTG.getToggles().remove(invTG.getSelectedToggle());
-        int[] pos = gameController.getRoomController().getCurrentRoomView().getRandPos();
-        gameController.getRoomController().addItemInRoom(gameController.getPlayerModel().getInventory().getItem(itemTag), pos[0], pos[1]);
-
-        //Puis on met à jour le modèle. On met à jour la position de l'objet dans le modèle pour que ce-dernier
-        // ne bouge pas en utilisant sa position du modèle lorsqu'on rafraichît une pièce:
-        gameController.getPlayerModel().getInventory().getItem(itemTag).setScalar2D(new Scalar2D(pos[0], pos[1]));
-        gameController.getPlayerModel().getInventory().moveItem(itemTag, gameController.getRoomController().getCurrentRoomModel().getInventory());
-
-        //Enfin on élimine les gestionnaires d'événements générés par la sélection du bouton:
-        clearEventHandlers();
+        //Sinon on met à jour la vue de la pièce:
+        selection.clearSelection();
+        gameController.getRoomController().addItemInRoom(item, pos.getScalar2DCol(), pos.getScalar2DLine());
+
+        //Puis on met à jour le modèle, et la liste de l'inventaire suit. On met à jour la position de l'objet dans le
+        //modèle pour que ce-dernier ne bouge pas en utilisant sa position du modèle lorsqu'on rafraichît une pièce:
+        item.setScalar2D(pos);
+        gameController.getPlayerModel().getInventory().moveItem(item.getTag(), gameController.getRoomController().getCurrentRoomModel().getInventory());
+        gameController.endAction();
     }
 
     // Gestionnaire du give (Donner un item à un PNJ)
     public void give(){
-        ToggleButton itemBtn = (ToggleButton) invTG.getSelectedToggle();
+        Item item = selection.getSelectedItem();
 
-        if(itemBtn != null){
+        if(item != null){
             String actorTag = gameController.getGameView().getActorLabel().getText();
-            String itemTag = itemBtn.getText();
 
-            //On met à jour le modèle:
-            gameController.getPlayerModel().give(itemTag, gameController.getRoomController().getCurrentRoomModel().getActor(actorTag));
+            //On met à jour le modèle (la liste de l'inventaire suit si l'objet a bien été donné):
+            gameController.getPlayerModel().give(item.getTag(), gameController.getRoomController().getCurrentRoomModel().getActor(actorTag));
+            gameController.endAction();
 
             //On met à jour la vue:
-            updateInventory();
-
             if(gameController.getRoomController().getCurrentRoomModel().getActor(actorTag) instanceof NPC)
                 gameController.getActorController().updateNPCFrame((NPC) gameController.getRoomController().getCurrentRoomModel().getActor(actorTag));
         }
@@ -116,65 +104,28 @@ public class InventoryController {
 
     // Gestionnaire de look (Envoie dans la boite de dialogue la description d'un objet selectioné)
     public void look(){
-        ToggleButton itemBtn = (ToggleButton) invTG.getSelectedToggle();
+        Item item = selection.getSelectedItem();
 
-        if(itemBtn != null){
-            String itemTag = itemBtn.getText();
-            gameController.getPlayerModel().getInventory().getItem(itemTag).describe();
-        }
+        if(item != null)
+            item.describe();
     }
 
-    public void setTgBtnHandler(ToggleButton btn){
-        btn.setOnAction(e -> {
-            //On fait le ménage dans le tableau des handlers (si un objet de l'inventaire avait été sélectionné avant par exemple...) :
-            clearEventHandlers();
-
-            //On récupère tous les éléments visuels de la pièce associés à leurs étiquettes:
-            LinkedHashMap<String, Shape> roomViews = gameController.getRoomController().getCurrentRoomView().getGameElementViews();
-
-            //On récupère l'élément du modèle qui devra appeler la fonction du modèle si cet élément n'est pas
-            //dans l'inventaire de la pièce c'est qu'il est dans l'inventaire du joueur:
-            Item itemUsed;
-            if(gameController.getRoomController().getCurrentRoomModel().getInventory().getItem(btn.getText()) != null)
-                itemUsed = gameController.getRoomController().getCurrentRoomModel().getInventory().getItem(btn.getText());
-            else
-                itemUsed = gameController.getPlayerModel().getInventory().getItem(btn.getText());
-
-            //On parcourt chacun de ces éléments pour leur associer un gestionnaire d'événement:
-            int count = 0;
-            for(String viewTag : roomViews.keySet()) {
-                EventHandler<MouseEvent> useOnHandler = ev -> {
-                    if (ev.isPrimaryButtonDown()) {
-                        //On applique la fonction d'utilisation de l'objet définie dans le modèle:
-                        itemUsed.isUsedOn(gameController.getRoomController().getCurrentRoomModel().getUsableBy(viewTag));
-                        clearEventHandlers();
-                        btn.setSelected(false);
-                    }
-                };
-                fireHandlers[count++] = useOnHandler;
-                gameController.getRoomController().getCurrentRoomView().getFromRoom(viewTag).addEventHandler(MouseEvent.MOUSE_PRESSED, useOnHandler);
-            }
-        });
-    }
+    // Clic sur l'élément viewTag de la pièce: l'objet sélectionné, s'il y en a un, y est utilisé
+    public void useSelectedOn(String viewTag, MouseEvent ev){
+        Item itemUsed = selection.getSelectedItem();
 
-    // Gestionnaire des modification visuel apporter à l'inventaire du joueur
-    public void updateInventory(){
-        int nbToggleBtns = invTG.getToggles().size();
+        if (itemUsed == null || !ev.isPrimaryButtonDown())
+            return;
 
-        for(int i = 0; i < nbToggleBtns; i++){
-            //À chaque suppression les Toggles se réarrangent. On supprime donc le premier toggle "n" fois:
-            ToggleButton itemBtn = (ToggleButton) invTG.getToggles().get(0);
-            gameController.getGameView().getInventoryVBox().getChildren().remove(itemBtn);
-            invTG.getToggles().remove(itemBtn);
-        }
-
-        clearEventHandlers();
-        initInventory();
+        //On applique la fonction d'utilisation de l'objet définie dans le modèle:
+        itemUsed.isUsedOn(gameController.getRoomController().getCurrentRoomModel().getUsableBy(viewTag));
+        gameController.endAction();
+        selection.clearSelection();
     }
 
-    public void resetUseItemHandlersArray(int nbCol, int nbLignes){
-        //On va stocker tous les gestionnaires d'événements que la sélection d'un bouton aura créé dans un tableau.
-        //La taille de ce tableau correspond au nombre maximum d'objets que peut contenir une pièce, ie. 1 objet par case:
-        fireHandlers = new EventHandler[nbCol*nbLignes];
+    // Relit tout l'inventaire du joueur, quand l'état du modèle a été remplacé sans événements (chargement, undo/redo)
+    public void updateInventory(){
+        selection.clearSelection();
+        inventoryList.follow(gameController.getPlayerModel().getInventory());
     }
 }
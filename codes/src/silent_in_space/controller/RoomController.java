@@ -1,7 +1,9 @@
 package silent_in_space.controller;
 
 import javafx.beans.binding.Bindings;
-import javafx.scene.image.Image;
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
+import javafx.scene.control.ComboBox;
 import silent_in_space.model.Characters.NPC;
 import silent_in_space.model.Doors.Door;
 import silent_in_space.model.Doors.LockedDoor;
@@ -9,11 +11,14 @@ import silent_in_space.model.Items.Computer;
 import silent_in_space.model.Items.HealthStation;
 import silent_in_space.model.Items.Item;
 import silent_in_space.model.Location.Room;
+import silent_in_space.model.Location.Ship;
 import silent_in_space.model.Utils.Scalar2D;
 import silent_in_space.view.*;
 
 import java.io.IOException;
-import java.util.Set;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
 
 import static silent_in_space.controller.GameController.DEFAULT_ROOMS_SIZE;
 
@@ -32,7 +37,9 @@ public class RoomController {
     private final GameController gameController;
     private Room currentRoomModel;
     private RoomView currentRoomView;
-    
+    private Ship travelShip;
+    private final Random random = new Random();
+
     //=============== CONSTRUCTEURS/INITIALISEURS ===============
     public RoomController(GameController c) {
         gameController = c;
@@ -46,11 +53,15 @@ public class RoomController {
     public Room getCurrentRoomModel() { return currentRoomModel; }
     public RoomView getCurrentRoomView() { return currentRoomView; }
 
+    // Case libre de la pièce affichée tirée au hasard, ou null si la pièce est pleine
+    public Scalar2D getRandomFreeCell() { return currentRoomModel.getOccupancy().randomFree(random); }
+
     //====================== UPDATERS =========================
 
     // Crée le visuel d'un Container dans la piece (Ordinateur, Station de Vie...)
     public void addContainerInRoom(Item item, int col, int line){
-        ContainerView containerView = new ContainerView("HealthStation");
+        ContainerView containerView = currentRoomView.render(item.getTag(), ContainerView.class, ContainerView::new, col, line, "CENTER");
+        containerView.setContainerCategory("HealthStation");
 
         containerView.setOnMousePressed(e -> {
             if (e.isSecondaryButtonDown())
@@ -58,27 +69,28 @@ public class RoomController {
             else {
                 if (item instanceof HealthStation) {
                     item.isUsedOn(gameController.getPlayerModel());
+                    gameController.endAction();
                     gameController.getActorController().updatePlayerFrame();
                 }
                 else if(item instanceof Computer){
                     Computer computer = (Computer) item;
                     try {
-                        new ComputerController(computer, gameController);
+                        gameController.getComputerController().open(computer);
                     } catch (IOException exception) {
                         exception.printStackTrace();
                     }
                 }
-                else
+                else {
                     item.isUsed(gameController.getPlayerModel());
+                    gameController.endAction();
+                }
             }
         });
-
-        currentRoomView.addInRoom(containerView, item.getTag(), col, line, "CENTER");
     }
 
     // Ajout un item dans la pièce, et gestion de ses réactions
     public void addItemInRoom(Item item, int col, int line){
-        ItemView itemView = new ItemView();
+        ItemView itemView = currentRoomView.render(item.getTag(), ItemView.class, ItemView::new, col, line, "CENTER");
 
         itemView.setOnMousePressed(e -> {
             if (e.isSecondaryButtonDown())
@@ -86,8 +98,18 @@ public class RoomController {
             else
                 gameController.getInventoryController().addInInventory(item);
         });
+    }
+
+    // Déplacement automatique du joueur jusqu'à une pièce (par le plus court chemin connu):
+    public void travelTo(Room target) {
+        if(target == null || target == currentRoomModel)
+            return;
+
+        gameController.getPlayerModel().goTo(target);
+        gameController.endAction();
 
-        currentRoomView.addInRoom(itemView, item.getTag(), col, line, "CENTER");
+        if(gameController.getPlayerModel().getRoom() != currentRoomModel)
+            updateRoomView(DEFAULT_ROOMS_SIZE.getScalar2DCol(), DEFAULT_ROOMS_SIZE.getScalar2DLine());
     }
 
     // Mise à jour de la vue de la pièce:
@@ -95,20 +117,23 @@ public class RoomController {
         //On récupère le modèle:
         currentRoomModel = gameController.getPlayerModel().getRoom();
 
-        //On met à jour la vue:
-        gameController.getGameView().getMapPane().getChildren().remove(currentRoomView);
-        currentRoomView = new RoomView(nbCol, nbLignes);
+        //La grille n'est refaite que si sa taille change:
+        if(currentRoomView == null || currentRoomView.getNbCol() != nbCol || currentRoomView.getNbLignes() != nbLignes) {
+            gameController.getGameView().getMapPane().getChildren().remove(currentRoomView);
+            currentRoomView = new RoomView(nbCol, nbLignes);
+            loadHandlers();
+            gameController.getGameView().getMapPane().getChildren().add(currentRoomView);
+        }
+
+        //On met à jour la vue: seul ce qui diffère de ce qui est affiché est ajouté, déplacé ou retiré
         gameController.getGameView().getRoomLabel().setText("Room " + currentRoomModel.getID());
+        currentRoomView.beginRender();
         loadDoors();
         loadItems();
         loadPlayer();
         loadNPCs();
-        loadHandlers();
-        gameController.getGameView().getMapPane().getChildren().add(currentRoomView);
-
-        //On signale à l'inventaire de mettre à jour la taille du tableau de gestionnaires d'événements utilisé
-        //pour la gestion de la fonction use() des objets (quand on clique gauche sur un objet de la pièce):
-        gameController.getInventoryController().resetUseItemHandlersArray(nbCol, nbLignes);
+        currentRoomView.endRender();
+        loadTravelChoices();
 
         //"Éteint" l'ordinateur si le joueur quitte la pièce sans appuyer sur le bouton 'quitter':
         gameController.getActorController().resetActorPanel();
@@ -120,35 +145,61 @@ public class RoomController {
 
     //====================== LOADERS ==========================
     public void loadDoors() {
-        Set<Door> doors = currentRoomModel.getDoors().keySet();
+        List<Door> doors = currentRoomModel.getDoors();
         int[] roomSize = {currentRoomView.getNbCol(), currentRoomView.getNbLignes()};
 
         for(Door d : doors) {
-            DoorView doorView;
             int[] doorPos = {d.getScalar2D().getScalar2DCol(), d.getScalar2D().getScalar2DLine()};
+            DoorView doorView = currentRoomView.render(d.getTag(), DoorView.class, () -> new DoorView("normal"),
+                    doorPos[0], doorPos[1], DoorView.getAlignment(roomSize, doorPos));
 
             if(d instanceof LockedDoor && ((LockedDoor) d).isLocked())
-                doorView = new DoorView("locked");
-            else if(d instanceof LockedDoor && !((LockedDoor) d).isLocked())
-                doorView = new DoorView("normal");
+                doorView.setDoorViewColor("locked");
             else
-                doorView = new DoorView("normal");
+                doorView.setDoorViewColor("normal");
 
             doorView.setDoorGeometry(roomSize, doorPos);
-            currentRoomView.addInRoom(doorView, d.getTag(), doorPos[0], doorPos[1], doorView.getAlignment(roomSize, doorPos));
 
             doorView.setOnMousePressed(e -> {
                 if(e.isSecondaryButtonDown())
                     d.describe();
                 else{
                     gameController.getPlayerModel().go(d);
+                    gameController.endAction();
                     updateRoomView(DEFAULT_ROOMS_SIZE.getScalar2DCol(), DEFAULT_ROOMS_SIZE.getScalar2DLine());
                 }
             });
         }
     }
 
+    // Liste des pièces du vaisseau proposées au déplacement automatique (remplie une fois par vaisseau):
+    public void loadTravelChoices() {
+        ComboBox<Integer> travelComboBox = gameController.getGameView().getTravelComboBox();
+        Ship ship = gameController.getPlayerModel().getShip();
+
+        if(ship != null && ship != travelShip) {
+            travelShip = ship;
+            travelComboBox.setOnAction(null);
+            travelComboBox.getItems().setAll(Arrays.stream(ship.getRoomIDs()).sorted().boxed().toList());
+            travelComboBox.setOnAction(e -> {
+                Integer id = travelComboBox.getValue();
+
+                if(id != null)
+                    travelTo(travelShip.getRoom(id));
+            });
+        }
+
+        //On vide la sélection sans redéclencher de déplacement:
+        EventHandler<ActionEvent> handler = travelComboBox.getOnAction();
+        travelComboBox.setOnAction(null);
+        travelComboBox.setValue(null);
+        travelComboBox.setOnAction(handler);
+    }
+
     public void loadHandlers() {
+        //Un seul gestionnaire pour utiliser l'objet sélectionné sur n'importe quel élément de la pièce (cf. RoomView):
+        currentRoomView.setOnElementPressed(gameController.getInventoryController()::useSelectedOn);
+
         //On bind les sliders de la vue du jeu à la nouvelle pièce chargée:
         currentRoomView.layoutXProperty().bind(gameController.getGameView().getMapHorizontalSlider().valueProperty());
         currentRoomView.layoutYProperty().bind(gameController.getGameView().getMapVerticalSlider().valueProperty());
@@ -190,14 +241,22 @@ public class RoomController {
             return;
 
         for (NPC npc : npcs) {
-            //On cherche une position disponible dans la pièce et on met à jour la position du modèle:
-            int[] availableRoomPos = currentRoomView.getRandPos();
-            Scalar2D npcPos = new Scalar2D(availableRoomPos[0], availableRoomPos[1]);
+            //Un NPC qui vient d'apparaître dans la pièce affichée y prend une case libre (mise à jour du modèle);
+            //ceux qui y sont déjà dessinés gardent la leur:
+            if (!npc.isDead() && currentRoomView.getFromRoom(npc.getName()) == null) {
+                Scalar2D npcPos = getRandomFreeCell();
 
-            if (!npc.isDead())
-                npc.setPos(npcPos);
+                if (npcPos != null)
+                    npc.setPos(npcPos);
+            }
+
+            //Pièce pleine et pas encore de place pour ce NPC: il n'est pas affiché
+            if (npc.getPos() == null)
+                continue;
 
-            ActorView actorView = gameController.getActorController().getNPCView(npc);
+            ActorView actorView = currentRoomView.render(npc.getName(), ActorView.class, () -> new ActorView("neutral"),
+                    npc.getPos().getScalar2DCol(), npc.getPos().getScalar2DLine(), "CENTER");
+            actorView.setActorViewColor(gameController.getActorController().getNPCCategory(npc));
             actorView.setOnMousePressed(e -> {
                 if(e.isSecondaryButtonDown())
                     npc.describe();
@@ -207,19 +266,15 @@ public class RoomController {
                 }
 
             });
-            currentRoomView.addInRoom(actorView, npc.getName(), npc.getPos().getScalar2DCol(), npc.getPos().getScalar2DLine(), "CENTER");
         }
     }
 
     // Gestion de l'affichage du joueur dans la pièce
     public void loadPlayer() {
-        int nbCol = currentRoomView.getNbCol();
-        int nbLignes = currentRoomView.getNbLignes();
-
         gameController.getActorController().updatePlayerFrame();
-        currentRoomView.addInRoom(gameController.getPlayerView(), gameController.getPlayerModel().getName(),
-                (nbCol - 1)/2, (nbLignes-1)/2, "CENTER");
-        gameController.getGameView().getActorImageView().setImage(new Image(getClass().getResource("../img/main_character.png").toString(), true));
+        currentRoomView.render(gameController.getPlayerModel().getName(), gameController.getPlayerView(),
+                Room.PLAYER_CELL.getScalar2DCol(), Room.PLAYER_CELL.getScalar2DLine(), "CENTER");
+        gameController.getAssets().show(gameController.getGameView().getActorImageView(), "main_character.png");
 
         gameController.getPlayerView().setOnMousePressed(e -> {
             if(e.isSecondaryButtonDown())
@@ -227,15 +282,34 @@ public class RoomController {
             else {
                 gameController.getActorController().resetActorPanel();
                 gameController.getActorController().updatePlayerFrame();
-                gameController.getGameView().getActorImageView().setImage(new Image(getClass().getResource("../img/main_character.png").toString(), true));
+                gameController.getAssets().show(gameController.getGameView().getActorImageView(), "main_character.png");
             }
         });
     }
 
 
+    //====================== RENDUS PARTIELS ==================
+
+    // Reprend seulement les portes de la pièce affichée (une porte vient d'être déverrouillée...)
+    public void renderDoors() {
+        currentRoomView.beginRender();
+        loadDoors();
+        currentRoomView.endRender(DoorView.class);
+    }
+
+    // Reprend seulement les personnages de la pièce affichée (pas de temps de la simulation)
+    public void renderActors() {
+        currentRoomView.beginRender();
+        currentRoomView.render(gameController.getPlayerModel().getName(), gameController.getPlayerView(),
+                Room.PLAYER_CELL.getScalar2DCol(), Room.PLAYER_CELL.getScalar2DLine(), "CENTER");
+        loadNPCs();
+        currentRoomView.endRender(ActorView.class);
+    }
+
+
     //====================== UNLOADERS ========================
     public void unloadDoors() {
-        Set<Door> doors = currentRoomModel.getDoors().keySet();
+        List<Door> doors = currentRoomModel.getDoors();
 
         for(Door d : doors)
             currentRoomView.removeFromRoom(d.getTag());
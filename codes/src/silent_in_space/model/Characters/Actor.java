@@ -1,6 +1,7 @@
 package silent_in_space.model.Characters;
 
 import silent_in_space.model.Commands.Lookable;
+import silent_in_space.model.Game.GameEvents;
 import silent_in_space.model.Game.Message;
 import silent_in_space.model.Items.*;
 import silent_in_space.model.Location.*;
@@ -16,7 +17,10 @@ public abstract class Actor implements Attackable, Attacker, UsableBy, Serializa
 	private int hp;
 	private final int ATTACKPOWER;
 	private Room room;
+	//Sur un vaisseau paginé, la pièce précédente n'est retenue que par son numéro: une référence l'empêcherait
+	//d'être déchargée, et la relire la relirait avec ses propres acteurs (cf. getPreviousRoom())
 	private Room previousRoom;
+	private int previousRoomID;
 	private final Inventory INVENTORY;
 	private Scalar2D pos;
 
@@ -31,7 +35,7 @@ public abstract class Actor implements Attackable, Attacker, UsableBy, Serializa
 		this.hp = DEFAULT_HP;
 		this.ATTACKPOWER = DEFAULT_ATTACKPOWER;
 		this.room = r;
-		this.previousRoom = r;
+		this.setPreviousRoom(r);
 		this.INVENTORY = new Inventory();
 
 		r.addActor(this);
@@ -44,7 +48,7 @@ public abstract class Actor implements Attackable, Attacker, UsableBy, Serializa
 		this.hp = DEFAULT_HP;
 		this.ATTACKPOWER = DEFAULT_ATTACKPOWER;
 		this.room = r;
-		this.previousRoom = r;
+		this.setPreviousRoom(r);
 		this.INVENTORY = new Inventory();
 		this.pos = pos;
 
@@ -53,11 +57,20 @@ public abstract class Actor implements Attackable, Attacker, UsableBy, Serializa
 
 	public void changeRoom(Room r)
 	{
-		this.previousRoom = this.getRoom();
-		this.room.removeActor(this.NAME);
+		this.moveTo(r);
+		this.room.describe();
+	}
+
+	// Déplacement sans description de la pièce (cf. Simulation)
+	public void moveTo(Room r)
+	{
+		Room from = this.getRoom();
+		this.setPreviousRoom(from);
+		from.removeActor(this.NAME);
 		r.addActor(this);
 		this.room = r;
-		this.room.describe();
+
+		GameEvents.current().actorMoved(this, from, r);
 	}
 
 	@Override
@@ -68,8 +81,7 @@ public abstract class Actor implements Attackable, Attacker, UsableBy, Serializa
 
 	public void drop(Item item)
 	{
-		this.getInventory().removeItem(item.getTag());
-		this.getRoom().getInventory().addItem(item);
+		this.getInventory().moveItem(item, this.getRoom().getInventory());
 		Message.sendGameMessage(item.getTag() + " was dropped on the floor. ");
 	}
 
@@ -102,7 +114,21 @@ public abstract class Actor implements Attackable, Attacker, UsableBy, Serializa
 
 	public Room getPreviousRoom()
 	{
-		return this.previousRoom;
+		if(this.previousRoom != null || this.room == null || this.room.getShip() == null)
+			return this.previousRoom;
+
+		return this.room.getShip().getRoom(this.previousRoomID);
+	}
+
+	public int getPreviousRoomID()
+	{
+		return this.previousRoomID;
+	}
+
+	private void setPreviousRoom(Room r)
+	{
+		this.previousRoomID = r.getID();
+		this.previousRoom = r.getShip() != null && r.getShip().isPaged() ? null : r;
 	}
 
 	public Room getRoom()
@@ -110,7 +136,7 @@ public abstract class Actor implements Attackable, Attacker, UsableBy, Serializa
 		return this.room;
 	}
 
-	public void setPos(int x, int y) {this.pos = new Scalar2D(x, y);}
+	public void setPos(int x, int y) { this.setPos(new Scalar2D(x, y)); }
 
 	public void give(String tag, Actor a)
 	{
@@ -148,7 +174,10 @@ public abstract class Actor implements Attackable, Attacker, UsableBy, Serializa
 			Actor actor = (Actor) a;
 
 			if(!(this.isDead()))
+			{
 				this.hp -= actor.getAttackPower();
+				GameEvents.current().actorDamaged(this, actor.getAttackPower());
+			}
 		}
 	}
 
@@ -164,11 +193,14 @@ public abstract class Actor implements Attackable, Attacker, UsableBy, Serializa
 
 		else
 		{
+			int before = this.hp;
 			this.hp += healing_points;
 
 			if(this.hp > this.getDEFAULT_HP_MAX())
 				this.hp = this.getDEFAULT_HP_MAX();
 
+			GameEvents.current().actorHealed(this, this.hp - before);
+
 			if(this instanceof Player)
 				Message.sendGameMessage("You have been healed!");
 
@@ -189,5 +221,36 @@ public abstract class Actor implements Attackable, Attacker, UsableBy, Serializa
 
 	public abstract void receive(Actor a, String tag);
 
-	public void setPos(Scalar2D pos) { this.pos = pos; }
+	// État relu d'une sauvegarde, sans message: c'est à l'appelant de ranger l'acteur dans sa pièce
+	public void restore(Room room, Room previousRoom, int hp)
+	{
+		this.room = room;
+		this.setPreviousRoom(previousRoom);
+		this.hp = hp;
+	}
+
+	// Même chose, la pièce précédente étant donnée par son numéro (elle n'est pas chargée sur un vaisseau paginé)
+	public void restore(Room room, int previousRoomID, int hp)
+	{
+		if(room.getShip() != null && room.getShip().isPaged())
+		{
+			this.room = room;
+			this.previousRoom = null;
+			this.previousRoomID = previousRoomID;
+			this.hp = hp;
+		}
+
+		else
+			this.restore(room, room.getShip().getRoom(previousRoomID), hp);
+	}
+
+	public void setPos(Scalar2D pos)
+	{
+		this.pos = pos;
+
+		if(this.room != null)
+			this.room.actorMoved(this);
+
+		GameEvents.current().actorPlaced(this);
+	}
 }
\ No newline at end of file
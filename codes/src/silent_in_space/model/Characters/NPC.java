@@ -1,6 +1,7 @@
 package silent_in_space.model.Characters;
 
 import silent_in_space.model.Commands.Lookable;
+import silent_in_space.model.Game.GameEvents;
 import silent_in_space.model.Game.Message;
 import silent_in_space.model.Items.Item;
 import silent_in_space.model.Location.Room;
@@ -40,12 +41,12 @@ public class NPC extends Actor implements Serializable, Lookable
 			Message.sendGameMessage(this.getName() + " gasps with pain, " + this.getName() + " only has " + this.getHp() + "hp left!");
 
 			if (this.isAlly) {
-				this.isAlly = false;
+				this.setAlly(false);
 			}
 
 			else {
 				if (!(this.isHostile))
-					this.isHostile = true;
+					this.setHostile(true);
 
 				if(a instanceof Attackable) {
 					this.attack((Attackable) a);
@@ -59,6 +60,11 @@ public class NPC extends Actor implements Serializable, Lookable
 		return this.isHostile;
 	}
 
+	public String getSpeech()
+	{
+		return this.speech;
+	}
+
 	@Override
 	public void receive(Actor a, String tag) {
 		if(!this.isHostile())
@@ -67,8 +73,24 @@ public class NPC extends Actor implements Serializable, Lookable
 			Message.sendGameMessage(this.getName() + " doesn't trust you and refuses your item.");
 	}
 
-	public void setAlly(boolean b) { this.isAlly = b; }
-	public void setHostile(boolean b) {this.isHostile = b; }
+	public void setAlly(boolean b)
+	{
+		boolean changed = this.isAlly != b;
+		this.isAlly = b;
+
+		if(changed)
+			GameEvents.current().npcAllyChanged(this);
+	}
+
+	public void setHostile(boolean b)
+	{
+		boolean changed = this.isHostile != b;
+		this.isHostile = b;
+
+		if(changed)
+			GameEvents.current().npcHostilityChanged(this);
+	}
+
 	public void setSpeech(String s)
 	{
 		this.speech = s;
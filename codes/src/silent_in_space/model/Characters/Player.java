@@ -1,20 +1,19 @@
 package silent_in_space.model.Characters;
 
-import silent_in_space.model.Commands.Command;
+import silent_in_space.model.Commands.CommandDispatcher;
 import silent_in_space.model.Commands.Lookable;
 import silent_in_space.model.Commands.UnknownVerb;
 import silent_in_space.model.Doors.Door;
+import silent_in_space.model.Game.ConsoleInput;
 import silent_in_space.model.Game.Message;
+import silent_in_space.model.Game.MessageChannel;
 import silent_in_space.model.Game.SIS;
 import silent_in_space.model.Items.*;
 import silent_in_space.model.Location.Room;
 import silent_in_space.model.Location.Ship;
 
 import java.io.*;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.Scanner;
 
 
 
@@ -22,6 +21,7 @@ public class Player extends Actor implements Serializable
 {
 	private final Ship SHIP;
 	private SIS sis;
+	private transient CommandDispatcher dispatcher;
 	private static final String NAME = "Me";
 	private static final String DESCRIPTION = "Narcissism is an ugly trait of character but it is so common among humans";
 
@@ -47,20 +47,30 @@ public class Player extends Actor implements Serializable
 	public void call()
 	{
 		Message.sendGameMessage("\nCommand :> ");
-		Scanner sc = new Scanner(System.in);
-		String buffer = sc.nextLine();
-		System.out.println();
-		String[] words = buffer.split(" ");
+		String buffer = this.readLine();
+		Message.sendGameMessage("\n");
+		this.call(buffer);
+	}
 
-		String verb = words[0];
-		List<String> args = new ArrayList<>();
+	public void call(String buffer)
+	{
+		//Tous les messages de la commande sont livrés d'un bloc à la fin du tour:
+		MessageChannel channel = MessageChannel.current();
+		channel.beginTurn();
 
-		if(words.length > 1)
-			args.addAll(Arrays.asList(words).subList(1, words.length));
+		try {
+			this.exec(buffer);
+		}
+
+		finally {
+			channel.endTurn();
+		}
+	}
 
+	private void exec(String buffer)
+	{
 		try {
-			Command cmd = new Command(this, verb, args);
-			cmd.exec();
+			this.getDispatcher().dispatch(buffer);
 		}
 
 		catch(UnknownVerb e)
@@ -69,6 +79,19 @@ public class Player extends Actor implements Serializable
 		}
 	}
 
+	public CommandDispatcher getDispatcher()
+	{
+		if(this.dispatcher == null)
+			this.dispatcher = new CommandDispatcher(this);
+
+		return this.dispatcher;
+	}
+
+	public Ship getShip()
+	{
+		return this.SHIP;
+	}
+
 	@Override
 	public void give(String tag, Actor a)
 	{
@@ -87,6 +110,33 @@ public class Player extends Actor implements Serializable
 		this.getRoom().useDoor(this, door);
 	}
 
+	public void goTo(Room target)
+	{
+		if(target == this.getRoom())
+		{
+			Message.sendGameMessage("You are already in room " + target.getID());
+			return;
+		}
+
+		List<Door> path = this.SHIP != null ? this.SHIP.getGraph().findPath(this.getRoom(), target) : null;
+
+		if(path == null)
+		{
+			Message.sendGameMessage("You don't know any way to room " + target.getID() + " from here.");
+			return;
+		}
+
+		for(Door d : path)
+		{
+			Room before = this.getRoom();
+			this.go(d);
+
+			//On s'arrête si une porte n'a pas pu être franchie:
+			if(this.getRoom() == before)
+				break;
+		}
+	}
+
 	public void help()
 	{
 		Message.sendGameMessage("You can interact with the game using textual commands. " +
@@ -97,19 +147,23 @@ public class Player extends Actor implements Serializable
 		Message.sendGameMessage("\t- back : quick return to the previous room");
 		Message.sendGameMessage("\t- drop <item> : drop the designated item on the floor");
 		Message.sendGameMessage("\t- give <object's name> <NPC name>: give of an item (if you are allowed to do it) of your inventory to an NPC.");
-		Message.sendGameMessage("\t- go <door name> : go to a neighbour room using the indicated door\n");
+		Message.sendGameMessage("\t- go <door name> : go to a neighbour room using the indicated door");
+		Message.sendGameMessage("\t- goto <room number> : walk to the indicated room by the shortest way through the doors you can open\n");
 
 		Message.sendGameMessage("\t- help : display this help menu");
 		Message.sendGameMessage("\t- info : display the stats of your character");
 		Message.sendGameMessage("\t- inventory : display the content of your inventory");
-		Message.sendGameMessage("\t- load : load a saved game");
+		Message.sendGameMessage("\t- load [<slot>] : load the game saved in a slot (the quick save slot 0 by default)");
 		Message.sendGameMessage("\t- look [<something or somebody>] : display the description of your surroundings or of the indicated parameter\n");
 
 		Message.sendGameMessage("\t- quit : leave the game");
-		Message.sendGameMessage("\t- save : save the current state of the game");
+		Message.sendGameMessage("\t- redo : replay the last undone turn");
+		Message.sendGameMessage("\t- save [<slot>] : save the current state of the game in a slot (the quick save slot 0 by default)");
+		Message.sendGameMessage("\t- saves : list the saved games");
 		Message.sendGameMessage("\t- search <NPC name> : get access to the inventory of a dead NPC");
 		Message.sendGameMessage("\t- take <object's name> : take the indicated object");
-		Message.sendGameMessage("\t- talk <npc> : talk to the designated npc\n");
+		Message.sendGameMessage("\t- talk <npc> : talk to the designated npc");
+		Message.sendGameMessage("\t- undo : go back one turn\n");
 
 		Message.sendGameMessage("\t- use <object's name> [<object's name>] : use an object possibly on another indicated object");
 	}
@@ -153,9 +207,9 @@ public class Player extends Actor implements Serializable
 			Message.sendGameMessage("Using a pass on yourself looks dumb... You really aren't helping the human cause here!");
 	}
 
-	public void load()
+	public void load(int slot)
 	{
-		this.sis.load();
+		this.sis.load(slot);
 	}
 
 	public void look()
@@ -171,7 +225,28 @@ public class Player extends Actor implements Serializable
 	public void quit()
 	{
 		Message.sendGameMessage("Thanks for playing Silent In Space!");
-		System.exit(0);
+
+		if(this.sis != null)
+			this.sis.quit();
+
+		else
+		{
+			MessageChannel.current().flush();
+			System.exit(0);
+		}
+	}
+
+	// Lit la prochaine saisie du joueur (clavier ou file de commandes d'une session hébergée)
+	public String readLine()
+	{
+		//Le joueur doit voir ce qui a été affiché avant de répondre:
+		MessageChannel.current().flush();
+
+		if(this.sis != null && this.sis.getInput() != null)
+			return this.sis.getInput().nextLine();
+
+		else
+			return new ConsoleInput().nextLine();
 	}
 
 	public void take(Item item)
@@ -182,8 +257,7 @@ public class Player extends Actor implements Serializable
 
 		else
 		{
-			this.getRoom().getInventory().removeItem(item.getTag());
-			this.getInventory().addItem(item);
+			this.getRoom().getInventory().moveItem(item, this.getInventory());
 			Message.sendGameMessage("You have taken " + item.getTag());
 		}
 	}
@@ -208,21 +282,30 @@ public class Player extends Actor implements Serializable
 		by.isUsedBy(on);
 	}
 
-	public void save() {
-		try {
-			FileOutputStream fileOut = new FileOutputStream("saveData.txt");
-			ObjectOutputStream oos = new ObjectOutputStream(fileOut);
-			oos.writeObject(this.SHIP);
-			oos.close();
-			Message.sendGameMessage("You successfully saved the game!");
-		} catch (IOException e) {
-			e.printStackTrace();
-		}
+	public void redo()
+	{
+		if(this.sis.redo())
+			this.look();
+	}
+
+	public void undo()
+	{
+		if(this.sis.undo())
+			this.look();
+	}
+
+	public void save(int slot)
+	{
+		this.sis.save(slot);
+	}
+
+	public void saves()
+	{
+		this.sis.listSaves();
 	}
 
 	public void search(NPC npc) {
 		if(npc.isDead()) {
-			Scanner scan = new Scanner(System.in);
 			String userChoice = "";
 			while(!userChoice.equals("quit")){
 				Message.sendGameMessage("\n==========================================================================================\n" +
@@ -230,8 +313,8 @@ public class Player extends Actor implements Serializable
 						"\tEnter the name of an item in order to take it. Enter 'quit' to go back.\n" +
 						"==========================================================================================\n");
 				npc.getInventory().showItems();
-				System.out.print(":> ");
-				userChoice = scan.nextLine();
+				Message.sendGameMessage(":> ");
+				userChoice = this.readLine();
 				if(!userChoice.equals("quit")){
 					npc.give(userChoice, this);
 				}
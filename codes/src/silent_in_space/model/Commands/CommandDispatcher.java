@@ -0,0 +1,369 @@
+package silent_in_space.model.Commands;
+
+import silent_in_space.model.Characters.*;
+import silent_in_space.model.Doors.Door;
+import silent_in_space.model.Game.Message;
+import silent_in_space.model.Items.Item;
+import silent_in_space.model.Items.UsableBy;
+import silent_in_space.model.Items.UsableOn;
+import silent_in_space.model.Location.Room;
+import silent_in_space.model.Save.SaveSlots;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+
+/* -----------------------------------------------------------------------------
+ * Répartiteur des commandes d'un joueur:
+ *
+ * Rôle: Découpe une ligne de commande, retrouve son verbe et appelle le
+ * gestionnaire enregistré pour ce verbe. Il est créé une fois par joueur et
+ * réutilise son Converter, son tableau d'arguments et ses mots déjà rencontrés:
+ * une commande rejouée ne produit pas de nouveaux objets.
+ * ----------------------------------------------------------------------------- */
+
+public class CommandDispatcher {
+
+	private final Player CALLER;
+	private final Converter CONVERTER;
+	private final EnumMap<Verb, CommandHandler> HANDLERS;
+	private final TokenTable TOKENS;
+	private String[] args;
+
+	public CommandDispatcher(Player player)
+	{
+		this.CALLER = player;
+		this.CONVERTER = new Converter(player);
+		this.HANDLERS = new EnumMap<>(Verb.class);
+		this.TOKENS = new TokenTable();
+		this.args = new String[4];
+
+		this.HANDLERS.put(Verb.ATTACK, this::attack);
+		this.HANDLERS.put(Verb.BACK, (args, nbArgs) -> this.CALLER.back());
+		this.HANDLERS.put(Verb.DROP, this::drop);
+		this.HANDLERS.put(Verb.GIVE, this::give);
+		this.HANDLERS.put(Verb.GO, this::go);
+		this.HANDLERS.put(Verb.GOTO, this::goTo);
+		this.HANDLERS.put(Verb.HELP, (args, nbArgs) -> this.CALLER.help());
+		this.HANDLERS.put(Verb.INFO, (args, nbArgs) -> this.CALLER.info());
+		this.HANDLERS.put(Verb.INVENTORY, (args, nbArgs) -> this.CALLER.getInventory().showItems());
+		this.HANDLERS.put(Verb.LOAD, this::load);
+		this.HANDLERS.put(Verb.LOOK, this::look);
+		this.HANDLERS.put(Verb.QUIT, (args, nbArgs) -> this.CALLER.quit());
+		this.HANDLERS.put(Verb.REDO, (args, nbArgs) -> this.CALLER.redo());
+		this.HANDLERS.put(Verb.SAVE, this::save);
+		this.HANDLERS.put(Verb.SAVES, (args, nbArgs) -> this.CALLER.saves());
+		this.HANDLERS.put(Verb.SEARCH, this::search);
+		this.HANDLERS.put(Verb.TAKE, this::take);
+		this.HANDLERS.put(Verb.TALK, this::talk);
+		this.HANDLERS.put(Verb.UNDO, (args, nbArgs) -> this.CALLER.undo());
+		this.HANDLERS.put(Verb.USE, this::use);
+	}
+
+	public Converter getConverter()
+	{
+		return this.CONVERTER;
+	}
+
+	public void register(Verb verb, CommandHandler handler)
+	{
+		this.HANDLERS.put(verb, handler);
+	}
+
+	//====================== EXÉCUTION ========================
+
+	// Exécute une ligne de commande complète ("verbe arg1 arg2...")
+	public void dispatch(String line) throws UnknownVerb
+	{
+		int length = line.length();
+		int i = 0;
+
+		while(i < length && line.charAt(i) == ' ')
+			i++;
+
+		int start = i;
+
+		while(i < length && line.charAt(i) != ' ')
+			i++;
+
+		Verb verb = Verb.lookup(line, start, i);
+
+		if(verb == null)
+		{
+			Message.sendGameMessage("This verb doesn't exist");
+			throw new UnknownVerb();
+		}
+
+		int nbArgs = 0;
+
+		while(i < length)
+		{
+			while(i < length && line.charAt(i) == ' ')
+				i++;
+
+			if(i == length)
+				break;
+
+			start = i;
+
+			while(i < length && line.charAt(i) != ' ')
+				i++;
+
+			if(nbArgs == this.args.length)
+				this.args = Arrays.copyOf(this.args, nbArgs * 2);
+
+			this.args[nbArgs++] = this.TOKENS.intern(line, start, i);
+		}
+
+		this.exec(verb, this.args, nbArgs);
+	}
+
+	// Utilisé par Command (arguments déjà découpés)
+	public void exec(Verb verb, List<String> args)
+	{
+		if(args == null)
+		{
+			this.exec(verb, this.args, 0);
+			return;
+		}
+
+		String[] array = args.toArray(new String[0]);
+		this.exec(verb, array, array.length);
+	}
+
+	public void exec(Verb verb, String[] args, int nbArgs)
+	{
+		CommandHandler handler = this.HANDLERS.get(verb);
+
+		if(handler != null)
+			handler.exec(args, nbArgs);
+
+		else
+			Message.sendGameMessage("Error :> Something wrong occurred, this case should never have been reached in exec()" +
+					" method in commands.");
+	}
+
+	//====================== GESTIONNAIRES ====================
+
+	private void attack(String[] args, int nbArgs)
+	{
+		if(nbArgs == 0)
+			Message.sendGameMessage("Error :> Please indicate who you want to attack");
+
+		else {
+			try {
+				Attackable a = this.CONVERTER.convertAttackable(args[0]);
+				this.CALLER.attack(a);
+			} catch (StringRequestUnmatched e) {
+				Message.sendGameMessage("Error :> You can't attack this!");
+			}
+		}
+	}
+
+	private void drop(String[] args, int nbArgs)
+	{
+		if(nbArgs == 0)
+			Message.sendGameMessage("Error :> Please indicate which item you want to drop");
+
+		else {
+			try {
+				Item item = this.CONVERTER.convertPlayerItem(args[0]);
+				this.CALLER.drop(item);
+			} catch (StringRequestUnmatched e) {
+				Message.sendGameMessage("Error :> This item isn't in your inventory");
+			}
+		}
+	}
+
+	private void give(String[] args, int nbArgs)
+	{
+		if(nbArgs < 1)
+		{
+			Message.sendGameMessage("Error :> I don't know what to give to whom.");
+		}
+
+		else if(nbArgs == 1)
+		{
+			Message.sendGameMessage("Error :> I don't know who to give " + args[0]);
+		}
+
+		else
+		{
+			try {
+				Actor a = this.CONVERTER.convertNPC(args[1]);
+				this.CALLER.give(args[0], a);
+			} catch (StringRequestUnmatched e) {
+				Message.sendGameMessage("You can't give anything to this!");
+			}
+		}
+	}
+
+	private void go(String[] args, int nbArgs)
+	{
+		if(nbArgs == 0)
+			Message.sendGameMessage("Error :> Please indicate which door you want to go through");
+
+		else {
+			try {
+				Door d = this.CONVERTER.convertDoor(args[0]);
+				this.CALLER.go(d);
+			} catch (StringRequestUnmatched e) {
+				Message.sendGameMessage("Error :> This isn't a door!");
+			}
+		}
+	}
+
+	private void goTo(String[] args, int nbArgs)
+	{
+		if(nbArgs == 0)
+			Message.sendGameMessage("Error :> Please indicate which room you want to go to");
+
+		else {
+			try {
+				Room r = this.CONVERTER.convertRoom(args[0]);
+				this.CALLER.goTo(r);
+			} catch (StringRequestUnmatched e) {
+				Message.sendGameMessage("Error :> This room doesn't exist!");
+			}
+		}
+	}
+
+	private void load(String[] args, int nbArgs)
+	{
+		int slot = this.slot(args, nbArgs);
+
+		if(slot >= 0)
+			this.CALLER.load(slot);
+	}
+
+	private void save(String[] args, int nbArgs)
+	{
+		int slot = this.slot(args, nbArgs);
+
+		if(slot >= 0)
+			this.CALLER.save(slot);
+	}
+
+	// Emplacement de sauvegarde indiqué (sauvegarde rapide par défaut), ou -1
+	private int slot(String[] args, int nbArgs)
+	{
+		if(nbArgs == 0)
+			return SaveSlots.QUICK_SLOT;
+
+		try {
+			int slot = Integer.parseInt(args[0]);
+
+			if(slot >= 0 && slot <= SaveSlots.MAX_SLOT)
+				return slot;
+		} catch (NumberFormatException e) {
+			//Message ci-dessous
+		}
+
+		Message.sendGameMessage("Error :> A save slot is a number between 0 and " + SaveSlots.MAX_SLOT);
+		return -1;
+	}
+
+	private void look(String[] args, int nbArgs)
+	{
+		if(nbArgs == 0)
+			this.CALLER.look();
+
+		else
+		{
+			try {
+				Lookable l = this.CONVERTER.convertLookable(args[0]);
+				this.CALLER.look(l);
+			}
+
+			catch(StringRequestUnmatched e) {
+				Message.sendGameMessage("Error :> You can't look this.");
+			}
+		}
+	}
+
+	private void search(String[] args, int nbArgs)
+	{
+		if(nbArgs == 0)
+			Message.sendGameMessage("Error :> Who are you trying to search?");
+
+		else {
+			try {
+				NPC npc = this.CONVERTER.convertNPC(args[0]);
+				this.CALLER.search(npc);
+			} catch (StringRequestUnmatched e) {
+				Message.sendGameMessage("Error :> This NPC doesn't exist.");
+			}
+		}
+	}
+
+	private void take(String[] args, int nbArgs)
+	{
+		if(nbArgs == 0)
+			Message.sendGameMessage("Error :> Please indicate which item you want to take");
+
+		else {
+			try {
+				Item item = this.CONVERTER.convertItem(args[0]);
+				this.CALLER.take(item);
+			} catch (StringRequestUnmatched e) {
+				Message.sendGameMessage("Error :> This item isn't in this room or can't be taken with you");
+			}
+		}
+	}
+
+	private void talk(String[] args, int nbArgs)
+	{
+		if(nbArgs == 0)
+			Message.sendGameMessage("Error :> Please indicate who you want to talk to");
+
+		else {
+
+			try {
+				if (args[0].equals("me"))
+					Message.sendGameMessage("I have to bring a proof of what's happening here to Umhon before leaving...");
+				else {
+					NPC npc = this.CONVERTER.convertNPC(args[0]);
+					this.CALLER.talk(npc);
+				}
+			} catch (StringRequestUnmatched e) {
+				Message.sendGameMessage("Error :> This person isn't in this room (or maybe you enjoy talking to ghosts?)");
+			}
+		}
+	}
+
+	private void use(String[] args, int nbArgs)
+	{
+		if(nbArgs < 1)
+		{
+			Message.sendGameMessage("Error :> I don't know which item you want to use.");
+		}
+
+		else if(nbArgs == 1)
+		{
+			try {
+				Item item = this.CONVERTER.convertItem(args[0]);
+				this.CALLER.use(item);
+			}
+
+			catch(StringRequestUnmatched e)
+			{
+				Message.sendGameMessage("Error :> I don't know this item");
+			}
+		}
+
+		else
+		{
+			try
+			{
+				UsableOn on = this.CONVERTER.convertUsableOn(args[0]);
+				UsableBy by = this.CONVERTER.convertUsableBy(args[1]);
+				this.CALLER.use(on, by);
+			}
+
+			catch(StringRequestUnmatched e)
+			{
+				Message.sendGameMessage("Error :> I don't know one of the items");
+			}
+		}
+	}
+}
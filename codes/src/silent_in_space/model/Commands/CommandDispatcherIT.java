@@ -0,0 +1,86 @@
+package silent_in_space.model.Commands;
+
+import silent_in_space.model.Characters.NPC;
+import silent_in_space.model.Characters.Player;
+import silent_in_space.model.Doors.Door;
+import silent_in_space.model.Items.Artefact;
+import silent_in_space.model.Location.Room;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class CommandDispatcherIT {
+
+    private Player player;
+    private Room room1;
+    private Room room2;
+    private CommandDispatcher dispatcher;
+
+    @Before
+    public void setUp() {
+        room1 = new Room(null, 1, "room-test1");
+        room2 = new Room(null, 2, "room-test2");
+        room1.addDoor(new Door("door1to2"), room2);
+        room2.addDoor(new Door("door2to1"), room1);
+        room1.getInventory().addItem(new Artefact("statue", "a statue"));
+        new NPC("npc", "an npc", false, true, new ArrayList<>(), room1);
+
+        player = new Player(room1, null);
+        dispatcher = player.getDispatcher();
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    @Test
+    public void testVerbLookup() {
+        assertEquals(Verb.GO, Verb.fromString("go"));
+        assertEquals(Verb.INVENTORY, Verb.fromString("InVenTory"));
+        assertEquals(Verb.TAKE, Verb.lookup("please take it", 7, 11));
+        assertNull(Verb.fromString("toto"));
+        assertNull(Verb.fromString(""));
+    }
+
+    @Test
+    public void testDispatchGo() throws UnknownVerb {
+        dispatcher.dispatch("go door1to2");
+        assertEquals(room2, player.getRoom());
+    }
+
+    @Test
+    public void testDispatchIgnoresExtraSpaces() throws UnknownVerb {
+        dispatcher.dispatch("  TAKE   statue  ");
+        assertNotNull(player.getInventory().getItem("statue"));
+        assertNull(room1.getInventory().getItem("statue"));
+    }
+
+    @Test(expected = UnknownVerb.class)
+    public void testDispatchUnknownVerb() throws UnknownVerb {
+        dispatcher.dispatch("blablaincoherentverb door1to2");
+    }
+
+    @Test
+    public void testRegisteredHandlerReceivesArgs() throws UnknownVerb {
+        String[][] received = new String[1][];
+        dispatcher.register(Verb.HELP, (args, nbArgs) -> received[0] = Arrays.copyOf(args, nbArgs));
+
+        dispatcher.dispatch("help a b c d e");
+        assertArrayEquals(new String[]{"a", "b", "c", "d", "e"}, received[0]);
+    }
+
+    @Test
+    public void testSameTokenIsReused() throws UnknownVerb {
+        String[][] received = new String[2][];
+        dispatcher.register(Verb.HELP, (args, nbArgs) -> received[received[0] == null ? 0 : 1] = new String[]{args[0]});
+
+        dispatcher.dispatch("help statue");
+        dispatcher.dispatch("help " + "sta" + "tue");
+        assertSame(received[0][0], received[1][0]);
+    }
+}
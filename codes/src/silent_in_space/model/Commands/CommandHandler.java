@@ -0,0 +1,7 @@
+package silent_in_space.model.Commands;
+
+@FunctionalInterface
+public interface CommandHandler {
+	// Les arguments valides sont args[0] à args[nbArgs - 1], le tableau est réutilisé d'une commande à l'autre
+	void exec(String[] args, int nbArgs);
+}
@@ -4,7 +4,8 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
-@Suite.SuiteClasses({silent_in_space.model.Commands.CommandIT.class, silent_in_space.model.Commands.ConverterIT.class, silent_in_space.model.Commands.ParserIT.class})
+@Suite.SuiteClasses({silent_in_space.model.Commands.CommandIT.class, silent_in_space.model.Commands.ConverterIT.class, silent_in_space.model.Commands.ParserIT.class,
+        silent_in_space.model.Commands.CommandDispatcherIT.class})
 
 public class CommandsTestSuite {
 }
@@ -3,6 +3,8 @@ package silent_in_space.model.Commands;
 import silent_in_space.model.Characters.*;
 import silent_in_space.model.Items.*;
 import silent_in_space.model.Doors.*;
+import silent_in_space.model.Location.EntityIndex;
+import silent_in_space.model.Location.Room;
 
 public class Converter {
 
@@ -38,13 +40,14 @@ public class Converter {
 	public Item convertItem(String s) throws StringRequestUnmatched
 	{
 		Item item1 = this.CALLER.getInventory().getItem(s);
-		Item item2 = this.CALLER.getRoom().getInventory().getItem(s);
 
 		if(item1 != null)
 			return item1;
 
-		else if(item2 != null)
-			return item2;
+		EntityIndex.Entry e = this.CALLER.getRoom().getEntity(s);
+
+		if(e != null && e.getItem() != null)
+			return e.getItem();
 
 		else
 			throw new StringRequestUnmatched();
@@ -53,24 +56,24 @@ public class Converter {
 	public Lookable convertLookable(String s) throws StringRequestUnmatched
 	{
 		Lookable item = this.CALLER.getInventory().getItem(s);
-		Lookable roomItem = this.CALLER.getRoom().getInventory().getItem(s);
-		Lookable door = this.CALLER.getRoom().getDoor(s);
-		Lookable actor = this.CALLER.getRoom().getActor(s);
 
 		if(item != null)
 			return item;
 
-		else if(roomItem != null)
-			return roomItem;
+		//Une seule recherche dans la pièce: objet, puis porte, puis acteur:
+		EntityIndex.Entry e = this.CALLER.getRoom().getEntity(s);
+
+		if(e == null)
+			throw new StringRequestUnmatched();
 
-		else if(door != null)
-			return door;
+		else if(e.getItem() != null)
+			return e.getItem();
 
-		else if(actor != null)
-			return actor;
+		else if(e.getDoor() != null)
+			return e.getDoor();
 
 		else
-			throw new StringRequestUnmatched();
+			return e.getActor();
 	}
 
 	public NPC convertNPC(String s) throws StringRequestUnmatched
@@ -98,13 +101,14 @@ public class Converter {
 	public UsableOn convertUsableOn(String s) throws StringRequestUnmatched
 	{
 		UsableOn u1 = this.CALLER.getInventory().getItem(s);
-		UsableOn u2 = this.CALLER.getRoom().getInventory().getItem(s);
 
 		if(u1 != null)
 			return u1;
 
-		else if (u2 != null)
-			return u2;
+		EntityIndex.Entry e = this.CALLER.getRoom().getEntity(s);
+
+		if(e != null && e.getItem() != null)
+			return e.getItem();
 
 		else
 			throw new StringRequestUnmatched();
@@ -113,26 +117,46 @@ public class Converter {
 	public UsableBy convertUsableBy(String s) throws StringRequestUnmatched
 	{
 		UsableBy u1 = this.CALLER.getInventory().getItem(s);
-		UsableBy u2 = this.CALLER.getRoom().getInventory().getItem(s);
-		UsableBy u3 = this.CALLER.getRoom().getActor(s);
-		UsableBy d = this.CALLER.getRoom().getDoor(s);
 
 		//On renvoie le premier objet qui est non null.
 		//L'unicité de l'objet est garantie par l'unicité des labels:
 		if(u1 != null)
 			return u1;
 
-		else if(u2 != null)
-			return u2;
+		EntityIndex.Entry e = this.CALLER.getRoom().getEntity(s);
 
-		else if(u3 != null)
-			return u3;
+		if(e == null)
+			throw new StringRequestUnmatched();
 
-		else if(d != null)
-			return d;
+		else if(e.getItem() != null)
+			return e.getItem();
+
+		else if(e.getActor() != null)
+			return e.getActor();
 
 		else
-			throw new StringRequestUnmatched();
+			return e.getDoor();
 	}
 
-}
\ No newline at end of file
+	// Accepte le numéro de la pièce, précédé ou non de "room" ("21", "room21")
+	public Room convertRoom(String s) throws StringRequestUnmatched
+	{
+		int start = s.regionMatches(true, 0, "room", 0, 4) ? 4 : 0;
+		Room r = null;
+
+		try {
+			if(this.CALLER.getShip() != null)
+				r = this.CALLER.getShip().getRoom(Integer.parseInt(s, start, s.length(), 10));
+		}
+
+		catch(NumberFormatException e) {
+			r = null;
+		}
+
+		if(r != null)
+			return r;
+
+		else
+			throw new StringRequestUnmatched();
+	}
+}
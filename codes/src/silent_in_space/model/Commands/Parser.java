@@ -9,7 +9,7 @@ public class Parser {
 	public Parser(String verb) throws UnknownVerb
 	{
 		try {
-			this.VERB = this.isValidVerb(verb.toLowerCase());
+			this.VERB = this.isValidVerb(verb);
 		}
 
 		catch(UnknownVerb e)
@@ -21,14 +21,7 @@ public class Parser {
 
 	public Verb isValidVerb(String verb) throws UnknownVerb
 	{
-		Verb[] verbs = Verb.values();
-		Verb res = null;
-
-		for(Verb v : verbs)
-		{
-			if(verb.equals(v.getString()))
-				res = v;
-		}
+		Verb res = Verb.fromString(verb);
 
 		if(res != null)
 			return res;
@@ -41,4 +34,4 @@ public class Parser {
 	{
 		return this.VERB;
 	}
-}
\ No newline at end of file
+}
@@ -1,4 +1,9 @@
 package silent_in_space.model.Commands;
 
 public class StringRequestUnmatched extends Exception {
+
+	//Exception de contrôle levée à chaque nom inconnu: inutile de capturer la pile d'appels
+	public StringRequestUnmatched() {
+		super(null, null, false, false);
+	}
 }
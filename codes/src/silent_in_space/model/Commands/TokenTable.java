@@ -0,0 +1,54 @@
+package silent_in_space.model.Commands;
+
+import java.util.Arrays;
+
+/* Table d'internement des mots d'une commande: un mot déjà rencontré est retrouvé
+ * directement dans la ligne saisie, sans créer de nouvelle String. Quand la table est
+ * à moitié pleine, elle est vidée (les scripts rejouent toujours les mêmes noms). */
+class TokenTable {
+
+	private static final int CAPACITY = 1024;
+
+	private final String[] TOKENS;
+	private int size;
+
+	TokenTable()
+	{
+		this.TOKENS = new String[CAPACITY];
+		this.size = 0;
+	}
+
+	String intern(String s, int start, int end)
+	{
+		int length = end - start;
+		int hash = 0;
+
+		for(int i = start; i < end; i++)
+			hash = 31 * hash + s.charAt(i);
+
+		int mask = CAPACITY - 1;
+		int slot = (hash ^ (hash >>> 16)) & mask;
+
+		while(TOKENS[slot] != null)
+		{
+			String token = TOKENS[slot];
+
+			if(token.length() == length && token.regionMatches(0, s, start, length))
+				return token;
+
+			slot = (slot + 1) & mask;
+		}
+
+		if(size >= CAPACITY / 2)
+		{
+			Arrays.fill(TOKENS, null);
+			size = 0;
+			slot = (hash ^ (hash >>> 16)) & mask;
+		}
+
+		String token = s.substring(start, end);
+		TOKENS[slot] = token;
+		size++;
+		return token;
+	}
+}
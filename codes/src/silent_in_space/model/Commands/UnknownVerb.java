@@ -1,4 +1,8 @@
 package silent_in_space.model.Commands;
 
 public class UnknownVerb extends Exception{
+
+	public UnknownVerb() {
+		super(null, null, false, false);
+	}
 }
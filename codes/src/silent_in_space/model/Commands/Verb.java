@@ -1,11 +1,35 @@
 package silent_in_space.model.Commands;
 
 public enum Verb {
-	ATTACK("attack"), BACK("back"), DROP("drop"), GO("go"), HELP("help"),
-	INFO("info"), INVENTORY("inventory"), LOAD("load"), LOOK("look"), QUIT("quit"),
-	SAVE("save"), SEARCH("search"), TAKE("take"), TALK("talk"), USE("use"), GIVE("give");
+	ATTACK("attack"), BACK("back"), DROP("drop"), GO("go"), GOTO("goto"), HELP("help"),
+	INFO("info"), INVENTORY("inventory"), LOAD("load"), LOOK("look"), QUIT("quit"), REDO("redo"),
+	SAVE("save"), SAVES("saves"), SEARCH("search"), TAKE("take"), TALK("talk"), UNDO("undo"), USE("use"), GIVE("give");
 	private final String STRVALUE;
 
+	//Verbes rangés par longueur pour une recherche sans allocation (cf. lookup()):
+	private static final Verb[][] BY_LENGTH;
+
+	static
+	{
+		int maxLength = 0;
+		for(Verb v : values())
+			maxLength = Math.max(maxLength, v.STRVALUE.length());
+
+		int[] counts = new int[maxLength + 1];
+		for(Verb v : values())
+			counts[v.STRVALUE.length()]++;
+
+		BY_LENGTH = new Verb[maxLength + 1][];
+		for(int i = 0; i <= maxLength; i++)
+			BY_LENGTH[i] = new Verb[counts[i]];
+
+		for(Verb v : values())
+		{
+			int length = v.STRVALUE.length();
+			BY_LENGTH[length][--counts[length]] = v;
+		}
+	}
+
 	Verb(String s)
 	{
 		this.STRVALUE = s;
@@ -15,4 +39,26 @@ public enum Verb {
 	{
 		return this.STRVALUE;
 	}
-}
\ No newline at end of file
+
+	// Retrouve le verbe (sans tenir compte de la casse) écrit entre start et end dans s, ou null
+	public static Verb lookup(String s, int start, int end)
+	{
+		int length = end - start;
+
+		if(length <= 0 || length >= BY_LENGTH.length)
+			return null;
+
+		for(Verb v : BY_LENGTH[length])
+		{
+			if(v.STRVALUE.regionMatches(true, 0, s, start, length))
+				return v;
+		}
+
+		return null;
+	}
+
+	public static Verb fromString(String s)
+	{
+		return lookup(s, 0, s.length());
+	}
+}
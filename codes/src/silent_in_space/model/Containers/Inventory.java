@@ -3,12 +3,14 @@ package silent_in_space.model.Containers;
 import java.io.Serializable;
 import java.util.*;
 
+import silent_in_space.model.Game.GameEvents;
 import silent_in_space.model.Game.Message;
 import silent_in_space.model.Items.*;
 
 public class Inventory implements Serializable {
 
 	private final LinkedHashMap<String, Item> ITEMS;
+	private transient InventoryListener listener;
 
 	public Inventory()
 	{
@@ -17,7 +19,40 @@ public class Inventory implements Serializable {
 
 	public void addItem(Item item)
 	{
-		this.ITEMS.put(item.getTag(), item);
+		this.put(item, null);
+	}
+
+	// Range item dans cet inventaire: il arrive de from (null s'il n'était dans aucun)
+	private void put(Item item, Inventory from)
+	{
+		Item previous = this.ITEMS.put(item.getTag(), item);
+
+		if(this.listener != null)
+		{
+			if(previous != null && previous != item)
+				this.listener.itemRemoved(previous);
+
+			this.listener.itemAdded(item);
+		}
+
+		GameEvents events = GameEvents.current();
+
+		if(previous != null && previous != item)
+			events.itemMoved(previous, this, null);
+
+		if(previous != item)
+			events.itemMoved(item, from, this);
+	}
+
+	// Retire l'objet tag sans publier d'événement (c'est à l'appelant de le faire)
+	private Item take(String tag)
+	{
+		Item removed = this.ITEMS.remove(tag);
+
+		if(removed != null && this.listener != null)
+			this.listener.itemRemoved(removed);
+
+		return removed;
 	}
 
 	public Item getItem(String s)
@@ -53,9 +88,10 @@ public class Inventory implements Serializable {
 	{
 		Item item = this.ITEMS.get(tag);
 
+		//Un seul événement pour le déplacement (et non un retrait puis un ajout):
 		if(item != null) {
-			this.removeItem(tag);
-			inventory.addItem(item);
+			this.take(tag);
+			inventory.put(item, this);
 		}
 
 		else
@@ -64,6 +100,17 @@ public class Inventory implements Serializable {
 		}
 	}
 
+	// Range item dans inventory, en le retirant d'ici s'il y est (un seul événement, cf. GameEvents)
+	public void moveItem(Item item, Inventory inventory)
+	{
+		boolean here = this.ITEMS.get(item.getTag()) == item;
+
+		if(here)
+			this.take(item.getTag());
+
+		inventory.put(item, here ? this : null);
+	}
+
 	public boolean isEmpty()
 	{
 		return this.ITEMS.isEmpty();
@@ -71,14 +118,29 @@ public class Inventory implements Serializable {
 
 	public void showItems()
 	{
+		if(this.ITEMS.isEmpty())
+			return;
+
+		StringBuilder sb = new StringBuilder();
+
 		for (Item i : this.ITEMS.values())
 		{
-			System.out.print("\t- " + i.getTag() + " : " + i.getDescription());
+			sb.append("\t- ").append(i.getTag()).append(" : ").append(i.getDescription()).append("\n");
 		}
+
+		Message.sendGameMessage(sb.toString());
 	}
 
 	public void removeItem(String tag)
 	{
-		this.ITEMS.remove(tag);
+		Item removed = this.take(tag);
+
+		if(removed != null)
+			GameEvents.current().itemMoved(removed, this, null);
+	}
+
+	public void setListener(InventoryListener listener)
+	{
+		this.listener = listener;
 	}
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package silent_in_space.model.Containers;
+
+import silent_in_space.model.Items.Item;
+
+// Prévenu de chaque objet qui entre dans un inventaire ou qui en sort:
+public interface InventoryListener {
+	void itemAdded(Item item);
+	void itemRemoved(Item item);
+}
@@ -0,0 +1,6 @@
+package silent_in_space.model.Doors;
+
+// Prévenu quand une porte verrouillée est déverrouillée ou verrouillée de nouveau
+public interface DoorListener {
+	void lockChanged(LockedDoor door);
+}
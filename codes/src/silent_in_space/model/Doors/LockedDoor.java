@@ -1,5 +1,6 @@
 package silent_in_space.model.Doors;
 
+import silent_in_space.model.Game.GameEvents;
 import silent_in_space.model.Game.Message;
 import silent_in_space.model.Items.*;
 import silent_in_space.model.Utils.Scalar2D;
@@ -11,6 +12,9 @@ public class LockedDoor extends Door implements Unlockable, Serializable {
 	private final PassType PASSTYPE;
 	private boolean isLocked;
 
+	//Non sauvegardé: le graphe du vaisseau se réabonne quand il est reconstruit
+	private transient DoorListener listener;
+
 	public LockedDoor(String tag, PassType p)
 	{
 		super(tag);
@@ -39,6 +43,26 @@ public class LockedDoor extends Door implements Unlockable, Serializable {
 		return isLocked;
 	}
 
+	// État relu d'une sauvegarde ou d'un tour annulé, sans message; le graphe du vaisseau est prévenu du changement
+	public void setLocked(boolean isLocked)
+	{
+		boolean changed = this.isLocked != isLocked;
+		this.isLocked = isLocked;
+
+		if(changed)
+		{
+			if(this.listener != null)
+				this.listener.lockChanged(this);
+
+			GameEvents.current().doorLockChanged(this);
+		}
+	}
+
+	public void setListener(DoorListener listener)
+	{
+		this.listener = listener;
+	}
+
 	public void open()
 	{
 		if(!isLocked)
@@ -55,6 +79,11 @@ public class LockedDoor extends Door implements Unlockable, Serializable {
 		{
 			this.isLocked = false;
 			Message.sendGameMessage("You have unlocked the " + this.getTag() + " !");
+
+			if(this.listener != null)
+				this.listener.lockChanged(this);
+
+			GameEvents.current().doorLockChanged(this);
 		}
 
 		else
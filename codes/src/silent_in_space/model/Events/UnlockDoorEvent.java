@@ -0,0 +1,38 @@
+package silent_in_space.model.Events;
+
+import silent_in_space.model.Characters.Player;
+import silent_in_space.model.Doors.LockedDoor;
+import silent_in_space.model.Items.Pass;
+import silent_in_space.model.Items.PassType;
+
+import java.io.Serializable;
+
+// Déverrouille la porte DOOR de la pièce du joueur, comme le ferait un pass du type PASSTYPE
+public class UnlockDoorEvent implements PlayerEvent, Serializable {
+
+    private final String DOOR;
+    private final PassType PASSTYPE;
+
+    public UnlockDoorEvent(String door, PassType passType)
+    {
+        this.DOOR = door;
+        this.PASSTYPE = passType;
+    }
+
+    public String getDoor() {
+        return DOOR;
+    }
+
+    public PassType getPassType() {
+        return PASSTYPE;
+    }
+
+    @Override
+    public void raise(Player p)
+    {
+        LockedDoor door = p.getRoom().getLockedDoor(this.DOOR);
+        String passTag = "pass" + this.PASSTYPE;
+
+        door.unlock(new Pass(passTag, passTag, this.PASSTYPE));
+    }
+}
@@ -0,0 +1,86 @@
+package silent_in_space.model.Game;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+// Partie console complète (Main), lancée dans une autre JVM: quit y arrête le processus
+public class ConsoleIT
+{
+    private Path dir;
+
+    @Before
+    public void setUp() throws IOException
+    {
+        dir = Files.createTempDirectory("sis-console");
+    }
+
+    @After
+    public void tearDown() throws IOException
+    {
+        try(Stream<Path> files = Files.walk(dir)) {
+            for(Path p : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator)
+                Files.delete(p);
+        }
+    }
+
+    private String play(String input) throws IOException, InterruptedException
+    {
+        Path java = Path.of(System.getProperty("java.home"), "bin", "java");
+        Process p = new ProcessBuilder(java.toString(), "-cp", System.getProperty("java.class.path"), Main.class.getName())
+                .directory(dir.toFile())
+                .redirectErrorStream(true)
+                .start();
+
+        try(OutputStream in = p.getOutputStream()) {
+            in.write(input.getBytes(StandardCharsets.UTF_8));
+        }
+
+        String output = new String(p.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertTrue(p.waitFor(30, TimeUnit.SECONDS));
+        assertEquals(0, p.exitValue());
+
+        return output;
+    }
+
+    // Les messages du tour de quit sont affichés avant que le processus s'arrête, et le journal ne laisse rien derrière lui
+    @Test
+    public void testQuitPrintsGoodbye() throws Exception
+    {
+        String output = play("info\nquit\n");
+
+        assertTrue(output, output.trim().endsWith("Thanks for playing Silent In Space!"));
+        assertFalse(Files.exists(dir.resolve(SIS.JOURNAL_DIR)));
+    }
+
+    // Le saut de ligne après une saisie passe par les messages du jeu, comme le reste de la sortie
+    @Test
+    public void testLineBreakAfterCommand() throws Exception
+    {
+        MessageChannel channel = new MessageChannel();
+        StringBuilder output = new StringBuilder();
+        channel.subscribe(output::append);
+        MessageChannel.bind(channel);
+
+        try {
+            SIS game = new SIS(message -> {});
+            game.setInput(() -> "look");
+            game.playTurn();
+        } finally {
+            MessageChannel.unbind();
+        }
+
+        assertTrue(output.toString(), output.toString().contains("Command :> \n"));
+    }
+}
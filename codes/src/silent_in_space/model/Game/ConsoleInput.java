@@ -0,0 +1,14 @@
+package silent_in_space.model.Game;
+
+import java.util.Scanner;
+
+// Entrée clavier du jeu en mode console. Un seul Scanner est partagé pour tout System.in:
+public class ConsoleInput implements InputSource {
+
+    private static final Scanner SCANNER = new Scanner(System.in);
+
+    @Override
+    public String nextLine() {
+        return SCANNER.nextLine();
+    }
+}
@@ -0,0 +1,22 @@
+package silent_in_space.model.Game;
+
+import java.util.List;
+
+// Abonné qui recopie les messages du jeu sur la console (un seul print par tour):
+public class ConsolePrinter implements MessageListener {
+
+    @Override
+    public void handle(String message) {
+        System.out.print(message);
+    }
+
+    @Override
+    public void handleAll(List<String> messages) {
+        StringBuilder sb = new StringBuilder();
+
+        for(String message : messages)
+            sb.append(message);
+
+        System.out.print(sb);
+    }
+}
@@ -0,0 +1,36 @@
+package silent_in_space.model.Game;
+
+import silent_in_space.model.Characters.Actor;
+import silent_in_space.model.Characters.NPC;
+import silent_in_space.model.Containers.Inventory;
+import silent_in_space.model.Doors.LockedDoor;
+import silent_in_space.model.Items.Item;
+import silent_in_space.model.Location.Room;
+
+// Changements du modèle publiés sur le bus de la partie (cf. GameEvents); chaque abonné ne redéfinit que ceux qui l'intéressent
+public interface GameEventListener {
+
+    // Objet déplacé d'un inventaire à un autre (from == null: ajouté, to == null: retiré)
+    default void itemMoved(Item item, Inventory from, Inventory to) {}
+
+    // Acteur passé de la pièce from à la pièce to
+    default void actorMoved(Actor actor, Room from, Room to) {}
+
+    // Acteur placé sur une autre case de sa pièce (cf. Actor.setPos())
+    default void actorPlaced(Actor actor) {}
+
+    // Acteur blessé de damage points de vie (il peut en être mort, cf. Actor.isDead())
+    default void actorDamaged(Actor actor, int damage) {}
+
+    // Acteur soigné de healing points de vie
+    default void actorHealed(Actor actor, int healing) {}
+
+    // Porte verrouillée ou déverrouillée (cf. LockedDoor.isLocked())
+    default void doorLockChanged(LockedDoor door) {}
+
+    // PNJ devenu hostile ou pacifique (cf. NPC.isHostile())
+    default void npcHostilityChanged(NPC npc) {}
+
+    // PNJ devenu allié ou ne l'étant plus (cf. NPC.isAlly())
+    default void npcAllyChanged(NPC npc) {}
+}
@@ -0,0 +1,113 @@
+package silent_in_space.model.Game;
+
+import silent_in_space.model.Characters.Actor;
+import silent_in_space.model.Characters.NPC;
+import silent_in_space.model.Containers.Inventory;
+import silent_in_space.model.Doors.LockedDoor;
+import silent_in_space.model.Items.Item;
+import silent_in_space.model.Location.Room;
+
+import java.util.Arrays;
+
+/* -----------------------------------------------------------------------------
+ * Bus des événements d'une partie:
+ *
+ * Rôle: Prévient ses abonnés (interface, journal, mesures...) de chaque
+ * changement du modèle, avec ce qui a changé exactement: objet déplacé et entre
+ * quels inventaires, acteur changé de pièce, blessé, porte déverrouillée... Les
+ * abonnés peuvent ainsi ne mettre à jour que ce qui a changé au lieu de tout
+ * relire après chaque message.
+ *
+ * Un événement est un appel de méthode (cf. GameEventListener): publier ne crée
+ * aucun objet, et ne coûte qu'un test quand personne n'est abonné. Les événements
+ * sont livrés tout de suite, sur le thread qui modifie le modèle, pas à la fin du
+ * tour comme les messages.
+ *
+ * Chaque canal de messages a son bus (cf. MessageChannel.getEvents()): une
+ * session hébergée a donc le sien, et les tours rejoués sans affichage (reprise,
+ * chargement d'une sauvegarde) ne préviennent personne.
+ * ----------------------------------------------------------------------------- */
+
+public class GameEvents {
+
+    private static final GameEventListener[] NONE = new GameEventListener[0];
+
+    //Recopié à chaque abonnement: la publication parcourt un tableau sans itérateur
+    private GameEventListener[] subscribers = NONE;
+
+    // Bus de la partie courante (celui du canal courant, cf. MessageChannel.current())
+    public static GameEvents current() {
+        return MessageChannel.current().getEvents();
+    }
+
+    //====================== ABONNÉS ==========================
+    public void subscribe(GameEventListener listener) {
+        if(listener == null)
+            return;
+
+        for(GameEventListener l : subscribers)
+            if(l == listener)
+                return;
+
+        GameEventListener[] copy = Arrays.copyOf(subscribers, subscribers.length + 1);
+        copy[subscribers.length] = listener;
+        subscribers = copy;
+    }
+
+    public void unsubscribe(GameEventListener listener) {
+        for(int i = 0; i < subscribers.length; i++) {
+            if(subscribers[i] == listener) {
+                GameEventListener[] copy = new GameEventListener[subscribers.length - 1];
+                System.arraycopy(subscribers, 0, copy, 0, i);
+                System.arraycopy(subscribers, i + 1, copy, i, copy.length - i);
+                subscribers = copy.length == 0 ? NONE : copy;
+                return;
+            }
+        }
+    }
+
+    public boolean hasSubscribers() {
+        return subscribers.length > 0;
+    }
+
+    //====================== PUBLICATION ======================
+    public void itemMoved(Item item, Inventory from, Inventory to) {
+        for(GameEventListener l : subscribers)
+            l.itemMoved(item, from, to);
+    }
+
+    public void actorMoved(Actor actor, Room from, Room to) {
+        for(GameEventListener l : subscribers)
+            l.actorMoved(actor, from, to);
+    }
+
+    public void actorPlaced(Actor actor) {
+        for(GameEventListener l : subscribers)
+            l.actorPlaced(actor);
+    }
+
+    public void actorDamaged(Actor actor, int damage) {
+        for(GameEventListener l : subscribers)
+            l.actorDamaged(actor, damage);
+    }
+
+    public void actorHealed(Actor actor, int healing) {
+        for(GameEventListener l : subscribers)
+            l.actorHealed(actor, healing);
+    }
+
+    public void doorLockChanged(LockedDoor door) {
+        for(GameEventListener l : subscribers)
+            l.doorLockChanged(door);
+    }
+
+    public void npcHostilityChanged(NPC npc) {
+        for(GameEventListener l : subscribers)
+            l.npcHostilityChanged(npc);
+    }
+
+    public void npcAllyChanged(NPC npc) {
+        for(GameEventListener l : subscribers)
+            l.npcAllyChanged(npc);
+    }
+}
@@ -0,0 +1,163 @@
+package silent_in_space.model.Game;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import silent_in_space.model.Characters.Actor;
+import silent_in_space.model.Characters.NPC;
+import silent_in_space.model.Characters.Player;
+import silent_in_space.model.Containers.Inventory;
+import silent_in_space.model.Doors.Door;
+import silent_in_space.model.Doors.LockedDoor;
+import silent_in_space.model.Items.File;
+import silent_in_space.model.Items.Item;
+import silent_in_space.model.Items.Pass;
+import silent_in_space.model.Items.PassType;
+import silent_in_space.model.Location.Room;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class GameEventsIT {
+
+    private MessageChannel channel;
+    private List<String> received;
+    private Room r1;
+    private Room r2;
+    private Player player;
+    private NPC npc;
+    private Pass pass;
+    private File file;
+
+    @Before
+    public void setUp() {
+        //Canal propre au test: ses événements ne vont qu'à notre abonné
+        channel = new MessageChannel();
+        MessageChannel.bind(channel);
+
+        r1 = new Room(null, 1, "room-test1");
+        r2 = new Room(null, 2, "room-test2");
+        r1.addDoor(new Door("door1"), r2);
+        pass = new Pass("passA", "A pass", PassType.A);
+        file = new File("log", "A log", "");
+        r1.getInventory().addItem(pass);
+        r1.getInventory().addItem(file);
+        npc = new NPC("npc", "An NPC", false, true, new ArrayList<>(), r1);
+        player = new Player(r1, null);
+
+        received = new ArrayList<>();
+        channel.getEvents().subscribe(new GameEventListener() {
+            @Override
+            public void itemMoved(Item item, Inventory from, Inventory to) {
+                received.add("item " + item.getTag() + " " + name(from) + " -> " + name(to));
+            }
+
+            @Override
+            public void actorMoved(Actor actor, Room from, Room to) {
+                received.add("actor " + actor.getName() + " " + from.getID() + " -> " + to.getID());
+            }
+
+            @Override
+            public void actorDamaged(Actor actor, int damage) {
+                received.add("damaged " + actor.getName() + " " + damage);
+            }
+
+            @Override
+            public void actorHealed(Actor actor, int healing) {
+                received.add("healed " + actor.getName() + " " + healing);
+            }
+
+            @Override
+            public void doorLockChanged(LockedDoor door) {
+                received.add("door " + door.getTag() + " " + door.isLocked());
+            }
+
+            @Override
+            public void npcHostilityChanged(NPC n) {
+                received.add("hostile " + n.getName() + " " + n.isHostile());
+            }
+
+            @Override
+            public void npcAllyChanged(NPC n) {
+                received.add("ally " + n.getName() + " " + n.isAlly());
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        MessageChannel.unbind();
+    }
+
+    private String name(Inventory inventory) {
+        if(inventory == null)
+            return "none";
+        if(inventory == player.getInventory())
+            return "player";
+        if(inventory == r1.getInventory())
+            return "room";
+        if(inventory == npc.getInventory())
+            return "npc";
+        return "?";
+    }
+
+    // Prendre puis donner un objet: un seul événement par déplacement, avec sa provenance et sa destination
+    @Test
+    public void testItemMovesAreSingleDeltas() {
+        player.take(file);
+        player.give("log", npc);
+        npc.getInventory().removeItem("log");
+
+        assertEquals(List.of("item log room -> player", "item log player -> npc", "item log npc -> none"), received);
+    }
+
+    @Test
+    public void testActorEvents() {
+        npc.moveTo(r2);
+        npc.moveTo(r1);
+        player.attack(npc);
+        npc.isHealed(10);
+
+        //Allié attaqué: il ne l'est plus, sans devenir hostile
+        assertEquals(List.of("actor npc 1 -> 2", "actor npc 2 -> 1", "damaged npc 25", "ally npc false", "healed npc 10"), received);
+
+        received.clear();
+        player.attack(npc);
+        npc.setHostile(true);
+
+        //Seuls les vrais changements sont publiés
+        assertEquals("damaged npc 25", received.get(0));
+        assertEquals("hostile npc true", received.get(1));
+        assertFalse(received.contains("ally npc false"));
+    }
+
+    @Test
+    public void testDoorLockChanged() {
+        LockedDoor door = new LockedDoor("door2", PassType.A);
+        r1.addDoor(door, r2);
+
+        door.unlock(new Pass("passB", "B", PassType.B));
+        assertTrue(received.isEmpty());
+
+        door.unlock(pass);
+        door.setLocked(false);
+        door.setLocked(true);
+
+        assertEquals(List.of("door door2 false", "door door2 true"), received);
+    }
+
+    // Personne n'est prévenu hors du canal courant, ni après s'être désabonné
+    @Test
+    public void testScopedToChannel() {
+        MessageChannel.bind(new MessageChannel());
+        player.take(pass);
+        assertTrue(received.isEmpty());
+
+        MessageChannel.bind(channel);
+        assertTrue(channel.getEvents().hasSubscribers());
+        npc.setHostile(true);
+        assertEquals(1, received.size());
+    }
+}
@@ -5,7 +5,10 @@ import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
 @Suite.SuiteClasses({silent_in_space.model.Characters.CharactersTestSuite.class, silent_in_space.model.Commands.CommandsTestSuite.class, silent_in_space.model.Containers.ContainersTestSuite.class,
-        silent_in_space.model.Doors.DoorsTestSuite.class, silent_in_space.model.Items.ItemsTestSuite.class, silent_in_space.model.Location.LocationTestSuite.class})
+        silent_in_space.model.Doors.DoorsTestSuite.class, silent_in_space.model.Items.ItemsTestSuite.class, silent_in_space.model.Location.LocationTestSuite.class,
+        silent_in_space.model.World.WorldTestSuite.class, silent_in_space.model.Save.SaveTestSuite.class, silent_in_space.model.Utils.UtilsTestSuite.class,
+        silent_in_space.model.Game.SessionHostIT.class, silent_in_space.model.Game.MessageChannelIT.class, silent_in_space.model.Game.SimulationIT.class,
+        silent_in_space.model.Game.MessageLogIT.class, silent_in_space.model.Game.GameEventsIT.class, silent_in_space.model.Game.ConsoleIT.class})
 
 public class GameTestSuite {
 }
\ No newline at end of file
@@ -0,0 +1,6 @@
+package silent_in_space.model.Game;
+
+@FunctionalInterface
+public interface InputSource {
+    String nextLine();
+}
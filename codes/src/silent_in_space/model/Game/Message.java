@@ -2,17 +2,17 @@ package silent_in_space.model.Game;
 
 public abstract class Message {
 
+    //Listener historique (la vue du jeu), abonné au canal par défaut:
     private static MessageListener messageListener;
 
     public static void setMessageListener(MessageListener messageListener) {
+        MessageChannel.getDefault().unsubscribe(Message.messageListener);
         Message.messageListener = messageListener;
+        MessageChannel.getDefault().subscribe(messageListener);
     }
 
+    // Publie un message sur le canal de la partie courante (cf. MessageChannel.current())
     public static void sendGameMessage(String gameMessage) {
-        System.out.print(gameMessage);
-
-        if(messageListener != null) {
-            messageListener.handle(gameMessage);
-        }
+        MessageChannel.current().publish(gameMessage);
     }
 }
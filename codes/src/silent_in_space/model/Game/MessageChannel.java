@@ -0,0 +1,95 @@
+package silent_in_space.model.Game;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/* -----------------------------------------------------------------------------
+ * Canal de messages d'une partie:
+ *
+ * Rôle: Reçoit les messages publiés par le modèle et les distribue à ses abonnés
+ * (vue du jeu, console, sortie d'une session...). Pendant un tour (beginTurn() /
+ * endTurn()) les messages sont mis en tampon et livrés en une seule fois. Hors
+ * tour ils sont livrés immédiatement.
+ *
+ * Un canal est confiné à un thread: une session hébergée lie le sien au worker qui
+ * exécute son tour (bind()/unbind()). Sans canal lié, c'est le canal par défaut
+ * du processus qui est utilisé (jeu console et interface graphique).
+ * ----------------------------------------------------------------------------- */
+
+public class MessageChannel {
+
+    private static final MessageChannel DEFAULT = new MessageChannel();
+    private static final ThreadLocal<MessageChannel> boundChannel = new ThreadLocal<>();
+
+    private final List<MessageListener> SUBSCRIBERS;
+    private final List<String> BUFFER;
+    private final GameEvents EVENTS;
+    private int turnDepth;
+
+    public MessageChannel() {
+        this.SUBSCRIBERS = new ArrayList<>();
+        this.BUFFER = new ArrayList<>();
+        this.EVENTS = new GameEvents();
+        this.turnDepth = 0;
+    }
+
+    //====================== CANAL COURANT ====================
+    public static MessageChannel current() {
+        MessageChannel channel = boundChannel.get();
+        return channel != null ? channel : DEFAULT;
+    }
+
+    public static MessageChannel getDefault() { return DEFAULT; }
+
+    public static void bind(MessageChannel channel) { boundChannel.set(channel); }
+    public static void unbind() { boundChannel.remove(); }
+
+    // Bus des événements typés de la partie, livrés en même temps que ce canal (cf. GameEvents)
+    public GameEvents getEvents() { return EVENTS; }
+
+    //====================== ABONNÉS ==========================
+    public void subscribe(MessageListener listener) {
+        if(listener != null && !SUBSCRIBERS.contains(listener))
+            SUBSCRIBERS.add(listener);
+    }
+
+    public void unsubscribe(MessageListener listener) {
+        SUBSCRIBERS.remove(listener);
+    }
+
+    //====================== PUBLICATION ======================
+    public void publish(String message) {
+        if(turnDepth > 0) {
+            BUFFER.add(message);
+        }
+
+        else {
+            for(MessageListener listener : SUBSCRIBERS)
+                listener.handle(message);
+        }
+    }
+
+    public void beginTurn() {
+        turnDepth++;
+    }
+
+    public void endTurn() {
+        if(turnDepth > 0 && --turnDepth == 0)
+            flush();
+    }
+
+    // Livre les messages en attente (fin de tour ou avant une saisie du joueur)
+    public void flush() {
+        if(BUFFER.isEmpty())
+            return;
+
+        for(MessageListener listener : SUBSCRIBERS)
+            listener.handleAll(BUFFER);
+
+        BUFFER.clear();
+    }
+
+    public boolean isInTurn() {
+        return turnDepth > 0;
+    }
+}
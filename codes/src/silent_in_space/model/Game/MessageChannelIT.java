@@ -0,0 +1,85 @@
+package silent_in_space.model.Game;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MessageChannelIT {
+
+    private MessageChannel channel;
+    private List<String> received;
+    private int nbDeliveries;
+
+    @Before
+    public void setUp() {
+        channel = new MessageChannel();
+        received = new ArrayList<>();
+        nbDeliveries = 0;
+
+        channel.subscribe(new MessageListener() {
+            @Override
+            public void handle(String message) {
+                received.add(message);
+                nbDeliveries++;
+            }
+
+            @Override
+            public void handleAll(List<String> messages) {
+                received.addAll(messages);
+                nbDeliveries++;
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        MessageChannel.unbind();
+    }
+
+    @Test
+    public void testPublishOutsideTurnIsImmediate() {
+        channel.publish("hello");
+        assertEquals(1, received.size());
+        assertEquals(1, nbDeliveries);
+    }
+
+    @Test
+    public void testTurnIsFlushedOnce() {
+        channel.beginTurn();
+        channel.publish("a");
+        channel.publish("b");
+        channel.publish("c");
+        assertTrue(received.isEmpty());
+
+        channel.endTurn();
+        assertEquals(List.of("a", "b", "c"), received);
+        assertEquals(1, nbDeliveries);
+    }
+
+    @Test
+    public void testNestedTurnsFlushAtTheEnd() {
+        channel.beginTurn();
+        channel.beginTurn();
+        channel.publish("a");
+        channel.endTurn();
+        assertTrue(received.isEmpty());
+
+        channel.endTurn();
+        assertEquals(1, received.size());
+    }
+
+    @Test
+    public void testBoundChannelReceivesGameMessages() {
+        MessageChannel.bind(channel);
+        Message.sendGameMessage("bound");
+        MessageChannel.unbind();
+        Message.sendGameMessage("not bound");
+
+        assertEquals(List.of("bound"), received);
+    }
+}
@@ -1,6 +1,14 @@
 package silent_in_space.model.Game;
 
+import java.util.List;
+
 @FunctionalInterface
 public interface MessageListener {
     void handle(String message);
+
+    // Reçoit d'un coup tous les messages d'un tour (cf. MessageChannel.flush()):
+    default void handleAll(List<String> messages) {
+        for(String message : messages)
+            handle(message);
+    }
 }
@@ -0,0 +1,227 @@
+package silent_in_space.model.Game;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/* -----------------------------------------------------------------------------
+ * Historique des messages de la partie:
+ *
+ * Rôle: Garde tous les messages reçus pendant la partie en mémoire bornée. Les
+ * RESIDENT derniers restent dans un tampon circulaire; les plus anciens sont
+ * écrits dans un fichier temporaire (textes, et un index de leurs positions) au
+ * moment où ils quittent le tampon, et relus depuis ce fichier quand on les
+ * redemande (le joueur remonte l'historique). Ajouter un message coûte toujours
+ * le même temps, quelle que soit la longueur de la partie.
+ *
+ * Si le fichier ne peut pas être écrit, les messages qui quittent le tampon
+ * sont perdus et se relisent vides; le tampon, lui, reste utilisable.
+ * ----------------------------------------------------------------------------- */
+
+public class MessageLog implements Closeable {
+
+	public static final int DEFAULT_RESIDENT = 512;
+
+	//Messages relus depuis le fichier gardés en mémoire (on remonte l'historique par petits bouts):
+	private static final int READ_CACHE = 256;
+
+	//Les messages sortis du tampon sont écrits par blocs d'au moins cette taille (ou avant d'être relus):
+	private static final int WRITE_BLOCK = 8192;
+
+	private final int RESIDENT;
+	private final String[] RING;
+	private int size;
+
+	//Fichiers des messages sortis du tampon (créés au premier message qui en sort):
+	private File textFile;
+	private File indexFile;
+	private RandomAccessFile texts;
+	private RandomAccessFile index;
+	private long textEnd;
+	private boolean spillFailed;
+
+	//Messages sortis du tampon pas encore écrits, et nombre de messages déjà sur le disque:
+	private final ByteArrayOutputStream PENDING_TEXTS = new ByteArrayOutputStream();
+	private final ByteArrayOutputStream PENDING_INDEX = new ByteArrayOutputStream();
+	private int nbWritten;
+
+	private final LinkedHashMap<Integer, String> READ;
+
+	public MessageLog()
+	{
+		this(DEFAULT_RESIDENT);
+	}
+
+	public MessageLog(int resident)
+	{
+		this.RESIDENT = resident;
+		this.RING = new String[resident];
+		this.READ = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+				return size() > READ_CACHE;
+			}
+		};
+	}
+
+	public int size()
+	{
+		return this.size;
+	}
+
+	public int getNbResident()
+	{
+		return Math.min(this.size, this.RESIDENT);
+	}
+
+	public boolean isSpilled(int i)
+	{
+		return i < this.size - this.RESIDENT;
+	}
+
+	// ====== AJOUT ======
+
+	public void append(String message)
+	{
+		int slot = this.size % this.RESIDENT;
+
+		if(this.size >= this.RESIDENT)
+			this.spill(this.size - this.RESIDENT, this.RING[slot]);
+
+		this.RING[slot] = message;
+		this.size++;
+	}
+
+	// Le message n°i sort du tampon: il sera ajouté au bout du fichier (les messages en sortent dans l'ordre)
+	private void spill(int i, String message)
+	{
+		if(this.spillFailed)
+			return;
+
+		//Longueur puis texte; position du texte dans l'index:
+		byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+		long at = this.textEnd + this.PENDING_TEXTS.size();
+
+		this.PENDING_TEXTS.writeBytes(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+		this.PENDING_TEXTS.writeBytes(bytes);
+		this.PENDING_INDEX.writeBytes(ByteBuffer.allocate(Long.BYTES).putLong(at).array());
+
+		if(this.PENDING_TEXTS.size() >= WRITE_BLOCK)
+			this.flush();
+	}
+
+	private void flush()
+	{
+		if(this.spillFailed || this.PENDING_INDEX.size() == 0)
+			return;
+
+		try {
+			if(this.texts == null)
+				this.openFiles();
+
+			this.texts.seek(this.textEnd);
+			this.texts.write(this.PENDING_TEXTS.toByteArray());
+			this.index.seek((long) this.nbWritten * Long.BYTES);
+			this.index.write(this.PENDING_INDEX.toByteArray());
+
+			this.textEnd += this.PENDING_TEXTS.size();
+			this.nbWritten += this.PENDING_INDEX.size() / Long.BYTES;
+		} catch (IOException e) {
+			this.spillFailed = true;
+		}
+
+		this.PENDING_TEXTS.reset();
+		this.PENDING_INDEX.reset();
+	}
+
+	private void openFiles() throws IOException
+	{
+		this.textFile = File.createTempFile("sis-log", ".txt");
+		this.indexFile = File.createTempFile("sis-log", ".idx");
+		this.textFile.deleteOnExit();
+		this.indexFile.deleteOnExit();
+		this.texts = new RandomAccessFile(this.textFile, "rw");
+		this.index = new RandomAccessFile(this.indexFile, "rw");
+	}
+
+	// ====== LECTURE ======
+
+	// Message n°i (0 est le plus ancien); "" s'il a été perdu
+	public String get(int i)
+	{
+		if(i < 0 || i >= this.size)
+			throw new IndexOutOfBoundsException("Message " + i + " of " + this.size);
+
+		if(!this.isSpilled(i))
+			return this.RING[i % this.RESIDENT];
+
+		String message = this.READ.get(i);
+
+		if(message == null)
+		{
+			message = this.read(i);
+			this.READ.put(i, message);
+		}
+
+		return message;
+	}
+
+	private String read(int i)
+	{
+		if(i >= this.nbWritten)
+			this.flush();
+
+		try {
+			if(this.texts == null || i >= this.nbWritten)
+				return "";
+
+			byte[] at = new byte[Long.BYTES];
+			this.index.seek((long) i * Long.BYTES);
+			this.index.readFully(at);
+
+			byte[] length = new byte[Integer.BYTES];
+			this.texts.seek(ByteBuffer.wrap(at).getLong());
+			this.texts.readFully(length);
+
+			byte[] bytes = new byte[ByteBuffer.wrap(length).getInt()];
+			this.texts.readFully(bytes);
+
+			return new String(bytes, StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			return "";
+		}
+	}
+
+	// ====== FIN ======
+
+	// Libère et supprime les fichiers; les messages du tampon restent lisibles
+	@Override
+	public void close()
+	{
+		try {
+			if(this.texts != null)
+				this.texts.close();
+			if(this.index != null)
+				this.index.close();
+		} catch (IOException ignored) {
+		}
+
+		if(this.textFile != null)
+			this.textFile.delete();
+		if(this.indexFile != null)
+			this.indexFile.delete();
+
+		this.texts = null;
+		this.index = null;
+		this.spillFailed = true;
+		this.READ.clear();
+		this.PENDING_TEXTS.reset();
+		this.PENDING_INDEX.reset();
+	}
+}
@@ -0,0 +1,72 @@
+package silent_in_space.model.Game;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MessageLogIT {
+
+    private MessageLog log;
+
+    @Before
+    public void setUp() {
+        log = new MessageLog(16);
+    }
+
+    @After
+    public void tearDown() {
+        log.close();
+    }
+
+    @Test
+    public void testResidentOnly() {
+        for (int i = 0; i < 10; i++)
+            log.append("message " + i);
+
+        assertEquals(10, log.size());
+        assertEquals(10, log.getNbResident());
+        assertFalse(log.isSpilled(0));
+        assertEquals("message 0", log.get(0));
+        assertEquals("message 9", log.get(9));
+    }
+
+    // Seuls les 16 derniers messages restent en mémoire; les autres se relisent depuis le fichier, dans n'importe quel ordre
+    @Test
+    public void testSpilledMessagesAreReadBack() {
+        for (int i = 0; i < 5000; i++)
+            log.append("message " + i + (i % 7 == 0 ? " – é\n" : ""));
+
+        assertEquals(5000, log.size());
+        assertEquals(16, log.getNbResident());
+        assertTrue(log.isSpilled(4983));
+        assertFalse(log.isSpilled(4984));
+
+        for (int i = 4999; i >= 0; i -= 3)
+            assertEquals("message " + i + (i % 7 == 0 ? " – é\n" : ""), log.get(i));
+
+        assertEquals("message 1", log.get(1));
+        assertEquals("message 4999", log.get(4999));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testOutOfRange() {
+        log.append("only one");
+        log.get(1);
+    }
+
+    // Une fois fermé, l'historique garde son tampon mais plus les messages écrits sur disque
+    @Test
+    public void testClose() {
+        for (int i = 0; i < 40; i++)
+            log.append("message " + i);
+
+        log.close();
+        log.append("message 40");
+
+        assertEquals(41, log.size());
+        assertEquals("", log.get(0));
+        assertEquals("message 40", log.get(40));
+    }
+}
@@ -1,31 +1,117 @@
 package silent_in_space.model.Game;
 
 import silent_in_space.model.Location.*;
+import silent_in_space.model.Save.History;
+import silent_in_space.model.Save.Journal;
+import silent_in_space.model.Save.SaveFile;
+import silent_in_space.model.Save.SaveFormatException;
+import silent_in_space.model.Save.SaveSlot;
+import silent_in_space.model.Save.SaveSlots;
 
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
 
 public class SIS implements Serializable {
 
+	//Emplacements des parties sauvegardées par save (cf. SaveSlots), propres à chaque partie:
+	public static final String SAVE_DIR = "saves";
+
+	//Journal de la partie console, pour la reprendre après un plantage (cf. Journal):
+	public static final String JOURNAL_DIR = "sisJournal";
+
 	private Ship ship;
+	private transient InputSource input;
+	private transient Session session;
+
+	//Répertoire des emplacements de cette partie, ouverts à la première demande:
+	private transient Path saveDir;
+	private transient SaveSlots saveSlots;
+
+	//Journal de la partie (null si elle n'est pas journalisée) et lignes saisies pendant le tour en cours:
+	private transient Journal journal;
+	private transient ArrayList<String> turnLines;
+	private transient boolean recording;
+
+	//Tours à annuler et à rétablir:
+	private transient History history;
+
+	//Simulation des NPCs, créée à la première demande (l'interface graphique la fait avancer, cf. Simulation):
+	private transient Simulation simulation;
+
+	//Vrai quand le tour a annulé, rétabli ou chargé une partie: le journal repart alors d'un instantané
+	private transient boolean jumped;
+
+	//Temps de jeu des parties chargées, et début de la partie en cours (System.nanoTime()):
+	private transient long playTime;
+	private transient long playStart;
 
 	public SIS() {
+		MessageChannel.getDefault().subscribe(new ConsolePrinter());
+		this.input = new ConsoleInput();
+		this.saveDir = Path.of(SAVE_DIR);
 		this.initGame();
+		this.startJournal(Path.of(JOURNAL_DIR));
 		this.play();
 		this.endGame();
 	}
 
 	public SIS(MessageListener messageListener) {
+		this(messageListener, Path.of(SAVE_DIR));
+	}
+
+	// Les sauvegardes de la partie sont rangées dans saveDir
+	public SIS(MessageListener messageListener, Path saveDir) {
 		Message.setMessageListener(messageListener);
+		this.input = new ConsoleInput();
+		this.saveDir = saveDir;
 		this.initGame();
 	}
 
+	// Partie hébergée par un SessionHost: ni boucle console, ni listener global, et ses propres sauvegardes
+	SIS(Session session) {
+		this.session = session;
+		this.input = session;
+		this.saveDir = session.getSaveDirectory();
+		this.initGame();
+	}
+
+	// Pendant un tour journalisé, les lignes lues sont recopiées dans le tour
+	public InputSource getInput() {
+		return recording ? this::readRecordedLine : input;
+	}
+
+	// Source des saisies du joueur (clavier par défaut)
+	public void setInput(InputSource input) {
+		this.input = input;
+	}
+
+	public Journal getJournal() {
+		return journal;
+	}
+
 	public Ship getShip() {
 		return ship;
 	}
 
+	public History getHistory() {
+		return history;
+	}
+
+	// Simulation des NPCs du vaisseau courant (une nouvelle après un chargement)
+	public Simulation getSimulation() {
+		if(simulation == null || simulation.getShip() != ship)
+			simulation = new Simulation(ship);
+
+		return simulation;
+	}
+
 	public void initGame() {
 		this.printGameIntro();
 
@@ -61,6 +147,8 @@ public class SIS implements Serializable {
 		//}
 
 		ship.getPlayer().setSIS(this);
+		this.setPlayTime(0);
+		this.startHistory();
 	}
 
 	public boolean isEndGame() {
@@ -72,30 +160,147 @@ public class SIS implements Serializable {
 	}
 
 	public void endGame() {
+		this.stopJournal();
+		this.closeSaves();
 		Message.sendGameMessage("\n\n\t\t ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ \n");
 		Message.sendGameMessage("Thanks for playing Silent In Space! And special thanks to our beta-tester Ophélie De Sousa Oliveira :) !\n");
 	}
 
-	public void load() {
+	// ====== SAUVEGARDES ======
+
+	// Emplacements de sauvegarde de cette partie (l'interface graphique les écrit depuis un autre thread)
+	public synchronized SaveSlots getSaveSlots() throws IOException {
+		if(saveSlots == null)
+			saveSlots = new SaveSlots(saveDir);
+
+		return saveSlots;
+	}
+
+	public Path getSaveDirectory() {
+		return saveDir;
+	}
+
+	// Libère l'index des emplacements (fin de la partie); ils seront rouverts à la prochaine demande
+	public synchronized void closeSaves() {
+		if(saveSlots == null)
+			return;
+
+		try {
+			saveSlots.close();
+		} catch (IOException e) {
+			Message.sendGameMessage("Error :> The saves can't be closed (" + e.getMessage() + ")");
+		}
+
+		saveSlots = null;
+	}
+
+	// Temps de jeu en millisecondes, parties chargées comprises
+	public long getPlayTime() {
+		return playTime + (System.nanoTime() - playStart) / 1_000_000;
+	}
+
+	public void setPlayTime(long playTime) {
+		this.playTime = playTime;
+		this.playStart = System.nanoTime();
+	}
+
+	public void save(int slot) {
+		try {
+			getSaveSlots().write(SaveSlot.capture(slot, ship, this.getPlayTime()), null);
+			Message.sendGameMessage("You successfully saved the game in slot " + slot + "!");
+		} catch (IOException e) {
+			Message.sendGameMessage("Error :> The game can't be saved (" + e.getMessage() + ")");
+		}
+	}
+
+	// La sauvegarde ne contient que l'état de la partie: il est appliqué sur un vaisseau neuf
+	public void load(int slot) {
 		try {
-			FileInputStream fileIn = new FileInputStream("saveData.txt");
-			ObjectInputStream ois = new ObjectInputStream(fileIn);
-			ship = new Ship((Ship) ois.readObject());
-			ois.close();
-			Message.sendGameMessage("You successfully loaded the game!\n");
+			SaveSlot save = getSaveSlots().read(slot);
+			this.setShip(SaveFile.load(save.getState(), null));
+			this.setPlayTime(save.getPlayTime());
+			Message.sendGameMessage("You successfully loaded the game from slot " + slot + "!\n");
+			Message.sendGameMessage("\t\t ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ \n\n");
+		} catch (SaveFormatException e) {
+			Message.sendGameMessage("The save data can't be loaded (" + e.getMessage() + ").");
 			Message.sendGameMessage("\t\t ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ \n\n");
-		} catch (IOException | ClassNotFoundException e) {
-			Message.sendGameMessage("No save data was found! You need to save at least one time before being able to load a save.");
+		} catch (IOException e) {
+			Message.sendGameMessage("No save data was found in slot " + slot + "! You need to save at least one time before being able to load a save.");
 			Message.sendGameMessage("\t\t ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~ \n\n");
 		}
 	}
 
+	// Menu des sauvegardes: seul l'index des emplacements est lu
+	public void listSaves() {
+		List<SaveSlot> saves;
+
+		try {
+			saves = getSaveSlots().list();
+		} catch (IOException e) {
+			Message.sendGameMessage("Error :> The saves can't be listed (" + e.getMessage() + ")");
+			return;
+		}
+
+		if(saves.isEmpty()) {
+			Message.sendGameMessage("There is no saved game yet.");
+			return;
+		}
+
+		SimpleDateFormat date = new SimpleDateFormat("yyyy-MM-dd HH:mm");
+
+		for(SaveSlot s : saves)
+			Message.sendGameMessage(describeSave(s, date));
+	}
+
+	public static String describeSave(SaveSlot s, SimpleDateFormat date) {
+		long seconds = s.getPlayTime() / 1000;
+
+		return String.format("\t- slot %d : room %d, %dhp, played %d:%02d:%02d, saved on %s", s.getSlot(), s.getRoomID(),
+				s.getHp(), seconds / 3600, seconds / 60 % 60, seconds % 60, date.format(new Date(s.getTimestamp())));
+	}
+
+	// Remplace le vaisseau de la partie (ex: chargé par un autre thread, cf. SaveFile)
+	public void setShip(Ship loaded) {
+		this.setShip(loaded, null);
+	}
+
+	// loadedHistory: historique déjà construit sur loaded (ex: avec lui, par le même thread), ou null
+	public void setShip(Ship loaded, History loadedHistory) {
+		ship = loaded;
+		ship.getPlayer().setSIS(this);
+
+		if(loadedHistory != null)
+			this.startHistory(loadedHistory);
+		else
+			this.startHistory();
+
+		//Pendant un tour (load), l'instantané est pris après avoir journalisé le tour: il ne sera pas rejoué
+		if(recording) {
+			jumped = true;
+			return;
+		}
+
+		if(journal != null) {
+			try {
+				journal.snapshot(ship);
+			} catch (IOException e) {
+				Message.sendGameMessage("Error :> The journal can't be written (" + e.getMessage() + "): this game won't be recovered after a crash.");
+				journal = null;
+			}
+		}
+	}
+
 	public void play() {
 		while(!this.isEndGame())
 		{
 			this.playTurn();
 		}
 
+		this.printEnding();
+	}
+
+	public void printEnding()
+	{
 		if(ship.getNPC("Umhon").isDead())
 			Message.sendGameMessage("\nYou managed to escape but Umhon couldn't stop her husband and his commander. Thus, the aliens" +
 					" managed to create a virus which decimated all the human population. You were the last survivor and witnessed " +
@@ -108,7 +313,36 @@ public class SIS implements Serializable {
 
 	public void playTurn()
 	{
+		this.beginTurn();
 		ship.getPlayer().call();
+		this.endTurn();
+	}
+
+	public void playTurn(String command)
+	{
+		this.beginTurn();
+
+		if(recording)
+			turnLines.add(command);
+
+		ship.getPlayer().call(command);
+		this.endTurn();
+	}
+
+	// Une session hébergée se ferme au lieu d'arrêter toute la JVM:
+	public void quit()
+	{
+		this.stopJournal();
+
+		if(session != null)
+			session.close();
+
+		else
+		{
+			//Le tour en cours ne se terminera pas: ses messages (dont l'au revoir) sont livrés maintenant
+			MessageChannel.current().flush();
+			System.exit(0);
+		}
 	}
 
 	public void printGameIntro()
@@ -131,4 +365,191 @@ public class SIS implements Serializable {
 				~~~~~~~~~~~~~~~~~~~~~
 				""");
 	}
-}
\ No newline at end of file
+
+	// ====== JOURNAL ======
+
+	// Journalise la partie dans dir; une partie interrompue qui s'y trouve est d'abord reprise
+	public void startJournal(Path dir)
+	{
+		try {
+			Journal j = new Journal(dir);
+
+			if(j.canRecover())
+				this.recover(j);
+
+			j.start(ship);
+			history.takeChanged();
+			journal = j;
+			turnLines = new ArrayList<>();
+		}
+
+		catch(IOException e) {
+			Message.sendGameMessage("Error :> The journal can't be written (" + e.getMessage() + "): this game won't be recovered after a crash.");
+		}
+	}
+
+	// Partie terminée ou quittée: il n'y a plus rien à reprendre
+	private void stopJournal()
+	{
+		if(journal == null)
+			return;
+
+		try {
+			journal.discard();
+		}
+
+		catch(IOException e) {
+			Message.sendGameMessage("Error :> The journal can't be deleted (" + e.getMessage() + ").");
+		}
+
+		journal = null;
+		recording = false;
+	}
+
+	private void recover(Journal j) throws IOException
+	{
+		Ship recovered = new Ship();
+		List<List<String>> turns;
+
+		try {
+			turns = j.recover(recovered);
+		}
+
+		catch(SaveFormatException e) {
+			Message.sendGameMessage("Your last game was interrupted but it can't be recovered (" + e.getMessage() + ").\n");
+			return;
+		}
+
+		ship = recovered;
+		ship.getPlayer().setSIS(this);
+		this.startHistory();
+
+		//Les tours sont rejoués sans rien afficher, avec leurs propres saisies:
+		MessageChannel channel = MessageChannel.current();
+		InputSource live = input;
+		MessageChannel.bind(new MessageChannel());
+
+		try {
+			for(List<String> turn : turns)
+			{
+				if(turn.isEmpty())
+					continue;
+
+				Iterator<String> lines = turn.subList(1, turn.size()).iterator();
+				input = () -> lines.hasNext() ? lines.next() : "quit";
+				ship.getPlayer().call(turn.get(0));
+				this.commitTurn();
+			}
+		}
+
+		finally {
+			input = live;
+
+			if(channel == MessageChannel.getDefault())
+				MessageChannel.unbind();
+			else
+				MessageChannel.bind(channel);
+		}
+
+		Message.sendGameMessage("Your last game was interrupted: it has been recovered (" + turns.size() + " commands replayed).\n");
+	}
+
+	// ====== HISTORIQUE ======
+
+	// Nouvel historique, vide, sur le vaisseau courant: il garde l'état de toutes les pièces pour figer une sauvegarde
+	// sans parcourir le vaisseau (cf. History.snapshot())
+	private void startHistory() {
+		try {
+			this.startHistory(new History(ship, History.states(ship)));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private void startHistory(History started) {
+		if(history != null)
+			history.detach();
+
+		history = started;
+	}
+
+	// Fin d'un tour (ou d'une action dans l'interface graphique): il pourra être annulé s'il a changé quelque chose
+	public void commitTurn() {
+		try {
+			history.commit();
+		} catch (IOException e) {
+			Message.sendGameMessage("Error :> This turn can't be undone (" + e.getMessage() + ")");
+			this.startHistory();
+		}
+	}
+
+	public boolean undo() {
+		return this.jump(true);
+	}
+
+	public boolean redo() {
+		return this.jump(false);
+	}
+
+	private boolean jump(boolean back) {
+		try {
+			if(back ? !history.undo() : !history.redo()) {
+				Message.sendGameMessage(back ? "There is nothing to undo." : "There is nothing to redo.");
+				return false;
+			}
+		} catch (IOException e) {
+			Message.sendGameMessage("Error :> The game can't go back (" + e.getMessage() + ")");
+			this.startHistory();
+			return false;
+		}
+
+		jumped = true;
+		Message.sendGameMessage(back ? "You went back one turn." : "You replayed one turn.");
+		return true;
+	}
+
+	// ====== TOURS ======
+
+	private void beginTurn()
+	{
+		jumped = false;
+
+		if(journal != null)
+		{
+			turnLines.clear();
+			recording = true;
+		}
+	}
+
+	// Un tour interrompu par une exception n'est pas journalisé: il échouerait de nouveau à la reprise
+	private void endTurn()
+	{
+		this.commitTurn();
+
+		if(!recording)
+			return;
+
+		recording = false;
+
+		try {
+			//Les instantanés du journal ne réécrivent que les pièces que l'historique a vues changer
+			journal.record(turnLines, ship, history.takeChanged());
+
+			//Un tour annulé ou un chargement ne peut pas être rejoué à la reprise: le journal repart de l'état obtenu
+			if(jumped)
+				journal.snapshot(ship);
+		}
+
+		catch(IOException e) {
+			Message.sendGameMessage("Error :> The journal can't be written (" + e.getMessage() + "): this game won't be recovered after a crash.");
+			journal = null;
+		}
+	}
+
+	private String readRecordedLine()
+	{
+		String line = input.nextLine();
+		turnLines.add(line);
+		return line;
+	}
+}
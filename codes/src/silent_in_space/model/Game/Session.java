@@ -0,0 +1,132 @@
+package silent_in_space.model.Game;
+
+import java.nio.file.Path;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/* -----------------------------------------------------------------------------
+ * Session de jeu hébergée:
+ *
+ * Rôle: Une partie indépendante (son propre SIS et donc son propre Ship) avec sa
+ * file de commandes, son listener de sortie et ses emplacements de sauvegarde,
+ * rangés dans son propre répertoire chez l'hôte. Les commandes sont exécutées par
+ * les workers du SessionHost, jamais par deux threads à la fois pour une même
+ * session: une session n'est planifiée qu'une fois tant qu'elle a du travail.
+ * ----------------------------------------------------------------------------- */
+
+public class Session implements InputSource {
+
+    //Nombre maximum de commandes traitées avant de rendre la main aux autres sessions:
+    private static final int TURNS_PER_SLICE = 16;
+
+    //Délai d'attente d'une réponse pendant une sous-saisie (fouille, ordinateur...):
+    private static final long PROMPT_TIMEOUT_MS = 50;
+
+    private final int ID;
+    private final SessionHost HOST;
+    private final BlockingQueue<String> INPUT;
+    private final MessageChannel CHANNEL;
+    private final AtomicBoolean scheduled;
+
+    private SIS sis;
+    private volatile boolean closed;
+
+    Session(int id, SessionHost host, MessageListener output) {
+        this.ID = id;
+        this.HOST = host;
+        this.INPUT = new LinkedBlockingQueue<>();
+        this.CHANNEL = new MessageChannel();
+        this.CHANNEL.subscribe(output);
+        this.scheduled = new AtomicBoolean(false);
+        this.closed = false;
+    }
+
+    //====================== GETTERS ==========================
+    public int getId() { return ID; }
+    public MessageChannel getChannel() { return CHANNEL; }
+    public SIS getGame() { return sis; }
+    public int getPendingCommands() { return INPUT.size(); }
+    public boolean isClosed() { return closed; }
+    public Path getSaveDirectory() { return HOST.getSaveDirectory().resolve("session-" + ID); }
+
+    //====================== COMMANDES ========================
+
+    // Ajoute une commande à la file de la session et la planifie si besoin
+    public void submit(String command) {
+        if(closed)
+            return;
+
+        INPUT.add(command);
+        schedule();
+    }
+
+    // Ferme la session: les commandes restantes sont ignorées et la partie est libérée (par un worker)
+    public void close() {
+        if(!closed) {
+            closed = true;
+            INPUT.clear();
+            HOST.remove(this);
+            schedule();
+        }
+    }
+
+    void schedule() {
+        if(scheduled.compareAndSet(false, true))
+            HOST.schedule(this);
+    }
+
+    // Exécuté par un worker du SessionHost:
+    void drain() {
+        MessageChannel.bind(CHANNEL);
+
+        try {
+            if(sis == null && !closed)
+                sis = new SIS(this);
+
+            int budget = TURNS_PER_SLICE;
+            String command;
+
+            while(!closed && budget-- > 0 && (command = INPUT.poll()) != null) {
+                sis.playTurn(command);
+
+                if(sis.isEndGame()) {
+                    sis.printEnding();
+                    sis.endGame();
+                    close();
+                }
+            }
+
+            if(closed && sis != null) {
+                sis.closeSaves();
+                sis = null;
+            }
+        }
+
+        finally {
+            CHANNEL.flush();
+            MessageChannel.unbind();
+            scheduled.set(false);
+        }
+
+        //Une commande a pu arriver (ou la session être fermée) entre le dernier poll() et la remise à zéro du drapeau:
+        if(closed ? sis != null : !INPUT.isEmpty())
+            schedule();
+    }
+
+    // Sous-saisies (fouille d'un corps, ordinateur...): on attend brièvement la commande suivante
+    // du script, sans bloquer le worker indéfiniment. Sans réponse, on quitte la sous-saisie:
+    @Override
+    public String nextLine() {
+        try {
+            String line = INPUT.poll(PROMPT_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            return line != null ? line : "quit";
+        }
+
+        catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "quit";
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package silent_in_space.model.Game;
+
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/* -----------------------------------------------------------------------------
+ * Hôte de sessions sans interface:
+ *
+ * Rôle: Crée, exécute et libère un grand nombre de parties indépendantes dans une
+ * même JVM. Un petit pool de workers se partage toutes les sessions: une session
+ * n'occupe un worker que le temps de traiter les commandes en attente dans sa file.
+ * Chaque session sauvegarde dans son propre répertoire, sous celui de l'hôte.
+ * ----------------------------------------------------------------------------- */
+
+public class SessionHost {
+
+    private final ExecutorService WORKERS;
+    private final Path SAVE_DIR;
+    private final ConcurrentHashMap<Integer, Session> SESSIONS;
+    private final AtomicInteger nextId;
+
+    public SessionHost() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public SessionHost(int nbWorkers) {
+        this(nbWorkers, Path.of(SIS.SAVE_DIR, "sessions"));
+    }
+
+    // Les sauvegardes de la session n sont rangées dans saveDir/session-n
+    public SessionHost(int nbWorkers, Path saveDir) {
+        this.SAVE_DIR = saveDir;
+        this.WORKERS = Executors.newFixedThreadPool(nbWorkers, r -> {
+            Thread t = new Thread(r, "sis-session-worker");
+            t.setDaemon(true);
+            return t;
+        });
+        this.SESSIONS = new ConcurrentHashMap<>();
+        this.nextId = new AtomicInteger(0);
+    }
+
+    //====================== GETTERS ==========================
+    public int getNbSessions() { return SESSIONS.size(); }
+    public Session getSession(int id) { return SESSIONS.get(id); }
+    public Path getSaveDirectory() { return SAVE_DIR; }
+
+    //====================== SESSIONS =========================
+
+    // Ouvre une nouvelle partie: le vaisseau est construit par un worker, pas par l'appelant
+    public Session open(MessageListener output) {
+        Session session = new Session(nextId.getAndIncrement(), this, output);
+        SESSIONS.put(session.getId(), session);
+        session.schedule();
+        return session;
+    }
+
+    public void close(int id) {
+        Session session = SESSIONS.get(id);
+
+        if(session != null)
+            session.close();
+    }
+
+    // Ferme toutes les sessions et attend la fin des tours en cours
+    public void shutdown() throws InterruptedException {
+        for(Session session : SESSIONS.values())
+            session.close();
+
+        WORKERS.shutdown();
+        WORKERS.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    void schedule(Session session) {
+        try {
+            WORKERS.execute(session::drain);
+        }
+
+        catch(RejectedExecutionException e) {
+            session.close();
+        }
+    }
+
+    void remove(Session session) {
+        SESSIONS.remove(session.getId());
+    }
+}
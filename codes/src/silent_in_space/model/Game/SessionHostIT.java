@@ -0,0 +1,121 @@
+package silent_in_space.model.Game;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class SessionHostIT {
+
+    private Path saves;
+    private SessionHost host;
+
+    @Before
+    public void setUp() throws IOException {
+        saves = Files.createTempDirectory("sis-sessions");
+        host = new SessionHost(2, saves);
+    }
+
+    @After
+    public void tearDown() throws InterruptedException, IOException {
+        host.shutdown();
+
+        try(Stream<Path> files = Files.walk(saves)) {
+            for(Path p : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator)
+                Files.delete(p);
+        }
+    }
+
+    private static boolean await(List<String> output, String expected) throws InterruptedException {
+        for(int i = 0; i < 200; i++) {
+            for(String message : output) {
+                if(message.contains(expected))
+                    return true;
+            }
+            Thread.sleep(10);
+        }
+        return false;
+    }
+
+    @Test
+    public void testSessionsHaveTheirOwnOutput() throws InterruptedException {
+        List<String> output1 = new CopyOnWriteArrayList<>();
+        List<String> output2 = new CopyOnWriteArrayList<>();
+        Session s1 = host.open(output1::add);
+        Session s2 = host.open(output2::add);
+
+        s1.submit("go doorT");
+        s2.submit("info");
+
+        assertTrue(await(output1, "You have unlocked") || await(output1, "This door is locked"));
+        assertTrue(await(output2, "You have 100hp"));
+        assertFalse(output1.stream().anyMatch(m -> m.contains("You have 100hp")));
+        assertEquals(2, host.getNbSessions());
+    }
+
+    @Test
+    public void testSessionsAreIndependent() throws InterruptedException {
+        List<String> output1 = new CopyOnWriteArrayList<>();
+        List<String> output2 = new CopyOnWriteArrayList<>();
+        Session s1 = host.open(output1::add);
+        Session s2 = host.open(output2::add);
+
+        s1.submit("use passT doorT");
+        s1.submit("go doorT");
+        s1.submit("info");
+        s2.submit("info");
+
+        assertTrue(await(output1, "You have 100hp"));
+        assertTrue(await(output2, "You have 100hp"));
+        assertEquals(22, s1.getGame().getShip().getPlayer().getRoom().getID());
+        assertEquals(21, s2.getGame().getShip().getPlayer().getRoom().getID());
+    }
+
+    @Test
+    public void testQuitClosesOnlyTheSession() throws InterruptedException {
+        List<String> output = new CopyOnWriteArrayList<>();
+        Session s1 = host.open(output::add);
+        Session s2 = host.open(m -> {});
+
+        s1.submit("quit");
+
+        assertTrue(await(output, "Thanks for playing"));
+        assertTrue(s1.isClosed());
+        assertFalse(s2.isClosed());
+        assertNull(host.getSession(s1.getId()));
+        assertEquals(1, host.getNbSessions());
+    }
+
+    // Chaque session a ses propres emplacements: une sauvegarde rapide n'est ni listée ni rechargée par une autre
+    @Test
+    public void testSessionsHaveTheirOwnSaves() throws InterruptedException {
+        List<String> output1 = new CopyOnWriteArrayList<>();
+        List<String> output2 = new CopyOnWriteArrayList<>();
+        Session s1 = host.open(output1::add);
+        Session s2 = host.open(output2::add);
+
+        s1.submit("save");
+        assertTrue(await(output1, "You successfully saved the game in slot 0!"));
+
+        s2.submit("saves");
+        s2.submit("load");
+        assertTrue(await(output2, "There is no saved game yet."));
+        assertTrue(await(output2, "No save data was found in slot 0!"));
+
+        s1.submit("saves");
+        assertTrue(await(output1, "slot 0 : room 21"));
+
+        assertEquals(saves.resolve("session-" + s1.getId()), s1.getSaveDirectory());
+        assertTrue(Files.exists(s1.getSaveDirectory().resolve("slot-0.sis")));
+        assertFalse(Files.exists(s2.getSaveDirectory().resolve("slot-0.sis")));
+    }
+}
@@ -0,0 +1,348 @@
+package silent_in_space.model.Game;
+
+import silent_in_space.model.Characters.Actor;
+import silent_in_space.model.Characters.NPC;
+import silent_in_space.model.Characters.Player;
+import silent_in_space.model.Location.Room;
+import silent_in_space.model.Location.Ship;
+import silent_in_space.model.Location.ShipGraph;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/* -----------------------------------------------------------------------------
+ * Simulation des personnages:
+ *
+ * Rôle: Fait vivre les NPCs de tout le vaisseau, un pas de temps fixe (tick())
+ * à la fois: un NPC neutre ou allié se promène parfois dans une pièce voisine
+ * de la sienne (celle qu'il occupait avant son premier déplacement), puis y
+ * retourne; il reste auprès du joueur quand celui-ci est dans sa pièce. Un NPC
+ * hostile se rapproche du joueur s'il est à moins de HUNT_RANGE portes, et
+ * l'attaque dans sa pièce. Les NPCs ne passent que par les portes déverrouillées.
+ *
+ * Un pas se fait en deux temps. Les intentions de chaque NPC sont d'abord
+ * calculées sur l'état du vaisseau au début du pas, sans rien modifier: les
+ * NPCs relevés dans chaque pièce sont répartis entre les threads du pool
+ * fork-join commun. Chaque NPC tire au sort avec un générateur qui ne dépend
+ * que de la graine, du numéro du pas et de son nom: le résultat ne dépend pas
+ * du découpage entre threads.
+ * Elles sont ensuite appliquées une à une, dans l'ordre des pièces, sur le
+ * thread appelant (celui qui a le droit de modifier le modèle, cf. Ship), en
+ * relisant chaque pièce par son numéro: sur un vaisseau paginé, aucune pièce
+ * n'est retenue d'un bout à l'autre du pas.
+ *
+ * L'interface graphique appelle tick() toutes les TICK_MILLIS et met sa vue à
+ * jour d'après le compte rendu (Report); une partie sans interface peut avancer
+ * de nombreux pas d'un coup (fastForward()).
+ * ----------------------------------------------------------------------------- */
+
+public class Simulation {
+
+	public static final long TICK_MILLIS = 2000;
+	public static final int HUNT_RANGE = 3;
+
+	//Chances, à chaque pas, qu'un NPC neutre parte se promener et qu'un NPC hostile frappe le joueur:
+	public static final double WANDER_CHANCE = 0.2;
+	public static final double ATTACK_CHANCE = 0.5;
+
+	//Pièces traitées d'un seul tenant par une tâche de la phase d'intentions:
+	static final int ROOMS_PER_TASK = 64;
+
+	private final Ship SHIP;
+	private final long SEED;
+
+	//Pièce que chaque NPC a quittée à son premier déplacement, à laquelle il revient après une promenade:
+	private final HashMap<String, Integer> HOMES;
+
+	private long nbTicks;
+
+	public Simulation(Ship ship)
+	{
+		this(ship, System.nanoTime());
+	}
+
+	public Simulation(Ship ship, long seed)
+	{
+		this.SHIP = ship;
+		this.SEED = seed;
+		this.HOMES = new HashMap<>();
+	}
+
+	public Ship getShip()
+	{
+		return this.SHIP;
+	}
+
+	public long getNbTicks()
+	{
+		return this.nbTicks;
+	}
+
+	// ====== COMPTE RENDU ======
+
+	public static final class Move {
+
+		private final String NAME;
+		private final int FROM;
+		private final int TO;
+
+		private Move(String name, int from, int to)
+		{
+			this.NAME = name;
+			this.FROM = from;
+			this.TO = to;
+		}
+
+		public String getName() { return this.NAME; }
+		public int getFrom() { return this.FROM; }
+		public int getTo() { return this.TO; }
+	}
+
+	// Ce qui a changé pendant un ou plusieurs pas
+	public static final class Report {
+
+		private final ArrayList<Move> MOVES = new ArrayList<>();
+		private int nbAttacks;
+		private boolean playerRoomChanged;
+
+		public List<Move> getMoves() { return this.MOVES; }
+		public int getNbAttacks() { return this.nbAttacks; }
+
+		// Vrai si un NPC est entré dans la pièce du joueur, en est sorti ou l'a attaqué
+		public boolean isPlayerRoomChanged() { return this.playerRoomChanged; }
+	}
+
+	// ====== PAS DE TEMPS ======
+
+	public Report tick()
+	{
+		Report report = new Report();
+		this.step(report);
+
+		return report;
+	}
+
+	// Avance de nbTicks pas sans attendre (parties sans interface); les comptes rendus sont cumulés
+	public Report fastForward(int nbTicks)
+	{
+		Report report = new Report();
+
+		for(int i = 0; i < nbTicks; i++)
+			this.step(report);
+
+		return report;
+	}
+
+	private void step(Report report)
+	{
+		Player player = this.SHIP.getPlayer();
+		this.nbTicks++;
+
+		if(player.isDead())
+			return;
+
+		//Les pièces sont lues ici (un vaisseau paginé ne peut pas être relu depuis plusieurs threads), mais on
+		//n'en garde que leurs NPCs vivants: le pager reste libre de les évincer pendant le pas
+		int[] ids = this.SHIP.getActorRoomIDs();
+		Occupants[] occupants = new Occupants[ids.length];
+
+		for(int i = 0; i < ids.length; i++)
+			occupants[i] = new Occupants(this.SHIP.getRoom(ids[i]));
+
+		ShipGraph graph = this.SHIP.getGraph();
+		Intents phase = new Intents(graph, graph.routeTo(player.getRoom()), player.getRoom().getID(), occupants);
+		ForkJoinPool.commonPool().invoke(phase.part(0, occupants.length));
+
+		for(List<Intent> intents : phase.RESULTS)
+		{
+			if(intents == null)
+				continue;
+
+			for(Intent intent : intents)
+				this.apply(intent, report);
+		}
+	}
+
+	// Les pièces sont relues par leur numéro juste avant d'être modifiées: une pièce lue plus tôt a pu être évincée
+	private void apply(Intent intent, Report report)
+	{
+		Player player = this.SHIP.getPlayer();
+
+		if(intent.TO < 0)
+		{
+			Actor a = this.SHIP.getRoom(intent.FROM).getActor(intent.NAME);
+
+			if(a instanceof NPC && !a.isDead() && !player.isDead() && player.getRoom().getID() == intent.FROM)
+			{
+				a.attack(player);
+				report.nbAttacks++;
+				report.playerRoomChanged = true;
+			}
+
+			return;
+		}
+
+		//La pièce d'arrivée est lue avant celle de départ, qui porte le NPC: la plus récente des deux ne peut pas être évincée par l'autre
+		Room to = this.SHIP.getRoom(intent.TO);
+		Actor a = this.SHIP.getRoom(intent.FROM).getActor(intent.NAME);
+
+		if(!(a instanceof NPC) || a.isDead())
+			return;
+
+		int here = player.getRoom().getID();
+		this.HOMES.putIfAbsent(intent.NAME, intent.FROM);
+		a.moveTo(to);
+		report.MOVES.add(new Move(intent.NAME, intent.FROM, intent.TO));
+
+		if(intent.FROM == here)
+		{
+			Message.sendGameMessage(intent.NAME + " leaves the room.");
+			report.playerRoomChanged = true;
+		}
+
+		else if(intent.TO == here)
+		{
+			Message.sendGameMessage(intent.NAME + " enters the room.");
+			report.playerRoomChanged = true;
+		}
+	}
+
+	// ====== INTENTIONS ======
+
+	// NPCs vivants d'une pièce au début du pas, seul état dont la phase d'intentions a besoin
+	private static final class Occupants {
+
+		private final int ID;
+		private final ArrayList<String> NAMES = new ArrayList<>(2);
+		private final ArrayList<Boolean> HOSTILE = new ArrayList<>(2);
+
+		private Occupants(Room r)
+		{
+			this.ID = r.getID();
+
+			for(Actor a : r.getActors().values())
+			{
+				if(a instanceof NPC && !a.isDead())
+				{
+					this.NAMES.add(a.getName());
+					this.HOSTILE.add(((NPC) a).isHostile());
+				}
+			}
+		}
+	}
+
+	// Déplacement vers la pièce TO, ou attaque du joueur si TO vaut -1
+	private static final class Intent {
+
+		private final String NAME;
+		private final int FROM;
+		private final int TO;
+
+		private Intent(String name, int from, int to)
+		{
+			this.NAME = name;
+			this.FROM = from;
+			this.TO = to;
+		}
+	}
+
+	// Phase d'intentions d'un pas: ne lit que l'état du début du pas (pièces, portes, chemins vers le joueur)
+	private final class Intents {
+
+		private final ShipGraph GRAPH;
+		private final ShipGraph.Route ROUTE;
+		private final int PLAYER_ROOM;
+		private final Occupants[] OCCUPANTS;
+		private final List<Intent>[] RESULTS;
+
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		private Intents(ShipGraph graph, ShipGraph.Route route, int playerRoom, Occupants[] occupants)
+		{
+			this.GRAPH = graph;
+			this.ROUTE = route;
+			this.PLAYER_ROOM = playerRoom;
+			this.OCCUPANTS = occupants;
+			this.RESULTS = new List[occupants.length];
+		}
+
+		// Tâche des pièces from à to - 1, coupée en deux tant qu'elle dépasse ROOMS_PER_TASK
+		private RecursiveAction part(int from, int to)
+		{
+			return new RecursiveAction() {
+				@Override
+				protected void compute() {
+					if(to - from <= ROOMS_PER_TASK)
+					{
+						for(int i = from; i < to; i++)
+							RESULTS[i] = intents(OCCUPANTS[i]);
+					}
+
+					else
+					{
+						int middle = (from + to) >>> 1;
+						invokeAll(part(from, middle), part(middle, to));
+					}
+				}
+			};
+		}
+
+		private List<Intent> intents(Occupants o)
+		{
+			ArrayList<Intent> intents = null;
+
+			for(int i = 0; i < o.NAMES.size(); i++)
+			{
+				Intent intent = this.intent(o.NAMES.get(i), o.HOSTILE.get(i), o.ID);
+
+				if(intent != null)
+				{
+					if(intents == null)
+						intents = new ArrayList<>(2);
+
+					intents.add(intent);
+				}
+			}
+
+			return intents;
+		}
+
+		private Intent intent(String name, boolean hostile, int here)
+		{
+			SplittableRandom random = new SplittableRandom(
+					SEED ^ (nbTicks * 0x9E3779B97F4A7C15L) ^ ((long) name.hashCode() << 32));
+
+			if(hostile)
+			{
+				if(here == this.PLAYER_ROOM)
+					return random.nextDouble() < ATTACK_CHANCE ? new Intent(name, here, -1) : null;
+
+				int distance = this.ROUTE.distance(here, HUNT_RANGE);
+				return distance > 0 && distance <= HUNT_RANGE ? new Intent(name, here, this.ROUTE.nextRoom(here)) : null;
+			}
+
+			//Un NPC neutre ou allié reste auprès du joueur:
+			if(here == this.PLAYER_ROOM || random.nextDouble() >= WANDER_CHANCE)
+				return null;
+
+			int home = HOMES.getOrDefault(name, here);
+			int[] neighbours = this.GRAPH.openNeighbours(here);
+
+			if(here != home)
+			{
+				for(int id : neighbours)
+				{
+					if(id == home)
+						return new Intent(name, here, home);
+				}
+
+				return null;
+			}
+
+			return neighbours.length > 0 ? new Intent(name, here, neighbours[random.nextInt(neighbours.length)]) : null;
+		}
+	}
+}
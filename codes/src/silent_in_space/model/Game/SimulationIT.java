@@ -0,0 +1,187 @@
+package silent_in_space.model.Game;
+
+import silent_in_space.model.Characters.Actor;
+import silent_in_space.model.Characters.NPC;
+import silent_in_space.model.Characters.Player;
+import silent_in_space.model.Location.Ship;
+import silent_in_space.model.World.ShipGenerator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class SimulationIT
+{
+    private Ship ship;
+    private Player player;
+
+    @Before
+    public void setUp()
+    {
+        MessageChannel.bind(new MessageChannel());
+        ship = new Ship();
+        player = ship.getPlayer();
+    }
+
+    @After
+    public void tearDown()
+    {
+        MessageChannel.unbind();
+    }
+
+    // Un NPC hostile à une porte du joueur le rejoint au pas suivant, puis l'attaque
+    @Test
+    public void testHostileHuntsPlayer()
+    {
+        NPC ghainkix = ship.getNPC("Ghainkix");
+        ghainkix.setHostile(true);
+        player.moveTo(ship.getRoom(19));
+
+        Simulation simulation = new Simulation(ship, 1);
+        Simulation.Report report = simulation.tick();
+
+        assertSame(ship.getRoom(19), ghainkix.getRoom());
+        assertEquals(1, report.getMoves().size());
+        assertEquals(14, report.getMoves().get(0).getFrom());
+        assertTrue(report.isPlayerRoomChanged());
+
+        report = simulation.fastForward(30);
+        assertTrue(report.getNbAttacks() > 0);
+        assertEquals(100 - 25 * report.getNbAttacks(), player.getHp());
+        assertSame(ship.getRoom(19), ghainkix.getRoom());
+    }
+
+    @Test
+    public void testHostileOutOfRange()
+    {
+        NPC ghainkix = ship.getNPC("Ghainkix");
+        ghainkix.setHostile(true);
+
+        //Depuis la pièce 14, il faut passer 5 portes pour rejoindre la pièce 21 du joueur:
+        new Simulation(ship, 1).fastForward(20);
+
+        assertSame(ship.getRoom(14), ghainkix.getRoom());
+        assertEquals(100, player.getHp());
+    }
+
+    // Un NPC neutre ne s'éloigne jamais de plus d'une porte de sa pièce, et reste auprès du joueur
+    @Test
+    public void testNeutralWandersAroundHome()
+    {
+        NPC ghainkix = ship.getNPC("Ghainkix");
+        NPC kilen = ship.getNPC("Kilen");
+        List<Integer> around = Arrays.stream(ship.getGraph().openNeighbours(14)).boxed().collect(Collectors.toList());
+        Simulation simulation = new Simulation(ship, 3);
+        int nbMoves = 0;
+
+        for(int i = 0; i < 200; i++)
+        {
+            nbMoves += simulation.tick().getMoves().size();
+            int room = ghainkix.getRoom().getID();
+
+            assertTrue(room == 14 || around.contains(room));
+            assertSame(ship.getRoom(21), kilen.getRoom());
+        }
+
+        assertTrue(nbMoves > 0);
+        assertEquals(200, simulation.getNbTicks());
+        assertEquals(100, player.getHp());
+    }
+
+    @Test
+    public void testDeadDoNotMove()
+    {
+        NPC ghainkix = ship.getNPC("Ghainkix");
+
+        for(int i = 0; i < 4; i++)
+            ghainkix.isAttacked(player);
+
+        assertTrue(ghainkix.isDead());
+        new Simulation(ship, 3).fastForward(200);
+        assertSame(ship.getRoom(14), ghainkix.getRoom());
+    }
+
+    // Le découpage entre threads ne change rien: deux simulations de même graine donnent les mêmes déplacements
+    @Test
+    public void testDeterministic() throws IOException
+    {
+        Ship a = new Ship(new ShipGenerator(11, 3000));
+        Ship b = new Ship(new ShipGenerator(11, 3000), 64);
+
+        try {
+            Simulation.Report ra = new Simulation(a, 42).fastForward(10);
+            Simulation.Report rb = new Simulation(b, 42).fastForward(10);
+
+            assertTrue(ra.getMoves().size() > 100);
+            assertEquals(ra.getMoves().size(), rb.getMoves().size());
+            assertEquals(ra.getNbAttacks(), rb.getNbAttacks());
+
+            for(int i = 0; i < ra.getMoves().size(); i++)
+            {
+                Simulation.Move m = ra.getMoves().get(i);
+                assertEquals(m.getName(), rb.getMoves().get(i).getName());
+                assertEquals(m.getTo(), rb.getMoves().get(i).getTo());
+                assertTrue(b.getRoom(m.getTo()) != null);
+            }
+
+            Simulation.Move last = ra.getMoves().get(ra.getMoves().size() - 1);
+            assertSame(a.findActor(last.getName()).getRoom(), a.getRoom(last.getTo()));
+            assertEquals(b.findActor(last.getName()).getRoom().getID(), last.getTo());
+        } finally {
+            b.close();
+        }
+    }
+
+    // Un petit pager, vidé par le ramasse-miettes entre deux pas, donne les mêmes déplacements et le même état final qu'un vaisseau en mémoire
+    @Test
+    public void testPagedWithCollectionBetweenTicks() throws IOException
+    {
+        Ship a = new Ship(new ShipGenerator(11, 3000));
+        Ship b = new Ship(new ShipGenerator(11, 3000), 16);
+
+        try {
+            Simulation sa = new Simulation(a, 7);
+            Simulation sb = new Simulation(b, 7);
+            List<Simulation.Move> moves = new ArrayList<>();
+
+            for(int i = 0; i < 20; i++)
+            {
+                Simulation.Report ra = sa.tick();
+                Simulation.Report rb = sb.tick();
+                System.gc();
+
+                assertEquals(ra.getNbAttacks(), rb.getNbAttacks());
+                assertEquals(ra.getMoves().size(), rb.getMoves().size());
+
+                for(int j = 0; j < ra.getMoves().size(); j++)
+                {
+                    assertEquals(ra.getMoves().get(j).getName(), rb.getMoves().get(j).getName());
+                    assertEquals(ra.getMoves().get(j).getTo(), rb.getMoves().get(j).getTo());
+                }
+
+                moves.addAll(ra.getMoves());
+            }
+
+            assertTrue(moves.size() > 100);
+            assertEquals(a.getPlayer().getHp(), b.getPlayer().getHp());
+
+            for(Simulation.Move m : moves)
+            {
+                Actor npc = b.findActor(m.getName());
+
+                assertEquals(a.findActor(m.getName()).getRoom().getID(), npc.getRoom().getID());
+                assertNotNull(b.getRoom(npc.getRoom().getID()).getActor(m.getName()));
+                assertEquals(a.findActor(m.getName()).getPreviousRoomID(), npc.getPreviousRoomID());
+            }
+        } finally {
+            b.close();
+        }
+    }
+}
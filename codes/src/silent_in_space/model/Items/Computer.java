@@ -9,7 +9,6 @@ import silent_in_space.model.Utils.Scalar2D;
 
 import java.io.Serializable;
 import java.util.InputMismatchException;
-import java.util.Scanner;
 
 public class Computer extends Item implements Serializable {
 
@@ -55,31 +54,30 @@ public class Computer extends Item implements Serializable {
 
         if(u instanceof Player) {
             Player player = (Player) u;
-            System.out.println("Welcome to the lab Computer. You can consult lab files, or generate a Pass. Please input a command :");
+            Message.sendGameMessage("Welcome to the lab Computer. You can consult lab files, or generate a Pass. Please input a command :\n");
 
             boolean quit = false;
             while (!quit) {
-                System.out.println("\n=== AVAILABLE COMMANDS ===");
-                System.out.println("\t:> open : show a file");
-                System.out.println("\t:> print : print a file");
+                Message.sendGameMessage("\n=== AVAILABLE COMMANDS ===\n");
+                Message.sendGameMessage("\t:> open : show a file\n");
+                Message.sendGameMessage("\t:> print : print a file\n");
 
                 if(this.EVENT != null)
-                    System.out.println("\t:> " + this.EVENT.getTag() + " : " + this.EVENT.getDescription());
+                    Message.sendGameMessage("\t:> " + this.EVENT.getTag() + " : " + this.EVENT.getDescription() + "\n");
 
-                System.out.println("\t:> quit");
+                Message.sendGameMessage("\t:> quit\n");
 
                 quit = playerInput(player);
             }
         }
 
         else
-            System.out.println("Error :> This object can't use the computer");
+            Message.sendGameMessage("Error :> This object can't use the computer\n");
     }
 
     public boolean playerInput(Player player) {
 
-        Scanner sc = new Scanner(System.in);
-        String userChoice = sc.nextLine();
+        String userChoice = player.readLine();
 
         if (this.EVENT != null && userChoice.equals(this.EVENT.getTag())) {
             this.EVENT.getE().raise(player);
@@ -90,26 +88,24 @@ public class Computer extends Item implements Serializable {
             try {
                 switch (userChoice) {
                     case "open":
-                        System.out.println("\nYou chose to open a file.");
-                        System.out.println("\n=== AVAILABLE FILES ===");
+                        Message.sendGameMessage("\nYou chose to open a file.\n");
+                        Message.sendGameMessage("\n=== AVAILABLE FILES ===\n");
                         this.FILES.showItems();
-                        Scanner sc0 = new Scanner(System.in);
-                        String choice = sc0.nextLine();
+                        String choice = player.readLine();
 
                         try {
                             this.FILES.getItem(choice).isUsed(player);
                             return false;
                         } catch (NullPointerException e) {
-                            System.out.println("\nThis file doesn't exist");
+                            Message.sendGameMessage("\nThis file doesn't exist\n");
                             return false;
                         }
 
                     case "print":
-                        System.out.println("\nYou chose to print a file.");
-                        System.out.println("\n=== AVAILABLE FILES ===");
+                        Message.sendGameMessage("\nYou chose to print a file.\n");
+                        Message.sendGameMessage("\n=== AVAILABLE FILES ===\n");
                         this.FILES.showItems();
-                        Scanner sc1 = new Scanner(System.in);
-                        String print = sc1.nextLine();
+                        String print = player.readLine();
                         printFile(print, player);
                         return false;
 
@@ -117,11 +113,11 @@ public class Computer extends Item implements Serializable {
                         return true;
 
                     default:
-                        System.out.println("\nPlease enter a valid input");
+                        Message.sendGameMessage("\nPlease enter a valid input\n");
                         return false;
                 }
             } catch (InputMismatchException e) {
-                System.out.println("\nPlease enter a valid input");
+                Message.sendGameMessage("\nPlease enter a valid input\n");
                 return false;
             }
         }
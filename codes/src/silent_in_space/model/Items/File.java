@@ -1,5 +1,6 @@
 package silent_in_space.model.Items;
 
+import silent_in_space.model.Game.Message;
 import silent_in_space.model.Utils.Scalar2D;
 
 import java.io.Serializable;
@@ -32,6 +33,6 @@ public class File extends Item implements Serializable {
 
     @Override
     public void isUsed(UsableBy u) {
-        System.out.println(this.CONTENT);
+        Message.sendGameMessage(this.CONTENT + "\n");
     }
 }
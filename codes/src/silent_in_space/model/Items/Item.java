@@ -14,7 +14,13 @@ public abstract class Item implements Usable, UsableBy, UsableOn, Serializable,
 	private boolean ISGIVABLE;
 	private Scalar2D scalar2D;
 
+	//Numéro de l'objet dans son monde (ordre de création par WorldBuilder), NO_ID s'il a été créé en jeu:
+	private int id;
+
+	public static final int NO_ID = -1;
+
 	public Item(String tag, String description, Scalar2D scalar2D) {
+		this.id = NO_ID;
 		this.TAG = tag;
 		this.DESCRIPTION = description;
 		this.ISTAKABLE = false;
@@ -37,12 +43,17 @@ public abstract class Item implements Usable, UsableBy, UsableOn, Serializable,
 	{
 		return this.DESCRIPTION;
 	}
+	public int getID()
+	{
+		return this.id;
+	}
 	public String getTag()
 	{
 		return this.TAG;
 	}
 	public Scalar2D getScalar2D(){ return scalar2D; }
 	public void setScalar2D(Scalar2D newScalar2D){ scalar2D = newScalar2D; }
+	public void setID(int id){ this.id = id; }
 	public boolean isTakable() {
 		return this.ISTAKABLE;
 	}
@@ -1,6 +1,6 @@
 package silent_in_space.model.Items;
 
-
+import silent_in_space.model.Game.Message;
 import silent_in_space.model.Utils.Scalar2D;
 
 import java.io.Serializable;
@@ -25,7 +25,7 @@ public class Pass extends Item implements UsableOn, Serializable {
 
 	@Override
 	public void isUsed(UsableBy u) {
-		System.out.println("Your pass must be used on something !");
+		Message.sendGameMessage("Your pass must be used on something !\n");
 	}
 }
 
@@ -0,0 +1,201 @@
+package silent_in_space.model.Location;
+
+import silent_in_space.model.Doors.Door;
+import silent_in_space.model.Doors.LockedDoor;
+import silent_in_space.model.Utils.Scalar2D;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+
+/* -----------------------------------------------------------------------------
+ * Table des portes d'une pièce:
+ *
+ * Rôle: Garde les portes d'une pièce dans leur ordre d'ajout, chacune avec le
+ * numéro de la pièce vers laquelle elle mène, et les retrouve en temps constant
+ * par position dans la liste, par étiquette, par pièce de destination ou par case
+ * de la pièce. La vue ordonnée renvoyée par getDoors() est créée une seule fois:
+ * la parcourir ne copie rien.
+ *
+ * Les pièces de destination ne sont connues que par leur numéro: une pièce ne
+ * retient ainsi aucune autre pièce, ce qui permet de les sauvegarder ou de les
+ * décharger une à une (cf. RoomPager). La pièce elle-même peut être gardée à
+ * côté du numéro (lien) pour éviter de la chercher dans le vaisseau.
+ *
+ * Seuls les portes et les numéros sont sauvegardés: les liens et les index sont
+ * reconstruits à la demande (après un chargement comme à la création de la pièce).
+ * ----------------------------------------------------------------------------- */
+
+class DoorTable implements Serializable {
+
+	private static final int LINEAR_SCAN_MAX = 8;
+
+	private final ArrayList<Door> DOORS;
+	private int[] destinations;
+
+	private transient Room[] links;
+	private transient List<Door> view;
+	private transient IdentityHashMap<Door, Integer> byDoor;
+	private transient HashMap<String, Door> byTag;
+	private transient HashMap<Integer, Door> byDestination;
+	private transient HashMap<Integer, Door> byPosition;
+
+	DoorTable() {
+		this.DOORS = new ArrayList<>();
+		this.destinations = new int[2];
+	}
+
+	// Ajoute une porte menant à la pièce destination (link: la pièce elle-même, ou null pour ne garder que son numéro)
+	void add(Door d, int destination, Room link) {
+		int i = this.indexOf(d);
+
+		//Même comportement que l'ancienne LinkedHashMap: la porte garde sa place, seule sa destination change
+		if(i >= 0) {
+			this.destinations[i] = destination;
+			this.setLink(i, link);
+			this.clearIndexes();
+			return;
+		}
+
+		i = this.DOORS.size();
+		this.DOORS.add(d);
+
+		if(i == this.destinations.length)
+			this.destinations = Arrays.copyOf(this.destinations, i * 2);
+
+		this.destinations[i] = destination;
+		this.setLink(i, link);
+
+		if(this.byDoor != null)
+			this.put(d, destination, i);
+	}
+
+	// ====== GETTERS ======
+
+	Door get(int index) {
+		return this.DOORS.get(index);
+	}
+
+	Door get(String tag) {
+		return this.indexes().byTag.get(tag);
+	}
+
+	// Première porte menant à la pièce portant ce numéro
+	Door getTo(int destination) {
+		return this.indexes().byDestination.get(destination);
+	}
+
+	Door getAt(int col, int line) {
+		return this.indexes().byPosition.get(key(col, line));
+	}
+
+	// Position de la porte dans la table, ou -1
+	int position(Door d) {
+		Integer i = this.indexes().byDoor.get(d);
+		return i != null ? i : -1;
+	}
+
+	int getDestination(int index) {
+		Objects.checkIndex(index, this.DOORS.size());
+		return this.destinations[index];
+	}
+
+	// Pièce de destination gardée avec la porte, ou null s'il faut la chercher par son numéro
+	Room getLink(int index) {
+		return this.links != null && index < this.links.length ? this.links[index] : null;
+	}
+
+	void setLink(int index, Room link) {
+		if(link == null && this.links == null)
+			return;
+
+		if(this.links == null || index >= this.links.length)
+			this.links = Arrays.copyOf(this.links != null ? this.links : new Room[0], this.destinations.length);
+
+		this.links[index] = link;
+	}
+
+	List<Door> getDoors() {
+		if(this.view == null)
+			this.view = Collections.unmodifiableList(this.DOORS);
+
+		return this.view;
+	}
+
+	boolean hasLockedDoor() {
+		for(int i = 0; i < this.DOORS.size(); i++) {
+			Door d = this.DOORS.get(i);
+
+			if(d instanceof LockedDoor && ((LockedDoor) d).isLocked())
+				return true;
+		}
+
+		return false;
+	}
+
+	int size() {
+		return this.DOORS.size();
+	}
+
+	// ====== INDEX ======
+
+	// Tant que les index ne servent pas (pièce en construction), une petite table est parcourue
+	private int indexOf(Door d) {
+		if(this.byDoor == null && this.DOORS.size() <= LINEAR_SCAN_MAX) {
+			for(int i = 0; i < this.DOORS.size(); i++) {
+				if(this.DOORS.get(i) == d)
+					return i;
+			}
+
+			return -1;
+		}
+
+		Integer i = this.indexes().byDoor.get(d);
+		return i != null ? i : -1;
+	}
+
+	private void clearIndexes() {
+		this.byDoor = null;
+		this.byTag = null;
+		this.byDestination = null;
+		this.byPosition = null;
+	}
+
+	private DoorTable indexes() {
+		if(this.byDoor == null)
+			this.rebuild();
+
+		return this;
+	}
+
+	private void rebuild() {
+		int n = this.DOORS.size();
+
+		this.byDoor = new IdentityHashMap<>(n);
+		this.byTag = new HashMap<>();
+		this.byDestination = new HashMap<>();
+		this.byPosition = new HashMap<>();
+
+		for(int i = 0; i < n; i++)
+			this.put(this.DOORS.get(i), this.destinations[i], i);
+	}
+
+	private void put(Door d, int destination, int i) {
+		this.byDoor.put(d, i);
+		this.byTag.put(d.getTag(), d);
+		this.byDestination.putIfAbsent(destination, d);
+
+		Scalar2D pos = d.getScalar2D();
+		if(pos != null)
+			this.byPosition.put(key(pos.getScalar2DCol(), pos.getScalar2DLine()), d);
+	}
+
+	private static Integer key(int col, int line) {
+		return (col << 16) ^ (line & 0xFFFF);
+	}
+}
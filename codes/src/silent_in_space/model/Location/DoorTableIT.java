@@ -0,0 +1,104 @@
+package silent_in_space.model.Location;
+
+import silent_in_space.model.Doors.Door;
+import silent_in_space.model.Doors.LockedDoor;
+import silent_in_space.model.Items.PassType;
+import silent_in_space.model.Utils.Scalar2D;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class DoorTableIT
+{
+    private Room r1;
+    private Room r2;
+    private Room r3;
+    private Door d1;
+    private Door d2;
+    private Door d3;
+
+    @Before
+    public void setUp()
+    {
+        r1 = new Room(null, 1, "room-test1");
+        r2 = new Room(null, 2, "room-test2");
+        r3 = new Room(null, 3, "room-test3");
+        d1 = new Door("door1", new Scalar2D(0, 5));
+        d2 = new Door("door2", new Scalar2D(10, 5));
+        d3 = new Door("door3");
+        r1.addDoor(d1, r2);
+        r1.addDoor(d2, r3);
+        r1.addDoor(d3, r2);
+    }
+
+    @After
+    public void tearDown()
+    {
+    }
+
+    @Test
+    public void testOrderedView()
+    {
+        List<Door> doors = r1.getDoors();
+
+        assertEquals(3, doors.size());
+        assertEquals(d1, doors.get(0));
+        assertEquals(d2, doors.get(1));
+        assertEquals(d3, doors.get(2));
+        assertSame(doors, r1.getDoors());
+        assertEquals(d2, r1.getDoor(1));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testOrderedViewIsReadOnly()
+    {
+        r1.getDoors().add(new Door("door4"));
+    }
+
+    @Test
+    public void testLookups()
+    {
+        assertEquals(d3, r1.getDoor("door3"));
+        assertNull(r1.getDoor("door4"));
+
+        //La première porte ajoutée vers une pièce est celle qui est renvoyée:
+        assertEquals(d1, r1.getDoor(r2));
+        assertEquals(d2, r1.getDoor(r3));
+        assertNull(r1.getDoor(r1));
+
+        assertEquals(d1, r1.getDoorAt(0, 5));
+        assertEquals(d2, r1.getDoorAt(10, 5));
+        assertNull(r1.getDoorAt(5, 0));
+
+        assertEquals(r3, r1.getDestination(d2));
+        assertNull(r1.getDestination(new Door("door1")));
+    }
+
+    @Test
+    public void testReAddKeepsPosition()
+    {
+        r1.addDoor(d1, r3);
+
+        assertEquals(3, r1.getDoors().size());
+        assertEquals(d1, r1.getDoor(0));
+        assertEquals(r3, r1.getDestination(d1));
+        assertEquals(d3, r1.getDoor(r2));
+        assertEquals(d1, r1.getDoor(r3));
+    }
+
+    @Test
+    public void testLockedDoor()
+    {
+        assertFalse(r1.hasLockedDoor());
+
+        LockedDoor locked = new LockedDoor("locked", PassType.A);
+        r1.addDoor(locked, r3);
+
+        assertTrue(r1.hasLockedDoor());
+        assertEquals(locked, r1.getLockedDoor("locked"));
+    }
+}
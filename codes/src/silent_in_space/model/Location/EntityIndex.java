@@ -0,0 +1,99 @@
+package silent_in_space.model.Location;
+
+import silent_in_space.model.Characters.Actor;
+import silent_in_space.model.Doors.Door;
+import silent_in_space.model.Items.Item;
+
+import java.util.HashMap;
+
+/* -----------------------------------------------------------------------------
+ * Index des entités d'une pièce:
+ *
+ * Rôle: Associe chaque étiquette (tag d'un objet ou d'une porte, nom d'un acteur)
+ * à l'entité qui la porte, pour que le Converter résolve un argument de commande
+ * en une seule recherche, quel que soit le nombre d'entités dans la pièce. Une
+ * même étiquette peut désigner à la fois un objet, une porte et un acteur: chaque
+ * entrée garde donc une place par type d'entité.
+ *
+ * L'index est tenu à jour par la pièce (portes, acteurs) et par l'inventaire de la
+ * pièce (objets).
+ * ----------------------------------------------------------------------------- */
+
+public class EntityIndex {
+
+	public enum Kind { ITEM, DOOR, ACTOR }
+
+	public static class Entry {
+		private Item item;
+		private Door door;
+		private Actor actor;
+
+		public Item getItem() { return item; }
+		public Door getDoor() { return door; }
+		public Actor getActor() { return actor; }
+
+		// Type de l'entité désignée en priorité (objet, puis porte, puis acteur)
+		public Kind getKind() {
+			if(item != null)
+				return Kind.ITEM;
+			else if(door != null)
+				return Kind.DOOR;
+			else
+				return Kind.ACTOR;
+		}
+
+		private boolean isEmpty() {
+			return item == null && door == null && actor == null;
+		}
+	}
+
+	private final HashMap<String, Entry> ENTRIES;
+
+	public EntityIndex() {
+		this.ENTRIES = new HashMap<>();
+	}
+
+	public Entry get(String tag) {
+		return ENTRIES.get(tag);
+	}
+
+	public int size() {
+		return ENTRIES.size();
+	}
+
+	//====================== MISES À JOUR =====================
+	public void putItem(Item item) {
+		ENTRIES.computeIfAbsent(item.getTag(), t -> new Entry()).item = item;
+	}
+
+	public void removeItem(Item item) {
+		Entry e = ENTRIES.get(item.getTag());
+
+		if(e != null && e.item == item) {
+			e.item = null;
+			removeIfEmpty(item.getTag(), e);
+		}
+	}
+
+	public void putDoor(Door door) {
+		ENTRIES.computeIfAbsent(door.getTag(), t -> new Entry()).door = door;
+	}
+
+	public void putActor(Actor actor) {
+		ENTRIES.computeIfAbsent(actor.getName(), t -> new Entry()).actor = actor;
+	}
+
+	public void removeActor(String name) {
+		Entry e = ENTRIES.get(name);
+
+		if(e != null && e.actor != null) {
+			e.actor = null;
+			removeIfEmpty(name, e);
+		}
+	}
+
+	private void removeIfEmpty(String tag, Entry e) {
+		if(e.isEmpty())
+			ENTRIES.remove(tag);
+	}
+}
@@ -0,0 +1,89 @@
+package silent_in_space.model.Location;
+
+import silent_in_space.model.Characters.NPC;
+import silent_in_space.model.Characters.Player;
+import silent_in_space.model.Doors.Door;
+import silent_in_space.model.Items.Artefact;
+import silent_in_space.model.Items.Item;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+
+public class EntityIndexIT
+{
+    private Room r1;
+    private Room r2;
+    private Door d1;
+    private Item statue;
+    private NPC npc;
+    private Player player;
+
+    @Before
+    public void setUp()
+    {
+        r1 = new Room(null, 1, "room-test1");
+        r2 = new Room(null, 2, "room-test2");
+        d1 = new Door("door1");
+        r1.addDoor(d1, r2);
+        r2.addDoor(new Door("door2"), r1);
+
+        statue = new Artefact("statue", "a statue");
+        r1.getInventory().addItem(statue);
+        npc = new NPC("npc", "an npc", false, true, new ArrayList<>(), r1);
+        player = new Player(r1, null);
+    }
+
+    @After
+    public void tearDown()
+    {
+    }
+
+    @Test
+    public void testEntitiesAreIndexed()
+    {
+        assertEquals(statue, r1.getEntity("statue").getItem());
+        assertEquals(EntityIndex.Kind.ITEM, r1.getEntity("statue").getKind());
+        assertEquals(d1, r1.getEntity("door1").getDoor());
+        assertEquals(EntityIndex.Kind.DOOR, r1.getEntity("door1").getKind());
+        assertEquals(npc, r1.getEntity("npc").getActor());
+        assertEquals(EntityIndex.Kind.ACTOR, r1.getEntity("npc").getKind());
+        assertNull(r1.getEntity("nothing"));
+    }
+
+    @Test
+    public void testItemsChangingHands()
+    {
+        player.take(statue);
+        assertNull(r1.getEntity("statue"));
+
+        player.go(d1);
+        player.drop(statue);
+        assertEquals(statue, r2.getEntity("statue").getItem());
+    }
+
+    @Test
+    public void testActorsMoving()
+    {
+        player.go(d1);
+        assertNull(r1.getEntity(player.getName()));
+        assertEquals(player, r2.getEntity(player.getName()).getActor());
+    }
+
+    @Test
+    public void testSameTagForSeveralKinds()
+    {
+        Item fakeDoor = new Artefact("door1", "a painting of a door");
+        r1.getInventory().addItem(fakeDoor);
+
+        assertEquals(fakeDoor, r1.getEntity("door1").getItem());
+        assertEquals(d1, r1.getEntity("door1").getDoor());
+        assertEquals(d1, r1.getDoor("door1"));
+
+        r1.getInventory().removeItem("door1");
+        assertEquals(EntityIndex.Kind.DOOR, r1.getEntity("door1").getKind());
+    }
+}
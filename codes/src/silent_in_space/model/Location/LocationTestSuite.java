@@ -4,7 +4,11 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
-@Suite.SuiteClasses({silent_in_space.model.Location.RoomIT.class})
+@Suite.SuiteClasses({silent_in_space.model.Location.RoomIT.class, silent_in_space.model.Location.EntityIndexIT.class,
+        silent_in_space.model.Location.DoorTableIT.class,
+        silent_in_space.model.Location.ShipGraphIT.class,
+        silent_in_space.model.Location.RoomPagerIT.class,
+        silent_in_space.model.Location.OccupancyGridIT.class})
 
 public class LocationTestSuite {
 }
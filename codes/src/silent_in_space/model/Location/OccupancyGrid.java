@@ -0,0 +1,167 @@
+package silent_in_space.model.Location;
+
+import silent_in_space.model.Utils.Scalar2D;
+
+import java.util.IdentityHashMap;
+import java.util.Random;
+
+/* -----------------------------------------------------------------------------
+ * Occupation des cases d'une pièce:
+ *
+ * Rôle: Sait quelles cases de la grille d'une pièce sont prises (portes, objets,
+ * acteurs, case réservée au joueur) pour y placer de nouvelles entités. Chaque
+ * case compte les entités posées dessus; les cases libres sont rangées dans une
+ * liste où chacune connaît sa place: tirer une case libre au hasard, prendre une
+ * case ou la libérer se fait en temps constant, même dans une pièce presque
+ * pleine. Une pièce pleine est signalée (null) au lieu d'être cherchée sans fin.
+ *
+ * La grille retient la case où chaque entité a été comptée: une entité déplacée
+ * ou retirée libère toujours la bonne case, même si sa position a changé entre
+ * temps (cf. Room, qui la tient à jour).
+ * ----------------------------------------------------------------------------- */
+
+public final class OccupancyGrid {
+
+	private final int NB_COLS;
+	private final int NB_LINES;
+
+	//Nombre d'entités posées sur chaque case (indice: col * NB_LINES + line):
+	private final int[] COUNTS;
+
+	//Cases libres, dans le désordre, et place de chaque case dans cette liste (-1 si elle est prise):
+	private final int[] FREE;
+	private final int[] SLOTS;
+	private int nbFree;
+
+	//Case où chaque entité a été comptée:
+	private final IdentityHashMap<Object, Integer> CELLS;
+
+	public OccupancyGrid(int nbCols, int nbLines)
+	{
+		this.NB_COLS = nbCols;
+		this.NB_LINES = nbLines;
+		this.COUNTS = new int[nbCols * nbLines];
+		this.FREE = new int[nbCols * nbLines];
+		this.SLOTS = new int[nbCols * nbLines];
+		this.CELLS = new IdentityHashMap<>();
+
+		for(int cell = 0; cell < this.FREE.length; cell++)
+		{
+			this.FREE[cell] = cell;
+			this.SLOTS[cell] = cell;
+		}
+
+		this.nbFree = this.FREE.length;
+	}
+
+	public int getNbCols() { return this.NB_COLS; }
+	public int getNbLines() { return this.NB_LINES; }
+	public int getNbFree() { return this.nbFree; }
+
+	public boolean isFull()
+	{
+		return this.nbFree == 0;
+	}
+
+	// Une case hors de la grille n'est jamais libre
+	public boolean isFree(int col, int line)
+	{
+		return this.contains(col, line) && this.COUNTS[this.cell(col, line)] == 0;
+	}
+
+	// ====== ENTITÉS ======
+
+	// L'entité occupe la case pos (plus aucune si pos est null ou hors de la grille), et quitte l'ancienne
+	public void place(Object entity, Scalar2D pos)
+	{
+		this.remove(entity);
+
+		if(pos != null && this.contains(pos.getScalar2DCol(), pos.getScalar2DLine()))
+		{
+			int cell = this.cell(pos.getScalar2DCol(), pos.getScalar2DLine());
+			this.CELLS.put(entity, cell);
+			this.take(cell);
+		}
+	}
+
+	public void remove(Object entity)
+	{
+		Integer cell = this.CELLS.remove(entity);
+
+		if(cell != null)
+			this.release(cell);
+	}
+
+	// ====== RECHERCHE ======
+
+	// Case libre tirée au hasard, ou null si la pièce est pleine
+	public Scalar2D randomFree(Random random)
+	{
+		return this.nbFree > 0 ? this.position(this.FREE[random.nextInt(this.nbFree)]) : null;
+	}
+
+	// Case libre la plus proche (en nombre de pas, diagonales comprises), ou null si la pièce est pleine
+	public Scalar2D nearestFree(int col, int line)
+	{
+		if(this.nbFree == 0)
+			return null;
+
+		int max = Math.max(this.NB_COLS, this.NB_LINES);
+
+		//Anneaux de plus en plus grands autour de la case:
+		for(int r = 0; r <= max + Math.abs(col) + Math.abs(line); r++)
+		{
+			for(int c = col - r; c <= col + r; c++)
+			{
+				int step = c == col - r || c == col + r ? 1 : 2 * r;
+
+				for(int l = line - r; l <= line + r; l += step)
+				{
+					if(this.isFree(c, l))
+						return new Scalar2D(c, l);
+				}
+			}
+		}
+
+		return null;
+	}
+
+	// ====== CASES ======
+
+	private boolean contains(int col, int line)
+	{
+		return col >= 0 && col < this.NB_COLS && line >= 0 && line < this.NB_LINES;
+	}
+
+	private int cell(int col, int line)
+	{
+		return col * this.NB_LINES + line;
+	}
+
+	private Scalar2D position(int cell)
+	{
+		return new Scalar2D(cell / this.NB_LINES, cell % this.NB_LINES);
+	}
+
+	private void take(int cell)
+	{
+		if(this.COUNTS[cell]++ > 0)
+			return;
+
+		//La dernière case libre prend la place de celle-ci:
+		int slot = this.SLOTS[cell];
+		int last = this.FREE[--this.nbFree];
+		this.FREE[slot] = last;
+		this.SLOTS[last] = slot;
+		this.SLOTS[cell] = -1;
+	}
+
+	private void release(int cell)
+	{
+		if(--this.COUNTS[cell] > 0)
+			return;
+
+		this.FREE[this.nbFree] = cell;
+		this.SLOTS[cell] = this.nbFree++;
+	}
+}
@@ -0,0 +1,146 @@
+package silent_in_space.model.Location;
+
+import silent_in_space.model.Characters.NPC;
+import silent_in_space.model.Characters.Player;
+import silent_in_space.model.Doors.Door;
+import silent_in_space.model.Items.Artefact;
+import silent_in_space.model.Items.Item;
+import silent_in_space.model.Utils.Scalar2D;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class OccupancyGridIT
+{
+    private Room r1;
+    private Room r2;
+    private Item statue;
+    private NPC npc;
+    private Player player;
+
+    @Before
+    public void setUp()
+    {
+        r1 = new Room(null, 1, "room-test1");
+        r2 = new Room(null, 2, "room-test2");
+        r1.addDoor(new Door("door1", new Scalar2D(0, 5)), r2);
+        r2.addDoor(new Door("door2", new Scalar2D(10, 5)), r1);
+
+        statue = new Artefact("statue", "a statue", new Scalar2D(2, 2));
+        r1.getInventory().addItem(statue);
+        npc = new NPC("npc", "an npc", false, true, new ArrayList<>(), r1);
+        npc.setPos(3, 3);
+        player = new Player(r1, null);
+    }
+
+    @After
+    public void tearDown()
+    {
+    }
+
+    private static void assertCell(int col, int line, Scalar2D pos)
+    {
+        assertEquals(col, pos.getScalar2DCol());
+        assertEquals(line, pos.getScalar2DLine());
+    }
+
+    // Une case tirée au hasard n'est jamais prise, et ne l'est plus une fois rendue
+    @Test
+    public void testRandomFree()
+    {
+        OccupancyGrid grid = new OccupancyGrid(4, 3);
+        Random random = new Random(1);
+        boolean[][] taken = new boolean[4][3];
+
+        for(int i = 0; i < 12; i++)
+        {
+            Scalar2D pos = grid.randomFree(random);
+            assertTrue(grid.isFree(pos.getScalar2DCol(), pos.getScalar2DLine()));
+            assertFalse(taken[pos.getScalar2DCol()][pos.getScalar2DLine()]);
+            taken[pos.getScalar2DCol()][pos.getScalar2DLine()] = true;
+            grid.place(i, pos);
+        }
+
+        assertTrue(grid.isFull());
+        assertNull(grid.randomFree(random));
+        assertNull(grid.nearestFree(1, 1));
+
+        grid.remove(7);
+        assertEquals(1, grid.getNbFree());
+        Scalar2D freed = grid.randomFree(random);
+        assertTrue(grid.isFree(freed.getScalar2DCol(), freed.getScalar2DLine()));
+        assertCell(freed.getScalar2DCol(), freed.getScalar2DLine(), grid.nearestFree(0, 0));
+    }
+
+    // Deux entités sur une même case: elle ne se libère qu'au départ de la seconde
+    @Test
+    public void testSharedCell()
+    {
+        OccupancyGrid grid = new OccupancyGrid(3, 3);
+        Scalar2D pos = new Scalar2D(1, 1);
+
+        grid.place("a", pos);
+        grid.place("b", pos);
+        grid.remove("a");
+        assertFalse(grid.isFree(1, 1));
+        grid.remove("b");
+        assertTrue(grid.isFree(1, 1));
+
+        grid.place("a", new Scalar2D(5, 5));
+        assertEquals(9, grid.getNbFree());
+        assertFalse(grid.isFree(5, 5));
+    }
+
+    @Test
+    public void testNearestFree()
+    {
+        OccupancyGrid grid = new OccupancyGrid(5, 5);
+
+        assertCell(2, 2, grid.nearestFree(2, 2));
+        grid.place("a", new Scalar2D(2, 2));
+
+        Scalar2D near = grid.nearestFree(2, 2);
+        assertEquals(1, Math.max(Math.abs(near.getScalar2DCol() - 2), Math.abs(near.getScalar2DLine() - 2)));
+
+        for(int c = 0; c < 5; c++)
+            for(int l = 0; l < 5; l++)
+                if(c != 4 || l != 4)
+                    grid.place(c + "," + l, new Scalar2D(c, l));
+
+        assertCell(4, 4, grid.nearestFree(0, 0));
+        assertCell(4, 4, grid.nearestFree(-3, 8));
+    }
+
+    // La grille d'une pièce compte portes, objets, acteurs et la case du joueur, et suit leurs déplacements
+    @Test
+    public void testRoomOccupancy()
+    {
+        OccupancyGrid grid = r1.getOccupancy();
+
+        assertEquals(Room.NB_COLS * Room.NB_LINES - 4, grid.getNbFree());
+        assertFalse(grid.isFree(Room.PLAYER_CELL.getScalar2DCol(), Room.PLAYER_CELL.getScalar2DLine()));
+        assertFalse(grid.isFree(0, 5));
+        assertFalse(grid.isFree(2, 2));
+        assertFalse(grid.isFree(3, 3));
+
+        npc.setPos(4, 4);
+        assertTrue(grid.isFree(3, 3));
+        assertFalse(grid.isFree(4, 4));
+
+        player.take(statue);
+        assertTrue(grid.isFree(2, 2));
+
+        statue.setScalar2D(new Scalar2D(7, 7));
+        player.drop(statue);
+        assertFalse(grid.isFree(7, 7));
+
+        npc.changeRoom(r2);
+        assertTrue(grid.isFree(4, 4));
+        assertFalse(r2.getOccupancy().isFree(4, 4));
+    }
+}
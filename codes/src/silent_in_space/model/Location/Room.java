@@ -1,43 +1,93 @@
 package silent_in_space.model.Location;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.*;
 
 import silent_in_space.model.Commands.Lookable;
 import silent_in_space.model.Containers.Inventory;
+import silent_in_space.model.Containers.InventoryListener;
 import silent_in_space.model.Doors.*;
 import silent_in_space.model.Characters.*;
 import silent_in_space.model.Game.Message;
+import silent_in_space.model.Items.Item;
 import silent_in_space.model.Items.UsableBy;
+import silent_in_space.model.Utils.Scalar2D;
 
 public class Room implements Lookable, Serializable {
 
+	//Taille de la grille d'une pièce (la case du centre est celle du joueur):
+	public static final int NB_COLS = 11;
+	public static final int NB_LINES = 11;
+	public static final Scalar2D PLAYER_CELL = new Scalar2D((NB_COLS - 1) / 2, (NB_LINES - 1) / 2);
+
 	private final Ship SHIP;
 	private final Inventory INVENTORY;
 
 	private final int ID;
 	private final String description;
 
-	private final LinkedHashMap<Door, Room> doors;
+	private final DoorTable doors;
 	private final LinkedHashMap<String, Actor> actors;
 
+	//Construits à la première demande, puis tenus à jour (ils ne sont ni sauvegardés, ni copiés):
+	private transient EntityIndex index;
+	private transient OccupancyGrid occupancy;
+
 	public Room(Ship ship, int id, String description) {
 		this.SHIP = ship;
 		this.INVENTORY = new Inventory();
 		this.ID = id;
 		this.description = description;
 
-		this.doors = new LinkedHashMap<>();
+		this.doors = new DoorTable();
 		this.actors = new LinkedHashMap<>();
+		this.listenToInventory();
+	}
+
+	//L'écoute de l'inventaire n'est pas sauvegardée: elle est remise à la relecture
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		this.listenToInventory();
 	}
 
 	public void addActor(Actor actor)
 	{
+		if(this.SHIP != null)
+			this.SHIP.roomChanging(this);
+
 		this.actors.put(actor.getName(), actor);
+		if(this.index != null)
+			this.index.putActor(actor);
+		if(this.occupancy != null)
+			this.occupancy.place(actor, actor.getPos());
+
+		if(this.SHIP != null)
+			this.SHIP.indexActor(actor, this);
 	}
 	public void addDoor(Door d, Room r)
 	{
-		this.doors.put(d, r);
+		//Un vaisseau paginé retrouve les pièces par leur numéro: les garder ici les empêcherait d'être déchargées
+		this.addDoor(d, r.getID(), this.SHIP != null && this.SHIP.isPaged() ? null : r);
+	}
+
+	// Porte vers la pièce de ce numéro, retrouvée dans le vaisseau au premier passage
+	public void addDoor(Door d, int destination)
+	{
+		this.addDoor(d, destination, null);
+	}
+
+	private void addDoor(Door d, int destination, Room link)
+	{
+		this.doors.add(d, destination, link);
+		if(this.index != null)
+			this.index.putDoor(d);
+		if(this.occupancy != null)
+			this.occupancy.place(d, d.getScalar2D());
+
+		if(this.SHIP != null)
+			this.SHIP.invalidateGraph();
 	}
 
 	@Override
@@ -57,49 +107,73 @@ public class Room implements Lookable, Serializable {
 	public LinkedHashMap<String, Actor> getActors() {
 		return actors;
 	}
-	public LinkedHashMap<Door, Room> getDoors() {
-		return doors;
+	// Portes de la pièce dans leur ordre d'ajout (vue non modifiable, sans copie)
+	public List<Door> getDoors() {
+		return this.doors.getDoors();
 	}
 
 	public Door getDoor(String s) {
-		Set<Door> doorSet = this.doors.keySet();
-		Door res = null;
+		return this.doors.get(s);
+	}
 
-		for(Door d : doorSet) {
-			if(d.getTag().equals(s))
-				res = d;
-		}
+	public Door getDoor(Room r) {
+		return r != null ? this.doors.getTo(r.getID()) : null;
+	}
 
-		return res;
+	public Door getDoor(int index) {
+		return this.doors.get(index);
 	}
 
-	public Door getDoor(Room r) {
-		Door res = null;
+	// Porte placée sur cette case de la pièce, ou null
+	public Door getDoorAt(int col, int line) {
+		return this.doors.getAt(col, line);
+	}
 
-		for(Map.Entry<Door, Room> e : this.doors.entrySet()) {
-			if(e.getValue().equals(r)) {
-				res = e.getKey();
-				break;
-			}
+	// Pièce vers laquelle mène cette porte, ou null si elle n'est pas dans la pièce
+	public Room getDestination(Door d) {
+		int i = this.doors.position(d);
+		return i >= 0 ? this.getDestination(i) : null;
+	}
+
+	Room getDestination(int index) {
+		Room r = this.doors.getLink(index);
+
+		if(r == null && this.SHIP != null)
+		{
+			r = this.SHIP.getRoom(this.doors.getDestination(index));
+
+			if(!this.SHIP.isPaged())
+				this.doors.setLink(index, r);
 		}
 
-		return res;
+		return r;
 	}
 
-	public Door getDoor(int index) {
-		List<Door> doorList = new ArrayList<>(doors.keySet());
-		return doorList.get(index);
+	// Numéro de la pièce vers laquelle mène la porte à cette position
+	int getDestinationID(int index) {
+		return this.doors.getDestination(index);
+	}
+
+	// Entités de la pièce portant cette étiquette (objet, porte et/ou acteur), ou null
+	public EntityIndex.Entry getEntity(String tag) {
+		return this.index().get(tag);
 	}
 
 	public UsableBy getUsableBy(String usableByTag){
-		if(getActor(usableByTag) != null)
-			return getActor(usableByTag);
-		else if(getDoor(usableByTag) != null)
-			return getDoor(usableByTag);
-		else if(getInventory().getItem(usableByTag) != null)
-			return getInventory().getItem(usableByTag);
-		else
+		EntityIndex.Entry e = this.index().get(usableByTag);
+
+		if(e == null)
 			return null;
+		else if(e.getActor() != null)
+			return e.getActor();
+		else if(e.getDoor() != null)
+			return e.getDoor();
+		else
+			return e.getItem();
+	}
+
+	public Ship getShip() {
+		return this.SHIP;
 	}
 
 	public int getID() {
@@ -154,54 +228,122 @@ public class Room implements Lookable, Serializable {
 	}
 
 	public boolean hasLockedDoor() {
-		Set<Door> doorSet = this.doors.keySet();
-		boolean res = false;
-
-		for(Door d : doorSet) {
-			if (d instanceof LockedDoor && ((LockedDoor) d).isLocked()) {
-				res = true;
-				break;
-			}
-		}
-
-		return res;
+		return this.doors.hasLockedDoor();
 	}
 
 	public void removeActor(String name)
 	{
-		this.actors.remove(name);
+		if(this.SHIP != null)
+			this.SHIP.roomChanging(this);
+
+		Actor actor = this.actors.remove(name);
+		if(this.index != null)
+			this.index.removeActor(name);
+		if(this.occupancy != null && actor != null)
+			this.occupancy.remove(actor);
 	}
 
 	public void scanRoom() {
 		//Printing items:
-		System.out.println("\n\tObjects in the room:");
+		Message.sendGameMessage("\n\tObjects in the room:\n");
 		this.getInventory().showItems();
 
 		//Printing doors:
-		System.out.println("\n\tDoors in the room:");
-		Set<Door> doorSet = this.doors.keySet();
+		StringBuilder sb = new StringBuilder("\n\tDoors in the room:\n");
+		List<Door> doorList = this.doors.getDoors();
 
-		for(Door d : doorSet)
-			System.out.println("\t- " + d.getTag());
+		for(int i = 0; i < doorList.size(); i++)
+			sb.append("\t- ").append(doorList.get(i).getTag()).append("\n");
 
 		//Printing actors:
-		System.out.println("\n\tBeings in the room:");
+		sb.append("\n\tBeings in the room:\n");
 		for(Actor a : this.actors.values())
 		{
 			if(a.getName().equals("me"))
-				System.out.println("\t- You are in the Room");
+				sb.append("\t- You are in the Room\n");
 
 			else if(!(a.isDead()))
-				System.out.println("\t- " + a.getName() + " is in the Room");
+				sb.append("\t- ").append(a.getName()).append(" is in the Room\n");
 
 			else
-				System.out.println("\t- " + a.getName() + "'s body is in the Room");
+				sb.append("\t- ").append(a.getName()).append("'s body is in the Room\n");
+		}
+
+		Message.sendGameMessage(sb.toString());
+	}
+
+	private EntityIndex index() {
+		if(this.index == null) {
+			EntityIndex newIndex = new EntityIndex();
+
+			for(Item item : this.INVENTORY.getItems())
+				newIndex.putItem(item);
+			for(Door d : this.doors.getDoors())
+				newIndex.putDoor(d);
+			for(Actor a : this.actors.values())
+				newIndex.putActor(a);
+
+			this.index = newIndex;
 		}
+
+		return this.index;
+	}
+
+	// Cases prises par les portes, les objets posés et les acteurs; celle du joueur est toujours réservée
+	public OccupancyGrid getOccupancy() {
+		if(this.occupancy == null) {
+			OccupancyGrid grid = new OccupancyGrid(NB_COLS, NB_LINES);
+			grid.place(PLAYER_CELL, PLAYER_CELL);
+
+			for(Door d : this.doors.getDoors())
+				grid.place(d, d.getScalar2D());
+			for(Item item : this.INVENTORY.getItems())
+				grid.place(item, item.getScalar2D());
+			for(Actor a : this.actors.values())
+				grid.place(a, a.getPos());
+
+			this.occupancy = grid;
+		}
+
+		return this.occupancy;
+	}
+
+	// Un acteur de la pièce a changé de case (cf. Actor.setPos())
+	public void actorMoved(Actor a) {
+		if(this.occupancy != null && this.actors.get(a.getName()) == a)
+			this.occupancy.place(a, a.getPos());
+		if(this.SHIP != null)
+			this.SHIP.roomChanged(this);
+	}
+
+	// L'index et la grille suivent les objets qui entrent dans l'inventaire de la pièce ou qui en sortent
+	private void listenToInventory() {
+		this.INVENTORY.setListener(new InventoryListener() {
+			@Override
+			public void itemAdded(Item item) {
+				if(index != null)
+					index.putItem(item);
+				if(occupancy != null)
+					occupancy.place(item, item.getScalar2D());
+				if(SHIP != null)
+					SHIP.roomChanged(Room.this);
+			}
+
+			@Override
+			public void itemRemoved(Item item) {
+				if(index != null)
+					index.removeItem(item);
+				if(occupancy != null)
+					occupancy.remove(item);
+				if(SHIP != null)
+					SHIP.roomChanged(Room.this);
+			}
+		});
 	}
 
 	public void useDoor(Actor a, Door d) {
 		if( d.isOpen())
-			a.changeRoom(this.doors.get(d));
+			a.changeRoom(this.getDestination(d));
 
 		else
 			Message.sendGameMessage("You can't use this door.");
@@ -0,0 +1,233 @@
+package silent_in_space.model.Location;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/* -----------------------------------------------------------------------------
+ * Pièces résidentes d'un vaisseau paginé:
+ *
+ * Rôle: Garde en mémoire au plus CAPACITY pièces, les plus récemment utilisées
+ * (LRU). Au-delà, la pièce utilisée il y a le plus longtemps est écrite dans le
+ * fichier de pagination (RoomStore) et oubliée; elle est relue quand le jeu la
+ * redemande au vaisseau (Room.useDoor, recherche d'un acteur, chemin...). Les
+ * pièces où se trouve un joueur ne sont jamais déchargées.
+ *
+ * Une pièce déchargée encore retenue ailleurs est retrouvée telle quelle au lieu
+ * d'être relue: il n'existe jamais deux exemplaires d'une même pièce. Si elle
+ * est modifiée pendant ce temps (cf. touch()), elle redevient résidente, pour
+ * être réécrite à son prochain déchargement: sa page ne reste jamais en retard
+ * sur elle quand elle est oubliée.
+ * ----------------------------------------------------------------------------- */
+
+class RoomPager implements Closeable {
+
+	private final int CAPACITY;
+	private final RoomStore STORE;
+	private Ship owner;
+
+	private final LinkedHashMap<Integer, Room> RESIDENT;
+	private final HashMap<Integer, Evicted> EVICTED;
+	private final ReferenceQueue<Room> COLLECTED;
+
+	private int nbLoads;
+	private int nbEvictions;
+
+	RoomPager(Ship owner, int capacity) throws IOException
+	{
+		if(capacity < 1)
+			throw new IllegalArgumentException("a paged ship needs at least one resident room");
+
+		this.owner = owner;
+		this.CAPACITY = capacity;
+		this.STORE = new RoomStore();
+
+		this.RESIDENT = new LinkedHashMap<>(16, 0.75f, true);
+		this.EVICTED = new HashMap<>();
+		this.COLLECTED = new ReferenceQueue<>();
+	}
+
+	// ====== GETTERS ======
+
+	int getCapacity()
+	{
+		return this.CAPACITY;
+	}
+
+	int getNbResidentRooms()
+	{
+		return this.RESIDENT.size();
+	}
+
+	int getNbLoads()
+	{
+		return this.nbLoads;
+	}
+
+	int getNbEvictions()
+	{
+		return this.nbEvictions;
+	}
+
+	int size()
+	{
+		return this.STORE.size();
+	}
+
+	int[] ids()
+	{
+		return this.STORE.ids();
+	}
+
+	boolean contains(int id)
+	{
+		return this.STORE.contains(id);
+	}
+
+	boolean isResident(int id)
+	{
+		return this.RESIDENT.containsKey(id);
+	}
+
+	// Vaisseau auquel sont rattachées les pièces relues
+	void setOwner(Ship owner)
+	{
+		this.owner = owner;
+	}
+
+	// ====== PAGINATION ======
+
+	void add(Room room)
+	{
+		if(!this.STORE.declare(room.getID()))
+		{
+			//Même comportement que la HashMap du vaisseau: la nouvelle pièce remplace l'ancienne
+			this.EVICTED.remove(room.getID());
+		}
+
+		this.RESIDENT.put(room.getID(), room);
+		this.evict();
+	}
+
+	Room get(int id)
+	{
+		Room r = this.RESIDENT.get(id);
+
+		if(r != null)
+			return r;
+
+		if(!this.STORE.contains(id))
+			return null;
+
+		this.forgetCollected();
+		Evicted evicted = this.EVICTED.remove(id);
+		r = evicted != null ? evicted.get() : null;
+
+		if(r == null)
+		{
+			try {
+				r = this.STORE.read(id, this.owner);
+			}
+
+			catch(IOException e) {
+				throw new UncheckedIOException("can't read room " + id + " from the page file", e);
+			}
+
+			this.nbLoads++;
+		}
+
+		this.RESIDENT.put(id, r);
+		this.owner.roomLoaded(r);
+		this.evict();
+
+		return r;
+	}
+
+	// La pièce room va être ou vient d'être modifiée: déchargée mais encore en mémoire, elle redevient résidente
+	void touch(Room room)
+	{
+		if(this.RESIDENT.get(room.getID()) == room)
+			return;
+
+		Evicted evicted = this.EVICTED.get(room.getID());
+
+		if(evicted == null || evicted.get() != room)
+			return;
+
+		this.EVICTED.remove(room.getID());
+		this.RESIDENT.put(room.getID(), room);
+		this.evict();
+	}
+
+	// Écrit toutes les pièces résidentes (elles restent en mémoire)
+	void flush() throws IOException
+	{
+		for(Room r : this.RESIDENT.values())
+			this.STORE.write(r);
+	}
+
+	RoomStore getStore()
+	{
+		return this.STORE;
+	}
+
+	private void evict()
+	{
+		this.forgetCollected();
+		Iterator<Map.Entry<Integer, Room>> it = this.RESIDENT.entrySet().iterator();
+
+		while(this.RESIDENT.size() > this.CAPACITY && it.hasNext())
+		{
+			Room r = it.next().getValue();
+
+			if(this.owner.isPinned(r))
+				continue;
+
+			try {
+				this.STORE.write(r);
+			}
+
+			catch(IOException e) {
+				throw new UncheckedIOException("can't write room " + r.getID() + " to the page file", e);
+			}
+
+			it.remove();
+			this.EVICTED.put(r.getID(), new Evicted(r, this.COLLECTED));
+			this.nbEvictions++;
+		}
+	}
+
+	// Oublie les pièces déchargées que plus personne ne retient
+	private void forgetCollected()
+	{
+		Evicted e;
+
+		while((e = (Evicted) this.COLLECTED.poll()) != null)
+			this.EVICTED.remove(e.ID, e);
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		this.RESIDENT.clear();
+		this.EVICTED.clear();
+		this.STORE.close();
+	}
+
+	private static final class Evicted extends WeakReference<Room> {
+
+		private final int ID;
+
+		Evicted(Room room, ReferenceQueue<Room> queue)
+		{
+			super(room, queue);
+			this.ID = room.getID();
+		}
+	}
+}
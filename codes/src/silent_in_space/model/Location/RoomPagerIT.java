@@ -0,0 +1,218 @@
+package silent_in_space.model.Location;
+
+import silent_in_space.model.Characters.NPC;
+import silent_in_space.model.Characters.Player;
+import silent_in_space.model.Doors.Door;
+import silent_in_space.model.Items.Pass;
+import silent_in_space.model.Items.PassType;
+import silent_in_space.model.World.ShipGenerator;
+import silent_in_space.model.World.WorldSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.*;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class RoomPagerIT
+{
+    private Ship ship;
+    private Player player;
+
+    @Before
+    public void setUp() throws IOException
+    {
+        ship = new Ship(WorldSource.fromResource(WorldSource.DEFAULT_WORLD), 2);
+        player = ship.getPlayer();
+    }
+
+    @After
+    public void tearDown() throws IOException
+    {
+        ship.close();
+    }
+
+    @Test
+    public void testResidentRoomsBounded()
+    {
+        assertTrue(ship.isPaged());
+        assertEquals(14, ship.getRoomIDs().length);
+        assertTrue(ship.getNbResidentRooms() <= 2);
+        assertTrue(ship.getNbRoomEvictions() > 0);
+
+        for(int id : ship.getRoomIDs())
+            assertEquals(id, ship.getRoom(id).getID());
+
+        assertTrue(ship.getNbResidentRooms() <= 2);
+        assertNull(ship.getRoom(1000));
+    }
+
+    @Test
+    public void testPlayerRoomPinned()
+    {
+        Room room21 = player.getRoom();
+
+        for(int id : ship.getRoomIDs())
+            ship.getRoom(id);
+
+        assertSame(room21, ship.getRoom(21));
+        assertSame(player, ship.findActor("Me"));
+    }
+
+    @Test
+    public void testChangesSurviveEviction()
+    {
+        assertNotNull(ship.getRoom(30).getInventory().getItem("passA"));
+        ship.getRoom(30).getInventory().removeItem("passA");
+        assertNotNull(ship.getNPC("Kilen").getInventory().getItem("passT"));
+        ship.getNPC("Kilen").getInventory().removeItem("passT");
+
+        for(int id : ship.getRoomIDs())
+            ship.getRoom(id);
+        System.gc();
+        for(int id : ship.getRoomIDs())
+            ship.getRoom(id);
+
+        assertNull(ship.getRoom(30).getInventory().getItem("passA"));
+        assertNull(ship.getNPC("Kilen").getInventory().getItem("passT"));
+        assertEquals(ship.getRoom(19), ship.getRoom(18).getDestination(ship.getRoom(18).getDoor("doorA")));
+    }
+
+    // Deux pièces déchargées dont les NPCs viennent chacun de l'autre: chacune se relit sans relire l'autre
+    @Test
+    public void testCrossReferencedRoomsReload()
+    {
+        ship.getRoom(14);
+        NPC ghainkix = ship.getNPC("Ghainkix");
+        ghainkix.moveTo(ship.getRoom(19));
+        NPC kilen = ship.getNPC("Kilen");
+        kilen.moveTo(ship.getRoom(19));
+        kilen.moveTo(ship.getRoom(14));
+        ghainkix = null;
+        kilen = null;
+
+        for(int id : ship.getRoomIDs())
+            ship.getRoom(id);
+        System.gc();
+        for(int id : ship.getRoomIDs())
+            ship.getRoom(id);
+
+        assertEquals(19, ship.getNPC("Ghainkix").getRoom().getID());
+        assertEquals(14, ship.getNPC("Ghainkix").getPreviousRoom().getID());
+        assertEquals(14, ship.getNPC("Kilen").getRoom().getID());
+        assertEquals(19, ship.getNPC("Kilen").getPreviousRoom().getID());
+        assertSame(ship.getRoom(14), ship.getNPC("Ghainkix").getPreviousRoom());
+    }
+
+    // Une pièce modifiée après avoir été déchargée n'est pas oubliée avec sa page en retard
+    @Test
+    public void testChangeAfterEvictionKept()
+    {
+        Room room30 = ship.getRoom(30);
+        assertNotNull(room30.getInventory().getItem("passA"));
+
+        for(int id : ship.getRoomIDs())
+            ship.getRoom(id);
+        assertFalse(ship.isResident(30));
+
+        room30.getInventory().removeItem("passA");
+        room30 = null;
+        System.gc();
+
+        for(int id : ship.getRoomIDs())
+            ship.getRoom(id);
+        System.gc();
+        for(int id : ship.getRoomIDs())
+            ship.getRoom(id);
+
+        assertNull(ship.getRoom(30).getInventory().getItem("passA"));
+    }
+
+    @Test
+    public void testGoToThroughEvictedRooms()
+    {
+        assertNull(ship.getGraph().findPath(ship.getRoom(21), ship.getRoom(30)));
+
+        ship.getRoom(21).getLockedDoor("doorT").unlock(new Pass("passT", "passT", PassType.T));
+        for(int id : ship.getRoomIDs())
+            ship.getRoom(id);
+
+        player.goTo(ship.getRoom(30));
+
+        assertEquals(30, player.getRoom().getID());
+        assertEquals(27, player.getPreviousRoom().getID());
+        assertFalse(ship.getRoom(21).getLockedDoor("doorT").isLocked());
+
+        //La pièce précédente n'est jamais relue en double:
+        assertSame(player.getPreviousRoom(), ship.getRoom(27));
+        player.back();
+        assertEquals(27, player.getRoom().getID());
+    }
+
+    @Test
+    public void testUnlockAfterReload()
+    {
+        ShipGraph graph = ship.getGraph();
+        for(int id : ship.getRoomIDs())
+            ship.getRoom(id);
+
+        assertNull(graph.findPath(ship.getRoom(21), ship.getRoom(22)));
+        ship.getRoom(21).getLockedDoor("doorT").unlock(new Pass("passT", "passT", PassType.T));
+
+        assertEquals(1, graph.distance(ship.getRoom(21), ship.getRoom(22)));
+    }
+
+    @Test
+    public void testSaveAndLoad() throws IOException, ClassNotFoundException
+    {
+        ship.getRoom(30).getInventory().removeItem("passA");
+        player.changeRoom(ship.getRoom(22));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try(ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(ship);
+        }
+
+        Ship loaded;
+        try(ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            loaded = new Ship((Ship) in.readObject());
+        }
+
+        try {
+            assertTrue(loaded.isPaged());
+            assertEquals(14, loaded.getRoomIDs().length);
+            assertSame(loaded.getPlayer().getRoom(), loaded.getRoom(22));
+            assertNull(loaded.getRoom(30).getInventory().getItem("passA"));
+            assertNotNull(loaded.getNPC("Kilen"));
+            assertEquals(4, loaded.getGraph().distance(loaded.getRoom(13), loaded.getRoom(28)));
+        } finally {
+            loaded.close();
+        }
+    }
+
+    @Test
+    public void testSameWalkAsUnpagedShip() throws IOException
+    {
+        Ship paged = new Ship(new ShipGenerator(3, 3000), 64);
+        Ship full = new Ship(new ShipGenerator(3, 3000));
+
+        try {
+            assertTrue(paged.getNbResidentRooms() <= 64);
+
+            for(int target : new int[] {2999, 1500, 42, 3000})
+            {
+                paged.getPlayer().goTo(paged.getRoom(target));
+                full.getPlayer().goTo(full.getRoom(target));
+                assertEquals(full.getPlayer().getRoom().getID(), paged.getPlayer().getRoom().getID());
+            }
+
+            List<Door> doors = full.getPlayer().getRoom().getDoors();
+            assertEquals(doors.size(), paged.getPlayer().getRoom().getDoors().size());
+            assertTrue(paged.getNbResidentRooms() <= 64 + 2);
+        } finally {
+            paged.close();
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package silent_in_space.model.Location;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/* -----------------------------------------------------------------------------
+ * Fichier de pagination des pièces:
+ *
+ * Rôle: Range les pièces déchargées d'un vaisseau paginé dans un fichier
+ * temporaire, une pièce par enregistrement ([longueur][pièce sérialisée]), et
+ * les relit à la demande. Une pièce réécrite reprend sa place si elle y tient,
+ * sinon elle est ajoutée en fin de fichier.
+ *
+ * Chaque pièce est sérialisée seule: le vaisseau est remplacé par un marqueur,
+ * résolu à la relecture par le vaisseau propriétaire. Une pièce ne désigne les
+ * autres que par leur numéro (portes, pièce précédente d'un acteur): relire une
+ * pièce ne relit jamais ses voisines.
+ *
+ * L'index (numéro de pièce -> place dans le fichier) est une table à adressage
+ * ouvert sur des tableaux d'entiers, pour ne coûter que quelques octets par
+ * pièce, même pour des millions de pièces.
+ * ----------------------------------------------------------------------------- */
+
+class RoomStore implements Closeable {
+
+	private static final long NOT_WRITTEN = -1;
+
+	//Une place dans le fichier: position (40 bits) et taille réservée (24 bits)
+	private static final int CAPACITY_BITS = 24;
+	private static final int MAX_RECORD = (1 << CAPACITY_BITS) - 1;
+
+	private static final int EMPTY_KEY = Integer.MIN_VALUE;
+
+	private final FileChannel CHANNEL;
+	private long end;
+
+	private int[] keys;
+	private long[] slots;
+	private int size;
+
+	private final ByteArrayOutputStream BUFFER;
+
+	RoomStore() throws IOException
+	{
+		Path file = Files.createTempFile("sis-rooms", ".pages");
+		this.CHANNEL = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+				StandardOpenOption.DELETE_ON_CLOSE);
+		file.toFile().deleteOnExit();
+
+		this.keys = new int[64];
+		Arrays.fill(this.keys, EMPTY_KEY);
+		this.slots = new long[64];
+		this.BUFFER = new ByteArrayOutputStream(4096);
+	}
+
+	// ====== INDEX ======
+
+	// Déclare une pièce (pas encore écrite); faux si ce numéro est déjà connu
+	boolean declare(int id)
+	{
+		if(this.find(id) >= 0)
+			return false;
+
+		this.put(id, NOT_WRITTEN);
+		return true;
+	}
+
+	boolean contains(int id)
+	{
+		return this.find(id) >= 0;
+	}
+
+	boolean isWritten(int id)
+	{
+		int i = this.find(id);
+		return i >= 0 && this.slots[i] != NOT_WRITTEN;
+	}
+
+	int size()
+	{
+		return this.size;
+	}
+
+	// Numéros de toutes les pièces connues, dans le désordre
+	int[] ids()
+	{
+		int[] ids = new int[this.size];
+		int n = 0;
+
+		for(int key : this.keys)
+		{
+			if(key != EMPTY_KEY)
+				ids[n++] = key;
+		}
+
+		return ids;
+	}
+
+	private int find(int id)
+	{
+		int mask = this.keys.length - 1;
+
+		for(int i = hash(id) & mask; ; i = (i + 1) & mask)
+		{
+			if(this.keys[i] == id)
+				return i;
+			if(this.keys[i] == EMPTY_KEY)
+				return -1;
+		}
+	}
+
+	private void put(int id, long slot)
+	{
+		if(id == EMPTY_KEY)
+			throw new IllegalArgumentException("room id " + id + " can't be paged");
+
+		if((this.size + 1) * 2 > this.keys.length)
+			this.grow();
+
+		int mask = this.keys.length - 1;
+		int i = hash(id) & mask;
+
+		while(this.keys[i] != EMPTY_KEY && this.keys[i] != id)
+			i = (i + 1) & mask;
+
+		if(this.keys[i] == EMPTY_KEY)
+			this.size++;
+
+		this.keys[i] = id;
+		this.slots[i] = slot;
+	}
+
+	private void grow()
+	{
+		int[] oldKeys = this.keys;
+		long[] oldSlots = this.slots;
+
+		this.keys = new int[oldKeys.length * 2];
+		Arrays.fill(this.keys, EMPTY_KEY);
+		this.slots = new long[oldKeys.length * 2];
+		this.size = 0;
+
+		for(int i = 0; i < oldKeys.length; i++)
+		{
+			if(oldKeys[i] != EMPTY_KEY)
+				this.put(oldKeys[i], oldSlots[i]);
+		}
+	}
+
+	private static int hash(int id)
+	{
+		int h = id * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	// ====== LECTURE ET ÉCRITURE ======
+
+	void write(Room room) throws IOException
+	{
+		this.BUFFER.reset();
+
+		try(ObjectOutputStream out = new RoomOutputStream(this.BUFFER, room)) {
+			out.writeObject(room);
+		}
+
+		this.writeRaw(room.getID(), ByteBuffer.wrap(this.BUFFER.toByteArray()));
+	}
+
+	Room read(int id, Ship owner) throws IOException
+	{
+		ByteBuffer bytes = this.readRaw(id);
+
+		if(bytes == null)
+			return null;
+
+		try(ObjectInputStream in = new RoomInputStream(new ByteArrayInputStream(bytes.array()), owner)) {
+			return (Room) in.readObject();
+		}
+
+		catch(ClassNotFoundException e) {
+			throw new InvalidClassException(e.getMessage());
+		}
+	}
+
+	// Pièce sérialisée telle qu'elle est rangée (pour la recopier dans une sauvegarde), ou null
+	ByteBuffer readRaw(int id) throws IOException
+	{
+		int i = this.find(id);
+
+		if(i < 0 || this.slots[i] == NOT_WRITTEN)
+			return null;
+
+		long position = this.slots[i] >>> CAPACITY_BITS;
+		ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+		this.readFully(length, position);
+
+		ByteBuffer bytes = ByteBuffer.allocate(length.getInt(0));
+		this.readFully(bytes, position + Integer.BYTES);
+
+		return bytes.flip();
+	}
+
+	void writeRaw(int id, ByteBuffer bytes) throws IOException
+	{
+		int length = bytes.remaining();
+
+		if(length + Integer.BYTES > MAX_RECORD)
+			throw new IOException("room " + id + " is too big to be paged (" + length + " bytes)");
+
+		int i = this.find(id);
+		long slot = i >= 0 ? this.slots[i] : NOT_WRITTEN;
+		long position;
+		int capacity;
+
+		if(slot != NOT_WRITTEN && (int) (slot & MAX_RECORD) >= length + Integer.BYTES)
+		{
+			position = slot >>> CAPACITY_BITS;
+			capacity = (int) (slot & MAX_RECORD);
+		}
+
+		else
+		{
+			position = this.end;
+			capacity = length + Integer.BYTES;
+			this.end += capacity;
+		}
+
+		ByteBuffer record = ByteBuffer.allocate(Integer.BYTES + length);
+		record.putInt(length).put(bytes).flip();
+
+		for(long at = position; record.hasRemaining(); )
+			at += this.CHANNEL.write(record, at);
+
+		this.put(id, position << CAPACITY_BITS | capacity);
+	}
+
+	private void readFully(ByteBuffer buffer, long position) throws IOException
+	{
+		while(buffer.hasRemaining())
+		{
+			int n = this.CHANNEL.read(buffer, position);
+
+			if(n < 0)
+				throw new EOFException("truncated page file");
+
+			position += n;
+		}
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		this.CHANNEL.close();
+	}
+
+	// ====== MARQUEURS ======
+
+	// Remplace le vaisseau dans une pièce sérialisée
+	private static final class Marker implements Serializable {
+
+		private static final Marker SHIP = new Marker();
+
+		private Object readResolve()
+		{
+			return SHIP;
+		}
+	}
+
+	private static final class RoomOutputStream extends ObjectOutputStream {
+
+		private final Room ROOT;
+
+		RoomOutputStream(OutputStream out, Room root) throws IOException
+		{
+			super(out);
+			this.ROOT = root;
+			this.enableReplaceObject(true);
+		}
+
+		@Override
+		protected Object replaceObject(Object obj) throws IOException
+		{
+			if(obj instanceof Ship)
+				return Marker.SHIP;
+
+			//La relire forcerait à relire l'autre pièce au milieu de celle-ci (et ainsi de suite):
+			if(obj instanceof Room && obj != this.ROOT)
+				throw new NotSerializableException("room " + this.ROOT.getID() + " refers to room "
+						+ ((Room) obj).getID() + " of a paged ship by reference instead of by number");
+
+			return obj;
+		}
+	}
+
+	private static final class RoomInputStream extends ObjectInputStream {
+
+		//Classes déjà résolues: ObjectInputStream cherche sinon le chargeur de classes dans la pile à chaque pièce
+		private static final ConcurrentHashMap<String, Class<?>> CLASSES = new ConcurrentHashMap<>();
+
+		private final Ship OWNER;
+
+		RoomInputStream(InputStream in, Ship owner) throws IOException
+		{
+			super(in);
+			this.OWNER = owner;
+			this.enableResolveObject(true);
+		}
+
+		@Override
+		protected Object resolveObject(Object obj)
+		{
+			return obj instanceof Marker ? this.OWNER : obj;
+		}
+
+		@Override
+		protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException
+		{
+			Class<?> c = CLASSES.get(desc.getName());
+
+			if(c == null)
+			{
+				c = super.resolveClass(desc);
+				CLASSES.put(desc.getName(), c);
+			}
+
+			return c;
+		}
+	}
+}
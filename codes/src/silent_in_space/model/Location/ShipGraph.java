@@ -0,0 +1,335 @@
+package silent_in_space.model.Location;
+
+import silent_in_space.model.Doors.Door;
+import silent_in_space.model.Doors.LockedDoor;
+
+import java.util.*;
+
+/* -----------------------------------------------------------------------------
+ * Graphe des pièces du vaisseau:
+ *
+ * Rôle: Compile les portes de toutes les pièces en tableaux d'entiers (format
+ * CSR: les portes de la pièce i sont les arêtes rowStart[i] à rowStart[i+1]-1)
+ * et calcule les plus courts chemins entre deux pièces. Les pièces n'ayant pas
+ * de coordonnées, tous les passages ont le même coût: un parcours en largeur
+ * donne donc directement le chemin le plus court.
+ *
+ * Le parcours part de la pièce d'arrivée en remontant les portes: l'arbre obtenu
+ * donne, pour chaque pièce du vaisseau, la porte à prendre pour se rapprocher de
+ * l'arrivée. Les derniers arbres calculés sont gardés en cache et oubliés dès
+ * qu'une porte verrouillée s'ouvre (ou se referme, quand un tour est annulé).
+ *
+ * Le graphe ne retient que des numéros: les pièces d'un vaisseau paginé peuvent
+ * être déchargées, les portes du chemin sont retrouvées dans la pièce au moment
+ * de le renvoyer. Il est reconstruit par le vaisseau quand une pièce ou une porte
+ * est ajoutée.
+ * ----------------------------------------------------------------------------- */
+
+public class ShipGraph {
+
+	public static final int CACHE_SIZE = 8;
+
+	private static final int UNREACHED = -1;
+	private static final int ARRIVED = -2;
+
+	private final Ship SHIP;
+
+	//Numéros des pièces, triés (la position d'une pièce dans ce tableau est son indice dans le graphe):
+	private final int[] IDS;
+
+	//Arêtes sortantes (une par porte, repérée par sa position dans la pièce):
+	private final int[] ROW_START;
+	private final int[] TARGETS;
+	private final int[] DOOR_INDEXES;
+
+	//Arêtes entrantes, chacune renvoyant à son arête sortante:
+	private final int[] REVERSE_ROW_START;
+	private final int[] REVERSE_SOURCES;
+	private final int[] REVERSE_EDGES;
+
+	private final BitSet BLOCKED;
+
+	private final LinkedHashMap<Integer, int[]> TREES;
+	private int[] queue;
+
+	public ShipGraph(Ship ship)
+	{
+		this.SHIP = ship;
+		this.IDS = ship.getRoomIDs();
+		Arrays.sort(this.IDS);
+
+		int n = this.IDS.length;
+		this.ROW_START = new int[n + 1];
+		this.BLOCKED = new BitSet();
+
+		//Un seul passage sur les pièces (chacune peut devoir être relue sur disque):
+		int[] targets = new int[Math.max(16, n * 2)];
+		int[] doorIndexes = new int[targets.length];
+		int[] inDegree = new int[n + 1];
+		int e = 0;
+
+		for(int i = 0; i < n; i++)
+		{
+			Room r = ship.getRoom(this.IDS[i]);
+			int nbDoors = r.getDoors().size();
+
+			for(int d = 0; d < nbDoors; d++)
+			{
+				int target = this.indexOf(r.getDestinationID(d));
+
+				if(target < 0)
+					continue;
+
+				if(e == targets.length)
+				{
+					targets = Arrays.copyOf(targets, e * 2);
+					doorIndexes = Arrays.copyOf(doorIndexes, e * 2);
+				}
+
+				targets[e] = target;
+				doorIndexes[e] = d;
+				inDegree[target + 1]++;
+
+				if(r.getDoor(d) instanceof LockedDoor)
+					this.watch((LockedDoor) r.getDoor(d), e);
+
+				e++;
+			}
+
+			this.ROW_START[i + 1] = e;
+		}
+
+		this.TARGETS = Arrays.copyOf(targets, e);
+		this.DOOR_INDEXES = Arrays.copyOf(doorIndexes, e);
+
+		//Puis on range les arêtes entrantes par comptage:
+		this.REVERSE_ROW_START = inDegree;
+		for(int i = 0; i < n; i++)
+			this.REVERSE_ROW_START[i + 1] += this.REVERSE_ROW_START[i];
+
+		this.REVERSE_SOURCES = new int[e];
+		this.REVERSE_EDGES = new int[e];
+		int[] fill = Arrays.copyOf(this.REVERSE_ROW_START, n);
+
+		for(int i = 0; i < n; i++)
+		{
+			for(int k = this.ROW_START[i]; k < this.ROW_START[i + 1]; k++)
+			{
+				int slot = fill[this.TARGETS[k]]++;
+				this.REVERSE_SOURCES[slot] = i;
+				this.REVERSE_EDGES[slot] = k;
+			}
+		}
+
+		this.TREES = new LinkedHashMap<>(CACHE_SIZE * 2, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, int[]> eldest) {
+				return this.size() > CACHE_SIZE;
+			}
+		};
+	}
+
+	// ====== GETTERS ======
+
+	public int getNbRooms()
+	{
+		return this.IDS.length;
+	}
+
+	public int getNbDoors()
+	{
+		return this.TARGETS.length;
+	}
+
+	public int getNbCachedPaths()
+	{
+		return this.TREES.size();
+	}
+
+	// Portes à traverser pour aller de from à to (liste vide si from == to), ou null s'il n'y a pas de chemin
+	public List<Door> findPath(Room from, Room to)
+	{
+		int source = from != null ? this.indexOf(from.getID()) : -1;
+		int target = to != null ? this.indexOf(to.getID()) : -1;
+
+		if(source < 0 || target < 0)
+			return null;
+
+		int[] next = this.tree(target);
+
+		if(next[source] == UNREACHED)
+			return null;
+
+		ArrayList<Door> path = new ArrayList<>();
+		int current = source;
+		Room r = from;
+
+		while(next[current] != ARRIVED)
+		{
+			int e = next[current];
+			path.add(r.getDoor(this.DOOR_INDEXES[e]));
+			current = this.TARGETS[e];
+
+			if(next[current] != ARRIVED)
+				r = this.SHIP.getRoom(this.IDS[current]);
+		}
+
+		return path;
+	}
+
+	// Nombre de portes à traverser pour aller de from à to, ou -1 s'il n'y a pas de chemin
+	public int distance(Room from, Room to)
+	{
+		List<Door> path = this.findPath(from, to);
+		return path != null ? path.size() : -1;
+	}
+
+	// Numéros des pièces où mènent les portes non verrouillées de la pièce id (vide si elle n'est pas dans le graphe)
+	public int[] openNeighbours(int id)
+	{
+		int i = this.indexOf(id);
+
+		if(i < 0)
+			return new int[0];
+
+		int[] ids = new int[this.ROW_START[i + 1] - this.ROW_START[i]];
+		int n = 0;
+
+		for(int e = this.ROW_START[i]; e < this.ROW_START[i + 1]; e++)
+		{
+			if(!this.BLOCKED.get(e))
+				ids[n++] = this.IDS[this.TARGETS[e]];
+		}
+
+		return Arrays.copyOf(ids, n);
+	}
+
+	// Chemins de toutes les pièces vers target, figés: ils peuvent être lus depuis plusieurs threads
+	public Route routeTo(Room target)
+	{
+		int t = target != null ? this.indexOf(target.getID()) : -1;
+		return new Route(t >= 0 ? this.tree(t) : null);
+	}
+
+	public final class Route {
+
+		private final int[] NEXT;
+
+		private Route(int[] next)
+		{
+			this.NEXT = next;
+		}
+
+		// Pièce suivante sur le chemin depuis la pièce id, ou -1 s'il n'y en a pas (pas de chemin, ou déjà arrivé)
+		public int nextRoom(int id)
+		{
+			int i = indexOf(id);
+
+			if(this.NEXT == null || i < 0 || this.NEXT[i] < 0)
+				return -1;
+
+			return IDS[TARGETS[this.NEXT[i]]];
+		}
+
+		// Nombre de portes à traverser depuis la pièce id (au-delà de max, max + 1), ou -1 s'il n'y a pas de chemin
+		public int distance(int id, int max)
+		{
+			int i = indexOf(id);
+
+			if(this.NEXT == null || i < 0 || this.NEXT[i] == UNREACHED)
+				return -1;
+
+			int d = 0;
+
+			while(this.NEXT[i] != ARRIVED && d <= max)
+			{
+				i = TARGETS[this.NEXT[i]];
+				d++;
+			}
+
+			return d;
+		}
+	}
+
+	// Abonne le graphe aux portes verrouillées d'une pièce (à sa construction ou quand elle est rechargée)
+	void attach(Room r)
+	{
+		int i = this.indexOf(r.getID());
+
+		if(i < 0)
+			return;
+
+		for(int e = this.ROW_START[i]; e < this.ROW_START[i + 1]; e++)
+		{
+			Door d = r.getDoor(this.DOOR_INDEXES[e]);
+
+			if(d instanceof LockedDoor)
+				this.watch((LockedDoor) d, e);
+		}
+	}
+
+	private void watch(LockedDoor door, int edge)
+	{
+		this.BLOCKED.set(edge, door.isLocked());
+		door.setListener(d -> this.setBlocked(edge, d.isLocked()));
+	}
+
+	private void setBlocked(int edge, boolean blocked)
+	{
+		if(this.BLOCKED.get(edge) != blocked)
+		{
+			this.BLOCKED.set(edge, blocked);
+			this.TREES.clear();
+		}
+	}
+
+	// Position de la pièce dans ce graphe, ou -1 si elle n'en fait pas partie
+	private int indexOf(int id)
+	{
+		int i = Arrays.binarySearch(this.IDS, id);
+		return i >= 0 ? i : -1;
+	}
+
+	// ====== PARCOURS ======
+
+	// Pour chaque pièce, l'arête sortante à prendre pour rejoindre la pièce target
+	private int[] tree(int target)
+	{
+		int[] next = this.TREES.get(target);
+
+		if(next != null)
+			return next;
+
+		int n = this.IDS.length;
+		next = new int[n];
+		Arrays.fill(next, UNREACHED);
+
+		if(this.queue == null)
+			this.queue = new int[n];
+
+		int head = 0;
+		int tail = 0;
+		next[target] = ARRIVED;
+		this.queue[tail++] = target;
+
+		while(head < tail)
+		{
+			int room = this.queue[head++];
+
+			for(int k = this.REVERSE_ROW_START[room]; k < this.REVERSE_ROW_START[room + 1]; k++)
+			{
+				int source = this.REVERSE_SOURCES[k];
+				int e = this.REVERSE_EDGES[k];
+
+				if(next[source] == UNREACHED && !this.BLOCKED.get(e))
+				{
+					next[source] = e;
+					this.queue[tail++] = source;
+				}
+			}
+		}
+
+		this.TREES.put(target, next);
+		return next;
+	}
+}
@@ -0,0 +1,98 @@
+package silent_in_space.model.Location;
+
+import silent_in_space.model.Characters.Player;
+import silent_in_space.model.Doors.Door;
+import silent_in_space.model.Items.Pass;
+import silent_in_space.model.Items.PassType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ShipGraphIT
+{
+    private Ship ship;
+    private Player player;
+
+    @Before
+    public void setUp()
+    {
+        ship = new Ship();
+        player = ship.getPlayer();
+    }
+
+    @After
+    public void tearDown()
+    {
+    }
+
+    @Test
+    public void testGraphSize()
+    {
+        ShipGraph graph = ship.getGraph();
+
+        assertEquals(14, graph.getNbRooms());
+        assertEquals(26, graph.getNbDoors());
+        assertSame(graph, ship.getGraph());
+    }
+
+    @Test
+    public void testShortestPath()
+    {
+        List<Door> path = ship.getGraph().findPath(ship.getRoom(22), ship.getRoom(30));
+
+        assertEquals(2, path.size());
+        assertEquals("door27", path.get(0).getTag());
+        assertEquals("door30", path.get(1).getTag());
+
+        assertEquals(0, ship.getGraph().distance(ship.getRoom(22), ship.getRoom(22)));
+        assertEquals(4, ship.getGraph().distance(ship.getRoom(13), ship.getRoom(28)));
+
+        //Le seul passage vers les quartiers résidentiels est la porte A, encore verrouillée:
+        assertNull(ship.getGraph().findPath(ship.getRoom(13), ship.getRoom(24)));
+    }
+
+    @Test
+    public void testLockedDoorsAndCache()
+    {
+        ShipGraph graph = ship.getGraph();
+        Room room21 = ship.getRoom(21);
+
+        assertNull(graph.findPath(room21, ship.getRoom(22)));
+        assertEquals(1, graph.getNbCachedPaths());
+
+        room21.getLockedDoor("doorT").unlock(new Pass("passT", "passT", PassType.T));
+
+        assertEquals(0, graph.getNbCachedPaths());
+        assertEquals(1, graph.distance(room21, ship.getRoom(22)));
+    }
+
+    @Test
+    public void testGraphRebuiltOnNewRoom()
+    {
+        ShipGraph graph = ship.getGraph();
+        Room room = new Room(ship, 100, "room-test");
+        ship.addRoom(room);
+        ship.getRoom(28).addDoor(new Door("door100"), room);
+
+        assertNotSame(graph, ship.getGraph());
+        assertEquals(15, ship.getGraph().getNbRooms());
+        assertEquals(3, ship.getGraph().distance(ship.getRoom(22), room));
+    }
+
+    @Test
+    public void testPlayerGoTo()
+    {
+        player.goTo(ship.getRoom(30));
+        assertEquals(21, player.getRoom().getID());
+
+        ship.getRoom(21).getLockedDoor("doorT").unlock(new Pass("passT", "passT", PassType.T));
+        player.goTo(ship.getRoom(30));
+
+        assertEquals(30, player.getRoom().getID());
+        assertEquals(27, player.getPreviousRoom().getID());
+    }
+}
@@ -0,0 +1,6 @@
+package silent_in_space.model.Location;
+
+// Prévenu juste avant qu'un acteur entre dans une pièce ou en sorte (la pièce est encore dans son état d'avant)
+public interface ShipListener {
+	void roomChanging(Room room);
+}
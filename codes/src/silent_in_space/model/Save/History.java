@@ -0,0 +1,330 @@
+package silent_in_space.model.Save;
+
+import silent_in_space.model.Characters.Player;
+import silent_in_space.model.Items.Item;
+import silent_in_space.model.Location.Room;
+import silent_in_space.model.Location.Ship;
+import silent_in_space.model.Location.ShipListener;
+import silent_in_space.model.Utils.PersistentIntMap;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+
+/* -----------------------------------------------------------------------------
+ * Historique des tours:
+ *
+ * Rôle: Annule (undo()) et rétablit (redo()) les derniers tours d'une partie.
+ * Chaque version de la partie est une table persistante (cf. PersistentIntMap)
+ * qui associe à une pièce son état, écrit comme dans une sauvegarde: portes,
+ * objets, et acteurs avec leur pièce précédente, leurs points de vie, leurs
+ * drapeaux et leur inventaire (cf. SaveWriter). Une version ne contient une
+ * nouvelle copie que des pièces qui ont changé pendant le tour et partage tout
+ * le reste avec la précédente: un tour coûte ce qu'il a modifié, pas la taille
+ * du vaisseau.
+ *
+ * Un tour ne modifie que la pièce du joueur et les pièces où des acteurs sont
+ * entrés ou d'où ils sont sortis. Ce sont les seules relues à la fin du tour
+ * (commit()), et seules celles qui ont réellement changé entrent dans la
+ * nouvelle version. L'état d'origine d'une pièce est noté la première fois
+ * qu'elle est touchée, avant d'être modifiée: le vaisseau prévient l'historique
+ * juste avant qu'un acteur y entre ou en sorte (cf. ShipListener).
+ *
+ * Changer de version réapplique l'état des pièces qui diffèrent entre les deux
+ * versions (PersistentIntMap.diff()) et de celles touchées depuis la dernière
+ * version, dont les changements sont abandonnés.
+ *
+ * Les pièces changées (par un tour ou un changement de version) sont aussi
+ * notées pour le journal, qui n'écrit qu'elles dans ses instantanés (cf.
+ * takeChanged() et Journal).
+ *
+ * Un historique peut aussi partir de l'état de toutes les pièces (cf. states()):
+ * chaque version est alors la partie entière, et snapshot() la fige pour une
+ * sauvegarde en n'écrivant que les pièces touchées depuis la dernière version
+ * (cf. ShipState). Sans cet état de départ, seules les pièces touchées sont
+ * gardées.
+ * ----------------------------------------------------------------------------- */
+
+public class History implements ShipListener {
+
+	public static final int DEFAULT_LIMIT = 100;
+
+	private final Ship SHIP;
+	private final int LIMIT;
+
+	//Version de la partie à la fin du dernier tour, puis versions à annuler et à rétablir (la plus récente en tête):
+	private PersistentIntMap<byte[]> current;
+	private final ArrayDeque<PersistentIntMap<byte[]>> UNDO;
+	private final ArrayDeque<PersistentIntMap<byte[]>> REDO;
+
+	//État d'origine des pièces touchées, pour les versions où elles n'apparaissent pas:
+	private final HashMap<Integer, byte[]> ORIGINS;
+
+	//Numéros triés de toutes les pièces si les versions les contiennent toutes (sinon null):
+	private final int[] IDS;
+
+	//Pièces touchées depuis la dernière version:
+	private final LinkedHashSet<Integer> TOUCHED;
+	private boolean restoring;
+
+	//Pièces changées depuis le dernier takeChanged() (inconnues avant le premier):
+	private final LinkedHashSet<Integer> CHANGED;
+	private boolean changesKnown;
+
+	private final ByteArrayOutputStream BUFFER;
+	private final SaveWriter WRITER;
+
+	public History(Ship ship)
+	{
+		this(ship, DEFAULT_LIMIT);
+	}
+
+	// Au plus limit tours peuvent être annulés
+	public History(Ship ship, int limit)
+	{
+		this(ship, limit, null);
+	}
+
+	// Versions complètes, à partir de l'état de toutes les pièces (states(ship)) qui permet les snapshot()
+	public History(Ship ship, PersistentIntMap<byte[]> states)
+	{
+		this(ship, DEFAULT_LIMIT, states);
+	}
+
+	public History(Ship ship, int limit, PersistentIntMap<byte[]> states)
+	{
+		this.SHIP = ship;
+		this.LIMIT = limit;
+		this.current = states != null ? states : PersistentIntMap.empty();
+		this.IDS = states != null ? ship.getRoomIDs() : null;
+		this.UNDO = new ArrayDeque<>();
+		this.REDO = new ArrayDeque<>();
+		this.ORIGINS = new HashMap<>();
+		this.TOUCHED = new LinkedHashSet<>();
+		this.CHANGED = new LinkedHashSet<>();
+		this.BUFFER = new ByteArrayOutputStream(1024);
+		this.WRITER = writer(this.BUFFER);
+
+		if(this.IDS != null)
+			Arrays.sort(this.IDS);
+
+		ship.setListener(this);
+		this.roomChanging(ship.getPlayer().getRoom());
+	}
+
+	// État de toutes les pièces: parcourt tout le vaisseau, à faire avant de le partager (ex: en tâche de fond
+	// avec le vaisseau chargé) ou sur le thread qui le modifie
+	public static PersistentIntMap<byte[]> states(Ship ship) throws IOException
+	{
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+		SaveWriter writer = writer(buffer);
+		PersistentIntMap<byte[]> states = PersistentIntMap.empty();
+
+		for(int id : ship.getRoomIDs())
+		{
+			buffer.reset();
+			writer.writeRoom(ship.getRoom(id));
+			states = states.put(id, buffer.toByteArray());
+		}
+
+		return states;
+	}
+
+	private static SaveWriter writer(ByteArrayOutputStream buffer)
+	{
+		try {
+			return new SaveWriter(buffer, false);
+		}
+
+		catch(IOException e) {
+			//Rien n'est écrit sans en-tête
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	// Le vaisseau ne prévient plus cet historique
+	public void detach()
+	{
+		this.SHIP.setListener(null);
+	}
+
+	public boolean canUndo()
+	{
+		return !this.UNDO.isEmpty();
+	}
+
+	public boolean canRedo()
+	{
+		return !this.REDO.isEmpty();
+	}
+
+	// Pièces dont l'état a changé depuis l'appel précédent, ou null pour un historique tout juste créé
+	// (il ne sait pas ce qui a changé avant lui)
+	public int[] takeChanged()
+	{
+		int[] ids = this.changesKnown ? this.CHANGED.stream().mapToInt(Integer::intValue).toArray() : null;
+
+		this.CHANGED.clear();
+		this.changesKnown = true;
+
+		return ids;
+	}
+
+	// Nombre d'états de pièces gardés (origines comprises), toutes versions confondues
+	public int getNbRoomStates()
+	{
+		return this.ORIGINS.size() + this.current.size();
+	}
+
+	@Override
+	public void roomChanging(Room room)
+	{
+		if(this.restoring)
+			return;
+
+		int id = room.getID();
+
+		if(this.TOUCHED.add(id) && this.current.get(id) == null && !this.ORIGINS.containsKey(id))
+		{
+			try {
+				this.ORIGINS.put(id, this.encode(room));
+			}
+
+			catch(IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+	// ====== VERSIONS ======
+
+	// Fin d'un tour: vrai si le tour a changé quelque chose (il peut alors être annulé)
+	public boolean commit() throws IOException
+	{
+		PersistentIntMap<byte[]> next = this.current;
+
+		for(int id : this.TOUCHED)
+		{
+			byte[] state = this.encode(this.SHIP.getRoom(id));
+
+			if(!Arrays.equals(state, this.state(this.current, id)))
+			{
+				next = next.put(id, state);
+				this.CHANGED.add(id);
+			}
+		}
+
+		this.TOUCHED.clear();
+		this.roomChanging(this.SHIP.getPlayer().getRoom());
+
+		if(next == this.current)
+			return false;
+
+		if(this.UNDO.size() == this.LIMIT)
+			this.UNDO.removeLast();
+
+		this.UNDO.push(this.current);
+		this.REDO.clear();
+		this.current = next;
+
+		return true;
+	}
+
+	// La partie telle qu'elle est, tour en cours compris, sans créer de version: seules les pièces touchées depuis
+	// la dernière sont écrites. À appeler sur le thread qui modifie le vaisseau, l'état rendu ne change plus ensuite
+	public ShipState snapshot() throws IOException
+	{
+		if(this.IDS == null)
+			throw new IllegalStateException("the history doesn't keep every room");
+
+		PersistentIntMap<byte[]> version = this.current;
+
+		for(int id : this.TOUCHED)
+		{
+			byte[] state = this.encode(this.SHIP.getRoom(id));
+
+			if(!Arrays.equals(state, version.get(id)))
+				version = version.put(id, state);
+		}
+
+		Player p = this.SHIP.getPlayer();
+		return new ShipState(this.IDS, version, this.SHIP.getNbWorldItems(), p.getRoom().getID(), p.getHp());
+	}
+
+	// Revient à la version d'avant le dernier tour; faux s'il n'y a rien à annuler
+	public boolean undo() throws IOException
+	{
+		if(this.UNDO.isEmpty())
+			return false;
+
+		PersistentIntMap<byte[]> target = this.UNDO.pop();
+		this.REDO.push(this.current);
+		this.restore(target);
+
+		return true;
+	}
+
+	// Rejoue le dernier tour annulé; faux s'il n'y en a pas
+	public boolean redo() throws IOException
+	{
+		if(this.REDO.isEmpty())
+			return false;
+
+		PersistentIntMap<byte[]> target = this.REDO.pop();
+		this.UNDO.push(this.current);
+		this.restore(target);
+
+		return true;
+	}
+
+	private void restore(PersistentIntMap<byte[]> target) throws IOException
+	{
+		LinkedHashSet<Integer> ids = new LinkedHashSet<>(this.TOUCHED);
+		this.current.diff(target, ids::add);
+
+		int[] rooms = ids.stream().mapToInt(Integer::intValue).toArray();
+
+		//Un objet cité par l'une de ces pièces a changé de place depuis: il est forcément rangé dans l'une d'elles
+		Item[] items = SaveReader.worldItems(this.SHIP, rooms);
+		this.restoring = true;
+
+		try {
+			for(int id : rooms)
+			{
+				byte[] state = this.state(target, id);
+
+				if(state != null)
+					new SaveReader(state).readRoom(this.SHIP, items);
+
+				this.CHANGED.add(id);
+			}
+		}
+
+		finally {
+			this.restoring = false;
+		}
+
+		this.current = target;
+		this.TOUCHED.clear();
+		this.roomChanging(this.SHIP.getPlayer().getRoom());
+	}
+
+	// État de la pièce dans cette version (son état d'origine si elle n'y a jamais changé)
+	private byte[] state(PersistentIntMap<byte[]> version, int id)
+	{
+		byte[] state = version.get(id);
+		return state != null ? state : this.ORIGINS.get(id);
+	}
+
+	private byte[] encode(Room r) throws IOException
+	{
+		this.BUFFER.reset();
+		this.WRITER.writeRoom(r);
+
+		return this.BUFFER.toByteArray();
+	}
+}
@@ -0,0 +1,263 @@
+package silent_in_space.model.Save;
+
+import silent_in_space.model.Characters.NPC;
+import silent_in_space.model.Characters.Player;
+import silent_in_space.model.Doors.Door;
+import silent_in_space.model.Game.MessageChannel;
+import silent_in_space.model.Location.Room;
+import silent_in_space.model.Location.Ship;
+import silent_in_space.model.World.ShipGenerator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class HistoryIT
+{
+    private Ship ship;
+    private Player player;
+    private History history;
+
+    private static byte[] state(Ship ship) throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try(SaveWriter w = new SaveWriter(out)) {
+            w.write(ship);
+        }
+
+        return out.toByteArray();
+    }
+
+    @Before
+    public void setUp()
+    {
+        MessageChannel.bind(new MessageChannel());
+        ship = new Ship();
+        player = ship.getPlayer();
+        ship.getNPC("Kilen").give("passT", player);
+        history = new History(ship);
+    }
+
+    @After
+    public void tearDown()
+    {
+        MessageChannel.unbind();
+    }
+
+    @Test
+    public void testUndoRedoTake() throws IOException
+    {
+        Room r21 = ship.getRoom(21);
+        byte[] before = state(ship);
+
+        player.take(r21.getInventory().getItem("statue"));
+        byte[] after = state(ship);
+        assertTrue(history.commit());
+
+        assertTrue(history.undo());
+        assertNotNull(r21.getInventory().getItem("statue"));
+        assertNull(player.getInventory().getItem("statue"));
+        assertNotNull(r21.getEntity("statue"));
+        assertArrayEquals(before, state(ship));
+
+        assertTrue(history.redo());
+        assertNotNull(player.getInventory().getItem("statue"));
+        assertArrayEquals(after, state(ship));
+        assertFalse(history.redo());
+    }
+
+    @Test
+    public void testUndoAttack() throws IOException
+    {
+        NPC kilen = ship.getNPC("Kilen");
+        int hp = kilen.getHp();
+        boolean hostile = kilen.isHostile();
+        boolean ally = kilen.isAlly();
+        byte[] before = state(ship);
+
+        player.attack(kilen);
+        history.commit();
+        assertNotEquals(hp, kilen.getHp());
+
+        history.undo();
+        assertEquals(hp, kilen.getHp());
+        assertEquals(hostile, kilen.isHostile());
+        assertEquals(ally, kilen.isAlly());
+        assertEquals(100, player.getHp());
+        assertArrayEquals(before, state(ship));
+    }
+
+    // Le joueur revient dans sa pièce, la porte est de nouveau verrouillée et le graphe le sait
+    @Test
+    public void testUndoUnlockAndMove() throws IOException
+    {
+        Room r21 = ship.getRoom(21);
+        Room r22 = ship.getRoom(22);
+        int distance = ship.getGraph().distance(r21, r22);
+        byte[] before = state(ship);
+
+        player.use(player.getInventory().getItem("passT"), r21.getDoor("doorT"));
+        player.go(r21.getDoor("doorT"));
+        history.commit();
+        assertSame(r22, player.getRoom());
+        assertEquals(1, ship.getGraph().distance(r21, r22));
+
+        history.undo();
+        assertSame(r21, player.getRoom());
+        assertTrue(r21.hasActor("Me"));
+        assertFalse(r22.hasActor("Me"));
+        assertSame(player, ship.findActor("Me"));
+        assertTrue(r21.getLockedDoor("doorT").isLocked());
+        assertFalse(r21.getDoor("doorT").isOpen());
+        assertEquals(distance, ship.getGraph().distance(r21, r22));
+        assertArrayEquals(before, state(ship));
+    }
+
+    @Test
+    public void testTurnWithoutChange() throws IOException
+    {
+        player.look();
+        player.info();
+
+        assertFalse(history.commit());
+        assertFalse(history.canUndo());
+        assertFalse(history.undo());
+    }
+
+    // Un nouveau tour oublie les tours annulés; les changements pas encore validés sont abandonnés
+    @Test
+    public void testNewTurnAfterUndo() throws IOException
+    {
+        Room r21 = ship.getRoom(21);
+
+        player.take(r21.getInventory().getItem("statue"));
+        history.commit();
+        history.undo();
+
+        player.drop(player.getInventory().getItem("passT"));
+        history.commit();
+        assertFalse(history.canRedo());
+
+        player.take(r21.getInventory().getItem("statue"));
+        history.undo();
+        assertNotNull(r21.getInventory().getItem("statue"));
+        assertNotNull(player.getInventory().getItem("passT"));
+    }
+
+    // Un tour ne garde que les pièces qu'il a touchées: quelques dizaines sur un vaisseau de 10000 pièces
+    @Test
+    public void testCostOfATurn() throws IOException
+    {
+        ShipGenerator generator = new ShipGenerator(3, 10000);
+        ship = new Ship(generator);
+        player = ship.getPlayer();
+        history = new History(ship);
+
+        Room start = player.getRoom();
+        Room target = ship.getRoom(5000);
+        List<Door> path = ship.getGraph().findPath(start, target);
+        byte[] before = state(ship);
+
+        player.goTo(target);
+        history.commit();
+        player.goTo(start);
+        history.commit();
+
+        assertTrue(history.getNbRoomStates() < 100);
+
+        history.undo();
+        assertSame(target, player.getRoom());
+        history.undo();
+        assertSame(start, player.getRoom());
+        assertFalse(path.get(0).isOpen());
+        assertArrayEquals(before, state(ship));
+    }
+
+    @Test
+    public void testPagedShip() throws IOException
+    {
+        ship = new Ship(new ShipGenerator(5, 2000), 8);
+
+        try {
+            player = ship.getPlayer();
+            history = new History(ship);
+            int start = player.getRoom().getID();
+            byte[] before = state(ship);
+
+            player.goTo(ship.getRoom(1500));
+            history.commit();
+            assertTrue(ship.getNbRoomEvictions() > 0);
+
+            history.undo();
+            assertEquals(start, player.getRoom().getID());
+            assertFalse(ship.getRoom(1500).hasActor(player.getName()));
+            assertArrayEquals(before, state(ship));
+        } finally {
+            ship.close();
+        }
+    }
+
+    // L'état figé est la partie au moment de la photo, tour en cours compris, et ne suit plus la partie ensuite
+    @Test
+    public void testSnapshot() throws IOException
+    {
+        history = new History(ship, History.states(ship));
+        Room r21 = ship.getRoom(21);
+
+        player.take(r21.getInventory().getItem("statue"));
+        history.commit();
+        player.use(player.getInventory().getItem("passT"), r21.getDoor("doorT"));
+        player.go(r21.getDoor("doorT"));
+
+        byte[] now = state(ship);
+        ShipState snapshot = history.snapshot();
+        assertArrayEquals(now, snapshot.encode());
+        assertEquals(22, snapshot.getPlayerRoomID());
+        assertEquals(player.getHp(), snapshot.getPlayerHp());
+
+        player.drop(player.getInventory().getItem("statue"));
+        history.commit();
+        assertArrayEquals(now, snapshot.encode());
+
+        history.undo();
+        history.undo();
+        assertArrayEquals(state(ship), history.snapshot().encode());
+        assertEquals(21, history.snapshot().getPlayerRoomID());
+
+        try {
+            new History(ship).snapshot();
+            fail();
+        } catch(IllegalStateException e) {
+            assertEquals("the history doesn't keep every room", e.getMessage());
+        }
+    }
+
+    // Figer la partie ne relit que les pièces touchées depuis le dernier tour: aucune pièce rangée n'est rechargée
+    @Test
+    public void testSnapshotOfPagedShip() throws IOException
+    {
+        ship = new Ship(new ShipGenerator(5, 2000), 8);
+
+        try {
+            player = ship.getPlayer();
+            history = new History(ship, History.states(ship));
+
+            player.goTo(ship.getRoom(1500));
+            history.commit();
+
+            int loads = ship.getNbRoomLoads();
+            ShipState snapshot = history.snapshot();
+            assertEquals(loads, ship.getNbRoomLoads());
+
+            assertArrayEquals(state(ship), snapshot.encode());
+        } finally {
+            ship.close();
+        }
+    }
+}
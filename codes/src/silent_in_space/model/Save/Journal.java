@@ -0,0 +1,776 @@
+package silent_in_space.model.Save;
+
+import silent_in_space.model.Items.Item;
+import silent_in_space.model.Location.Room;
+import silent_in_space.model.Location.Ship;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/* -----------------------------------------------------------------------------
+ * Journal d'une partie:
+ *
+ * Rôle: Permet de reprendre une partie interrompue (plantage, coupure) là où
+ * elle en était, sans que le joueur ait sauvegardé. Chaque tour joué est ajouté
+ * au journal (journal.log) avec toutes les lignes saisies pendant ce tour (la
+ * commande puis les réponses aux sous-saisies: ordinateur, fouille...). Un
+ * instantané de l'état de la partie est pris tous les snapshotInterval tours et
+ * quand le joueur change de pièce: les tours qui le précèdent ne seront plus
+ * rejoués. La reprise (recover()) applique le dernier instantané sur un
+ * vaisseau neuf et rend les tours joués depuis, à rejouer dans l'ordre.
+ *
+ * Un instantané ne coûte au jeu que les pièces qui ont changé depuis le
+ * précédent (cf. History.takeChanged()): il est ajouté au journal comme un
+ * tour, chaque pièce écrite comme dans l'historique (SaveWriter.writeRoom()).
+ * L'instantané complet (snapshot.sis) n'est écrit par le jeu qu'au démarrage,
+ * quand le vaisseau est remplacé (chargement d'une sauvegarde) ou quand les
+ * pièces changées ne sont pas connues. Quand le journal dépasse sa taille, le
+ * thread d'écriture y recopie les pièces des instantanés partiels, octet par
+ * octet et sans relire le vaisseau (un vaisseau paginé n'est pas chargé), et
+ * le journal repart de zéro.
+ *
+ * Les écritures sont faites par un thread à part qui regroupe les tours
+ * arrivés pendant COMMIT_DELAY_MS et les rend durables en une seule fois
+ * (group commit): ajouter un tour ne coûte au jeu que son encodage.
+ *
+ * Format du journal: l'en-tête MAGIC et la version, puis pour chaque tour sa
+ * longueur, son CRC32, son numéro et ses lignes (UTF-8 précédées de leur
+ * longueur). Un instantané partiel a la même forme, avec le numéro du dernier
+ * tour qu'il contient, ROOMS à la place du nombre de lignes, puis ses pièces.
+ * Une fin de fichier tronquée ou corrompue (tour en cours d'écriture au moment
+ * du plantage) est ignorée. L'instantané complet commence par le numéro du
+ * dernier tour qu'il contient, puis MAGIC, la version, le nombre de pièces et
+ * d'objets du monde, et chaque pièce par numéro croissant (précédée de sa
+ * longueur); il est remplacé d'un bloc (renommage atomique).
+ * ----------------------------------------------------------------------------- */
+
+public class Journal implements Closeable {
+
+	static final byte[] MAGIC = {'S', 'I', 'S', 'J'};
+	public static final int VERSION = 2;
+
+	public static final int DEFAULT_SNAPSHOT_INTERVAL = 64;
+
+	//Délai pendant lequel les tours suivants peuvent rejoindre une écriture:
+	private static final long COMMIT_DELAY_MS = 2;
+
+	private static final String LOG = "journal.log";
+	private static final String SNAPSHOT = "snapshot.sis";
+	private static final String SNAPSHOT_TMP = "snapshot.tmp";
+
+	private static final int HEADER = MAGIC.length + Integer.BYTES;
+
+	//Au-delà, la longueur lue ne peut venir que d'un tour corrompu:
+	private static final int MAX_RECORD = 1 << 20;
+
+	//Nombre de lignes d'un instantané partiel, et tours qu'il remplace à la reprise:
+	private static final int ROOMS = -1;
+	private static final List<String> REPLACED = new ArrayList<>(0);
+
+	//Contenu d'une écriture en attente:
+	private static final int TURN = 0;
+	private static final int PARTIAL = 1;
+	private static final int FULL = 2;
+
+	private final Path DIR;
+	private int snapshotInterval;
+	private boolean snapshotOnRoomChange;
+
+	//Côté jeu: dernier tour journalisé, dernier instantané et pièces changées depuis (inconnues si changesLost)
+	private long seq;
+	private int turnsSinceSnapshot;
+	private Ship snapshotShip;
+	private int snapshotRoom;
+	private int nbSnapshots;
+	private final LinkedHashSet<Integer> CHANGED;
+	private boolean changesLost;
+	private final ByteArrayOutputStream RECORD;
+	private final DataOutputStream RECORD_OUT;
+	private final ByteArrayOutputStream ROOM;
+	private final SaveWriter ROOM_WRITER;
+	private final CRC32 CRC;
+
+	//Partagé avec le thread d'écriture (sous LOCK)
+	private final Object LOCK;
+	private final ArrayDeque<Pending> PENDING;
+	private long nbQueued;
+	private long nbCommitted;
+	private int nbCommits;
+	private int nbCompactions;
+	private boolean urgent;
+	private boolean closing;
+	private IOException failure;
+
+	//Thread d'écriture, et pièces des instantanés partiels à recopier dans l'instantané complet
+	private Thread committer;
+	private FileChannel log;
+	private long logEnd;
+	private long snapshotSize;
+	private final TreeMap<Integer, byte[]> MERGED;
+
+	public Journal(Path dir) throws IOException
+	{
+		this.DIR = Files.createDirectories(dir);
+		this.snapshotInterval = DEFAULT_SNAPSHOT_INTERVAL;
+		this.snapshotOnRoomChange = true;
+
+		this.CHANGED = new LinkedHashSet<>();
+		this.RECORD = new ByteArrayOutputStream(256);
+		this.RECORD_OUT = new DataOutputStream(this.RECORD);
+		this.ROOM = new ByteArrayOutputStream(256);
+		this.ROOM_WRITER = new SaveWriter(this.ROOM, false);
+		this.CRC = new CRC32();
+
+		this.LOCK = new Object();
+		this.PENDING = new ArrayDeque<>();
+		this.MERGED = new TreeMap<>();
+	}
+
+	// ====== RÉGLAGES ======
+
+	public void setSnapshotInterval(int turns)
+	{
+		if(turns < 1)
+			throw new IllegalArgumentException("snapshot interval must be at least one turn");
+
+		this.snapshotInterval = turns;
+	}
+
+	public void setSnapshotOnRoomChange(boolean b)
+	{
+		this.snapshotOnRoomChange = b;
+	}
+
+	// Nombre d'écritures rendues durables (chacune regroupant un ou plusieurs tours)
+	public int getNbCommits()
+	{
+		synchronized(this.LOCK) {
+			return this.nbCommits;
+		}
+	}
+
+	// Nombre d'instantanés pris depuis start() (sans compter le premier), partiels compris
+	public int getNbSnapshots()
+	{
+		return this.nbSnapshots;
+	}
+
+	// Nombre de fois où les instantanés partiels ont été recopiés dans l'instantané complet
+	public int getNbCompactions()
+	{
+		synchronized(this.LOCK) {
+			return this.nbCompactions;
+		}
+	}
+
+	// ====== REPRISE ======
+
+	// Vrai si une partie interrompue peut être reprise
+	public boolean canRecover()
+	{
+		return Files.isRegularFile(this.DIR.resolve(SNAPSHOT));
+	}
+
+	// Applique le dernier instantané sur un vaisseau neuf et rend les tours joués depuis (lignes saisies)
+	public List<List<String>> recover(Ship ship) throws IOException
+	{
+		try(DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(this.DIR.resolve(SNAPSHOT))))) {
+			this.seq = in.readLong();
+			this.readSnapshot(in, ship);
+		}
+
+		catch(EOFException e) {
+			throw new SaveFormatException("truncated snapshot");
+		}
+
+		ArrayList<List<String>> turns = new ArrayList<>();
+		Path logFile = this.DIR.resolve(LOG);
+
+		if(!Files.isRegularFile(logFile))
+			return turns;
+
+		try(DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(logFile)))) {
+			byte[] magic = new byte[MAGIC.length];
+			in.readFully(magic);
+
+			if(!Arrays.equals(magic, MAGIC) || in.readInt() != VERSION)
+				return turns;
+
+			List<String> turn;
+
+			while((turn = this.readTurn(in, ship)) != null)
+			{
+				if(turn == REPLACED)
+					turns.clear();
+				else
+					turns.add(turn);
+			}
+		}
+
+		catch(EOFException e) {
+			//Fin du journal, éventuellement au milieu d'un tour: il n'a pas été validé
+		}
+
+		return turns;
+	}
+
+	private void readSnapshot(DataInputStream in, Ship ship) throws IOException
+	{
+		byte[] magic = new byte[MAGIC.length];
+		in.readFully(magic);
+
+		if(!Arrays.equals(magic, MAGIC) || in.readInt() != VERSION)
+			throw new SaveFormatException("unsupported snapshot version");
+
+		int nbRooms = in.readInt();
+
+		if(nbRooms != ship.getRoomIDs().length || in.readInt() != ship.getNbWorldItems())
+			throw new SaveFormatException("the snapshot was made in another world");
+
+		Item[] items = SaveReader.worldItems(ship, ship.getRoomIDs());
+
+		for(int i = 0; i < nbRooms; i++)
+		{
+			byte[] room = new byte[in.readInt()];
+			in.readFully(room);
+			new SaveReader(room).readRoom(ship, items);
+		}
+	}
+
+	// Tour suivant du journal (null s'il est corrompu, REPLACED pour un instantané partiel, appliqué sur le
+	// vaisseau); les tours et instantanés déjà dans l'instantané sont sautés
+	private List<String> readTurn(DataInputStream in, Ship ship) throws IOException
+	{
+		while(true)
+		{
+			int length = in.readInt();
+			int crc = in.readInt();
+
+			if(length < Long.BYTES + Integer.BYTES || length > MAX_RECORD)
+				return null;
+
+			byte[] payload = new byte[length];
+			in.readFully(payload);
+
+			this.CRC.reset();
+			this.CRC.update(payload);
+
+			if((int) this.CRC.getValue() != crc)
+				return null;
+
+			ByteBuffer record = ByteBuffer.wrap(payload);
+			long turnSeq = record.getLong();
+			int nbLines = record.getInt();
+
+			//Un instantané partiel suit le dernier tour qu'il contient:
+			if(nbLines == ROOMS)
+			{
+				if(turnSeq < this.seq)
+					continue;
+
+				if(turnSeq != this.seq)
+					return null;
+
+				this.applyRooms(record, ship);
+				return REPLACED;
+			}
+
+			if(turnSeq <= this.seq)
+				continue;
+
+			if(turnSeq != this.seq + 1)
+				return null;
+			ArrayList<String> lines = new ArrayList<>(nbLines);
+
+			for(int i = 0; i < nbLines; i++)
+			{
+				byte[] line = new byte[record.getInt()];
+				record.get(line);
+				lines.add(new String(line, StandardCharsets.UTF_8));
+			}
+
+			this.seq = turnSeq;
+			return lines;
+		}
+	}
+
+	private void applyRooms(ByteBuffer record, Ship ship) throws IOException
+	{
+		byte[][] rooms = new byte[record.getInt()][];
+		int[] ids = new int[rooms.length];
+
+		for(int i = 0; i < rooms.length; i++)
+		{
+			rooms[i] = new byte[record.getInt()];
+			record.get(rooms[i]);
+			ids[i] = ByteBuffer.wrap(rooms[i]).getInt();
+		}
+
+		//Comme pour l'historique, un objet cité par l'une de ces pièces est forcément rangé dans l'une d'elles
+		Item[] items = SaveReader.worldItems(ship, ids);
+
+		for(byte[] room : rooms)
+			new SaveReader(room).readRoom(ship, items);
+	}
+
+	// ====== JOURNALISATION ======
+
+	// Commence à journaliser la partie: un premier instantané est écrit avant de rendre la main
+	public void start(Ship ship) throws IOException
+	{
+		if(this.committer != null)
+			throw new IllegalStateException("the journal is already started");
+
+		this.log = FileChannel.open(this.DIR.resolve(LOG), StandardOpenOption.CREATE,
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+		this.writeSnapshot(this.encodeSnapshot(ship));
+
+		this.committer = new Thread(this::commitLoop, "sis-journal");
+		this.committer.setDaemon(true);
+		this.committer.start();
+	}
+
+	// Ajoute un tour au journal (lignes saisies dans l'ordre), puis prend un instantané complet s'il est temps
+	public void record(List<String> lines, Ship ship) throws IOException
+	{
+		this.record(lines, ship, null);
+	}
+
+	// Idem en ne notant que les pièces changées par le tour (cf. History.takeChanged()): l'instantané sera partiel
+	public void record(List<String> lines, Ship ship, int[] changed) throws IOException
+	{
+		this.RECORD.reset();
+		this.RECORD_OUT.writeInt(0);
+		this.RECORD_OUT.writeInt(0);
+		this.RECORD_OUT.writeLong(++this.seq);
+		this.RECORD_OUT.writeInt(lines.size());
+
+		for(String line : lines)
+		{
+			byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+			this.RECORD_OUT.writeInt(bytes.length);
+			this.RECORD_OUT.write(bytes);
+		}
+
+		this.enqueue(new Pending(this.seal(), TURN));
+		this.turnsSinceSnapshot++;
+
+		if(changed == null)
+			this.changesLost = true;
+		else
+		{
+			for(int id : changed)
+				this.CHANGED.add(id);
+		}
+
+		if(ship != this.snapshotShip || this.turnsSinceSnapshot >= this.snapshotInterval
+				|| (this.snapshotOnRoomChange && ship.getPlayer().getRoom().getID() != this.snapshotRoom))
+			this.snapshot(ship);
+	}
+
+	// Prend un instantané de la partie (partiel si possible): les tours précédents ne seront plus rejoués
+	public void snapshot(Ship ship) throws IOException
+	{
+		byte[] rooms = ship == this.snapshotShip && !this.changesLost ? this.encodeRooms(ship) : null;
+
+		if(rooms != null)
+			this.enqueue(new Pending(rooms, PARTIAL));
+		else
+			this.enqueue(new Pending(this.encodeSnapshot(ship), FULL));
+
+		this.nbSnapshots++;
+	}
+
+	// Attend que tout ce qui a été journalisé soit écrit sur le disque
+	public void sync() throws IOException
+	{
+		synchronized(this.LOCK) {
+			long target = this.nbQueued;
+			this.urgent = true;
+			this.LOCK.notifyAll();
+
+			try {
+				while(this.nbCommitted < target && this.failure == null)
+					this.LOCK.wait();
+			}
+
+			catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("interrupted while syncing the journal");
+			}
+
+			if(this.failure != null)
+				throw this.failure;
+		}
+	}
+
+	// Écrit ce qui reste et arrête le journal (la partie pourra être reprise)
+	@Override
+	public void close() throws IOException
+	{
+		if(this.committer != null)
+		{
+			synchronized(this.LOCK) {
+				this.closing = true;
+				this.LOCK.notifyAll();
+			}
+
+			try {
+				this.committer.join();
+			}
+
+			catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+
+			this.committer = null;
+		}
+
+		if(this.log != null)
+		{
+			this.log.close();
+			this.log = null;
+		}
+
+		synchronized(this.LOCK) {
+			if(this.failure != null)
+				throw this.failure;
+		}
+	}
+
+	// Partie terminée normalement: il n'y a plus rien à reprendre (le dossier est supprimé s'il est vide)
+	public void discard() throws IOException
+	{
+		try {
+			this.close();
+		}
+
+		finally {
+			Files.deleteIfExists(this.DIR.resolve(LOG));
+			Files.deleteIfExists(this.DIR.resolve(SNAPSHOT_TMP));
+			Files.deleteIfExists(this.DIR.resolve(SNAPSHOT));
+
+			try {
+				Files.deleteIfExists(this.DIR);
+			}
+
+			catch(DirectoryNotEmptyException e) {
+				//D'autres fichiers y ont été rangés: ils ne sont pas au journal
+			}
+		}
+	}
+
+	// Complète la longueur et le CRC32 du tour ou de l'instantané partiel écrit dans RECORD
+	private byte[] seal()
+	{
+		ByteBuffer record = ByteBuffer.wrap(this.RECORD.toByteArray());
+		int length = record.capacity() - 2 * Integer.BYTES;
+
+		this.CRC.reset();
+		this.CRC.update(record.array(), 2 * Integer.BYTES, length);
+		record.putInt(0, length).putInt(Integer.BYTES, (int) this.CRC.getValue());
+
+		return record.array();
+	}
+
+	private byte[] encodeSnapshot(Ship ship) throws IOException
+	{
+		int[] ids = ship.getRoomIDs();
+		Arrays.sort(ids);
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeLong(this.seq);
+		out.write(MAGIC);
+		out.writeInt(VERSION);
+		out.writeInt(ids.length);
+		out.writeInt(ship.getNbWorldItems());
+
+		for(int id : ids)
+			this.writeRoom(out, ship.getRoom(id));
+
+		this.snapshotTaken(ship);
+		return bytes.toByteArray();
+	}
+
+	// Instantané partiel des pièces changées depuis le précédent (null s'il ne tient pas dans un enregistrement)
+	private byte[] encodeRooms(Ship ship) throws IOException
+	{
+		this.RECORD.reset();
+		this.RECORD_OUT.writeInt(0);
+		this.RECORD_OUT.writeInt(0);
+		this.RECORD_OUT.writeLong(this.seq);
+		this.RECORD_OUT.writeInt(ROOMS);
+		this.RECORD_OUT.writeInt(this.CHANGED.size());
+
+		for(int id : this.CHANGED)
+		{
+			this.writeRoom(this.RECORD_OUT, ship.getRoom(id));
+
+			if(this.RECORD.size() > MAX_RECORD)
+				return null;
+		}
+
+		this.snapshotTaken(ship);
+		return this.seal();
+	}
+
+	private void writeRoom(DataOutputStream out, Room r) throws IOException
+	{
+		this.ROOM.reset();
+		this.ROOM_WRITER.writeRoom(r);
+
+		out.writeInt(this.ROOM.size());
+		this.ROOM.writeTo(out);
+	}
+
+	private void snapshotTaken(Ship ship)
+	{
+		this.snapshotShip = ship;
+		this.snapshotRoom = ship.getPlayer().getRoom().getID();
+		this.turnsSinceSnapshot = 0;
+		this.CHANGED.clear();
+		this.changesLost = false;
+	}
+
+	private void enqueue(Pending p) throws IOException
+	{
+		synchronized(this.LOCK) {
+			if(this.failure != null)
+				throw this.failure;
+
+			if(this.committer == null || this.closing)
+				throw new IllegalStateException("the journal is not started");
+
+			//Un instantané complet rend inutiles les tours et instantanés qui attendent encore d'être écrits:
+			if(p.KIND == FULL)
+			{
+				this.nbCommitted += this.PENDING.size();
+				this.PENDING.clear();
+			}
+
+			this.PENDING.add(p);
+			this.nbQueued++;
+
+			//Le thread d'écriture n'attend que si la file était vide:
+			if(this.PENDING.size() == 1)
+				this.LOCK.notifyAll();
+		}
+	}
+
+	// ====== THREAD D'ÉCRITURE ======
+
+	private void commitLoop()
+	{
+		ArrayList<Pending> batch = new ArrayList<>();
+
+		while(true)
+		{
+			synchronized(this.LOCK) {
+				try {
+					while(this.PENDING.isEmpty() && !this.closing)
+						this.LOCK.wait();
+
+					if(this.PENDING.isEmpty())
+						return;
+
+					//Les tours suivants rejoignent cette écriture:
+					if(!this.urgent && !this.closing)
+						this.LOCK.wait(COMMIT_DELAY_MS);
+				}
+
+				catch(InterruptedException e) {
+					this.closing = true;
+				}
+
+				batch.addAll(this.PENDING);
+				this.PENDING.clear();
+				this.urgent = false;
+			}
+
+			IOException error = null;
+
+			try {
+				this.commit(batch);
+			}
+
+			catch(IOException e) {
+				error = e;
+			}
+
+			synchronized(this.LOCK) {
+				if(error != null && this.failure == null)
+					this.failure = error;
+
+				this.nbCommitted += batch.size();
+				this.nbCommits++;
+				this.LOCK.notifyAll();
+			}
+
+			batch.clear();
+		}
+	}
+
+	// Écrit un lot de tours et d'instantanés dans l'ordre
+	private void commit(List<Pending> batch) throws IOException
+	{
+		ArrayList<ByteBuffer> records = new ArrayList<>();
+
+		for(Pending p : batch)
+		{
+			if(p.KIND == FULL)
+			{
+				this.append(records);
+				this.log.force(false);
+				this.writeSnapshot(p.BYTES);
+				continue;
+			}
+
+			records.add(ByteBuffer.wrap(p.BYTES));
+
+			if(p.KIND == PARTIAL)
+			{
+				long seq = this.merge(p.BYTES);
+				long size = this.logEnd;
+
+				for(ByteBuffer r : records)
+					size += r.remaining();
+
+				//Les tours de ce lot sont dans l'instantané partiel, recopié dans l'instantané complet:
+				if(size > this.snapshotSize)
+				{
+					records.clear();
+					this.compact(seq);
+				}
+			}
+		}
+
+		this.append(records);
+		this.log.force(false);
+	}
+
+	// Garde les pièces d'un instantané partiel pour la prochaine recopie; rend le numéro de son dernier tour
+	private long merge(byte[] partial)
+	{
+		ByteBuffer record = ByteBuffer.wrap(partial, 2 * Integer.BYTES, partial.length - 2 * Integer.BYTES);
+		long seq = record.getLong();
+		record.getInt();
+
+		for(int i = record.getInt(); i > 0; i--)
+		{
+			byte[] room = new byte[record.getInt()];
+			record.get(room);
+			this.MERGED.put(ByteBuffer.wrap(room).getInt(), room);
+		}
+
+		return seq;
+	}
+
+	// Recopie l'instantané complet en y remplaçant les pièces des instantanés partiels, puis vide le journal
+	private void compact(long seq) throws IOException
+	{
+		Path tmp = this.DIR.resolve(SNAPSHOT_TMP);
+
+		try(DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(this.DIR.resolve(SNAPSHOT))));
+				FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+						StandardOpenOption.TRUNCATE_EXISTING)) {
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+
+			in.readLong();
+			out.writeLong(seq);
+
+			byte[] header = new byte[MAGIC.length + 3 * Integer.BYTES];
+			in.readFully(header);
+			out.write(header);
+
+			for(int i = ByteBuffer.wrap(header).getInt(MAGIC.length + Integer.BYTES); i > 0; i--)
+			{
+				byte[] room = new byte[in.readInt()];
+				in.readFully(room);
+				room = this.MERGED.getOrDefault(ByteBuffer.wrap(room).getInt(), room);
+
+				out.writeInt(room.length);
+				out.write(room);
+			}
+
+			out.flush();
+			channel.force(false);
+		}
+
+		this.installSnapshot(tmp);
+
+		synchronized(this.LOCK) {
+			this.nbCompactions++;
+		}
+	}
+
+	private void append(List<ByteBuffer> records) throws IOException
+	{
+		for(ByteBuffer r : records)
+		{
+			while(r.hasRemaining())
+				this.logEnd += this.log.write(r, this.logEnd);
+		}
+
+		records.clear();
+	}
+
+	// Remplace l'instantané complet puis vide le journal (ses tours sont dans l'instantané)
+	private void writeSnapshot(byte[] bytes) throws IOException
+	{
+		Path tmp = this.DIR.resolve(SNAPSHOT_TMP);
+
+		try(FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer b = ByteBuffer.wrap(bytes);
+
+			while(b.hasRemaining())
+				out.write(b);
+
+			out.force(false);
+		}
+
+		this.installSnapshot(tmp);
+	}
+
+	// Met en place l'instantané écrit dans tmp: le journal repart de zéro
+	private void installSnapshot(Path tmp) throws IOException
+	{
+		Files.move(tmp, this.DIR.resolve(SNAPSHOT), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		this.snapshotSize = Files.size(this.DIR.resolve(SNAPSHOT));
+		this.MERGED.clear();
+
+		ByteBuffer header = ByteBuffer.allocate(HEADER).put(MAGIC).putInt(VERSION).flip();
+		this.log.truncate(0);
+		this.logEnd = 0;
+
+		while(header.hasRemaining())
+			this.logEnd += this.log.write(header, this.logEnd);
+
+		this.log.force(false);
+	}
+
+	private static final class Pending {
+
+		private final byte[] BYTES;
+		private final int KIND;
+
+		private Pending(byte[] bytes, int kind)
+		{
+			this.BYTES = bytes;
+			this.KIND = kind;
+		}
+	}
+}
@@ -0,0 +1,260 @@
+package silent_in_space.model.Save;
+
+import silent_in_space.model.Game.SIS;
+import silent_in_space.model.Location.Ship;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class JournalIT
+{
+    private Path dir;
+    private Ship ship;
+
+    private static byte[] state(Ship ship) throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try(SaveWriter w = new SaveWriter(out)) {
+            w.write(ship);
+        }
+
+        return out.toByteArray();
+    }
+
+    @Before
+    public void setUp() throws IOException
+    {
+        dir = Files.createTempDirectory("sis-journal");
+        ship = new Ship();
+    }
+
+    @After
+    public void tearDown() throws IOException
+    {
+        try(Stream<Path> files = Files.walk(dir)) {
+            for(Path p : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator)
+                Files.delete(p);
+        }
+    }
+
+    // Une partie "plantée" (journal fermé sans être supprimé) est reprise telle quelle, sous-saisies comprises
+    @Test
+    public void testRecoverInterruptedGame() throws IOException
+    {
+        SIS game = new SIS(message -> {});
+        game.startJournal(dir);
+
+        game.playTurn("take statue");
+        game.playTurn("use passT doorT");
+        game.playTurn("go doorT");
+        game.playTurn("drop statue");
+        game.playTurn("go door23");
+
+        Iterator<String> answers = List.of("print", "recipe", "quit").iterator();
+        game.setInput(answers::next);
+        game.playTurn("use computer");
+        game.playTurn("drop recipe");
+        game.playTurn("look");
+
+        game.getJournal().sync();
+        game.getJournal().close();
+
+        assertEquals(23, game.getShip().getPlayer().getRoom().getID());
+        assertNotNull(game.getShip().getRoom(23).getInventory().getItem("recipe"));
+
+        SIS recovered = new SIS(message -> {});
+        recovered.startJournal(dir);
+
+        try {
+            assertEquals(23, recovered.getShip().getPlayer().getRoom().getID());
+            assertNotNull(recovered.getShip().getRoom(22).getInventory().getItem("statue"));
+            assertNotNull(recovered.getShip().getRoom(23).getInventory().getItem("recipe"));
+            assertArrayEquals(state(game.getShip()), state(recovered.getShip()));
+        } finally {
+            recovered.getJournal().discard();
+        }
+
+        assertFalse(Files.exists(dir));
+        assertFalse(new Journal(dir).canRecover());
+    }
+
+    // Un chargement n'est pas rejoué à la reprise: rejoué sur la partie chargée, il relirait l'emplacement que la suite a réécrit
+    @Test
+    public void testRecoverAfterSaveAndLoad() throws IOException
+    {
+        Path saves = dir.resolve("saves");
+        SIS game = new SIS(message -> {}, saves);
+        game.startJournal(dir.resolve("journal"));
+        game.getJournal().setSnapshotOnRoomChange(false);
+
+        game.playTurn("save 3");
+        game.playTurn("use passT doorT");
+        game.playTurn("go doorT");
+        game.playTurn("load 3");
+        game.playTurn("use passT doorT");
+        game.playTurn("go doorT");
+        game.playTurn("save 3");
+
+        game.getJournal().sync();
+        game.getJournal().close();
+
+        assertEquals(22, game.getShip().getPlayer().getRoom().getID());
+        byte[] saved = game.getSaveSlots().read(3).getState();
+        assertArrayEquals(SaveFile.capture(game.getShip()), saved);
+        game.closeSaves();
+
+        SIS recovered = new SIS(message -> {}, saves);
+        recovered.startJournal(dir.resolve("journal"));
+
+        try {
+            assertEquals(22, recovered.getShip().getPlayer().getRoom().getID());
+            assertArrayEquals(state(game.getShip()), state(recovered.getShip()));
+            assertArrayEquals(saved, recovered.getSaveSlots().read(3).getState());
+        } finally {
+            recovered.closeSaves();
+            recovered.getJournal().discard();
+        }
+    }
+
+    @Test
+    public void testSnapshotEveryNTurns() throws IOException
+    {
+        Journal journal = new Journal(dir);
+        journal.setSnapshotInterval(3);
+        journal.setSnapshotOnRoomChange(false);
+        journal.start(ship);
+
+        for(int i = 0; i < 7; i++)
+            journal.record(List.of("look"), ship);
+
+        journal.sync();
+        assertEquals(2, journal.getNbSnapshots());
+        journal.close();
+
+        Journal reopened = new Journal(dir);
+        assertTrue(reopened.canRecover());
+        assertEquals(List.of(List.of("look")), reopened.recover(new Ship()));
+    }
+
+    @Test
+    public void testSnapshotOnRoomChange() throws IOException
+    {
+        Journal journal = new Journal(dir);
+        journal.start(ship);
+
+        journal.record(List.of("look"), ship);
+        ship.getPlayer().changeRoom(ship.getRoom(22));
+        journal.record(List.of("go doorT"), ship);
+        journal.record(List.of("look"), ship);
+        journal.close();
+
+        assertEquals(1, journal.getNbSnapshots());
+
+        Ship recovered = new Ship();
+        assertEquals(1, new Journal(dir).recover(recovered).size());
+        assertEquals(22, recovered.getPlayer().getRoom().getID());
+    }
+
+    // Un instantané pris au changement de pièce ne contient que les pièces changées: l'instantané complet n'est pas réécrit
+    @Test
+    public void testPartialSnapshot() throws IOException
+    {
+        Journal journal = new Journal(dir);
+        journal.start(ship);
+        byte[] full = Files.readAllBytes(dir.resolve("snapshot.sis"));
+
+        ship.getRoom(21).getInventory().removeItem("statue");
+        ship.getPlayer().changeRoom(ship.getRoom(22));
+        journal.record(List.of("go doorT"), ship, new int[] {21, 22});
+        journal.record(List.of("look"), ship, new int[0]);
+        journal.close();
+
+        assertEquals(1, journal.getNbSnapshots());
+        assertArrayEquals(full, Files.readAllBytes(dir.resolve("snapshot.sis")));
+
+        Ship recovered = new Ship();
+        assertEquals(List.of(List.of("look")), new Journal(dir).recover(recovered));
+        assertEquals(22, recovered.getPlayer().getRoom().getID());
+        assertNull(recovered.getRoom(21).getInventory().getItem("statue"));
+        assertArrayEquals(state(ship), state(recovered));
+    }
+
+    // Quand le journal dépasse l'instantané complet, le thread d'écriture y recopie les instantanés partiels
+    @Test
+    public void testCompaction() throws IOException
+    {
+        Journal journal = new Journal(dir);
+        journal.start(ship);
+        long size = Files.size(dir.resolve("snapshot.sis"));
+
+        ship.getRoom(30).getInventory().removeItem("passA");
+
+        for(int i = 0; i < 400; i++)
+        {
+            ship.getPlayer().changeRoom(ship.getRoom(i % 2 == 0 ? 22 : 21));
+            journal.record(List.of(i % 2 == 0 ? "go doorT" : "back"), ship, i == 0 ? new int[] {21, 22, 30} : new int[] {21, 22});
+        }
+
+        journal.record(List.of("look"), ship, new int[0]);
+        journal.sync();
+        assertTrue(journal.getNbCompactions() > 0);
+        journal.close();
+
+        assertTrue(Files.size(dir.resolve("journal.log")) <= size);
+
+        Ship recovered = new Ship();
+        assertEquals(List.of(List.of("look")), new Journal(dir).recover(recovered));
+        assertEquals(21, recovered.getPlayer().getRoom().getID());
+        assertNull(recovered.getRoom(30).getInventory().getItem("passA"));
+        assertArrayEquals(state(ship), state(recovered));
+    }
+
+    // Les tours arrivés pendant une écriture sont écrits ensemble
+    @Test
+    public void testGroupCommit() throws IOException
+    {
+        Journal journal = new Journal(dir);
+        journal.setSnapshotInterval(Integer.MAX_VALUE);
+        journal.start(ship);
+
+        for(int i = 0; i < 2000; i++)
+            journal.record(List.of("take item" + i), ship);
+
+        journal.sync();
+        assertTrue("commits: " + journal.getNbCommits(), journal.getNbCommits() < 200);
+        journal.close();
+
+        List<List<String>> turns = new Journal(dir).recover(new Ship());
+        assertEquals(2000, turns.size());
+        assertEquals(List.of("take item1999"), turns.get(1999));
+    }
+
+    // Le tour en cours d'écriture au moment du plantage est ignoré
+    @Test
+    public void testTornTail() throws IOException
+    {
+        Journal journal = new Journal(dir);
+        journal.start(ship);
+        journal.record(List.of("look"), ship);
+        journal.record(List.of("use computer", "open", "recipe", "quit"), ship);
+        journal.close();
+
+        Files.write(dir.resolve("journal.log"), new byte[] {0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        List<List<String>> turns = new Journal(dir).recover(new Ship());
+        assertEquals(List.of(List.of("look"), List.of("use computer", "open", "recipe", "quit")), turns);
+    }
+}
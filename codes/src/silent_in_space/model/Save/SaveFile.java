@@ -0,0 +1,120 @@
+package silent_in_space.model.Save;
+
+import silent_in_space.model.Game.MessageChannel;
+import silent_in_space.model.Location.Ship;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+
+/* -----------------------------------------------------------------------------
+ * Fichier de sauvegarde:
+ *
+ * Rôle: Découpe une sauvegarde en étapes pouvant tourner hors du thread du
+ * jeu. capture() fige l'état de la partie (encodé par SaveWriter) sur le thread
+ * qui la modifie: c'est la seule étape qui touche au vaisseau. write() écrit
+ * cet état sur le disque et apply() applique une sauvegarde sur un vaisseau neuf
+ * que personne d'autre n'utilise: ces deux étapes peuvent donc être confiées à
+ * un autre thread pendant que la partie continue, le vaisseau chargé n'étant
+ * substitué à l'ancien qu'une fois prêt. load() construit ce vaisseau neuf et
+ * l'applique sur un canal privé: la construction du monde publie elle aussi des
+ * événements, qui ne doivent pas atteindre les abonnés de la partie en cours.
+ *
+ * Le fichier est écrit à côté puis renommé: un plantage pendant l'écriture
+ * laisse la sauvegarde précédente intacte. Les sauvegardes du jeu sont rangées
+ * dans des emplacements (cf. SaveSlots).
+ * ----------------------------------------------------------------------------- */
+
+public final class SaveFile {
+
+	//Taille des morceaux écrits entre deux annonces d'avancement:
+	private static final int CHUNK = 1 << 16;
+
+	private SaveFile() {
+	}
+
+	// État de la partie, à appeler sur le thread qui modifie le vaisseau
+	public static byte[] capture(Ship ship) throws IOException
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+
+		try(SaveWriter w = new SaveWriter(out)) {
+			w.write(ship);
+		}
+
+		return out.toByteArray();
+	}
+
+	// Écrit l'en-tête puis l'état dans file
+	public static void write(Path file, byte[] header, byte[] state, SaveProgress progress) throws IOException
+	{
+		Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+		long total = header.length + state.length;
+
+		try(FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer h = ByteBuffer.wrap(header);
+
+			while(h.hasRemaining())
+				out.write(h);
+
+			ByteBuffer b = ByteBuffer.wrap(state);
+
+			while(b.hasRemaining())
+			{
+				b.limit(Math.min(b.position() + CHUNK, state.length));
+				out.write(b);
+				b.limit(state.length);
+
+				if(progress != null)
+					progress.progress(header.length + b.position(), total);
+			}
+
+			out.force(false);
+		}
+
+		Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	// Applique l'état sur un vaisseau neuf (les messages éventuels ne sont pas affichés)
+	public static void apply(byte[] state, Ship ship, SaveProgress progress) throws IOException
+	{
+		MessageChannel channel = MessageChannel.current();
+		MessageChannel.bind(new MessageChannel());
+
+		try(SaveReader r = new SaveReader(new ByteArrayInputStream(state))) {
+			r.setProgress(progress);
+			r.read(ship);
+		}
+
+		finally {
+			rebind(channel);
+		}
+	}
+
+	// Vaisseau neuf portant l'état; ni sa construction ni l'application ne publient sur le canal de l'appelant
+	public static Ship load(byte[] state, SaveProgress progress) throws IOException
+	{
+		MessageChannel channel = MessageChannel.current();
+		MessageChannel.bind(new MessageChannel());
+
+		try {
+			Ship ship = new Ship();
+			apply(state, ship, progress);
+			return ship;
+		}
+
+		finally {
+			rebind(channel);
+		}
+	}
+
+	private static void rebind(MessageChannel channel)
+	{
+		if(channel == MessageChannel.getDefault())
+			MessageChannel.unbind();
+		else
+			MessageChannel.bind(channel);
+	}
+}
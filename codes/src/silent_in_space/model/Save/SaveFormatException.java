@@ -0,0 +1,11 @@
+package silent_in_space.model.Save;
+
+import java.io.IOException;
+
+// Sauvegarde illisible, d'une autre version ou d'un autre monde que le vaisseau qui la charge
+public class SaveFormatException extends IOException {
+
+	public SaveFormatException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,258 @@
+package silent_in_space.model.Save;
+
+import silent_in_space.model.Characters.Actor;
+import silent_in_space.model.Characters.NPC;
+import silent_in_space.model.Characters.Player;
+import silent_in_space.model.Containers.Inventory;
+import silent_in_space.model.Game.GameEventListener;
+import silent_in_space.model.Game.MessageChannel;
+import silent_in_space.model.Items.Computer;
+import silent_in_space.model.Items.File;
+import silent_in_space.model.Items.Item;
+import silent_in_space.model.Location.Ship;
+import silent_in_space.model.World.ShipGenerator;
+import silent_in_space.model.World.WorldSource;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class SaveIT
+{
+    private Ship ship;
+    private Player player;
+
+    private static byte[] save(Ship ship) throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try(SaveWriter w = new SaveWriter(out)) {
+            w.write(ship);
+        }
+
+        return out.toByteArray();
+    }
+
+    private static void load(byte[] save, Ship ship) throws IOException
+    {
+        try(SaveReader r = new SaveReader(new ByteArrayInputStream(save))) {
+            r.read(ship);
+        }
+    }
+
+    // Une partie entamée: porte déverrouillée et ouverte, objets déplacés, fichier imprimé, NPC blessé
+    @Before
+    public void setUp()
+    {
+        ship = new Ship();
+        player = ship.getPlayer();
+
+        NPC kilen = ship.getNPC("Kilen");
+        kilen.give("passT", player);
+        kilen.setSpeech("You should hurry!");
+
+        player.use(player.getInventory().getItem("passT"), ship.getRoom(21).getDoor("doorT"));
+        player.take(ship.getRoom(21).getInventory().getItem("statue"));
+        player.go(ship.getRoom(21).getDoor("doorT"));
+        player.drop(player.getInventory().getItem("statue"));
+        player.getInventory().getItem("passT").setScalar2D(null);
+
+        ((Computer) ship.getRoom(23).getInventory().getItem("computer")).printFile("recipe", player);
+        player.isAttacked(kilen);
+        player.attack(ship.getNPC("Ghainkix"));
+    }
+
+    @Test
+    public void testLoadOntoFreshShip() throws IOException
+    {
+        Ship loaded = new Ship();
+        load(save(ship), loaded);
+        Player p = loaded.getPlayer();
+
+        assertEquals(22, p.getRoom().getID());
+        assertEquals(21, p.getPreviousRoom().getID());
+        assertSame(p, loaded.findActor("Me"));
+        assertTrue(loaded.getRoom(22).hasActor("Me"));
+        assertFalse(loaded.getRoom(21).hasActor("Me"));
+        assertEquals(player.getHp(), p.getHp());
+
+        assertFalse(loaded.getRoom(21).getLockedDoor("doorT").isLocked());
+        assertTrue(loaded.getRoom(21).getDoor("doorT").isOpen());
+        assertTrue(loaded.getRoom(23).getLockedDoor("door22").isLocked());
+        assertEquals(1, loaded.getGraph().distance(loaded.getRoom(21), loaded.getRoom(22)));
+
+        assertNull(loaded.getRoom(21).getInventory().getItem("statue"));
+        assertNotNull(loaded.getRoom(22).getInventory().getItem("statue"));
+        assertNull(loaded.getNPC("Kilen").getInventory().getItem("passT"));
+        assertNull(p.getInventory().getItem("passT").getScalar2D());
+        assertEquals("You should hurry!", loaded.getNPC("Kilen").getSpeech());
+
+        File copy = (File) p.getInventory().getItem("recipe");
+        assertEquals(((File) player.getInventory().getItem("recipe")).getContent(), copy.getContent());
+        assertEquals(3, ((Computer) loaded.getRoom(23).getInventory().getItem("computer")).getFILES().getSize());
+
+        NPC ghainkix = loaded.getNPC("Ghainkix");
+        assertEquals(ship.getNPC("Ghainkix").getHp(), ghainkix.getHp());
+        assertEquals(ship.getNPC("Ghainkix").isHostile(), ghainkix.isHostile());
+        assertEquals(ship.getNPC("Ghainkix").isAlly(), ghainkix.isAlly());
+
+        //Recharger une partie rechargée redonne la même sauvegarde:
+        assertArrayEquals(save(ship), save(loaded));
+    }
+
+    @Test
+    public void testActorMovedToAnotherRoom() throws IOException
+    {
+        NPC kilen = ship.getNPC("Kilen");
+        kilen.changeRoom(ship.getRoom(22));
+        kilen.changeRoom(ship.getRoom(27));
+
+        Ship loaded = new Ship();
+        load(save(ship), loaded);
+
+        assertEquals(27, loaded.getNPC("Kilen").getRoom().getID());
+        assertEquals(22, loaded.getNPC("Kilen").getPreviousRoom().getID());
+        assertFalse(loaded.getRoom(21).hasActor("Kilen"));
+        assertNotNull(loaded.getRoom(27).getEntity("Kilen"));
+    }
+
+    @Test
+    public void testSaveIsSmall() throws IOException
+    {
+        ByteArrayOutputStream objects = new ByteArrayOutputStream();
+
+        try(ObjectOutputStream out = new ObjectOutputStream(objects)) {
+            out.writeObject(ship);
+        }
+
+        assertTrue(save(ship).length * 5 < objects.size());
+    }
+
+    @Test
+    public void testPagedShip() throws IOException
+    {
+        ShipGenerator generator = new ShipGenerator(11, 500);
+        generator.setLockedRatio(0.2);
+        Ship full = new Ship(generator);
+        full.getPlayer().goTo(full.getRoom(250));
+        full.getRoom(3).getInventory().getItems()[0].setScalar2D(null);
+
+        Ship paged = new Ship(generator, 4);
+
+        try {
+            load(save(full), paged);
+
+            assertTrue(paged.getNbResidentRooms() <= 4 + 2);
+            assertEquals(250, paged.getPlayer().getRoom().getID());
+            assertArrayEquals(save(full), save(paged));
+        } finally {
+            paged.close();
+        }
+    }
+
+    @Test
+    public void testOtherWorldRefused() throws IOException
+    {
+        byte[] save = save(ship);
+
+        try {
+            load(save, new Ship(new ShipGenerator(1, 14)));
+            fail();
+        } catch(SaveFormatException e) {
+            assertTrue(e.getMessage().contains("another world"));
+        }
+
+        save[3] = 'X';
+        try {
+            load(save, new Ship(WorldSource.fromResource(WorldSource.DEFAULT_WORLD)));
+            fail();
+        } catch(SaveFormatException e) {
+            assertEquals("not a saved game", e.getMessage());
+        }
+
+        try {
+            load(new byte[] {'S', 'I', 'S', 'S', 0}, new Ship());
+            fail();
+        } catch(SaveFormatException e) {
+            assertEquals("truncated save", e.getMessage());
+        }
+    }
+
+    // L'état figé ne suit plus la partie; l'emplacement écrit par un autre thread se recharge sur un vaisseau neuf
+    @Test
+    public void testSaveOffThread() throws Exception
+    {
+        Path dir = Files.createTempDirectory("sis-save");
+
+        try(SaveSlots slots = new SaveSlots(dir)) {
+            SaveSlot state = SaveSlot.capture(1, ship, 0);
+            player.go(ship.getRoom(22).getDoor("doorT"));
+
+            AtomicLong written = new AtomicLong(-1);
+            Thread t = new Thread(() -> {
+                try {
+                    slots.write(state, (done, total) -> written.set(total - done));
+                } catch(IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            t.start();
+            t.join();
+
+            assertEquals(0, written.get());
+
+            Ship loaded = new Ship();
+            AtomicLong rooms = new AtomicLong();
+            SaveFile.apply(slots.read(1).getState(), loaded, (done, total) -> rooms.set(done));
+
+            assertEquals(loaded.getRoomIDs().length, rooms.get());
+            assertEquals(22, loaded.getPlayer().getRoom().getID());
+            assertEquals(21, player.getRoom().getID());
+        }
+
+        finally {
+            SaveSlotsIT.delete(dir);
+        }
+    }
+
+    // Le vaisseau chargé est construit et rempli sans rien publier sur le canal de l'appelant (les abonnés de la partie en cours)
+    @Test
+    public void testLoadOnPrivateChannel() throws IOException
+    {
+        byte[] save = save(ship);
+        MessageChannel channel = new MessageChannel();
+        AtomicInteger events = new AtomicInteger();
+        channel.getEvents().subscribe(new GameEventListener() {
+            @Override
+            public void itemMoved(Item item, Inventory from, Inventory to) {
+                events.incrementAndGet();
+            }
+
+            @Override
+            public void actorPlaced(Actor actor) {
+                events.incrementAndGet();
+            }
+        });
+        MessageChannel.bind(channel);
+
+        try {
+            new Ship();
+            assertTrue(events.get() > 0);
+            events.set(0);
+
+            Ship loaded = SaveFile.load(save, null);
+
+            assertEquals(0, events.get());
+            assertSame(channel, MessageChannel.current());
+            assertEquals(22, loaded.getPlayer().getRoom().getID());
+        } finally {
+            MessageChannel.unbind();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package silent_in_space.model.Save;
+
+// Avancement d'une écriture ou d'un chargement de sauvegarde, appelé par le thread qui fait le travail
+@FunctionalInterface
+public interface SaveProgress {
+	void progress(long done, long total);
+}
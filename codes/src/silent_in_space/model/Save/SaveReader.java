@@ -0,0 +1,313 @@
+package silent_in_space.model.Save;
+
+import silent_in_space.model.Characters.Actor;
+import silent_in_space.model.Characters.NPC;
+import silent_in_space.model.Containers.Inventory;
+import silent_in_space.model.Doors.Door;
+import silent_in_space.model.Doors.LockedDoor;
+import silent_in_space.model.Items.Computer;
+import silent_in_space.model.Items.File;
+import silent_in_space.model.Items.Item;
+import silent_in_space.model.Location.Room;
+import silent_in_space.model.Location.Ship;
+import silent_in_space.model.Utils.Scalar2D;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static silent_in_space.model.Save.SaveWriter.*;
+
+/* -----------------------------------------------------------------------------
+ * Lecteur des sauvegardes:
+ *
+ * Rôle: Relit une sauvegarde écrite par SaveWriter et applique l'état qu'elle
+ * contient sur un vaisseau tout juste construit à partir du même monde: portes
+ * (dé)verrouillées et ouvertes, objets rangés dans leurs inventaires à leur
+ * position, acteurs replacés dans leur pièce avec leurs points de vie et leurs
+ * drapeaux. Une sauvegarde d'une autre version ou d'un autre monde (nombre de
+ * pièces ou d'objets différent, pièce, porte, acteur ou objet inconnu) est
+ * refusée par une SaveFormatException.
+ *
+ * Les objets du monde sont d'abord tous retrouvés par leur numéro: un objet
+ * peut avoir changé d'inventaire depuis le début de la partie. Comme pour la
+ * construction d'un vaisseau paginé, chaque pièce est redemandée au vaisseau
+ * juste avant d'être modifiée.
+ * ----------------------------------------------------------------------------- */
+
+public class SaveReader implements Closeable {
+
+	//Pièces traitées entre deux annonces d'avancement:
+	private static final int PROGRESS_STEP = 1024;
+
+	private final DataInputStream IN;
+	private byte[] buffer;
+	private SaveProgress progress;
+
+	public SaveReader(InputStream in)
+	{
+		this.IN = new DataInputStream(new BufferedInputStream(in, 1 << 16));
+		this.buffer = new byte[256];
+	}
+
+	// Lecteur d'une pièce isolée, écrite par SaveWriter.writeRoom() (cf. History)
+	SaveReader(byte[] room)
+	{
+		this.IN = new DataInputStream(new ByteArrayInputStream(room));
+		this.buffer = new byte[256];
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		this.IN.close();
+	}
+
+	// Avancement du chargement, en pièces appliquées
+	public void setProgress(SaveProgress progress)
+	{
+		this.progress = progress;
+	}
+
+	public void read(Ship ship) throws IOException
+	{
+		byte[] magic = new byte[MAGIC.length];
+
+		try {
+			this.IN.readFully(magic);
+
+			if(!Arrays.equals(magic, MAGIC))
+				throw new SaveFormatException("not a saved game");
+
+			int version = this.IN.readInt();
+			if(version != VERSION)
+				throw new SaveFormatException("unsupported save version " + version);
+
+			int nbRooms = this.IN.readInt();
+			int nbItems = this.IN.readInt();
+
+			if(nbRooms != ship.getRoomIDs().length || nbItems != ship.getNbWorldItems())
+				throw new SaveFormatException("the save was made in another world");
+
+			Item[] items = worldItems(ship);
+
+			for(int i = 0; i < nbRooms; i++)
+			{
+				this.room(ship, items);
+
+				if(this.progress != null && (i + 1 == nbRooms || (i + 1) % PROGRESS_STEP == 0))
+					this.progress.progress(i + 1, nbRooms);
+			}
+		}
+
+		catch(EOFException e) {
+			throw new SaveFormatException("truncated save");
+		}
+	}
+
+	// Applique une pièce isolée; items doit contenir les objets qu'elle peut citer (cf. worldItems())
+	void readRoom(Ship ship, Item[] items) throws IOException
+	{
+		try {
+			this.room(ship, items);
+		}
+
+		catch(EOFException e) {
+			throw new SaveFormatException("truncated room");
+		}
+	}
+
+	// ====== PIÈCES ET PORTES ======
+
+	private void room(Ship ship, Item[] items) throws IOException
+	{
+		int id = this.IN.readInt();
+		Room r = ship.getRoom(id);
+
+		if(r == null)
+			throw new SaveFormatException("unknown room " + id);
+
+		List<Door> doors = r.getDoors();
+		int nbDoors = this.IN.readInt();
+
+		if(nbDoors != doors.size())
+			throw new SaveFormatException("room " + id + " has " + doors.size() + " doors, not " + nbDoors);
+
+		for(Door d : doors)
+		{
+			int flags = this.IN.readUnsignedByte();
+
+			//Déverrouillée d'abord: une porte verrouillée refuse de s'ouvrir
+			if(d instanceof LockedDoor)
+				((LockedDoor) d).setLocked((flags & LOCKED) != 0);
+
+			if((flags & OPEN) != 0)
+				d.open();
+			else
+				d.close();
+		}
+
+		fill(r.getInventory(), this.items(items));
+
+		int nbActors = this.IN.readInt();
+
+		for(int i = 0; i < nbActors; i++)
+			this.actor(ship, id, items);
+	}
+
+	// ====== ACTEURS ======
+
+	private void actor(Ship ship, int roomID, Item[] items) throws IOException
+	{
+		String name = this.text();
+		int previousID = this.IN.readInt();
+		int hp = this.IN.readInt();
+		Scalar2D pos = this.position();
+		int flags = this.IN.readUnsignedByte();
+		String speech = (flags & IS_NPC) != 0 ? this.text() : null;
+		List<Item> inventory = this.items(items);
+
+		Actor a = ship.findActor(name);
+
+		if(a == null)
+			throw new SaveFormatException("unknown actor '" + name + "'");
+
+		//La pièce précédente n'est pas chargée pour autant (cf. Actor.getPreviousRoom()):
+		if(!ship.hasRoom(previousID))
+			throw new SaveFormatException("unknown room " + previousID);
+
+		//L'acteur est retiré de sa pièce actuelle, mis à jour, puis rangé dans sa pièce sauvegardée:
+		ship.getRoom(a.getRoom().getID()).removeActor(name);
+		Room room = ship.getRoom(roomID);
+
+		a.restore(room, previousID, hp);
+		a.setPos(pos);
+		fill(a.getInventory(), inventory);
+
+		if(a instanceof NPC)
+		{
+			NPC npc = (NPC) a;
+			npc.setHostile((flags & HOSTILE) != 0);
+			npc.setAlly((flags & ALLY) != 0);
+			npc.setSpeech(speech);
+		}
+
+		room.addActor(a);
+	}
+
+	// ====== OBJETS ======
+
+	// Objets du vaisseau neuf, par numéro
+	private static Item[] worldItems(Ship ship) throws SaveFormatException
+	{
+		return worldItems(ship, ship.getRoomIDs());
+	}
+
+	// Objets rangés dans ces pièces (par terre, sur leurs acteurs ou dans leurs ordinateurs), par numéro
+	static Item[] worldItems(Ship ship, int[] ids) throws SaveFormatException
+	{
+		Item[] items = new Item[ship.getNbWorldItems()];
+
+		for(int id : ids)
+		{
+			Room r = ship.getRoom(id);
+			index(r.getInventory(), items);
+
+			for(Actor a : r.getActors().values())
+				index(a.getInventory(), items);
+		}
+
+		return items;
+	}
+
+	private static void index(Inventory inventory, Item[] items) throws SaveFormatException
+	{
+		for(Item item : inventory.getItems())
+		{
+			if(item.getID() != Item.NO_ID)
+			{
+				if(item.getID() >= items.length)
+					throw new SaveFormatException("the world has more than " + items.length + " items");
+
+				items[item.getID()] = item;
+			}
+
+			if(item instanceof Computer)
+				index(((Computer) item).getFILES(), items);
+		}
+	}
+
+	private List<Item> items(Item[] items) throws IOException
+	{
+		int nbItems = this.IN.readInt();
+		ArrayList<Item> list = new ArrayList<>(nbItems);
+
+		for(int i = 0; i < nbItems; i++)
+			list.add(this.item(items));
+
+		return list;
+	}
+
+	private Item item(Item[] items) throws IOException
+	{
+		int id = this.IN.readInt();
+		Item item;
+
+		if(id == Item.NO_ID)
+		{
+			String tag = this.text();
+			String description = this.text();
+			String content = this.text();
+			int flags = this.IN.readUnsignedByte();
+
+			item = new File(tag, description, null, (flags & TAKABLE) != 0, (flags & GIVABLE) != 0, content);
+		}
+
+		else if(id < 0 || id >= items.length || items[id] == null)
+			throw new SaveFormatException("unknown item " + id);
+
+		else
+			item = items[id];
+
+		item.setScalar2D(this.position());
+
+		if(item instanceof Computer)
+			fill(((Computer) item).getFILES(), this.items(items));
+
+		return item;
+	}
+
+	// Remplace le contenu d'un inventaire
+	private static void fill(Inventory inventory, List<Item> items)
+	{
+		for(Item item : inventory.getItems())
+			inventory.removeItem(item.getTag());
+
+		for(Item item : items)
+			inventory.addItem(item);
+	}
+
+	private Scalar2D position() throws IOException
+	{
+		int col = this.IN.readInt();
+		int line = this.IN.readInt();
+
+		return col != NO_POSITION ? new Scalar2D(col, line) : null;
+	}
+
+	private String text() throws IOException
+	{
+		int length = this.IN.readInt();
+
+		if(length < 0)
+			return null;
+
+		if(length > this.buffer.length)
+			this.buffer = new byte[Math.max(length, this.buffer.length * 2)];
+
+		this.IN.readFully(this.buffer, 0, length);
+		return new String(this.buffer, 0, length, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,139 @@
+package silent_in_space.model.Save;
+
+import silent_in_space.model.Characters.Player;
+import silent_in_space.model.Location.Ship;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+/* -----------------------------------------------------------------------------
+ * Emplacement de sauvegarde:
+ *
+ * Rôle: En-tête de taille fixe d'une sauvegarde rangée dans un emplacement
+ * (cf. SaveSlots): pièce et points de vie du joueur, temps de jeu, date de la
+ * sauvegarde, taille et somme de contrôle (CRC32) de l'état sauvegardé. Cet
+ * en-tête suffit à présenter une sauvegarde dans un menu sans en lire l'état.
+ *
+ * Un emplacement capturé (capture()) porte aussi l'état de la partie, prêt à
+ * être écrit par un autre thread; un emplacement relu de l'index n'a que son
+ * en-tête (getState() rend null). Capturé depuis un état figé par l'historique
+ * (cf. ShipState), l'encodage lui-même peut aussi quitter le thread du jeu.
+ * ----------------------------------------------------------------------------- */
+
+public final class SaveSlot {
+
+	//Taille de l'en-tête: pièce, points de vie, taille, temps de jeu, date, somme de contrôle et 4 octets libres
+	static final int SIZE = 40;
+
+	private final int SLOT;
+	private final int ROOM_ID;
+	private final int HP;
+	private final long PLAY_TIME;
+	private final long TIMESTAMP;
+	private final int LENGTH;
+	private final int CHECKSUM;
+	private final byte[] STATE;
+
+	private SaveSlot(int slot, int roomID, int hp, long playTime, long timestamp, int length, int checksum, byte[] state)
+	{
+		this.SLOT = slot;
+		this.ROOM_ID = roomID;
+		this.HP = hp;
+		this.PLAY_TIME = playTime;
+		this.TIMESTAMP = timestamp;
+		this.LENGTH = length;
+		this.CHECKSUM = checksum;
+		this.STATE = state;
+	}
+
+	// Fige la partie dans un emplacement, à appeler sur le thread qui modifie le vaisseau
+	public static SaveSlot capture(int slot, Ship ship, long playTime) throws IOException
+	{
+		Player p = ship.getPlayer();
+		return capture(slot, p.getRoom().getID(), p.getHp(), playTime, SaveFile.capture(ship));
+	}
+
+	// Encode un état figé (cf. History.snapshot()), sur n'importe quel thread
+	public static SaveSlot capture(int slot, ShipState ship, long playTime) throws IOException
+	{
+		return capture(slot, ship.getPlayerRoomID(), ship.getPlayerHp(), playTime, ship.encode());
+	}
+
+	private static SaveSlot capture(int slot, int roomID, int hp, long playTime, byte[] state)
+	{
+		return new SaveSlot(slot, roomID, hp, playTime, System.currentTimeMillis(), state.length,
+				checksum(state, 0, state.length), state);
+	}
+
+	static int checksum(byte[] bytes, int offset, int length)
+	{
+		CRC32 crc = new CRC32();
+		crc.update(bytes, offset, length);
+		return (int) crc.getValue();
+	}
+
+	// ====== EN-TÊTE ======
+
+	void encode(ByteBuffer out, int at)
+	{
+		out.putInt(at, this.ROOM_ID);
+		out.putInt(at + 4, this.HP);
+		out.putInt(at + 8, this.LENGTH);
+		out.putLong(at + 12, this.PLAY_TIME);
+		out.putLong(at + 20, this.TIMESTAMP);
+		out.putInt(at + 28, this.CHECKSUM);
+		out.putInt(at + 32, 0);
+		out.putInt(at + 36, 0);
+	}
+
+	static SaveSlot decode(int slot, ByteBuffer in, int at, byte[] state)
+	{
+		return new SaveSlot(slot, in.getInt(at), in.getInt(at + 4), in.getLong(at + 12), in.getLong(at + 20),
+				in.getInt(at + 8), in.getInt(at + 28), state);
+	}
+
+	// ====== ACCESSEURS ======
+
+	public int getSlot()
+	{
+		return this.SLOT;
+	}
+
+	public int getRoomID()
+	{
+		return this.ROOM_ID;
+	}
+
+	public int getHp()
+	{
+		return this.HP;
+	}
+
+	// Temps de jeu en millisecondes
+	public long getPlayTime()
+	{
+		return this.PLAY_TIME;
+	}
+
+	// Date de la sauvegarde (System.currentTimeMillis())
+	public long getTimestamp()
+	{
+		return this.TIMESTAMP;
+	}
+
+	public int getLength()
+	{
+		return this.LENGTH;
+	}
+
+	public int getChecksum()
+	{
+		return this.CHECKSUM;
+	}
+
+	public byte[] getState()
+	{
+		return this.STATE;
+	}
+}
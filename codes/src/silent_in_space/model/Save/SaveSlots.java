@@ -0,0 +1,345 @@
+package silent_in_space.model.Save;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/* -----------------------------------------------------------------------------
+ * Emplacements de sauvegarde:
+ *
+ * Rôle: Range les sauvegardes d'un répertoire dans des emplacements numérotés,
+ * un fichier par emplacement (slot-<n>.sis): l'en-tête de taille fixe de
+ * l'emplacement (cf. SaveSlot) suivi de l'état écrit par SaveWriter. Chaque
+ * fichier est écrit à côté puis renommé: un plantage laisse l'ancienne
+ * sauvegarde de l'emplacement intacte.
+ *
+ * L'index (slots.idx) recopie les en-têtes de tous les emplacements à une
+ * place fixe chacun, et il est projeté en mémoire: lister des centaines de
+ * sauvegardes ne lit aucun fichier de sauvegarde. Une entrée est marquée "en
+ * cours" avant le renommage et "occupée" après: après un plantage, seules les
+ * entrées en cours sont relues depuis l'en-tête de leur fichier. Un index
+ * absent ou illisible est reconstruit à partir des en-têtes des fichiers.
+ * ----------------------------------------------------------------------------- */
+
+public class SaveSlots implements Closeable {
+
+	//Emplacement des sauvegardes rapides (bouton Save, commande save sans numéro):
+	public static final int QUICK_SLOT = 0;
+	public static final int MAX_SLOT = 9999;
+
+	static final String INDEX = "slots.idx";
+	private static final byte[] INDEX_MAGIC = {'S', 'I', 'S', 'I'};
+	private static final byte[] SLOT_MAGIC = {'S', 'I', 'S', 'L'};
+	public static final int VERSION = 1;
+
+	//Index: magic, version, nombre de places, puis une entrée (état + en-tête) par emplacement
+	private static final int INDEX_HEADER = 16;
+	private static final int RECORD = 48;
+	private static final int INITIAL_CAPACITY = 64;
+
+	//Fichier d'un emplacement: magic, version, en-tête, puis l'état
+	static final int FILE_HEADER = 8 + SaveSlot.SIZE;
+
+	//État d'une entrée de l'index:
+	private static final int EMPTY = 0;
+	private static final int USED = 1;
+	private static final int PENDING = 2;
+
+	private final Path DIR;
+	private final FileChannel CHANNEL;
+	private MappedByteBuffer index;
+	private int capacity;
+
+	//Une seule écriture à la fois, sans bloquer la lecture de l'index:
+	private final Object WRITE_LOCK = new Object();
+
+	public SaveSlots(Path dir) throws IOException
+	{
+		this.DIR = dir;
+		Files.createDirectories(dir);
+		this.CHANNEL = FileChannel.open(dir.resolve(INDEX), StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+
+		int capacity = this.indexCapacity();
+
+		if(capacity < 0)
+			this.rebuild();
+
+		else
+		{
+			this.map(capacity);
+
+			for(int slot = 0; slot < capacity; slot++)
+			{
+				if(this.status(slot) == PENDING)
+					this.refresh(slot);
+			}
+
+			this.index.force();
+		}
+	}
+
+	public Path getDirectory()
+	{
+		return this.DIR;
+	}
+
+	@Override
+	public synchronized void close() throws IOException
+	{
+		this.index.force();
+		this.CHANNEL.close();
+	}
+
+	// ====== LECTURE DE L'INDEX ======
+
+	// En-tête de l'emplacement, ou null s'il est vide
+	public synchronized SaveSlot get(int slot)
+	{
+		checkSlot(slot);
+
+		if(slot >= this.capacity || this.status(slot) != USED)
+			return null;
+
+		return SaveSlot.decode(slot, this.index, offset(slot) + 4, null);
+	}
+
+	// En-têtes des emplacements occupés, par numéro croissant
+	public synchronized List<SaveSlot> list()
+	{
+		ArrayList<SaveSlot> slots = new ArrayList<>();
+
+		for(int slot = 0; slot < this.capacity; slot++)
+		{
+			if(this.status(slot) == USED)
+				slots.add(SaveSlot.decode(slot, this.index, offset(slot) + 4, null));
+		}
+
+		return slots;
+	}
+
+	// ====== SAUVEGARDES ======
+
+	// Écrit un emplacement capturé (cf. SaveSlot.capture()), depuis n'importe quel thread
+	public void write(SaveSlot save, SaveProgress progress) throws IOException
+	{
+		int slot = save.getSlot();
+		checkSlot(slot);
+
+		if(save.getState() == null)
+			throw new IllegalArgumentException("slot " + slot + " has no state to write");
+
+		ByteBuffer header = ByteBuffer.allocate(FILE_HEADER);
+		header.put(SLOT_MAGIC).putInt(VERSION);
+		save.encode(header, 8);
+
+		synchronized(this.WRITE_LOCK) {
+			this.mark(slot, PENDING, null);
+
+			try {
+				SaveFile.write(this.file(slot), header.array(), save.getState(), progress);
+			}
+
+			catch(IOException | RuntimeException e) {
+				synchronized(this) {
+					this.refresh(slot);
+				}
+				throw e;
+			}
+
+			this.mark(slot, USED, save);
+		}
+	}
+
+	// Relit un emplacement en entier (en-tête et état); sa somme de contrôle est vérifiée
+	public SaveSlot read(int slot) throws IOException
+	{
+		checkSlot(slot);
+
+		byte[] bytes = Files.readAllBytes(this.file(slot));
+		SaveSlot header = readHeader(slot, bytes);
+
+		if(header == null)
+			throw new SaveFormatException("slot " + slot + " is not a saved game");
+
+		if(header.getLength() != bytes.length - FILE_HEADER
+				|| header.getChecksum() != SaveSlot.checksum(bytes, FILE_HEADER, header.getLength()))
+			throw new SaveFormatException("slot " + slot + " is corrupted");
+
+		return SaveSlot.decode(slot, ByteBuffer.wrap(bytes), 8, Arrays.copyOfRange(bytes, FILE_HEADER, bytes.length));
+	}
+
+	// ====== INDEX ======
+
+	private static void checkSlot(int slot)
+	{
+		if(slot < 0 || slot > MAX_SLOT)
+			throw new IllegalArgumentException("slot " + slot + " isn't between 0 and " + MAX_SLOT);
+	}
+
+	private Path file(int slot)
+	{
+		return this.DIR.resolve("slot-" + slot + ".sis");
+	}
+
+	private static int offset(int slot)
+	{
+		return INDEX_HEADER + slot * RECORD;
+	}
+
+	private int status(int slot)
+	{
+		return this.index.getInt(offset(slot));
+	}
+
+	private synchronized void mark(int slot, int status, SaveSlot header) throws IOException
+	{
+		if(slot >= this.capacity)
+			this.grow(slot);
+
+		if(header != null)
+			header.encode(this.index, offset(slot) + 4);
+
+		this.index.putInt(offset(slot), status);
+		this.index.force();
+	}
+
+	// L'entrée reprend l'en-tête du fichier de l'emplacement (vide s'il n'y en a pas)
+	private void refresh(int slot) throws IOException
+	{
+		SaveSlot header = this.fileHeader(slot);
+
+		if(header != null)
+			header.encode(this.index, offset(slot) + 4);
+
+		this.index.putInt(offset(slot), header != null ? USED : EMPTY);
+	}
+
+	private SaveSlot fileHeader(int slot) throws IOException
+	{
+		Path file = this.file(slot);
+
+		if(!Files.isRegularFile(file))
+			return null;
+
+		try(FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+			ByteBuffer bytes = ByteBuffer.allocate(FILE_HEADER);
+
+			while(bytes.hasRemaining() && in.read(bytes) >= 0)
+				;
+
+			return bytes.hasRemaining() ? null : readHeader(slot, bytes.array());
+		}
+	}
+
+	private static SaveSlot readHeader(int slot, byte[] bytes)
+	{
+		if(bytes.length < FILE_HEADER || !Arrays.equals(bytes, 0, 4, SLOT_MAGIC, 0, 4))
+			return null;
+
+		ByteBuffer b = ByteBuffer.wrap(bytes);
+		return b.getInt(4) == VERSION ? SaveSlot.decode(slot, b, 8, null) : null;
+	}
+
+	// Nombre de places de l'index sur le disque, ou -1 s'il est à reconstruire
+	private int indexCapacity() throws IOException
+	{
+		long size = this.CHANNEL.size();
+
+		if(size < INDEX_HEADER)
+			return -1;
+
+		ByteBuffer header = ByteBuffer.allocate(INDEX_HEADER);
+		this.CHANNEL.read(header, 0);
+
+		int capacity = header.getInt(8);
+
+		if(!Arrays.equals(header.array(), 0, 4, INDEX_MAGIC, 0, 4) || header.getInt(4) != VERSION
+				|| capacity <= 0 || capacity > MAX_SLOT + 1 || size != offset(capacity))
+			return -1;
+
+		return capacity;
+	}
+
+	private void map(int capacity) throws IOException
+	{
+		int previous = this.index != null ? this.capacity : 0;
+
+		this.index = this.CHANNEL.map(FileChannel.MapMode.READ_WRITE, 0, offset(capacity));
+		this.capacity = capacity;
+
+		//Les places ajoutées au bout du fichier n'ont pas de contenu garanti:
+		for(int at = offset(previous); previous > 0 && at < offset(capacity); at += 4)
+			this.index.putInt(at, 0);
+
+		for(int i = 0; i < INDEX_MAGIC.length; i++)
+			this.index.put(i, INDEX_MAGIC[i]);
+
+		this.index.putInt(4, VERSION).putInt(8, capacity).putInt(12, 0);
+	}
+
+	private void grow(int slot) throws IOException
+	{
+		int capacity = this.capacity;
+
+		while(capacity <= slot)
+			capacity *= 2;
+
+		this.map(Math.min(capacity, MAX_SLOT + 1));
+	}
+
+	// Index perdu ou illisible: il est refait à partir des en-têtes des fichiers
+	private void rebuild() throws IOException
+	{
+		ArrayList<SaveSlot> found = new ArrayList<>();
+		int capacity = INITIAL_CAPACITY;
+
+		try(DirectoryStream<Path> files = Files.newDirectoryStream(this.DIR, "slot-*.sis")) {
+			for(Path f : files)
+			{
+				String name = f.getFileName().toString();
+
+				try {
+					int slot = Integer.parseInt(name.substring(5, name.length() - 4));
+					SaveSlot header = slot >= 0 && slot <= MAX_SLOT ? this.fileHeader(slot) : null;
+
+					if(header != null)
+					{
+						found.add(header);
+
+						while(capacity <= slot)
+							capacity *= 2;
+					}
+				}
+
+				catch(NumberFormatException e) {
+					//Ce n'est pas un emplacement
+				}
+			}
+		}
+
+		this.CHANNEL.truncate(0);
+		this.index = null;
+		this.map(Math.min(capacity, MAX_SLOT + 1));
+
+		for(int at = INDEX_HEADER; at < offset(this.capacity); at += 4)
+			this.index.putInt(at, 0);
+
+		for(SaveSlot header : found)
+		{
+			header.encode(this.index, offset(header.getSlot()) + 4);
+			this.index.putInt(offset(header.getSlot()), USED);
+		}
+
+		this.index.force();
+	}
+}
@@ -0,0 +1,155 @@
+package silent_in_space.model.Save;
+
+import silent_in_space.model.Location.Ship;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class SaveSlotsIT
+{
+    private Path dir;
+    private Ship ship;
+
+    static void delete(Path dir) throws IOException
+    {
+        try(Stream<Path> files = Files.walk(dir)) {
+            for(Path p : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator)
+                Files.delete(p);
+        }
+    }
+
+    @Before
+    public void setUp() throws IOException
+    {
+        dir = Files.createTempDirectory("sis-slots");
+        ship = new Ship();
+    }
+
+    @After
+    public void tearDown() throws IOException
+    {
+        delete(dir);
+    }
+
+    private void save(SaveSlots slots, int slot, long playTime) throws IOException
+    {
+        slots.write(SaveSlot.capture(slot, ship, playTime), null);
+    }
+
+    // Les en-têtes sont relus depuis l'index, y compris au-delà de ses places initiales et après réouverture
+    @Test
+    public void testListFromIndex() throws IOException
+    {
+        try(SaveSlots slots = new SaveSlots(dir)) {
+            save(slots, 3, 1000);
+            ship.getPlayer().isAttacked(ship.getPlayer());
+            save(slots, 0, 2000);
+            save(slots, 200, 3000);
+
+            assertNull(slots.get(5));
+            assertEquals(ship.getPlayer().getHp(), slots.get(0).getHp());
+            assertNull(slots.get(0).getState());
+        }
+
+        try(SaveSlots slots = new SaveSlots(dir)) {
+            List<SaveSlot> list = slots.list();
+
+            assertEquals(3, list.size());
+            assertEquals(0, list.get(0).getSlot());
+            assertEquals(3, list.get(1).getSlot());
+            assertEquals(200, list.get(2).getSlot());
+            assertEquals(3000, list.get(2).getPlayTime());
+            assertEquals(ship.getPlayer().getRoom().getID(), list.get(1).getRoomID());
+            assertTrue(list.get(1).getHp() > list.get(0).getHp());
+            assertTrue(list.get(1).getTimestamp() <= list.get(0).getTimestamp());
+
+            SaveSlot read = slots.read(200);
+            assertEquals(read.getLength(), read.getState().length);
+            assertEquals(list.get(2).getChecksum(), read.getChecksum());
+        }
+    }
+
+    @Test
+    public void testIndexRebuilt() throws IOException
+    {
+        try(SaveSlots slots = new SaveSlots(dir)) {
+            save(slots, 1, 10);
+            save(slots, 100, 20);
+        }
+
+        Files.write(dir.resolve(SaveSlots.INDEX), new byte[] {'b', 'a', 'd'});
+
+        try(SaveSlots slots = new SaveSlots(dir)) {
+            assertEquals(2, slots.list().size());
+            assertEquals(20, slots.get(100).getPlayTime());
+        }
+
+        Files.delete(dir.resolve(SaveSlots.INDEX));
+
+        try(SaveSlots slots = new SaveSlots(dir)) {
+            assertEquals(10, slots.get(1).getPlayTime());
+        }
+    }
+
+    // Écriture interrompue: l'entrée "en cours" reprend l'en-tête du fichier de l'emplacement, s'il existe
+    @Test
+    public void testPendingEntryRefreshed() throws IOException
+    {
+        try(SaveSlots slots = new SaveSlots(dir)) {
+            save(slots, 2, 50);
+            save(slots, 7, 70);
+        }
+
+        Files.delete(dir.resolve("slot-7.sis"));
+
+        try(FileChannel index = FileChannel.open(dir.resolve(SaveSlots.INDEX), StandardOpenOption.WRITE)) {
+            index.write(ByteBuffer.allocate(4).putInt(0, 2), 16 + 2 * 48);
+            index.write(ByteBuffer.allocate(4).putInt(0, 2), 16 + 7 * 48);
+        }
+
+        try(SaveSlots slots = new SaveSlots(dir)) {
+            assertEquals(50, slots.get(2).getPlayTime());
+            assertNull(slots.get(7));
+        }
+    }
+
+    @Test
+    public void testCorruptedSlotRefused() throws IOException
+    {
+        try(SaveSlots slots = new SaveSlots(dir)) {
+            save(slots, 4, 0);
+
+            Path file = dir.resolve("slot-4.sis");
+            byte[] bytes = Files.readAllBytes(file);
+            bytes[bytes.length - 1] ^= 1;
+            Files.write(file, bytes);
+
+            try {
+                slots.read(4);
+                fail();
+            } catch(SaveFormatException e) {
+                assertEquals("slot 4 is corrupted", e.getMessage());
+            }
+
+            try {
+                slots.read(5);
+                fail();
+            } catch(NoSuchFileException e) {
+                assertNull(slots.get(5));
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package silent_in_space.model.Save;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+
+@RunWith(Suite.class)
+@Suite.SuiteClasses({silent_in_space.model.Save.SaveIT.class, silent_in_space.model.Save.JournalIT.class,
+        silent_in_space.model.Save.SaveSlotsIT.class, silent_in_space.model.Save.HistoryIT.class})
+
+public class SaveTestSuite {
+}
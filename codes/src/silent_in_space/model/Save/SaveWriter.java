@@ -0,0 +1,230 @@
+package silent_in_space.model.Save;
+
+import silent_in_space.model.Characters.Actor;
+import silent_in_space.model.Characters.NPC;
+import silent_in_space.model.Containers.Inventory;
+import silent_in_space.model.Doors.Door;
+import silent_in_space.model.Doors.LockedDoor;
+import silent_in_space.model.Items.Computer;
+import silent_in_space.model.Items.File;
+import silent_in_space.model.Items.Item;
+import silent_in_space.model.Location.Room;
+import silent_in_space.model.Location.Ship;
+import silent_in_space.model.Utils.Scalar2D;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/* -----------------------------------------------------------------------------
+ * Écrivain des sauvegardes:
+ *
+ * Rôle: Écrit l'état d'une partie, c'est-à-dire uniquement ce qui change en
+ * jouant: l'état des portes, le contenu des inventaires (pièces, acteurs,
+ * ordinateurs) avec la position des objets, et pour chaque acteur sa pièce,
+ * sa pièce précédente, ses points de vie et ses drapeaux de NPC. Les
+ * descriptions, les événements et tout ce que le monde fixe n'y sont pas: le
+ * chargement (SaveReader) rejoue cet état sur un vaisseau tout juste construit
+ * à partir du même monde.
+ *
+ * Tout est désigné par un numéro stable: une pièce par son numéro, une porte par
+ * sa place dans sa pièce, un objet par son numéro dans le monde (Item.getID()),
+ * un acteur par son nom. Seuls les fichiers imprimés en jeu, qui n'existent pas
+ * dans le monde, sont écrits en entier.
+ *
+ * Format: l'en-tête MAGIC, la version, le nombre de pièces et d'objets du monde
+ * (pour refuser une sauvegarde d'un autre monde), puis chaque pièce par numéro
+ * croissant avec ses portes, ses objets et ses acteurs. Les textes sont en UTF-8
+ * précédés de leur longueur (-1 pour un champ absent), comme dans les mondes
+ * compilés.
+ * ----------------------------------------------------------------------------- */
+
+public class SaveWriter implements Closeable {
+
+	static final byte[] MAGIC = {'S', 'I', 'S', 'S'};
+	public static final int VERSION = 1;
+
+	//Drapeaux d'une porte:
+	static final int OPEN = 1;
+	static final int LOCKED = 2;
+
+	//Drapeaux d'un acteur:
+	static final int IS_NPC = 1;
+	static final int HOSTILE = 2;
+	static final int ALLY = 4;
+
+	//Drapeaux d'un fichier imprimé en jeu:
+	static final int TAKABLE = 1;
+	static final int GIVABLE = 2;
+
+	//Position absente (acteur jamais placé sur la grille de sa pièce):
+	static final int NO_POSITION = -1;
+
+	private final DataOutputStream OUT;
+
+	public SaveWriter(OutputStream out) throws IOException
+	{
+		this(out, true);
+	}
+
+	// Sans en-tête, l'écrivain ne sert qu'à écrire des pièces isolées (cf. writeRoom())
+	SaveWriter(OutputStream out, boolean header) throws IOException
+	{
+		this.OUT = new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+
+		if(header)
+		{
+			this.OUT.write(MAGIC);
+			this.OUT.writeInt(VERSION);
+		}
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		this.OUT.close();
+	}
+
+	public void write(Ship ship) throws IOException
+	{
+		int[] ids = ship.getRoomIDs();
+		Arrays.sort(ids);
+
+		this.OUT.writeInt(ids.length);
+		this.OUT.writeInt(ship.getNbWorldItems());
+
+		for(int id : ids)
+			this.room(ship.getRoom(id));
+
+		this.OUT.flush();
+	}
+
+	// Pièces déjà écrites une à une par writeRoom(), dans l'ordre de ids (triés, cf. ShipState)
+	void write(int[] ids, int nbWorldItems, IntFunction<byte[]> rooms) throws IOException
+	{
+		this.OUT.writeInt(ids.length);
+		this.OUT.writeInt(nbWorldItems);
+
+		for(int id : ids)
+			this.OUT.write(rooms.apply(id));
+
+		this.OUT.flush();
+	}
+
+	// Une pièce seule, relue par SaveReader.readRoom() (cf. History)
+	void writeRoom(Room r) throws IOException
+	{
+		this.room(r);
+		this.OUT.flush();
+	}
+
+	// ====== PIÈCES ET PORTES ======
+
+	private void room(Room r) throws IOException
+	{
+		this.OUT.writeInt(r.getID());
+
+		List<Door> doors = r.getDoors();
+		this.OUT.writeInt(doors.size());
+
+		for(Door d : doors)
+		{
+			int flags = d.isOpen() ? OPEN : 0;
+
+			if(d instanceof LockedDoor && ((LockedDoor) d).isLocked())
+				flags |= LOCKED;
+
+			this.OUT.writeByte(flags);
+		}
+
+		this.items(r.getInventory());
+
+		this.OUT.writeInt(r.getActors().size());
+
+		for(Actor a : r.getActors().values())
+			this.actor(a);
+	}
+
+	// ====== ACTEURS ======
+
+	private void actor(Actor a) throws IOException
+	{
+		this.text(a.getName());
+		this.OUT.writeInt(a.getPreviousRoomID());
+		this.OUT.writeInt(a.getHp());
+		this.position(a.getPos());
+
+		if(a instanceof NPC)
+		{
+			NPC npc = (NPC) a;
+			int flags = IS_NPC;
+
+			if(npc.isHostile())
+				flags |= HOSTILE;
+			if(npc.isAlly())
+				flags |= ALLY;
+
+			this.OUT.writeByte(flags);
+			this.text(npc.getSpeech());
+		}
+
+		else
+			this.OUT.writeByte(0);
+
+		this.items(a.getInventory());
+	}
+
+	// ====== OBJETS ======
+
+	private void items(Inventory inventory) throws IOException
+	{
+		Item[] items = inventory.getItems();
+		this.OUT.writeInt(items.length);
+
+		for(Item item : items)
+			this.item(item);
+	}
+
+	private void item(Item item) throws IOException
+	{
+		this.OUT.writeInt(item.getID());
+
+		if(item.getID() == Item.NO_ID)
+		{
+			if(!(item instanceof File))
+				throw new NotSerializableException("item '" + item.getTag() + "' is not part of the world and can't be saved");
+
+			File f = (File) item;
+			this.text(f.getTag());
+			this.text(f.getDescription());
+			this.text(f.getContent());
+			this.OUT.writeByte((f.isTakable() ? TAKABLE : 0) | (f.isGivable() ? GIVABLE : 0));
+		}
+
+		this.position(item.getScalar2D());
+
+		if(item instanceof Computer)
+			this.items(((Computer) item).getFILES());
+	}
+
+	private void position(Scalar2D pos) throws IOException
+	{
+		this.OUT.writeInt(pos != null ? pos.getScalar2DCol() : NO_POSITION);
+		this.OUT.writeInt(pos != null ? pos.getScalar2DLine() : NO_POSITION);
+	}
+
+	private void text(String s) throws IOException
+	{
+		if(s == null)
+		{
+			this.OUT.writeInt(-1);
+			return;
+		}
+
+		byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+		this.OUT.writeInt(bytes.length);
+		this.OUT.write(bytes);
+	}
+}
@@ -0,0 +1,61 @@
+package silent_in_space.model.Save;
+
+import silent_in_space.model.Utils.PersistentIntMap;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/* -----------------------------------------------------------------------------
+ * État figé d'un vaisseau:
+ *
+ * Rôle: Photographie de la partie prise par l'historique (cf. History.snapshot())
+ * sans parcourir le vaisseau: l'état de chaque pièce, déjà écrit comme dans une
+ * sauvegarde et partagé avec les versions de l'historique, plus la pièce et les
+ * points de vie du joueur. Rien n'y change plus ensuite: encode() peut tourner
+ * sur un autre thread pendant que la partie continue, et rend exactement ce que
+ * SaveFile.capture() aurait rendu au moment de la photo.
+ * ----------------------------------------------------------------------------- */
+
+public final class ShipState {
+
+	//Numéros des pièces, triés comme dans une sauvegarde, et état de chacune:
+	private final int[] IDS;
+	private final PersistentIntMap<byte[]> ROOMS;
+	private final int NB_WORLD_ITEMS;
+
+	private final int PLAYER_ROOM_ID;
+	private final int PLAYER_HP;
+
+	ShipState(int[] ids, PersistentIntMap<byte[]> rooms, int nbWorldItems, int playerRoomID, int playerHp)
+	{
+		this.IDS = ids;
+		this.ROOMS = rooms;
+		this.NB_WORLD_ITEMS = nbWorldItems;
+		this.PLAYER_ROOM_ID = playerRoomID;
+		this.PLAYER_HP = playerHp;
+	}
+
+	// Sauvegarde complète (en-tête compris), sur n'importe quel thread
+	public byte[] encode() throws IOException
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+
+		try(SaveWriter w = new SaveWriter(out)) {
+			w.write(this.IDS, this.NB_WORLD_ITEMS, this.ROOMS::get);
+		}
+
+		return out.toByteArray();
+	}
+
+	// ====== ACCESSEURS ======
+
+	public int getPlayerRoomID()
+	{
+		return this.PLAYER_ROOM_ID;
+	}
+
+	public int getPlayerHp()
+	{
+		return this.PLAYER_HP;
+	}
+}
@@ -0,0 +1,73 @@
+package silent_in_space.model.Utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/* -----------------------------------------------------------------------------
+ * File d'attente vidée par lots:
+ *
+ * Rôle: Laisse plusieurs threads déposer des éléments sans verrou (offer()), et
+ * un seul thread les reprendre tous d'un coup (drain()), par exemple une fois
+ * par image de l'interface. Les éléments forment une pile chaînée dont la tête
+ * est changée par compare-and-set; drain() détache toute la chaîne en une seule
+ * opération atomique puis la remet dans l'ordre des dépôts. Déposer coûte un
+ * nœud et un CAS, vider coûte le nombre d'éléments vidés.
+ *
+ * Les éléments déposés par un même thread sont rendus dans l'ordre de leur dépôt.
+ * ----------------------------------------------------------------------------- */
+
+public final class BatchQueue<T> {
+
+	private static final class Node<T> {
+
+		private final T VALUE;
+		private final Node<T> NEXT;
+
+		private Node(T value, Node<T> next)
+		{
+			this.VALUE = value;
+			this.NEXT = next;
+		}
+	}
+
+	//Dernier élément déposé (la chaîne remonte vers les plus anciens):
+	private final AtomicReference<Node<T>> HEAD = new AtomicReference<>();
+
+	public void offer(T value)
+	{
+		Node<T> head;
+
+		do {
+			head = this.HEAD.get();
+		} while(!this.HEAD.compareAndSet(head, new Node<>(value, head)));
+	}
+
+	public boolean isEmpty()
+	{
+		return this.HEAD.get() == null;
+	}
+
+	// Reprend tous les éléments déposés, du plus ancien au plus récent (liste vide s'il n'y en a pas)
+	public List<T> drain()
+	{
+		Node<T> head = this.HEAD.getAndSet(null);
+
+		if(head == null)
+			return new ArrayList<>(0);
+
+		int n = 0;
+		for(Node<T> node = head; node != null; node = node.NEXT)
+			n++;
+
+		//La chaîne va du plus récent au plus ancien: on la remplit à l'envers
+		ArrayList<T> values = new ArrayList<>(n);
+		for(int i = 0; i < n; i++)
+			values.add(null);
+
+		for(Node<T> node = head; node != null; node = node.NEXT)
+			values.set(--n, node.VALUE);
+
+		return values;
+	}
+}
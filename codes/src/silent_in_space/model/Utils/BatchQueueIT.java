@@ -0,0 +1,79 @@
+package silent_in_space.model.Utils;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.*;
+
+public class BatchQueueIT
+{
+    @Test
+    public void testDrainInOrder()
+    {
+        BatchQueue<String> queue = new BatchQueue<>();
+
+        assertTrue(queue.isEmpty());
+        assertTrue(queue.drain().isEmpty());
+
+        queue.offer("a");
+        queue.offer("b");
+        queue.offer("c");
+        assertFalse(queue.isEmpty());
+
+        assertEquals(List.of("a", "b", "c"), queue.drain());
+        assertTrue(queue.isEmpty());
+
+        queue.offer("d");
+        assertEquals(List.of("d"), queue.drain());
+    }
+
+    // Plusieurs producteurs et un consommateur qui vide en même temps: rien n'est perdu, ni doublé,
+    // et chaque producteur est rendu dans son ordre
+    @Test
+    public void testConcurrentProducers() throws InterruptedException
+    {
+        final int nbThreads = 8;
+        final int perThread = 50000;
+        BatchQueue<long[]> queue = new BatchQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] producers = new Thread[nbThreads];
+
+        for(int t = 0; t < nbThreads; t++)
+        {
+            final int id = t;
+            producers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+
+                for(int i = 0; i < perThread; i++)
+                    queue.offer(new long[]{id, i});
+            });
+            producers[t].start();
+        }
+
+        start.countDown();
+        int[] next = new int[nbThreads];
+        int received = 0;
+        boolean running = true;
+
+        while(running || !queue.isEmpty())
+        {
+            running = false;
+            for(Thread p : producers)
+                running |= p.isAlive();
+
+            for(long[] e : queue.drain())
+            {
+                assertEquals(next[(int) e[0]]++, e[1]);
+                received++;
+            }
+        }
+
+        assertEquals(nbThreads * perThread, received);
+    }
+}
@@ -0,0 +1,252 @@
+package silent_in_space.model.Utils;
+
+import java.util.function.IntConsumer;
+
+/* -----------------------------------------------------------------------------
+ * Table persistante à clés entières:
+ *
+ * Rôle: Associe des valeurs à des clés entières sans jamais se modifier: put()
+ * rend une nouvelle table qui partage avec l'ancienne tout ce qui n'a pas changé.
+ * C'est un arbre à 32 branches sur les bits de la clé mélangée (HAMT): une table
+ * de n clés a environ log32(n) niveaux, et put() ne recopie que les nœuds du
+ * chemin de la clé. Garder de nombreuses versions d'une grande table ne coûte
+ * donc que ce qui a changé entre elles.
+ *
+ * diff() donne les clés dont la valeur diffère entre deux versions en sautant
+ * les sous-arbres qu'elles partagent: son coût dépend de ce qui a changé, pas
+ * de la taille des tables. Les valeurs sont comparées par référence.
+ * ----------------------------------------------------------------------------- */
+
+public final class PersistentIntMap<V> {
+
+	private static final int BITS = 5;
+	private static final int MASK = (1 << BITS) - 1;
+
+	private static final PersistentIntMap<?> EMPTY = new PersistentIntMap<>(null, 0);
+
+	private final Node ROOT;
+	private final int SIZE;
+
+	private PersistentIntMap(Node root, int size)
+	{
+		this.ROOT = root;
+		this.SIZE = size;
+	}
+
+	@SuppressWarnings("unchecked")
+	public static <V> PersistentIntMap<V> empty()
+	{
+		return (PersistentIntMap<V>) EMPTY;
+	}
+
+	public int size()
+	{
+		return this.SIZE;
+	}
+
+	@SuppressWarnings("unchecked")
+	public V get(int key)
+	{
+		int hash = hash(key);
+		Node node = this.ROOT;
+
+		for(int shift = 0; node != null; shift += BITS)
+		{
+			int bit = 1 << ((hash >>> shift) & MASK);
+
+			if((node.bitmap & bit) == 0)
+				return null;
+
+			Object slot = node.slots[Integer.bitCount(node.bitmap & (bit - 1))];
+
+			if(slot instanceof Leaf)
+			{
+				Leaf leaf = (Leaf) slot;
+				return leaf.key == key ? (V) leaf.value : null;
+			}
+
+			node = (Node) slot;
+		}
+
+		return null;
+	}
+
+	// Nouvelle version de la table où key est associée à value (la même table si rien ne change)
+	public PersistentIntMap<V> put(int key, V value)
+	{
+		Leaf leaf = new Leaf(key, hash(key), value);
+
+		if(this.ROOT == null)
+			return new PersistentIntMap<>(new Node(leaf.bit(0), new Object[] {leaf}), 1);
+
+		boolean[] added = new boolean[1];
+		Node root = put(this.ROOT, 0, leaf, added);
+
+		return root == this.ROOT ? this : new PersistentIntMap<>(root, this.SIZE + (added[0] ? 1 : 0));
+	}
+
+	// Donne à keys chaque clé présente dans une seule des deux versions ou associée à deux valeurs différentes
+	public void diff(PersistentIntMap<V> other, IntConsumer keys)
+	{
+		diff(this.ROOT, other.ROOT, 0, keys);
+	}
+
+	// ====== ARBRE ======
+
+	private static int hash(int key)
+	{
+		//Multiplication par un nombre impair: deux clés différentes ont toujours des empreintes différentes
+		return key * 0x9E3779B9;
+	}
+
+	private static final class Leaf {
+
+		private final int key;
+		private final int hash;
+		private final Object value;
+
+		private Leaf(int key, int hash, Object value)
+		{
+			this.key = key;
+			this.hash = hash;
+			this.value = value;
+		}
+
+		private int bit(int shift)
+		{
+			return 1 << ((this.hash >>> shift) & MASK);
+		}
+	}
+
+	// Un emplacement par bit du bitmap, rangés dans l'ordre des bits: feuille ou sous-arbre
+	private static final class Node {
+
+		private final int bitmap;
+		private final Object[] slots;
+
+		private Node(int bitmap, Object[] slots)
+		{
+			this.bitmap = bitmap;
+			this.slots = slots;
+		}
+	}
+
+	private static Node put(Node node, int shift, Leaf leaf, boolean[] added)
+	{
+		int bit = leaf.bit(shift);
+		int i = Integer.bitCount(node.bitmap & (bit - 1));
+
+		if((node.bitmap & bit) == 0)
+		{
+			Object[] slots = new Object[node.slots.length + 1];
+			System.arraycopy(node.slots, 0, slots, 0, i);
+			slots[i] = leaf;
+			System.arraycopy(node.slots, i, slots, i + 1, node.slots.length - i);
+
+			added[0] = true;
+			return new Node(node.bitmap | bit, slots);
+		}
+
+		Object slot = node.slots[i];
+		Object replacement;
+
+		if(slot instanceof Node)
+			replacement = put((Node) slot, shift + BITS, leaf, added);
+
+		else if(((Leaf) slot).key == leaf.key)
+			replacement = ((Leaf) slot).value == leaf.value ? slot : leaf;
+
+		else
+		{
+			replacement = merge((Leaf) slot, leaf, shift + BITS);
+			added[0] = true;
+		}
+
+		if(replacement == slot)
+			return node;
+
+		Object[] slots = node.slots.clone();
+		slots[i] = replacement;
+
+		return new Node(node.bitmap, slots);
+	}
+
+	// Sous-arbre des deux feuilles, à partir du niveau shift (leurs empreintes diffèrent forcément plus loin)
+	private static Node merge(Leaf a, Leaf b, int shift)
+	{
+		int bitA = a.bit(shift);
+		int bitB = b.bit(shift);
+
+		if(bitA == bitB)
+			return new Node(bitA, new Object[] {merge(a, b, shift + BITS)});
+
+		return new Node(bitA | bitB, Integer.compareUnsigned(bitA, bitB) < 0 ? new Object[] {a, b} : new Object[] {b, a});
+	}
+
+	private static void diff(Object a, Object b, int shift, IntConsumer keys)
+	{
+		if(a == b)
+			return;
+
+		if(a == null || b == null)
+		{
+			forEachKey(a != null ? a : b, keys);
+			return;
+		}
+
+		if(a instanceof Leaf && b instanceof Leaf)
+		{
+			Leaf la = (Leaf) a;
+			Leaf lb = (Leaf) b;
+
+			if(la.key != lb.key)
+			{
+				keys.accept(la.key);
+				keys.accept(lb.key);
+			}
+
+			else if(la.value != lb.value)
+				keys.accept(la.key);
+
+			return;
+		}
+
+		if(a instanceof Leaf || b instanceof Leaf)
+		{
+			Leaf leaf = (Leaf) (a instanceof Leaf ? a : b);
+			Node node = (Node) (a instanceof Leaf ? b : a);
+
+			//La feuille est comparée à l'emplacement du sous-arbre où elle aurait été rangée:
+			Node alone = new Node(leaf.bit(shift), new Object[] {leaf});
+			diff(alone, node, shift, keys);
+			return;
+		}
+
+		Node na = (Node) a;
+		Node nb = (Node) b;
+		int bits = na.bitmap | nb.bitmap;
+
+		while(bits != 0)
+		{
+			int bit = bits & -bits;
+			bits &= bits - 1;
+
+			Object sa = (na.bitmap & bit) != 0 ? na.slots[Integer.bitCount(na.bitmap & (bit - 1))] : null;
+			Object sb = (nb.bitmap & bit) != 0 ? nb.slots[Integer.bitCount(nb.bitmap & (bit - 1))] : null;
+
+			diff(sa, sb, shift + BITS, keys);
+		}
+	}
+
+	private static void forEachKey(Object slot, IntConsumer keys)
+	{
+		if(slot instanceof Leaf)
+		{
+			keys.accept(((Leaf) slot).key);
+			return;
+		}
+
+		for(Object child : ((Node) slot).slots)
+			forEachKey(child, keys);
+	}
+}
@@ -0,0 +1,88 @@
+package silent_in_space.model.Utils;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.Assert.*;
+
+public class PersistentIntMapIT
+{
+    private static TreeSet<Integer> diff(PersistentIntMap<String> a, PersistentIntMap<String> b)
+    {
+        TreeSet<Integer> keys = new TreeSet<>();
+        a.diff(b, keys::add);
+        return keys;
+    }
+
+    @Test
+    public void testPutKeepsOldVersions()
+    {
+        PersistentIntMap<String> empty = PersistentIntMap.empty();
+        PersistentIntMap<String> one = empty.put(7, "a");
+        PersistentIntMap<String> two = one.put(-3, "b");
+        PersistentIntMap<String> changed = two.put(7, "c");
+
+        assertNull(empty.get(7));
+        assertEquals("a", one.get(7));
+        assertNull(one.get(-3));
+        assertEquals("b", two.get(-3));
+        assertEquals("c", changed.get(7));
+        assertEquals("a", two.get(7));
+        assertEquals(2, changed.size());
+        assertSame(two, two.put(-3, two.get(-3)));
+    }
+
+    // Comparée à une HashMap sur beaucoup de clés (dont négatives et extrêmes)
+    @Test
+    public void testManyKeys()
+    {
+        Random random = new Random(2021);
+        HashMap<Integer, String> expected = new HashMap<>();
+        PersistentIntMap<String> map = PersistentIntMap.empty();
+
+        for(int i = 0; i < 20000; i++)
+        {
+            int key = i % 3 == 0 ? random.nextInt() : random.nextInt(5000);
+            String value = "v" + i;
+
+            expected.put(key, value);
+            map = map.put(key, value);
+        }
+
+        map = map.put(Integer.MIN_VALUE, "min").put(Integer.MAX_VALUE, "max");
+        expected.put(Integer.MIN_VALUE, "min");
+        expected.put(Integer.MAX_VALUE, "max");
+
+        assertEquals(expected.size(), map.size());
+
+        for(var e : expected.entrySet())
+            assertEquals(e.getValue(), map.get(e.getKey()));
+
+        assertNull(map.get(5001));
+    }
+
+    @Test
+    public void testDiff()
+    {
+        PersistentIntMap<String> base = PersistentIntMap.empty();
+
+        for(int i = 0; i < 1000; i++)
+            base = base.put(i, "v" + i);
+
+        PersistentIntMap<String> next = base.put(10, "changed").put(5000, "added").put(-1, "added");
+
+        assertEquals(new TreeSet<>(java.util.List.of(-1, 10, 5000)), diff(base, next));
+        assertEquals(diff(base, next), diff(next, base));
+        assertTrue(diff(next, next).isEmpty());
+        assertEquals(1000, diff(PersistentIntMap.empty(), base).size());
+
+        //Une feuille d'une version face à un sous-arbre de l'autre:
+        PersistentIntMap<String> small = PersistentIntMap.<String>empty().put(10, base.get(10));
+        TreeSet<Integer> keys = diff(small, base);
+        assertEquals(999, keys.size());
+        assertFalse(keys.contains(10));
+    }
+}
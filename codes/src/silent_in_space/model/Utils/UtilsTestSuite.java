@@ -0,0 +1,10 @@
+package silent_in_space.model.Utils;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+
+@RunWith(Suite.class)
+@Suite.SuiteClasses({silent_in_space.model.Utils.PersistentIntMapIT.class, silent_in_space.model.Utils.BatchQueueIT.class})
+
+public class UtilsTestSuite {
+}
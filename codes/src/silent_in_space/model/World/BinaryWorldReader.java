@@ -0,0 +1,102 @@
+package silent_in_space.model.World;
+
+import silent_in_space.model.Items.PassType;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static silent_in_space.model.World.BinaryWorldWriter.*;
+
+/* -----------------------------------------------------------------------------
+ * Lecteur des mondes compilés:
+ *
+ * Rôle: Relit un monde écrit par BinaryWorldWriter et transmet ses
+ * enregistrements à un WorldHandler, dans l'ordre où ils ont été écrits.
+ * ----------------------------------------------------------------------------- */
+
+public class BinaryWorldReader implements WorldSource {
+
+	private static final PassType[] PASS_TYPES = PassType.values();
+
+	private final DataInputStream IN;
+	private byte[] buffer;
+
+	public BinaryWorldReader(InputStream in)
+	{
+		this.IN = new DataInputStream(in instanceof BufferedInputStream ? in : new BufferedInputStream(in, 1 << 16));
+		this.buffer = new byte[256];
+	}
+
+	@Override
+	public void read(WorldHandler h) throws IOException
+	{
+		byte[] magic = new byte[MAGIC.length];
+		this.IN.readFully(magic);
+
+		if(!Arrays.equals(magic, MAGIC))
+			throw new WorldFormatException("not a compiled world");
+
+		int version = this.IN.readInt();
+		if(version != BinaryWorldWriter.VERSION)
+			throw new WorldFormatException("unsupported compiled world version " + version);
+
+		try {
+			byte code;
+
+			while((code = this.IN.readByte()) != END)
+				this.record(code, h);
+		}
+
+		catch(EOFException e) {
+			throw new WorldFormatException("truncated compiled world");
+		}
+	}
+
+	private void record(byte code, WorldHandler h) throws IOException
+	{
+		switch(code)
+		{
+			case ROOM -> h.room(this.IN.readInt(), this.text());
+			case DOOR -> h.door(this.IN.readInt(), this.text(), this.IN.readInt(), this.IN.readInt(), this.IN.readInt());
+			case LOCKED_DOOR -> h.lockedDoor(this.IN.readInt(), this.text(), this.IN.readInt(), this.IN.readInt(),
+					this.IN.readInt(), this.passType());
+			case NPC -> h.npc(this.IN.readInt(), this.text(), this.IN.readBoolean(), this.IN.readBoolean(), this.text(), this.text());
+			case UMHON -> h.umhon(this.IN.readInt(), this.text(), this.IN.readBoolean(), this.IN.readBoolean(), this.text(), this.text());
+			case PLAYER -> h.player(this.IN.readInt());
+			case UNLOCK_EVENT -> h.unlockEvent(this.text(), this.text(), this.text(), this.passType());
+			case ARTEFACT -> h.artefact(this.text(), this.text(), this.IN.readInt(), this.IN.readInt(), this.text());
+			case PASS -> h.pass(this.text(), this.text(), this.IN.readInt(), this.IN.readInt(), this.text(), this.passType());
+			case FILE -> h.file(this.text(), this.text(), this.IN.readInt(), this.IN.readInt(), this.text(),
+					this.IN.readBoolean(), this.IN.readBoolean(), this.text());
+			case SIGN -> h.sign(this.text(), this.text(), this.IN.readInt(), this.IN.readInt(), this.text(), this.text());
+			case HEALTH_STATION -> h.healthStation(this.text(), this.text(), this.IN.readInt(), this.IN.readInt(), this.text());
+			case COMPUTER -> h.computer(this.text(), this.text(), this.IN.readInt(), this.IN.readInt(), this.text(), this.text());
+			default -> throw new WorldFormatException("unknown record code " + code);
+		}
+	}
+
+	private String text() throws IOException
+	{
+		int length = this.IN.readInt();
+
+		if(length < 0)
+			return null;
+
+		if(length > this.buffer.length)
+			this.buffer = new byte[Math.max(length, this.buffer.length * 2)];
+
+		this.IN.readFully(this.buffer, 0, length);
+		return new String(this.buffer, 0, length, StandardCharsets.UTF_8);
+	}
+
+	private PassType passType() throws IOException
+	{
+		int ordinal = this.IN.readUnsignedByte();
+
+		if(ordinal >= PASS_TYPES.length)
+			throw new WorldFormatException("unknown pass type " + ordinal);
+
+		return PASS_TYPES[ordinal];
+	}
+}
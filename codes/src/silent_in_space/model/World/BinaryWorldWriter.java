@@ -0,0 +1,200 @@
+package silent_in_space.model.World;
+
+import silent_in_space.model.Items.PassType;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+/* -----------------------------------------------------------------------------
+ * Écrivain des mondes compilés:
+ *
+ * Rôle: Recopie les enregistrements reçus dans le format binaire lu par
+ * BinaryWorldReader: l'en-tête MAGIC puis la version, puis pour chaque
+ * enregistrement son code (un octet) suivi de ses champs. Les nombres sont
+ * écrits tels quels et les textes en UTF-8 précédés de leur longueur (-1 pour
+ * un champ absent): le chargement n'a plus rien à découper ni à convertir.
+ * ----------------------------------------------------------------------------- */
+
+public class BinaryWorldWriter implements WorldHandler, Closeable {
+
+	static final byte[] MAGIC = {'S', 'I', 'S', 'W'};
+	public static final int VERSION = 1;
+
+	static final byte END = 0;
+	static final byte ROOM = 1;
+	static final byte DOOR = 2;
+	static final byte LOCKED_DOOR = 3;
+	static final byte NPC = 4;
+	static final byte UMHON = 5;
+	static final byte PLAYER = 6;
+	static final byte UNLOCK_EVENT = 7;
+	static final byte ARTEFACT = 8;
+	static final byte PASS = 9;
+	static final byte FILE = 10;
+	static final byte SIGN = 11;
+	static final byte HEALTH_STATION = 12;
+	static final byte COMPUTER = 13;
+
+	private final DataOutputStream OUT;
+
+	public BinaryWorldWriter(OutputStream out) throws IOException
+	{
+		this.OUT = new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+		this.OUT.write(MAGIC);
+		this.OUT.writeInt(VERSION);
+	}
+
+	// Termine le monde et ferme le flux
+	@Override
+	public void close() throws IOException
+	{
+		this.OUT.writeByte(END);
+		this.OUT.close();
+	}
+
+	@Override
+	public void room(int id, String description) throws IOException
+	{
+		this.OUT.writeByte(ROOM);
+		this.OUT.writeInt(id);
+		this.text(description);
+	}
+
+	@Override
+	public void door(int room, String tag, int col, int line, int destination) throws IOException
+	{
+		this.OUT.writeByte(DOOR);
+		this.doorFields(room, tag, col, line, destination);
+	}
+
+	@Override
+	public void lockedDoor(int room, String tag, int col, int line, int destination, PassType pass) throws IOException
+	{
+		this.OUT.writeByte(LOCKED_DOOR);
+		this.doorFields(room, tag, col, line, destination);
+		this.OUT.writeByte(pass.ordinal());
+	}
+
+	@Override
+	public void npc(int room, String name, boolean isHostile, boolean isAlly, String description, String speech) throws IOException
+	{
+		this.OUT.writeByte(NPC);
+		this.actorFields(room, name, isHostile, isAlly, description, speech);
+	}
+
+	@Override
+	public void umhon(int room, String name, boolean isHostile, boolean isAlly, String description, String speech) throws IOException
+	{
+		this.OUT.writeByte(UMHON);
+		this.actorFields(room, name, isHostile, isAlly, description, speech);
+	}
+
+	@Override
+	public void player(int room) throws IOException
+	{
+		this.OUT.writeByte(PLAYER);
+		this.OUT.writeInt(room);
+	}
+
+	@Override
+	public void unlockEvent(String tag, String description, String door, PassType pass) throws IOException
+	{
+		this.OUT.writeByte(UNLOCK_EVENT);
+		this.text(tag);
+		this.text(description);
+		this.text(door);
+		this.OUT.writeByte(pass.ordinal());
+	}
+
+	@Override
+	public void artefact(String container, String tag, int col, int line, String description) throws IOException
+	{
+		this.OUT.writeByte(ARTEFACT);
+		this.itemFields(container, tag, col, line, description);
+	}
+
+	@Override
+	public void pass(String container, String tag, int col, int line, String description, PassType pass) throws IOException
+	{
+		this.OUT.writeByte(PASS);
+		this.itemFields(container, tag, col, line, description);
+		this.OUT.writeByte(pass.ordinal());
+	}
+
+	@Override
+	public void file(String container, String tag, int col, int line, String description,
+					 boolean isTakable, boolean isGivable, String content) throws IOException
+	{
+		this.OUT.writeByte(FILE);
+		this.itemFields(container, tag, col, line, description);
+		this.OUT.writeBoolean(isTakable);
+		this.OUT.writeBoolean(isGivable);
+		this.text(content);
+	}
+
+	@Override
+	public void sign(String container, String tag, int col, int line, String description, String content) throws IOException
+	{
+		this.OUT.writeByte(SIGN);
+		this.itemFields(container, tag, col, line, description);
+		this.text(content);
+	}
+
+	@Override
+	public void healthStation(String container, String tag, int col, int line, String description) throws IOException
+	{
+		this.OUT.writeByte(HEALTH_STATION);
+		this.itemFields(container, tag, col, line, description);
+	}
+
+	@Override
+	public void computer(String container, String tag, int col, int line, String description, String event) throws IOException
+	{
+		this.OUT.writeByte(COMPUTER);
+		this.itemFields(container, tag, col, line, description);
+		this.text(event);
+	}
+
+	// ====== CHAMPS ======
+
+	private void doorFields(int room, String tag, int col, int line, int destination) throws IOException
+	{
+		this.OUT.writeInt(room);
+		this.text(tag);
+		this.OUT.writeInt(col);
+		this.OUT.writeInt(line);
+		this.OUT.writeInt(destination);
+	}
+
+	private void actorFields(int room, String name, boolean isHostile, boolean isAlly, String description, String speech) throws IOException
+	{
+		this.OUT.writeInt(room);
+		this.text(name);
+		this.OUT.writeBoolean(isHostile);
+		this.OUT.writeBoolean(isAlly);
+		this.text(description);
+		this.text(speech);
+	}
+
+	private void itemFields(String container, String tag, int col, int line, String description) throws IOException
+	{
+		this.text(container);
+		this.text(tag);
+		this.OUT.writeInt(col);
+		this.OUT.writeInt(line);
+		this.text(description);
+	}
+
+	private void text(String s) throws IOException
+	{
+		if(s == null)
+		{
+			this.OUT.writeInt(-1);
+			return;
+		}
+
+		byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+		this.OUT.writeInt(bytes.length);
+		this.OUT.write(bytes);
+	}
+}
@@ -0,0 +1,409 @@
+package silent_in_space.model.World;
+
+import silent_in_space.model.Items.PassType;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/* -----------------------------------------------------------------------------
+ * Générateur de vaisseaux:
+ *
+ * Rôle: Produit un vaisseau de N pièces à partir d'une graine, pour mesurer le
+ * jeu sur des mondes de 10 à 1 000 000 de pièces. Les pièces forment un arbre
+ * (chaque pièce est reliée à une pièce créée avant elle) complété par des
+ * passages supplémentaires jusqu'au nombre moyen de portes demandé. Certaines
+ * portes de l'arbre, dans le sens parent -> enfant, sont verrouillées: le pass
+ * qui les ouvre est posé dans la pièce parente, toujours accessible depuis la
+ * pièce de départ. Les pièces sont peuplées de NPCs et d'objets.
+ *
+ * Le plan du vaisseau (arbre, passages, verrous) est tiré en parallèle par un
+ * ForkJoinPool, chaque pièce ayant son propre générateur aléatoire: le
+ * résultat ne dépend que de la graine, pas du découpage en tâches. Les
+ * enregistrements sont ensuite envoyés dans l'ordre au WorldHandler.
+ * ----------------------------------------------------------------------------- */
+
+public class ShipGenerator implements WorldSource {
+
+	public static final int FIRST_ID = 1;
+
+	//Taille des pièces générées (cf. GameController.DEFAULT_ROOMS_SIZE):
+	private static final int ROOM_SIZE = 11;
+	private static final int[][] DOOR_CELLS = doorCells();
+
+	//En dessous de ce nombre de pièces une tâche n'est plus découpée:
+	private static final int SEQUENTIAL_THRESHOLD = 4096;
+
+	private static final long TOPOLOGY = 0x9E3779B97F4A7C15L;
+	private static final long CONTENT = 0xC2B2AE3D27D4EB4FL;
+
+	private static final PassType[] PASS_TYPES = PassType.values();
+
+	private static final String[] ROOM_DESCRIPTIONS = {
+			"A narrow corridor lit by pale blue strips.",
+			"Crates and vials are stacked along the walls.",
+			"This looks like living quarters. Someone left in a hurry.",
+			"Strange machines hum quietly in the dark.",
+			"A small lab. The tables are covered with notes you can't read.",
+			"The windows show the vast emptiness of space.",
+			"Pipes run along the ceiling, dripping something green.",
+			"An empty room. Your steps echo on the metal floor."
+	};
+
+	private final long SEED;
+	private final int NB_ROOMS;
+
+	private double doorsPerRoom;
+	private double lockedRatio;
+	private double npcsPerRoom;
+	private double hostileRatio;
+	private double itemsPerRoom;
+	private ForkJoinPool pool;
+
+	public ShipGenerator(long seed, int nbRooms)
+	{
+		if(nbRooms < 1)
+			throw new IllegalArgumentException("a ship needs at least one room");
+
+		this.SEED = seed;
+		this.NB_ROOMS = nbRooms;
+		this.doorsPerRoom = 3;
+		this.lockedRatio = 0.1;
+		this.npcsPerRoom = 0.5;
+		this.hostileRatio = 0.1;
+		this.itemsPerRoom = 2;
+		this.pool = ForkJoinPool.commonPool();
+	}
+
+	// ====== SETTERS ======
+
+	// Nombre moyen de portes par pièce (au moins 2: celles de l'arbre)
+	public void setDoorsPerRoom(double doorsPerRoom) { this.doorsPerRoom = Math.max(2, doorsPerRoom); }
+	// Part des portes de l'arbre verrouillées
+	public void setLockedRatio(double lockedRatio) { this.lockedRatio = lockedRatio; }
+	public void setNpcsPerRoom(double npcsPerRoom) { this.npcsPerRoom = npcsPerRoom; }
+	public void setHostileRatio(double hostileRatio) { this.hostileRatio = hostileRatio; }
+	public void setItemsPerRoom(double itemsPerRoom) { this.itemsPerRoom = itemsPerRoom; }
+	public void setPool(ForkJoinPool pool) { this.pool = pool; }
+
+	// ====== GÉNÉRATION ======
+
+	@Override
+	public void read(WorldHandler h) throws IOException
+	{
+		Plan plan = new Plan(this.NB_ROOMS, this.extraPerRoom());
+		this.pool.invoke(new TopologyTask(plan, 0, this.NB_ROOMS));
+		plan.link();
+		this.pool.invoke(new DedupTask(plan, 0, this.NB_ROOMS));
+
+		for(int i = 0; i < this.NB_ROOMS; i++)
+			h.room(id(i), "Room " + id(i) + ": " + ROOM_DESCRIPTIONS[(int) (mix(this.SEED + i) >>> 61)]);
+
+		//Tout ce qui concerne une pièce est envoyé d'un bloc (un vaisseau paginé ne la charge qu'une fois):
+		for(int i = 0; i < this.NB_ROOMS; i++)
+		{
+			this.doors(h, plan, i);
+			this.content(h, plan, i);
+		}
+
+		h.player(id(0));
+	}
+
+	private int extraPerRoom()
+	{
+		//L'arbre donne déjà 2 portes par pièce en moyenne, chaque passage en ajoute 2:
+		return (int) Math.ceil((this.doorsPerRoom - 2) / 2);
+	}
+
+	private void doors(WorldHandler h, Plan plan, int i) throws IOException
+	{
+		int start = plan.rowStart[i];
+		int end = start + plan.degree[i];
+
+		for(int k = start; k < end; k++)
+		{
+			int j = plan.neighbours[k];
+			int[] cell = DOOR_CELLS[(k - start) % DOOR_CELLS.length];
+
+			if(plan.parent[j] == i && plan.lock[j] >= 0)
+				h.lockedDoor(id(i), "door" + id(j), cell[0], cell[1], id(j), PASS_TYPES[plan.lock[j]]);
+			else
+				h.door(id(i), "door" + id(j), cell[0], cell[1], id(j));
+		}
+	}
+
+	private void content(WorldHandler h, Plan plan, int i) throws IOException
+	{
+		SplittableRandom rng = this.random(i, CONTENT);
+		String room = "room:" + id(i);
+
+		//Les pass des portes verrouillées vers les pièces enfants:
+		for(int k = plan.rowStart[i]; k < plan.rowStart[i] + plan.degree[i]; k++)
+		{
+			int j = plan.neighbours[k];
+
+			if(plan.parent[j] == i && plan.lock[j] >= 0)
+			{
+				PassType type = PASS_TYPES[plan.lock[j]];
+				h.pass(room, "pass" + id(j), rng.nextInt(1, ROOM_SIZE - 1), rng.nextInt(1, ROOM_SIZE - 1),
+						"This is a pass... A letter '" + type + "' is written on it.", type);
+			}
+		}
+
+		int nbNpcs = count(rng, this.npcsPerRoom);
+		for(int n = 0; n < nbNpcs; n++)
+		{
+			String name = "Alien" + id(i) + "_" + n;
+			boolean hostile = rng.nextDouble() < this.hostileRatio;
+
+			h.npc(id(i), name, hostile, !hostile, "An alien of the ship. It looks " + (hostile ? "angry." : "friendly."),
+					hostile ? "Grrrrr!" : "Hello human!");
+
+			if(rng.nextInt(4) == 0)
+				h.artefact("actor:" + name, "trinket" + id(i) + "_" + n, 0, 0, "A small shiny trinket.");
+		}
+
+		int nbItems = count(rng, this.itemsPerRoom);
+		for(int n = 0; n < nbItems; n++)
+		{
+			String tag = "item" + id(i) + "_" + n;
+			int col = rng.nextInt(1, ROOM_SIZE - 1);
+			int line = rng.nextInt(1, ROOM_SIZE - 1);
+
+			switch(rng.nextInt(4))
+			{
+				case 0 -> h.file(room, tag, col, line, "A datapad left on the floor.", true, true,
+						"Log " + id(i) + "-" + n + ": nothing to report.");
+				case 1 -> h.sign(room, tag, col, line, "An holographic sign.", "You are in room " + id(i) + ".");
+				default -> h.artefact(room, tag, col, line, "A strange object from room " + id(i) + ".");
+			}
+		}
+	}
+
+	// ====== OUTILS ======
+
+	private static int id(int index)
+	{
+		return FIRST_ID + index;
+	}
+
+	// Tirage d'un nombre entier de moyenne mean
+	private static int count(SplittableRandom rng, double mean)
+	{
+		int n = (int) mean;
+		return rng.nextDouble() < mean - n ? n + 1 : n;
+	}
+
+	private SplittableRandom random(int index, long salt)
+	{
+		return new SplittableRandom(mix(this.SEED ^ salt ^ (index * 0xBF58476D1CE4E5B9L)));
+	}
+
+	private static long mix(long z)
+	{
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	// Cases du bord d'une pièce où poser les portes, en commençant par le milieu des murs
+	private static int[][] doorCells()
+	{
+		int last = ROOM_SIZE - 1;
+		int middle = last / 2;
+		int[][] cells = new int[4 * (ROOM_SIZE - 2)][];
+		int n = 0;
+
+		for(int offset = 0; offset < middle; offset++)
+		{
+			for(int sign = (offset == 0 ? 1 : -1); sign <= 1; sign += 2)
+			{
+				int k = middle + sign * offset;
+				cells[n++] = new int[] {k, 0};
+				cells[n++] = new int[] {k, last};
+				cells[n++] = new int[] {0, k};
+				cells[n++] = new int[] {last, k};
+			}
+		}
+
+		return Arrays.copyOf(cells, n);
+	}
+
+	// ====== PLAN ======
+
+	// Arbre, passages et verrous du vaisseau, puis liste d'adjacence (format CSR) sans doublons
+	private static class Plan
+	{
+		final int[] parent;
+		final byte[] lock;
+		final int extraPerRoom;
+		final int[] extra;
+
+		int[] rowStart;
+		int[] degree;
+		int[] neighbours;
+
+		Plan(int n, int extraPerRoom)
+		{
+			this.parent = new int[n];
+			this.lock = new byte[n];
+			this.extraPerRoom = extraPerRoom;
+			this.extra = new int[n * extraPerRoom];
+		}
+
+		// Range chaque passage dans les deux pièces qu'il relie (comptage puis remplissage)
+		void link()
+		{
+			int n = this.parent.length;
+			this.rowStart = new int[n + 1];
+
+			for(int i = 1; i < n; i++)
+			{
+				this.rowStart[i + 1]++;
+				this.rowStart[this.parent[i] + 1]++;
+			}
+
+			for(int j : this.extra)
+			{
+				if(j >= 0)
+					this.rowStart[j + 1]++;
+			}
+
+			for(int i = 0; i < n; i++)
+			{
+				for(int e = 0; e < this.extraPerRoom; e++)
+				{
+					if(this.extra[i * this.extraPerRoom + e] >= 0)
+						this.rowStart[i + 1]++;
+				}
+			}
+
+			for(int i = 0; i < n; i++)
+				this.rowStart[i + 1] += this.rowStart[i];
+
+			this.neighbours = new int[this.rowStart[n]];
+			int[] fill = Arrays.copyOf(this.rowStart, n);
+
+			for(int i = 1; i < n; i++)
+			{
+				this.neighbours[fill[i]++] = this.parent[i];
+				this.neighbours[fill[this.parent[i]]++] = i;
+			}
+
+			for(int i = 0; i < n; i++)
+			{
+				for(int e = 0; e < this.extraPerRoom; e++)
+				{
+					int j = this.extra[i * this.extraPerRoom + e];
+
+					if(j >= 0)
+					{
+						this.neighbours[fill[i]++] = j;
+						this.neighbours[fill[j]++] = i;
+					}
+				}
+			}
+
+			this.degree = new int[n];
+		}
+	}
+
+	// Tire l'arbre, les verrous et les passages des pièces [from, to)
+	private class TopologyTask extends RecursiveAction
+	{
+		private final Plan PLAN;
+		private final int FROM;
+		private final int TO;
+
+		TopologyTask(Plan plan, int from, int to)
+		{
+			this.PLAN = plan;
+			this.FROM = from;
+			this.TO = to;
+		}
+
+		@Override
+		protected void compute()
+		{
+			if(this.TO - this.FROM > SEQUENTIAL_THRESHOLD)
+			{
+				int middle = (this.FROM + this.TO) >>> 1;
+				invokeAll(new TopologyTask(this.PLAN, this.FROM, middle), new TopologyTask(this.PLAN, middle, this.TO));
+				return;
+			}
+
+			double extraMean = (ShipGenerator.this.doorsPerRoom - 2) / 2;
+
+			for(int i = this.FROM; i < this.TO; i++)
+			{
+				SplittableRandom rng = ShipGenerator.this.random(i, TOPOLOGY);
+
+				//Rattachement à une pièce plus ancienne, de préférence proche (couloirs plutôt qu'étoiles):
+				this.PLAN.parent[i] = i == 0 ? -1 : Math.max(0, i - 1 - (int) Math.abs(rng.nextGaussian() * 8));
+				this.PLAN.lock[i] = (byte) (i > 0 && rng.nextDouble() < ShipGenerator.this.lockedRatio
+						? rng.nextInt(PASS_TYPES.length) : -1);
+
+				int nbExtra = Math.min(count(rng, extraMean), this.PLAN.extraPerRoom);
+
+				for(int e = 0; e < this.PLAN.extraPerRoom; e++)
+				{
+					int j = -1;
+
+					if(e < nbExtra && i > 0)
+					{
+						j = rng.nextInt(i);
+
+						if(j == this.PLAN.parent[i])
+							j = -1;
+					}
+
+					this.PLAN.extra[i * this.PLAN.extraPerRoom + e] = j;
+				}
+			}
+		}
+	}
+
+	// Trie les voisins de chaque pièce et retire les passages en double
+	private static class DedupTask extends RecursiveAction
+	{
+		private final Plan PLAN;
+		private final int FROM;
+		private final int TO;
+
+		DedupTask(Plan plan, int from, int to)
+		{
+			this.PLAN = plan;
+			this.FROM = from;
+			this.TO = to;
+		}
+
+		@Override
+		protected void compute()
+		{
+			if(this.TO - this.FROM > SEQUENTIAL_THRESHOLD)
+			{
+				int middle = (this.FROM + this.TO) >>> 1;
+				invokeAll(new DedupTask(this.PLAN, this.FROM, middle), new DedupTask(this.PLAN, middle, this.TO));
+				return;
+			}
+
+			for(int i = this.FROM; i < this.TO; i++)
+			{
+				int start = this.PLAN.rowStart[i];
+				int end = this.PLAN.rowStart[i + 1];
+				Arrays.sort(this.PLAN.neighbours, start, end);
+
+				int n = 0;
+				for(int k = start; k < end; k++)
+				{
+					if(n == 0 || this.PLAN.neighbours[start + n - 1] != this.PLAN.neighbours[k])
+						this.PLAN.neighbours[start + n++] = this.PLAN.neighbours[k];
+				}
+
+				this.PLAN.degree[i] = n;
+			}
+		}
+	}
+}
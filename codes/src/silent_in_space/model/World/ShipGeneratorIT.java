@@ -0,0 +1,127 @@
+package silent_in_space.model.World;
+
+import silent_in_space.model.Doors.Door;
+import silent_in_space.model.Doors.LockedDoor;
+import silent_in_space.model.Items.Item;
+import silent_in_space.model.Items.Pass;
+import silent_in_space.model.Location.Room;
+import silent_in_space.model.Location.Ship;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class ShipGeneratorIT
+{
+    private static String toText(WorldSource source) throws IOException
+    {
+        StringWriter out = new StringWriter();
+
+        try(TextWorldWriter w = new TextWorldWriter(out)) {
+            source.read(w);
+        }
+
+        return out.toString();
+    }
+
+    @Test
+    public void testSameSeedSameShip() throws IOException
+    {
+        ShipGenerator parallel = new ShipGenerator(42, 10000);
+        ShipGenerator sequential = new ShipGenerator(42, 10000);
+        ForkJoinPool pool = new ForkJoinPool(1);
+        sequential.setPool(pool);
+
+        try {
+            assertEquals(toText(parallel), toText(sequential));
+        } finally {
+            pool.shutdown();
+        }
+
+        assertNotEquals(toText(new ShipGenerator(1, 100)), toText(new ShipGenerator(2, 100)));
+    }
+
+    @Test
+    public void testPopulation() throws IOException
+    {
+        ShipGenerator generator = new ShipGenerator(7, 2000);
+        generator.setDoorsPerRoom(4);
+        Ship ship = new Ship(generator);
+
+        assertEquals(2000, ship.getRooms().size());
+        assertEquals(ShipGenerator.FIRST_ID, ship.getPlayer().getRoom().getID());
+
+        int nbDoors = ship.getGraph().getNbDoors();
+        assertTrue("doors: " + nbDoors, nbDoors > 2000 * 3 && nbDoors <= 2000 * 4);
+
+        int nbItems = 0;
+        for(Room r : ship.getRooms())
+            nbItems += r.getInventory().getSize();
+        assertTrue("items: " + nbItems, nbItems > 2000);
+
+        int nbActors = 0;
+        for(Room r : ship.getRooms())
+            nbActors += r.getActors().size();
+        assertTrue("actors: " + nbActors, nbActors > 1 + 2000 / 4);
+    }
+
+    // Toutes les pièces sont accessibles en ramassant les pass des pièces déjà visitées
+    @Test
+    public void testEveryRoomReachable() throws IOException
+    {
+        ShipGenerator generator = new ShipGenerator(2021, 3000);
+        generator.setLockedRatio(0.3);
+        Ship ship = new Ship(generator);
+
+        LinkedHashSet<Room> visited = new LinkedHashSet<>();
+        ArrayList<Pass> passes = new ArrayList<>();
+        visited.add(ship.getPlayer().getRoom());
+        boolean progress = true;
+
+        while(progress)
+        {
+            progress = false;
+
+            for(Room r : new ArrayList<>(visited))
+            {
+                for(Item item : r.getInventory().getItems())
+                {
+                    if(item instanceof Pass && !passes.contains(item))
+                        passes.add((Pass) item);
+                }
+
+                for(Door d : r.getDoors())
+                {
+                    if(d instanceof LockedDoor)
+                    {
+                        for(int i = 0; i < passes.size() && ((LockedDoor) d).isLocked(); i++)
+                            ((LockedDoor) d).unlock(passes.get(i));
+
+                        if(((LockedDoor) d).isLocked())
+                            continue;
+                    }
+
+                    progress |= visited.add(r.getDestination(d));
+                }
+            }
+        }
+
+        int nbLocked = 0;
+        for(Room r : ship.getRooms())
+        {
+            for(Door d : r.getDoors())
+            {
+                if(d instanceof LockedDoor)
+                    nbLocked++;
+            }
+        }
+
+        assertTrue("locked doors: " + nbLocked, nbLocked > 0);
+        assertEquals(3000, visited.size());
+    }
+}
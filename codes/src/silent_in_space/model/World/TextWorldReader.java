@@ -0,0 +1,269 @@
+package silent_in_space.model.World;
+
+import silent_in_space.model.Items.PassType;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+/* -----------------------------------------------------------------------------
+ * Lecteur des mondes au format texte:
+ *
+ * Rôle: Lit un fichier de monde ligne par ligne et transmet chaque
+ * enregistrement à un WorldHandler, sans jamais garder le fichier en mémoire.
+ *
+ * Format: UTF-8, un enregistrement par ligne, champs séparés par des tabulations.
+ * Les lignes vides et celles commençant par '#' sont ignorées. La première ligne
+ * utile est l'en-tête "sis-world <version>". Dans un champ, "\t", "\n", "\r" et
+ * "\\" désignent une tabulation, un retour à la ligne, un retour chariot et un
+ * antislash. Un champ optionnel ou une position absente est laissé vide.
+ *
+ *   room           <id> <description>
+ *   door           <pièce> <tag> <col> <ligne> <pièce d'arrivée>
+ *   locked         <pièce> <tag> <col> <ligne> <pièce d'arrivée> <pass A|B|C|T>
+ *   npc / umhon    <pièce> <nom> <hostile> <allié> <description> [<réplique>]
+ *   player         <pièce>
+ *   event          <tag> <description> unlock <porte> <pass>
+ *   artefact       <contenant> <tag> <col> <ligne> <description>
+ *   pass           <contenant> <tag> <col> <ligne> <description> <pass>
+ *   file           <contenant> <tag> <col> <ligne> <description> <prenable> <donnable> <contenu>
+ *   sign           <contenant> <tag> <col> <ligne> <description> <contenu>
+ *   healthstation  <contenant> <tag> <col> <ligne> <description>
+ *   computer       <contenant> <tag> <col> <ligne> <description> [<événement>]
+ * ----------------------------------------------------------------------------- */
+
+public class TextWorldReader implements WorldSource {
+
+	public static final String HEADER = "sis-world";
+	public static final int VERSION = 1;
+
+	private final BufferedReader IN;
+	private final String[] FIELDS;
+	private int nbFields;
+	private int lineNumber;
+
+	public TextWorldReader(InputStream in)
+	{
+		this(new InputStreamReader(in, StandardCharsets.UTF_8));
+	}
+
+	public TextWorldReader(Reader in)
+	{
+		this.IN = in instanceof BufferedReader ? (BufferedReader) in : new BufferedReader(in, 1 << 16);
+		this.FIELDS = new String[10];
+	}
+
+	@Override
+	public void read(WorldHandler h) throws IOException
+	{
+		boolean header = false;
+		String line;
+
+		while((line = this.IN.readLine()) != null)
+		{
+			this.lineNumber++;
+
+			if(line.isEmpty() || line.charAt(0) == '#')
+				continue;
+
+			this.split(line);
+
+			if(!header)
+			{
+				if(!HEADER.equals(this.FIELDS[0]) || this.nbFields < 2 || this.integer(1) != VERSION)
+					throw this.error("expected header '" + HEADER + "\t" + VERSION + "'");
+
+				header = true;
+				continue;
+			}
+
+			try {
+				this.record(h);
+			}
+
+			catch(WorldFormatException e) {
+				//Erreur relevée par le récepteur (pièce inconnue...): on indique la ligne
+				if(e.getLine() == 0)
+					throw new WorldFormatException(e.getMessage(), this.lineNumber);
+
+				throw e;
+			}
+		}
+
+		if(!header)
+			throw new WorldFormatException("empty world file");
+	}
+
+	private void record(WorldHandler h) throws IOException
+	{
+		switch(this.FIELDS[0])
+		{
+			case "room" -> {
+				this.expect(3, 3);
+				h.room(this.integer(1), this.text(2));
+			}
+			case "door" -> {
+				this.expect(6, 6);
+				h.door(this.integer(1), this.text(2), this.position(3), this.position(4), this.integer(5));
+			}
+			case "locked" -> {
+				this.expect(7, 7);
+				h.lockedDoor(this.integer(1), this.text(2), this.position(3), this.position(4), this.integer(5), this.passType(6));
+			}
+			case "npc" -> {
+				this.expect(6, 7);
+				h.npc(this.integer(1), this.text(2), this.bool(3), this.bool(4), this.text(5), this.optional(6));
+			}
+			case "umhon" -> {
+				this.expect(6, 7);
+				h.umhon(this.integer(1), this.text(2), this.bool(3), this.bool(4), this.text(5), this.optional(6));
+			}
+			case "player" -> {
+				this.expect(2, 2);
+				h.player(this.integer(1));
+			}
+			case "event" -> {
+				this.expect(6, 6);
+
+				if(!"unlock".equals(this.FIELDS[3]))
+					throw this.error("unknown event action '" + this.FIELDS[3] + "'");
+
+				h.unlockEvent(this.text(1), this.text(2), this.text(4), this.passType(5));
+			}
+			case "artefact" -> {
+				this.expect(6, 6);
+				h.artefact(this.text(1), this.text(2), this.position(3), this.position(4), this.text(5));
+			}
+			case "pass" -> {
+				this.expect(7, 7);
+				h.pass(this.text(1), this.text(2), this.position(3), this.position(4), this.text(5), this.passType(6));
+			}
+			case "file" -> {
+				this.expect(9, 9);
+				h.file(this.text(1), this.text(2), this.position(3), this.position(4), this.text(5),
+						this.bool(6), this.bool(7), this.text(8));
+			}
+			case "sign" -> {
+				this.expect(7, 7);
+				h.sign(this.text(1), this.text(2), this.position(3), this.position(4), this.text(5), this.text(6));
+			}
+			case "healthstation" -> {
+				this.expect(6, 6);
+				h.healthStation(this.text(1), this.text(2), this.position(3), this.position(4), this.text(5));
+			}
+			case "computer" -> {
+				this.expect(6, 7);
+				h.computer(this.text(1), this.text(2), this.position(3), this.position(4), this.text(5), this.optional(6));
+			}
+			default -> throw this.error("unknown record '" + this.FIELDS[0] + "'");
+		}
+	}
+
+	// ====== CHAMPS ======
+
+	private void split(String line)
+	{
+		int start = 0;
+		this.nbFields = 0;
+
+		while(this.nbFields < this.FIELDS.length)
+		{
+			int end = line.indexOf('\t', start);
+
+			if(end < 0 || this.nbFields == this.FIELDS.length - 1)
+			{
+				this.FIELDS[this.nbFields++] = line.substring(start);
+				return;
+			}
+
+			this.FIELDS[this.nbFields++] = line.substring(start, end);
+			start = end + 1;
+		}
+	}
+
+	private void expect(int min, int max) throws WorldFormatException
+	{
+		if(this.nbFields < min || this.nbFields > max)
+			throw this.error("'" + this.FIELDS[0] + "' expects " + (min == max ? min - 1 : (min - 1) + " to " + (max - 1))
+					+ " fields, found " + (this.nbFields - 1));
+	}
+
+	private String text(int i)
+	{
+		String s = this.FIELDS[i];
+		return s.indexOf('\\') < 0 ? s : unescape(s);
+	}
+
+	private String optional(int i)
+	{
+		return i < this.nbFields && !this.FIELDS[i].isEmpty() ? this.text(i) : null;
+	}
+
+	private int integer(int i) throws WorldFormatException
+	{
+		try {
+			return Integer.parseInt(this.FIELDS[i]);
+		}
+
+		catch(NumberFormatException e) {
+			throw this.error("'" + this.FIELDS[i] + "' is not a number");
+		}
+	}
+
+	private int position(int i) throws WorldFormatException
+	{
+		return this.FIELDS[i].isEmpty() ? -1 : this.integer(i);
+	}
+
+	private boolean bool(int i) throws WorldFormatException
+	{
+		return switch(this.FIELDS[i]) {
+			case "true" -> true;
+			case "false" -> false;
+			default -> throw this.error("'" + this.FIELDS[i] + "' is not true or false");
+		};
+	}
+
+	private PassType passType(int i) throws WorldFormatException
+	{
+		try {
+			return PassType.valueOf(this.FIELDS[i]);
+		}
+
+		catch(IllegalArgumentException e) {
+			throw this.error("'" + this.FIELDS[i] + "' is not a pass type");
+		}
+	}
+
+	private WorldFormatException error(String message)
+	{
+		return new WorldFormatException(message, this.lineNumber);
+	}
+
+	static String unescape(String s)
+	{
+		StringBuilder sb = new StringBuilder(s.length());
+
+		for(int i = 0; i < s.length(); i++)
+		{
+			char c = s.charAt(i);
+
+			if(c == '\\' && i + 1 < s.length())
+			{
+				char next = s.charAt(++i);
+
+				switch(next)
+				{
+					case 't' -> sb.append('\t');
+					case 'n' -> sb.append('\n');
+					case 'r' -> sb.append('\r');
+					default -> sb.append(next);
+				}
+			}
+
+			else
+				sb.append(c);
+		}
+
+		return sb.toString();
+	}
+}
@@ -0,0 +1,194 @@
+package silent_in_space.model.World;
+
+import silent_in_space.model.Items.PassType;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+/* -----------------------------------------------------------------------------
+ * Écrivain des mondes au format texte:
+ *
+ * Rôle: Écrit les enregistrements reçus dans le format lu par TextWorldReader
+ * (utilisé pour exporter un monde généré ou décompiler un monde binaire).
+ * ----------------------------------------------------------------------------- */
+
+public class TextWorldWriter implements WorldHandler, Closeable {
+
+	private final Writer OUT;
+	private final StringBuilder LINE;
+
+	public TextWorldWriter(OutputStream out) throws IOException
+	{
+		this(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+	}
+
+	public TextWorldWriter(Writer out) throws IOException
+	{
+		this.OUT = new BufferedWriter(out, 1 << 16);
+		this.LINE = new StringBuilder();
+		this.OUT.write(TextWorldReader.HEADER + "\t" + TextWorldReader.VERSION + "\n");
+	}
+
+	public void comment(String comment) throws IOException
+	{
+		this.OUT.write("\n# " + comment.replace("\n", "\n# ") + "\n");
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		this.OUT.close();
+	}
+
+	@Override
+	public void room(int id, String description) throws IOException
+	{
+		this.start("room").field(id).field(description).end();
+	}
+
+	@Override
+	public void door(int room, String tag, int col, int line, int destination) throws IOException
+	{
+		this.start("door").field(room).field(tag).position(col).position(line).field(destination).end();
+	}
+
+	@Override
+	public void lockedDoor(int room, String tag, int col, int line, int destination, PassType pass) throws IOException
+	{
+		this.start("locked").field(room).field(tag).position(col).position(line).field(destination).field(pass.name()).end();
+	}
+
+	@Override
+	public void npc(int room, String name, boolean isHostile, boolean isAlly, String description, String speech) throws IOException
+	{
+		this.start("npc").actor(room, name, isHostile, isAlly, description, speech).end();
+	}
+
+	@Override
+	public void umhon(int room, String name, boolean isHostile, boolean isAlly, String description, String speech) throws IOException
+	{
+		this.start("umhon").actor(room, name, isHostile, isAlly, description, speech).end();
+	}
+
+	@Override
+	public void player(int room) throws IOException
+	{
+		this.start("player").field(room).end();
+	}
+
+	@Override
+	public void unlockEvent(String tag, String description, String door, PassType pass) throws IOException
+	{
+		this.start("event").field(tag).field(description).field("unlock").field(door).field(pass.name()).end();
+	}
+
+	@Override
+	public void artefact(String container, String tag, int col, int line, String description) throws IOException
+	{
+		this.start("artefact").item(container, tag, col, line, description).end();
+	}
+
+	@Override
+	public void pass(String container, String tag, int col, int line, String description, PassType pass) throws IOException
+	{
+		this.start("pass").item(container, tag, col, line, description).field(pass.name()).end();
+	}
+
+	@Override
+	public void file(String container, String tag, int col, int line, String description,
+					 boolean isTakable, boolean isGivable, String content) throws IOException
+	{
+		this.start("file").item(container, tag, col, line, description)
+				.field(Boolean.toString(isTakable)).field(Boolean.toString(isGivable)).field(content).end();
+	}
+
+	@Override
+	public void sign(String container, String tag, int col, int line, String description, String content) throws IOException
+	{
+		this.start("sign").item(container, tag, col, line, description).field(content).end();
+	}
+
+	@Override
+	public void healthStation(String container, String tag, int col, int line, String description) throws IOException
+	{
+		this.start("healthstation").item(container, tag, col, line, description).end();
+	}
+
+	@Override
+	public void computer(String container, String tag, int col, int line, String description, String event) throws IOException
+	{
+		this.start("computer").item(container, tag, col, line, description);
+
+		if(event != null)
+			this.field(event);
+
+		this.end();
+	}
+
+	// ====== CHAMPS ======
+
+	private TextWorldWriter start(String record)
+	{
+		this.LINE.setLength(0);
+		this.LINE.append(record);
+		return this;
+	}
+
+	private TextWorldWriter actor(int room, String name, boolean isHostile, boolean isAlly, String description, String speech)
+	{
+		this.field(room).field(name).field(Boolean.toString(isHostile)).field(Boolean.toString(isAlly)).field(description);
+
+		if(speech != null)
+			this.field(speech);
+
+		return this;
+	}
+
+	private TextWorldWriter item(String container, String tag, int col, int line, String description)
+	{
+		return this.field(container).field(tag).position(col).position(line).field(description);
+	}
+
+	private TextWorldWriter field(int value)
+	{
+		this.LINE.append('\t').append(value);
+		return this;
+	}
+
+	private TextWorldWriter position(int value)
+	{
+		this.LINE.append('\t');
+
+		if(value >= 0)
+			this.LINE.append(value);
+
+		return this;
+	}
+
+	private TextWorldWriter field(String value)
+	{
+		this.LINE.append('\t');
+
+		for(int i = 0; i < value.length(); i++)
+		{
+			char c = value.charAt(i);
+
+			switch(c)
+			{
+				case '\\' -> this.LINE.append("\\\\");
+				case '\t' -> this.LINE.append("\\t");
+				case '\n' -> this.LINE.append("\\n");
+				case '\r' -> this.LINE.append("\\r");
+				default -> this.LINE.append(c);
+			}
+		}
+
+		return this;
+	}
+
+	private void end() throws IOException
+	{
+		this.LINE.append('\n');
+		this.OUT.append(this.LINE);
+	}
+}
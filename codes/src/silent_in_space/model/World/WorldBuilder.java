@@ -0,0 +1,278 @@
+package silent_in_space.model.World;
+
+import silent_in_space.model.Characters.Actor;
+import silent_in_space.model.Characters.NPC;
+import silent_in_space.model.Characters.Player;
+import silent_in_space.model.Characters.Umhon;
+import silent_in_space.model.Containers.Inventory;
+import silent_in_space.model.Doors.Door;
+import silent_in_space.model.Doors.LockedDoor;
+import silent_in_space.model.Events.Event;
+import silent_in_space.model.Events.UnlockDoorEvent;
+import silent_in_space.model.Items.*;
+import silent_in_space.model.Location.Room;
+import silent_in_space.model.Location.Ship;
+import silent_in_space.model.Utils.Scalar2D;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/* -----------------------------------------------------------------------------
+ * Constructeur d'un vaisseau à partir de ses enregistrements:
+ *
+ * Rôle: Crée les pièces, portes, acteurs, objets et événements décrits par un
+ * WorldSource et les ajoute au vaisseau en cours de construction. Une référence
+ * vers une pièce, un acteur, un ordinateur ou un événement inconnu est une
+ * erreur de format.
+ *
+ * Dans un vaisseau paginé, une pièce peut être déchargée dès qu'une autre est
+ * demandée: chaque pièce est donc redemandée au vaisseau juste avant d'être
+ * modifiée, les ordinateurs sont retrouvés par l'endroit où ils ont été posés et
+ * la pièce de destination d'une porte n'est pas chargée.
+ *
+ * Les objets sont numérotés dans l'ordre où ils sont créés: un même monde donne
+ * toujours les mêmes numéros, qui servent à les retrouver dans une sauvegarde.
+ * ----------------------------------------------------------------------------- */
+
+public class WorldBuilder implements WorldHandler {
+
+	private final Ship SHIP;
+	private final HashMap<String, Event> EVENTS;
+	private final HashMap<String, String> COMPUTERS;
+	private Player player;
+
+	//Nombre d'objets créés, qui donne son numéro au suivant (cf. Item.getID()):
+	private int nbItems;
+
+	public WorldBuilder(Ship ship)
+	{
+		this.SHIP = ship;
+		this.EVENTS = new HashMap<>();
+		this.COMPUTERS = new HashMap<>();
+	}
+
+	// Le joueur du monde construit (un monde sans enregistrement "player" est invalide)
+	public Player getPlayer() throws WorldFormatException
+	{
+		if(this.player == null)
+			throw new WorldFormatException("the world has no player");
+
+		return this.player;
+	}
+
+	// Nombre d'objets du monde construit (numérotés de 0 à getNbItems() - 1)
+	public int getNbItems()
+	{
+		return this.nbItems;
+	}
+
+	// ====== PIÈCES ET PORTES ======
+
+	@Override
+	public void room(int id, String description) throws WorldFormatException
+	{
+		if(this.SHIP.getRoom(id) != null)
+			throw new WorldFormatException("room " + id + " is declared twice");
+
+		this.SHIP.addRoom(new Room(this.SHIP, id, description));
+	}
+
+	@Override
+	public void door(int room, String tag, int col, int line, int destination) throws WorldFormatException
+	{
+		this.checkRoom(destination);
+		this.room(room).addDoor(new Door(tag, position(col, line)), destination);
+	}
+
+	@Override
+	public void lockedDoor(int room, String tag, int col, int line, int destination, PassType pass) throws WorldFormatException
+	{
+		Scalar2D pos = position(col, line);
+		LockedDoor d = pos != null ? new LockedDoor(tag, pass, pos) : new LockedDoor(tag, pass);
+
+		this.checkRoom(destination);
+		this.room(room).addDoor(d, destination);
+	}
+
+	// ====== ACTEURS ======
+
+	@Override
+	public void npc(int room, String name, boolean isHostile, boolean isAlly, String description, String speech) throws WorldFormatException
+	{
+		NPC npc = new NPC(name, description, isHostile, isAlly, new ArrayList<>(), this.room(room));
+
+		if(speech != null)
+			npc.setSpeech(speech);
+	}
+
+	@Override
+	public void umhon(int room, String name, boolean isHostile, boolean isAlly, String description, String speech) throws WorldFormatException
+	{
+		Umhon umhon = new Umhon(name, description, isHostile, isAlly, new ArrayList<>(), this.room(room));
+
+		if(speech != null)
+			umhon.setSpeech(speech);
+	}
+
+	@Override
+	public void player(int room) throws WorldFormatException
+	{
+		if(this.player != null)
+			throw new WorldFormatException("the world has more than one player");
+
+		this.player = new Player(this.room(room), this.SHIP);
+	}
+
+	@Override
+	public void unlockEvent(String tag, String description, String door, PassType pass)
+	{
+		this.EVENTS.put(tag, new Event(tag, description, new UnlockDoorEvent(door, pass)));
+	}
+
+	// ====== OBJETS ======
+
+	@Override
+	public void artefact(String container, String tag, int col, int line, String description) throws WorldFormatException
+	{
+		this.put(container, new Artefact(tag, description, itemPosition(col, line)));
+	}
+
+	@Override
+	public void pass(String container, String tag, int col, int line, String description, PassType pass) throws WorldFormatException
+	{
+		this.put(container, new Pass(tag, description, pass, itemPosition(col, line)));
+	}
+
+	@Override
+	public void file(String container, String tag, int col, int line, String description,
+					 boolean isTakable, boolean isGivable, String content) throws WorldFormatException
+	{
+		File f = new File(tag, description, itemPosition(col, line), isTakable, isGivable, content);
+
+		if(container.startsWith("computer:"))
+		{
+			f.setID(this.nbItems++);
+			this.computer(container.substring(9)).addFile(f);
+		}
+
+		else
+			this.put(container, f);
+	}
+
+	@Override
+	public void sign(String container, String tag, int col, int line, String description, String content) throws WorldFormatException
+	{
+		this.put(container, new Sign(tag, description, content, itemPosition(col, line)));
+	}
+
+	@Override
+	public void healthStation(String container, String tag, int col, int line, String description) throws WorldFormatException
+	{
+		this.put(container, new HealthStation(tag, description, itemPosition(col, line)));
+	}
+
+	@Override
+	public void computer(String container, String tag, int col, int line, String description, String event) throws WorldFormatException
+	{
+		Computer c;
+
+		if(event == null)
+			c = new Computer(description, tag, itemPosition(col, line));
+
+		else
+		{
+			Event e = this.EVENTS.get(event);
+
+			if(e == null)
+				throw new WorldFormatException("unknown event '" + event + "'");
+
+			c = new Computer(description, tag, e, itemPosition(col, line));
+		}
+
+		this.put(container, c);
+		this.COMPUTERS.put(tag, container);
+	}
+
+	// ====== RÉFÉRENCES ======
+
+	private Room room(int id) throws WorldFormatException
+	{
+		Room r = this.SHIP.getRoom(id);
+
+		if(r == null)
+			throw new WorldFormatException("unknown room " + id);
+
+		return r;
+	}
+
+	// Vérifie qu'une pièce existe sans la charger (cf. vaisseau paginé)
+	private void checkRoom(int id) throws WorldFormatException
+	{
+		if(!this.SHIP.hasRoom(id))
+			throw new WorldFormatException("unknown room " + id);
+	}
+
+	private Computer computer(String tag) throws WorldFormatException
+	{
+		String container = this.COMPUTERS.get(tag);
+
+		if(container == null)
+			throw new WorldFormatException("unknown computer '" + tag + "'");
+
+		Item c = this.inventory(container).getItem(tag);
+
+		if(!(c instanceof Computer))
+			throw new WorldFormatException("unknown computer '" + tag + "'");
+
+		return (Computer) c;
+	}
+
+	private void put(String container, Item item) throws WorldFormatException
+	{
+		item.setID(this.nbItems++);
+		this.inventory(container).addItem(item);
+	}
+
+	private Inventory inventory(String container) throws WorldFormatException
+	{
+		Inventory inventory;
+
+		if(container.startsWith("room:"))
+		{
+			try {
+				inventory = this.room(Integer.parseInt(container, 5, container.length(), 10)).getInventory();
+			}
+
+			catch(NumberFormatException e) {
+				throw new WorldFormatException("bad container '" + container + "'");
+			}
+		}
+
+		else if(container.startsWith("actor:"))
+		{
+			Actor a = this.SHIP.findActor(container.substring(6));
+
+			if(a == null)
+				throw new WorldFormatException("unknown actor in '" + container + "'");
+
+			inventory = a.getInventory();
+		}
+
+		else
+			throw new WorldFormatException("bad container '" + container + "'");
+
+		return inventory;
+	}
+
+	private static Scalar2D position(int col, int line)
+	{
+		return col >= 0 && line >= 0 ? new Scalar2D(col, line) : null;
+	}
+
+	// Les objets sont toujours placés (en (0, 0) par défaut, comme dans leurs constructeurs)
+	private static Scalar2D itemPosition(int col, int line)
+	{
+		Scalar2D pos = position(col, line);
+		return pos != null ? pos : new Scalar2D(0, 0);
+	}
+}
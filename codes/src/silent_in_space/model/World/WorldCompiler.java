@@ -0,0 +1,58 @@
+package silent_in_space.model.World;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/* -----------------------------------------------------------------------------
+ * Compilation des mondes:
+ *
+ * Rôle: Convertit un fichier de monde vers le format binaire chargé au
+ * démarrage (ou vers le format texte si la sortie se termine par ".world").
+ *
+ * Usage: java silent_in_space.model.World.WorldCompiler <entrée> <sortie>
+ * ----------------------------------------------------------------------------- */
+
+public final class WorldCompiler {
+
+	private WorldCompiler() {
+	}
+
+	public static void compile(WorldSource source, Path out) throws IOException
+	{
+		try(OutputStream os = Files.newOutputStream(out)) {
+			if(out.toString().endsWith(".world"))
+			{
+				try(TextWorldWriter w = new TextWorldWriter(os)) {
+					source.read(w);
+				}
+			}
+
+			else
+			{
+				try(BinaryWorldWriter w = new BinaryWorldWriter(os)) {
+					source.read(w);
+				}
+			}
+		}
+	}
+
+	public static void main(String[] args)
+	{
+		if(args.length != 2)
+		{
+			System.err.println("Usage: WorldCompiler <input world> <output file>");
+			System.exit(2);
+		}
+
+		try {
+			compile(WorldSource.fromFile(Paths.get(args[0])), Paths.get(args[1]));
+		}
+
+		catch(IOException e) {
+			System.err.println(args[0] + ": " + e.getMessage());
+			System.exit(1);
+		}
+	}
+}
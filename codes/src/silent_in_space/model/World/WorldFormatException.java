@@ -0,0 +1,23 @@
+package silent_in_space.model.World;
+
+import java.io.IOException;
+
+// Fichier de monde mal formé ou incohérent (pièce inconnue, enregistrement invalide...)
+public class WorldFormatException extends IOException {
+
+	private final int LINE;
+
+	public WorldFormatException(String message) {
+		this(message, 0);
+	}
+
+	public WorldFormatException(String message, int line) {
+		super(line > 0 ? "line " + line + ": " + message : message);
+		this.LINE = line;
+	}
+
+	// Ligne fautive du fichier texte, 0 si elle n'est pas connue
+	public int getLine() {
+		return LINE;
+	}
+}
@@ -0,0 +1,49 @@
+package silent_in_space.model.World;
+
+import silent_in_space.model.Items.PassType;
+
+import java.io.IOException;
+
+/* -----------------------------------------------------------------------------
+ * Récepteur des enregistrements d'un monde:
+ *
+ * Rôle: Chaque méthode correspond à un type d'enregistrement du format des
+ * mondes (cf. TextWorldReader). Les lecteurs (texte, binaire, générateur)
+ * appellent ces méthodes dans l'ordre du fichier; le WorldBuilder en fait un
+ * vaisseau, les écrivains les recopient dans un autre format.
+ *
+ * Une pièce doit être déclarée avant d'être référencée. Un contenant s'écrit
+ * "room:<id>", "actor:<nom>" ou "computer:<tag>". Une position absente vaut -1.
+ * ----------------------------------------------------------------------------- */
+
+public interface WorldHandler {
+
+	void room(int id, String description) throws IOException;
+
+	void door(int room, String tag, int col, int line, int destination) throws IOException;
+
+	void lockedDoor(int room, String tag, int col, int line, int destination, PassType pass) throws IOException;
+
+	// speech peut être null
+	void npc(int room, String name, boolean isHostile, boolean isAlly, String description, String speech) throws IOException;
+
+	void umhon(int room, String name, boolean isHostile, boolean isAlly, String description, String speech) throws IOException;
+
+	void player(int room) throws IOException;
+
+	void unlockEvent(String tag, String description, String door, PassType pass) throws IOException;
+
+	void artefact(String container, String tag, int col, int line, String description) throws IOException;
+
+	void pass(String container, String tag, int col, int line, String description, PassType pass) throws IOException;
+
+	void file(String container, String tag, int col, int line, String description,
+			  boolean isTakable, boolean isGivable, String content) throws IOException;
+
+	void sign(String container, String tag, int col, int line, String description, String content) throws IOException;
+
+	void healthStation(String container, String tag, int col, int line, String description) throws IOException;
+
+	// event peut être null
+	void computer(String container, String tag, int col, int line, String description, String event) throws IOException;
+}
@@ -0,0 +1,171 @@
+package silent_in_space.model.World;
+
+import silent_in_space.model.Characters.Player;
+import silent_in_space.model.Doors.LockedDoor;
+import silent_in_space.model.Items.Computer;
+import silent_in_space.model.Items.PassType;
+import silent_in_space.model.Location.Room;
+import silent_in_space.model.Location.Ship;
+import org.junit.Test;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class WorldIT
+{
+    private static Ship load(String text) throws IOException
+    {
+        return new Ship(h -> WorldSource.read(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), h));
+    }
+
+    private static String toText(WorldSource source) throws IOException
+    {
+        StringWriter out = new StringWriter();
+
+        try(TextWorldWriter w = new TextWorldWriter(out)) {
+            source.read(w);
+        }
+
+        return out.toString();
+    }
+
+    private static byte[] toBinary(WorldSource source) throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try(BinaryWorldWriter w = new BinaryWorldWriter(out)) {
+            source.read(w);
+        }
+
+        return out.toByteArray();
+    }
+
+    @Test
+    public void testDefaultWorld()
+    {
+        Ship ship = new Ship();
+
+        assertEquals(14, ship.getRooms().size());
+        assertEquals(21, ship.getPlayer().getRoom().getID());
+        assertNotNull(ship.getNPC("Kilen").getInventory().getItem("passT"));
+        assertNotNull(ship.getNPC("Umhon").getInventory().getItem("CaptainCode"));
+        assertEquals(3, ((Computer) ship.getRoom(23).getInventory().getItem("computer")).getFILES().getSize());
+        assertEquals(ship.getRoom(19), ship.getRoom(18).getDestination(ship.getRoom(18).getDoor("doorA")));
+    }
+
+    @Test
+    public void testComputerEventUnlocksDoor()
+    {
+        Ship ship = new Ship();
+        Player player = ship.getPlayer();
+        Room room23 = ship.getRoom(23);
+        Computer computer = (Computer) room23.getInventory().getItem("computer");
+        LockedDoor door = room23.getLockedDoor("door22");
+
+        player.changeRoom(room23);
+        assertTrue(door.isLocked());
+
+        computer.getEVENT().getE().raise(player);
+        assertFalse(door.isLocked());
+    }
+
+    @Test
+    public void testBinaryRoundTrip() throws IOException
+    {
+        WorldSource text = WorldSource.fromResource(WorldSource.DEFAULT_WORLD);
+        byte[] binary = toBinary(text);
+
+        assertEquals('S', binary[0]);
+        assertEquals(toText(text), toText(h -> WorldSource.read(new ByteArrayInputStream(binary), h)));
+    }
+
+    @Test
+    public void testEscapes() throws IOException
+    {
+        Ship ship = load("sis-world\t1\n" +
+                "room\t1\tfirst line\\nsecond\\tline \\\\o/\n" +
+                "room\t2\tanother room\n" +
+                "door\t1\tdoor2\t\t\t2\n" +
+                "player\t1\n");
+
+        Room r = ship.getRoom(1);
+        assertEquals(ship.getRoom(2), r.getDestination(r.getDoor("door2")));
+        assertNull(r.getDoor("door2").getScalar2D());
+
+        StringWriter out = new StringWriter();
+        try(TextWorldWriter w = new TextWorldWriter(out)) {
+            w.room(1, "first line\nsecond\tline \\o/");
+        }
+        assertTrue(out.toString().endsWith("room\t1\tfirst line\\nsecond\\tline \\\\o/\n"));
+    }
+
+    @Test
+    public void testLockedDoorAndItems() throws IOException
+    {
+        Ship ship = load("sis-world\t1\n" +
+                "room\t1\tr1\nroom\t2\tr2\n" +
+                "locked\t1\tdoorB\t10\t5\t2\tB\n" +
+                "npc\t2\tBob\tfalse\ttrue\tsomeone\n" +
+                "pass\tactor:Bob\tpassB\t\t\ta pass\tB\n" +
+                "player\t1\n");
+
+        assertTrue(ship.getRoom(1).getLockedDoor("doorB").isLocked());
+        assertNotNull(ship.getNPC("Bob").getInventory().getItem("passB"));
+        assertEquals(0, ship.getNPC("Bob").getInventory().getItem("passB").getScalar2D().getScalar2DCol());
+    }
+
+    @Test
+    public void testErrors()
+    {
+        String[] worlds = {
+                "",
+                "room\t1\tno header\n",
+                "sis-world\t1\nroom\t1\tr1\n",
+                "sis-world\t1\nroom\t1\tr1\ndoor\t1\td\t0\t0\t2\nplayer\t1\n",
+                "sis-world\t1\nroom\t1\tr1\nroom\t1\ttwice\nplayer\t1\n",
+                "sis-world\t1\nroom\tone\tr1\n",
+                "sis-world\t1\nroom\t1\tr1\nartefact\tactor:Nobody\tstatue\t0\t0\ta statue\nplayer\t1\n",
+                "sis-world\t1\nroom\t1\tr1\nwall\t1\n",
+        };
+
+        for(String world : worlds)
+        {
+            try {
+                load(world);
+                fail("loaded: " + world);
+            } catch(WorldFormatException e) {
+                assertNotNull(e.getMessage());
+            } catch(IOException e) {
+                fail(e.toString());
+            }
+        }
+    }
+
+    @Test
+    public void testUnknownRoomLineNumber() throws IOException
+    {
+        try {
+            load("sis-world\t1\n# comment\nroom\t1\tr1\ndoor\t1\td\t0\t0\t2\n");
+            fail();
+        } catch(WorldFormatException e) {
+            assertEquals("line 4: unknown room 2", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testPassTypeInBinary() throws IOException
+    {
+        byte[] binary = toBinary(h -> {
+            h.room(1, "r1");
+            h.room(2, "r2");
+            h.lockedDoor(1, "doorT", -1, -1, 2, PassType.T);
+            h.player(2);
+        });
+
+        Ship ship = new Ship(h -> WorldSource.read(new ByteArrayInputStream(binary), h));
+        assertTrue(ship.getRoom(1).getLockedDoor("doorT").isLocked());
+        assertEquals(2, ship.getPlayer().getRoom().getID());
+    }
+}
@@ -0,0 +1,59 @@
+package silent_in_space.model.World;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/* -----------------------------------------------------------------------------
+ * Source d'un monde:
+ *
+ * Rôle: Envoie les enregistrements d'un monde à un WorldHandler. Les fabriques
+ * ci-dessous reconnaissent seules le format (texte ou binaire compilé) à partir
+ * des premiers octets du fichier.
+ * ----------------------------------------------------------------------------- */
+
+@FunctionalInterface
+public interface WorldSource {
+
+	// Monde par défaut, fourni avec le jeu
+	String DEFAULT_WORLD = "/silent_in_space/data/ship.world";
+
+	void read(WorldHandler handler) throws IOException;
+
+	// Lit le flux dans le format détecté, sans le fermer
+	static void read(InputStream in, WorldHandler handler) throws IOException
+	{
+		BufferedInputStream buffered = new BufferedInputStream(in, 1 << 16);
+		byte[] magic = new byte[BinaryWorldWriter.MAGIC.length];
+
+		buffered.mark(magic.length);
+		int n = buffered.readNBytes(magic, 0, magic.length);
+		buffered.reset();
+
+		if(n == magic.length && java.util.Arrays.equals(magic, BinaryWorldWriter.MAGIC))
+			new BinaryWorldReader(buffered).read(handler);
+		else
+			new TextWorldReader(buffered).read(handler);
+	}
+
+	static WorldSource fromFile(Path path)
+	{
+		return handler -> {
+			try(InputStream in = Files.newInputStream(path)) {
+				read(in, handler);
+			}
+		};
+	}
+
+	static WorldSource fromResource(String name)
+	{
+		return handler -> {
+			try(InputStream in = WorldSource.class.getResourceAsStream(name)) {
+				if(in == null)
+					throw new FileNotFoundException(name);
+
+				read(in, handler);
+			}
+		};
+	}
+}
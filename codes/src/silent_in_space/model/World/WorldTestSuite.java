@@ -0,0 +1,10 @@
+package silent_in_space.model.World;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+
+@RunWith(Suite.class)
+@Suite.SuiteClasses({silent_in_space.model.World.WorldIT.class, silent_in_space.model.World.ShipGeneratorIT.class})
+
+public class WorldTestSuite {
+}
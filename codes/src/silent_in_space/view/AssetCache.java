@@ -0,0 +1,197 @@
+package silent_in_space.view;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritableImage;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/* -----------------------------------------------------------------------------
+ * Cache des images du jeu:
+ *
+ * Rôle: Donne aux contrôleurs des images partagées (portraits, sprites) au lieu
+ * d'en relire et décoder une nouvelle à chaque clic. Les images de img/ sont
+ * décodées une fois, en tâche de fond au lancement (preload()), à la taille où
+ * elles sont affichées (au plus maxWidth x maxHeight) plutôt qu'à celle du
+ * fichier. Le cache ne garde que les maxEntries images les plus récemment
+ * utilisées: une image oubliée est relue à la demande.
+ *
+ * Plusieurs sprites peuvent partager une seule texture (atlas): ils sont alors
+ * affichés par une fenêtre (viewport) de l'atlas (cf. show()).
+ * ----------------------------------------------------------------------------- */
+
+public final class AssetCache {
+
+    public static final String IMG_DIR = "/silent_in_space/img/";
+
+    private final int maxEntries;
+    private final double maxWidth;
+    private final double maxHeight;
+
+    //Images décodées, de la moins à la plus récemment utilisée (atlas compris):
+    private final LinkedHashMap<String, Image> images;
+
+    //Sprites rangés dans un atlas: nom de l'atlas et place du sprite dans celui-ci
+    private final HashMap<String, String> atlasOf = new HashMap<>();
+    private final HashMap<String, Rectangle2D> regions = new HashMap<>();
+
+    public AssetCache(int maxEntries, double maxWidth, double maxHeight) {
+        this.maxEntries = maxEntries;
+        this.maxWidth = maxWidth;
+        this.maxHeight = maxHeight;
+        this.images = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Image> eldest) {
+                return size() > AssetCache.this.maxEntries;
+            }
+        };
+    }
+
+    // ============================== GETTERS =========================================
+    public synchronized int size() { return images.size(); }
+    public synchronized boolean isCached(String name) { return images.containsKey(name); }
+
+    // Image partagée du fichier img/<name>; si elle n'est pas (ou plus) en cache, elle est lue en tâche de fond
+    // par JavaFX et s'affichera dès qu'elle sera prête
+    public Image get(String name) {
+        synchronized (this) {
+            Image image = images.get(name);
+            if (image != null)
+                return image;
+        }
+
+        return cache(name, decode(name, true));
+    }
+
+    // Affiche le sprite name dans view: la fenêtre de son atlas s'il en a un, sinon son image seule
+    public void show(ImageView view, String name) {
+        Rectangle2D region;
+        Image atlas;
+
+        synchronized (this) {
+            region = regions.get(name);
+            atlas = region != null ? images.get(atlasOf.get(name)) : null;
+        }
+
+        view.setImage(atlas != null ? atlas : get(name));
+        view.setViewport(atlas != null ? region : null);
+    }
+
+    // =============================== CHARGEMENT =======================================
+
+    // Décode toutes les images de img/ sur un thread à part, puis range atlasSprites (s'il y en a) dans l'atlas atlasName
+    public Thread preload(String atlasName, String... atlasSprites) {
+        Thread t = new Thread(() -> {
+            for (String name : listImages()) {
+                if (!isCached(name))
+                    cache(name, decode(name, false));
+            }
+
+            if (atlasSprites.length > 0)
+                packAtlas(atlasName, atlasSprites);
+        }, "sis-assets");
+
+        t.setDaemon(true);
+        t.start();
+        return t;
+    }
+
+    // Range les sprites côte à côte dans une seule image (décodés s'il le faut, sur le thread appelant)
+    public void packAtlas(String atlasName, String... sprites) {
+        Image[] parts = new Image[sprites.length];
+        int width = 0;
+        int height = 0;
+
+        for (int i = 0; i < sprites.length; i++) {
+            parts[i] = decode(sprites[i], false);
+            width += (int) parts[i].getWidth();
+            height = Math.max(height, (int) parts[i].getHeight());
+        }
+
+        WritableImage atlas = new WritableImage(Math.max(width, 1), Math.max(height, 1));
+        HashMap<String, Rectangle2D> packed = new HashMap<>();
+        int x = 0;
+
+        for (int i = 0; i < sprites.length; i++) {
+            int w = (int) parts[i].getWidth();
+            int h = (int) parts[i].getHeight();
+            PixelReader reader = parts[i].getPixelReader();
+
+            if (reader != null)
+                atlas.getPixelWriter().setPixels(x, 0, w, h, reader, 0, 0);
+
+            packed.put(sprites[i], new Rectangle2D(x, 0, w, h));
+            x += w;
+        }
+
+        synchronized (this) {
+            images.put(atlasName, atlas);
+
+            for (String sprite : sprites) {
+                atlasOf.put(sprite, atlasName);
+                regions.put(sprite, packed.get(sprite));
+            }
+        }
+    }
+
+    private synchronized Image cache(String name, Image image) {
+        Image cached = images.putIfAbsent(name, image);
+        return cached != null ? cached : image;
+    }
+
+    private Image decode(String name, boolean backgroundLoading) {
+        return new Image(getClass().getResource(IMG_DIR + name).toString(), maxWidth, maxHeight, true, true, backgroundLoading);
+    }
+
+    // Noms des images de img/ (dossier du projet ou archive .jar)
+    public static List<String> listImages() {
+        URL url = AssetCache.class.getResource(IMG_DIR);
+
+        if (url == null)
+            return Collections.emptyList();
+
+        try {
+            URI uri = url.toURI();
+
+            if ("jar".equals(uri.getScheme())) {
+                try (FileSystem fs = FileSystems.newFileSystem(uri, Collections.emptyMap())) {
+                    return list(fs.provider().getPath(uri));
+                }
+            }
+
+            return list(Paths.get(uri));
+        } catch (IOException | URISyntaxException e) {
+            return Collections.emptyList();
+        }
+    }
+
+    private static List<String> list(Path dir) throws IOException {
+        ArrayList<String> names = new ArrayList<>();
+
+        try (Stream<Path> files = Files.list(dir)) {
+            files.map(p -> p.getFileName().toString())
+                    .filter(n -> n.endsWith(".png") || n.endsWith(".jpg") || n.endsWith(".gif"))
+                    .sorted()
+                    .forEach(names::add);
+        }
+
+        return names;
+    }
+}
@@ -5,6 +5,9 @@ import javafx.scene.control.Button;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.VBox;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class ComputerView extends VBox {
     //====================== ATTRIBUTS ==========================
     @FXML private VBox computer;
@@ -12,9 +15,13 @@ public class ComputerView extends VBox {
     @FXML private Button eventBtn;
     @FXML private Button quitBtn;
 
+    //Icônes des documents posées sur le bureau (la vue resservant pour d'autres ordinateurs, elles sont reprises):
+    private final List<ItemView> fileViews = new ArrayList<>();
+
     //====================== GETTERS ==========================
     public VBox getComputer(){return computer;}
     public GridPane getComputerDesk() { return computerDesk; }
     public Button getEventBtn() { return eventBtn; }
     public Button getQuitBtn() { return quitBtn; }
+    public List<ItemView> getFileViews() { return fileViews; }
 }
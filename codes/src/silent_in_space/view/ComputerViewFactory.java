@@ -0,0 +1,62 @@
+package silent_in_space.view;
+
+import javafx.fxml.FXMLLoader;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+
+/* -----------------------------------------------------------------------------
+ * Fabrique des vues d'ordinateur:
+ *
+ * Rôle: Garde des ComputerView prêtes à l'emploi pour qu'ouvrir un ordinateur
+ * ne relise pas ComputerView.fxml. Chaque vue est chargée une seule fois (au
+ * lancement par warmUp(), ou à la demande si aucune n'est libre), reçoit alors
+ * ses gestionnaires d'événements (initializer), puis sert pour n'importe quel
+ * ordinateur du modèle: on la rend (release()) quand le terminal est fermé.
+ * ----------------------------------------------------------------------------- */
+
+public final class ComputerViewFactory {
+
+    private static final URL FXML = ComputerViewFactory.class.getResource("ComputerView.fxml");
+
+    private final ArrayDeque<ComputerView> ready = new ArrayDeque<>();
+    private final Consumer<ComputerView> initializer;
+    private int nbLoaded;
+
+    public ComputerViewFactory(Consumer<ComputerView> initializer) {
+        this.initializer = initializer;
+    }
+
+    // ============================== GETTERS =========================================
+    public int getNbReady() { return ready.size(); }
+    public int getNbLoaded() { return nbLoaded; }
+
+    // ============================== POOL ============================================
+
+    // Charge d'avance de quoi ouvrir nbViews ordinateurs à la fois
+    public void warmUp(int nbViews) throws IOException {
+        while (nbLoaded < nbViews)
+            ready.push(load());
+    }
+
+    public ComputerView acquire() throws IOException {
+        return ready.isEmpty() ? load() : ready.pop();
+    }
+
+    public void release(ComputerView view) {
+        if (view != null && !ready.contains(view))
+            ready.push(view);
+    }
+
+    private ComputerView load() throws IOException {
+        FXMLLoader loader = new FXMLLoader(FXML);
+        loader.load();
+        ComputerView view = loader.getController();
+        initializer.accept(view);
+        nbLoaded++;
+
+        return view;
+    }
+}
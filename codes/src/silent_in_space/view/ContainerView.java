@@ -18,7 +18,12 @@ public class ContainerView extends Polygon
     public ContainerView(String containerCategory)
     {
         this.getPoints().addAll(hexagonPoints);
+        setContainerCategory(containerCategory);
+    }
 
+    // Couleur du conteneur suivant sa catégorie
+    public void setContainerCategory(String containerCategory)
+    {
         if ("HealthStation".equals(containerCategory)) {
             this.setFill(Color.MAGENTA);
         } else {
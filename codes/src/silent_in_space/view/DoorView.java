@@ -10,7 +10,7 @@ public class DoorView extends Rectangle
     }
 
     // Détermination de l'orientation d'un porte
-    public String getAlignment(int[] roomSize, int[] doorPos) {
+    public static String getAlignment(int[] roomSize, int[] doorPos) {
         if(doorPos[0] == 0)
             return "LEFT";
         else if(doorPos[0] == roomSize[0]-1)
@@ -0,0 +1,100 @@
+package silent_in_space.view;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import silent_in_space.model.Game.MessageListener;
+import silent_in_space.model.Utils.BatchQueue;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/* -----------------------------------------------------------------------------
+ * Livraison des messages et mises à jour à l'interface, une fois par image:
+ *
+ * Rôle: S'abonne aux messages du jeu à la place de la vue (target) et reçoit
+ * les mises à jour de l'interface (invalidate()), depuis n'importe quel thread,
+ * sans verrou (cf. BatchQueue). À chaque image (AnimationTimer, sur le thread
+ * JavaFX), tous les messages arrivés depuis l'image précédente sont livrés à la
+ * vue en une seule fois, et chaque mise à jour demandée est faite une seule fois
+ * même si elle l'a été plusieurs fois (même Runnable).
+ *
+ * Le minuteur ne tourne que lorsqu'il y a quelque chose à livrer.
+ * ----------------------------------------------------------------------------- */
+
+public class FrameDispatcher implements MessageListener {
+    private final MessageListener target;
+    private final BatchQueue<String> messages = new BatchQueue<>();
+    private final BatchQueue<Runnable> invalidations = new BatchQueue<>();
+
+    //Vrai quand le minuteur tourne (ou va être lancé):
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) { onFrame(); }
+    };
+
+    public FrameDispatcher(MessageListener target) { this.target = target; }
+
+    //====================== DÉPÔTS (tout thread) ==========================
+    @Override
+    public void handle(String message) {
+        messages.offer(message);
+        wake();
+    }
+
+    @Override
+    public void handleAll(List<String> batch) {
+        for (String message : batch)
+            messages.offer(message);
+        wake();
+    }
+
+    // La mise à jour update sera faite à la prochaine image (une seule fois, quel que soit le nombre de demandes)
+    public void invalidate(Runnable update) {
+        invalidations.offer(update);
+        wake();
+    }
+
+    private void wake() {
+        if (scheduled.compareAndSet(false, true)) {
+            if (Platform.isFxApplicationThread())
+                timer.start();
+            else
+                Platform.runLater(timer::start);
+        }
+    }
+
+    //====================== LIVRAISON (thread JavaFX) ==========================
+
+    // Livre tout ce qui a été déposé depuis la dernière livraison
+    public void drain() {
+        List<String> batch = messages.drain();
+
+        if (!batch.isEmpty())
+            target.handleAll(batch);
+
+        List<Runnable> updates = invalidations.drain();
+        Set<Runnable> done = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (Runnable update : updates) {
+            if (done.add(update))
+                update.run();
+        }
+    }
+
+    private void onFrame() {
+        drain();
+
+        if (messages.isEmpty() && invalidations.isEmpty()) {
+            timer.stop();
+            scheduled.set(false);
+
+            //Un dépôt arrivé entre-temps a pu voir le minuteur encore en marche: on le relance
+            if ((!messages.isEmpty() || !invalidations.isEmpty()) && scheduled.compareAndSet(false, true))
+                timer.start();
+        }
+    }
+}
@@ -8,6 +8,10 @@ import javafx.scene.layout.Pane;
 import javafx.scene.layout.VBox;
 import javafx.scene.shape.Rectangle;
 import silent_in_space.model.Game.MessageListener;
+import silent_in_space.model.Game.MessageLog;
+import silent_in_space.model.Items.Item;
+
+import java.util.List;
 
 public class GameView extends HBox implements MessageListener
 {
@@ -16,6 +20,7 @@ public class GameView extends HBox implements MessageListener
     // -------- Le panneau gauche (panneau de la map):
     @FXML private Button zoomPlusButton;
     @FXML private Button zoomMinusButton;
+    @FXML private ComboBox<Integer> travelComboBox;
     @FXML private Label roomLabel;
     @FXML private Pane mapPane;
     @FXML private Slider mapHorizontalSlider;
@@ -29,21 +34,58 @@ public class GameView extends HBox implements MessageListener
     @FXML private ImageView actorImageView;
     @FXML private HBox actorBtnHBox;
     @FXML private Button attackButton;
-    @FXML private TextArea dialogTextArea;
+    @FXML private ListView<String> dialogListView;
     @FXML private Button saveButton;
     @FXML private Button helpButton;
     @FXML private Button loadButton;
-    @FXML private VBox inventoryVBox;
+    @FXML private Button undoButton;
+    @FXML private Button redoButton;
+    @FXML private ProgressBar saveProgressBar;
+    @FXML private ListView<Item> inventoryListView;
     @FXML private Button giveButton;
     @FXML private Button lookButton;
     @FXML private Button dropButton;
 
+    //Historique des messages: seules les cellules visibles de la ListView sont construites (cf. MessageLogList)
+    private final MessageLogList dialogLog = new MessageLogList(new MessageLog());
+    //Inventaire du joueur: seuls les objets arrivés ou partis touchent la ListView (cf. InventoryList)
+    private final InventoryList inventoryList = new InventoryList();
+
+    //====================== INITIALISEURS ==========================
+    @FXML
+    private void initialize() {
+        dialogListView.setItems(dialogLog);
+        dialogListView.setCellFactory(list -> new ListCell<>() {
+            {
+                setWrapText(true);
+                prefWidthProperty().bind(list.widthProperty().subtract(20));
+                setMaxWidth(Control.USE_PREF_SIZE);
+            }
+
+            @Override
+            protected void updateItem(String message, boolean empty) {
+                super.updateItem(message, empty);
+                setText(empty ? null : message);
+            }
+        });
+
+        inventoryListView.setItems(inventoryList);
+        inventoryListView.setCellFactory(list -> new ListCell<>() {
+            @Override
+            protected void updateItem(Item item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty || item == null ? null : item.getTag());
+            }
+        });
+    }
+
     //====================== GETTERS ==========================
     public HBox getSceneHBox() { return sceneHBox; }
 
     // -------- Le panneau gauche (panneau de la map):
     public Button getZoomPlusButton() { return zoomPlusButton; }
     public Button getZoomMinusButton() { return zoomMinusButton; }
+    public ComboBox<Integer> getTravelComboBox() { return travelComboBox; }
     public Label getRoomLabel() { return roomLabel; }
     public Pane getMapPane() {
         return mapPane;
@@ -59,11 +101,16 @@ public class GameView extends HBox implements MessageListener
     public ImageView getActorImageView() { return actorImageView; }
     public HBox getActorBtnHBox() { return actorBtnHBox; }
     public Button getAttackButton() { return attackButton; }
-    public TextArea getDialogTextArea() { return dialogTextArea; }
+    public ListView<String> getDialogListView() { return dialogListView; }
+    public MessageLogList getDialogLog() { return dialogLog; }
     public Button getSaveButton() { return saveButton; }
     public Button getHelpButton() { return helpButton; }
     public Button getLoadButton() { return loadButton; }
-    public VBox getInventoryVBox() { return inventoryVBox; }
+    public Button getUndoButton() { return undoButton; }
+    public Button getRedoButton() { return redoButton; }
+    public ProgressBar getSaveProgressBar() { return saveProgressBar; }
+    public ListView<Item> getInventoryListView() { return inventoryListView; }
+    public InventoryList getInventoryList() { return inventoryList; }
     public Button getGiveButton() { return giveButton; }
     public Button getLookButton() { return lookButton; }
     public Button getDropButton() { return dropButton; }
@@ -93,10 +140,19 @@ public class GameView extends HBox implements MessageListener
 
 
     //====================== AUTRES ==========================
+    // Un message est ajouté au bout de l'historique (sans recopier les précédents), qui défile jusqu'à lui:
     @Override
     public void handle(String message) {
-        dialogTextArea.setText(dialogTextArea.getText() + "\n\n" + message);
-        dialogTextArea.selectPositionCaret(dialogTextArea.getLength());
-        dialogTextArea.deselect();
+        dialogLog.append(message);
+        dialogListView.scrollTo(dialogLog.size() - 1);
+    }
+
+    // Tous les messages d'un tour sont ajoutés en une seule mise à jour de la liste:
+    @Override
+    public void handleAll(List<String> messages) {
+        dialogLog.appendAll(messages);
+
+        if(!dialogLog.isEmpty())
+            dialogListView.scrollTo(dialogLog.size() - 1);
     }
 }
@@ -0,0 +1,103 @@
+package silent_in_space.view;
+
+import javafx.collections.ObservableListBase;
+import silent_in_space.model.Containers.Inventory;
+import silent_in_space.model.Game.GameEventListener;
+import silent_in_space.model.Items.Item;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+
+/* -----------------------------------------------------------------------------
+ * Liste observable du contenu d'un inventaire:
+ *
+ * Rôle: Présente un inventaire du modèle à une ListView et le suit par les
+ * événements du modèle (cf. GameEvents): un objet qui arrive ou qui part
+ * n'ajoute ou ne retire qu'un élément, et la ListView n'est prévenue que de ce
+ * changement (elle ne reconstruit que la cellule concernée si elle est visible).
+ * La place de chaque objet est notée (INDEX): un objet qui part est remplacé par
+ * le dernier de la liste, sans parcours ni décalage, quel que soit le nombre
+ * d'objets.
+ *
+ * follow() relit tout l'inventaire en une seule notification, quand l'état du
+ * modèle a été remplacé sans événements (chargement d'une sauvegarde, undo...).
+ * ----------------------------------------------------------------------------- */
+
+public class InventoryList extends ObservableListBase<Item> implements GameEventListener {
+    private final ArrayList<Item> items = new ArrayList<>();
+    private final IdentityHashMap<Item, Integer> INDEX = new IdentityHashMap<>();
+    private Inventory inventory;
+
+    public Inventory getInventory() { return inventory; }
+
+    @Override
+    public Item get(int index) { return items.get(index); }
+
+    @Override
+    public int size() { return items.size(); }
+
+    // Suit inventory à partir de maintenant: la liste est remplacée par son contenu actuel
+    public void follow(Inventory inventory) {
+        this.inventory = inventory;
+
+        beginChange();
+        nextRemove(0, new ArrayList<>(items));
+        items.clear();
+        INDEX.clear();
+
+        if (inventory != null) {
+            for (Item item : inventory.getItems()) {
+                INDEX.put(item, items.size());
+                items.add(item);
+            }
+        }
+
+        nextAdd(0, items.size());
+        endChange();
+    }
+
+    @Override
+    public void itemMoved(Item item, Inventory from, Inventory to) {
+        if (inventory == null || from == to)
+            return;
+
+        if (from == inventory)
+            removeItem(item);
+
+        if (to == inventory)
+            addItem(item);
+    }
+
+    private void addItem(Item item) {
+        if (INDEX.containsKey(item))
+            return;
+
+        beginChange();
+        INDEX.put(item, items.size());
+        items.add(item);
+        nextAdd(items.size() - 1, items.size());
+        endChange();
+    }
+
+    // Le dernier objet prend la place de celui qui part: une seule cellule change en plus de la dernière
+    private void removeItem(Item item) {
+        Integer index = INDEX.remove(item);
+
+        if (index == null)
+            return;
+
+        int last = items.size() - 1;
+        Item moved = items.remove(last);
+
+        beginChange();
+
+        if (index != last) {
+            items.set(index, moved);
+            INDEX.put(moved, index);
+            nextSet(index, item);
+        }
+
+        nextRemove(last, moved);
+        endChange();
+    }
+}
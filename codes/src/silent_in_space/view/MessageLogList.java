@@ -0,0 +1,52 @@
+package silent_in_space.view;
+
+import javafx.collections.ObservableListBase;
+import silent_in_space.model.Game.MessageLog;
+
+import java.util.List;
+
+/* -----------------------------------------------------------------------------
+ * Liste observable des messages de la partie:
+ *
+ * Rôle: Présente un MessageLog à une ListView sans en recopier le contenu: la
+ * ListView ne demande que les messages des cellules visibles (ceux de la fin
+ * sont en mémoire, les plus anciens relus depuis le fichier du MessageLog) et
+ * n'est prévenue que des messages ajoutés.
+ * ----------------------------------------------------------------------------- */
+
+public class MessageLogList extends ObservableListBase<String> {
+    private final MessageLog log;
+
+    public MessageLogList(MessageLog log) { this.log = log; }
+
+    public MessageLog getLog() { return log; }
+
+    @Override
+    public String get(int index) { return log.get(index); }
+
+    @Override
+    public int size() { return log.size(); }
+
+    // Ajout d'un message: la ListView n'en est prévenue qu'une fois
+    public void append(String message) {
+        beginChange();
+        log.append(message);
+        nextAdd(log.size() - 1, log.size());
+        endChange();
+    }
+
+    // Ajout des messages d'un tour, en une seule notification
+    public void appendAll(List<String> messages) {
+        if (messages.isEmpty())
+            return;
+
+        beginChange();
+        int from = log.size();
+
+        for (String message : messages)
+            log.append(message);
+
+        nextAdd(from, log.size());
+        endChange();
+    }
+}
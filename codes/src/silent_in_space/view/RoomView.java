@@ -3,28 +3,58 @@ package silent_in_space.view;
 import javafx.geometry.HPos;
 import javafx.geometry.VPos;
 import javafx.scene.Node;
+import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.Region;
 import javafx.scene.shape.Shape;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
-import java.util.Random;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/* -----------------------------------------------------------------------------
+ * Vue d'une pièce:
+ *
+ * Rôle: Grille de la pièce affichée, construite une fois et gardée d'une pièce à
+ * l'autre. Chaque rendu (beginRender(), render() pour chaque élément du modèle,
+ * endRender()) compare le modèle à ce qui est à l'écran: un élément déjà dessiné
+ * est seulement déplacé, les autres sont ajoutés et ceux qui ne sont plus dans
+ * le modèle retirés. Les formes retirées sont gardées (par classe) pour resservir.
+ *
+ * Un seul filtre sur la grille reçoit les clics sur tous ses éléments: la forme
+ * touchée est retrouvée par l'index forme -> étiquette, et l'étiquette est donnée
+ * à onElementPressed avant les gestionnaires propres à la forme.
+ * ----------------------------------------------------------------------------- */
 
 public class RoomView extends GridPane {
 
+    //Les cases libres sont tenues par le modèle (cf. Room.getOccupancy()): la vue ne fait que dessiner
     private final LinkedHashMap<String, Shape> gameElementViews = new LinkedHashMap<>();
-    private boolean[][] availablePos;
     private final int nbCol;
     private final int nbLignes;
-    private final Random randGen = new Random();
+
+    //Formes retirées prêtes à resservir (au plus une par case et par classe), et étiquettes du rendu en cours:
+    private final HashMap<Class<?>, ArrayDeque<Shape>> shapePool = new HashMap<>();
+    private final HashSet<String> rendered = new HashSet<>();
+
+    //Étiquette de chaque forme affichée (l'inverse de gameElementViews), et destinataire des clics délégués:
+    private final IdentityHashMap<Node, String> shapeTags = new IdentityHashMap<>();
+    private BiConsumer<String, MouseEvent> onElementPressed;
 
     // ======================== CONSTRUCTORS/INITIALIZERS ============================
     public RoomView(int nbCol, int nbLignes) {
-        availablePos = new boolean[nbCol][nbLignes];
         this.nbCol = nbCol;
         this.nbLignes = nbLignes;
 
         initRoom(nbCol, nbLignes);
         initStyle();
+        addEventFilter(MouseEvent.MOUSE_PRESSED, this::elementPressed);
     }
 
     // Création de pièce
@@ -35,11 +65,8 @@ public class RoomView extends GridPane {
                 ressort.setMinSize(25, 25);
                 ressort.setMaxSize(25, 25);
                 add(ressort, i, j);
-                availablePos[i][j] = true;
             }
         }
-
-        availablePos[nbCol/2][nbLignes/2] = false;
     }
 
     private void initStyle() {
@@ -54,54 +81,117 @@ public class RoomView extends GridPane {
     public int getNbLignes() { return nbLignes; }
 
 
-    public String getTag(Shape shape) {
-        for (String tag : gameElementViews.keySet()) {
-            if (gameElementViews.get(tag).equals(shape)) {
-                return tag;
-            }
-        }
-        return null;
-    }
+    public String getTag(Shape shape) { return shapeTags.get(shape); }
 
-    public int[] getRandPos() {
-        while(true) {
-            int col = randGen.nextInt(nbCol);
-            int ligne = randGen.nextInt(nbLignes);
-            if (availablePos[col][ligne]) {
-                return new int[]{col, ligne};
-            }
-        }
-    }
+    // Étiquette de l'élément touché par le clic e (null si le clic est tombé sur une case vide)
+    public String pick(MouseEvent e) {
+        Node node = e.getPickResult().getIntersectedNode();
 
-    // ============================== PREDICATS ========================================
-    public boolean isAvailablePos(int colIndex, int LigneIndex) { return availablePos[colIndex][LigneIndex]; }
+        while (node != null && node.getParent() != this)
+            node = node.getParent();
+
+        return node == null ? null : shapeTags.get(node);
+    }
 
     // =========================== SETTERS/UNSETTERS ===================================
 
+    // handler reçoit l'étiquette de chaque élément cliqué et le clic, avant les gestionnaires de sa forme
+    public void setOnElementPressed(BiConsumer<String, MouseEvent> handler) { onElementPressed = handler; }
+
     // Ajout d'un élement dans la pièce a un endroit precis avec un tag
     public void addInRoom(Shape gameElementView, String viewTag, int colIndex, int ligneIndex, String align) {
         gameElementViews.put(viewTag, gameElementView);
+        shapeTags.put(gameElementView, viewTag);
         alignInRoom(gameElementView, align);
         add(gameElementView, colIndex, ligneIndex);
-        availablePos[colIndex][ligneIndex] = false;
     }
 
-    // Suppresion d'un element dans la pièce grace à un tag
+    // Suppresion d'un element dans la pièce grace à un tag (sa forme est gardée pour resservir)
     public void removeFromRoom(String viewTag) {
-        Node nodeToRemove = gameElementViews.get(viewTag);
-        int colIndex = GridPane.getRowIndex(nodeToRemove);
-        int rowIndex = GridPane.getColumnIndex(nodeToRemove);
+        release(gameElementViews.remove(viewTag));
+    }
+
+    // =============================== RENDU ============================================
+
+    public void beginRender() { rendered.clear(); }
+
+    // L'élément viewTag doit être une forme de la classe kind sur la case (colIndex, ligneIndex): celle déjà à
+    // l'écran est seulement déplacée, sinon une forme gardée resert (ou factory en crée une)
+    public <T extends Shape> T render(String viewTag, Class<T> kind, Supplier<T> factory, int colIndex, int ligneIndex, String align) {
+        Shape shape = gameElementViews.get(viewTag);
+
+        if (!kind.isInstance(shape)) {
+            ArrayDeque<Shape> pool = shapePool.get(kind);
+            shape = pool != null && !pool.isEmpty() ? pool.pop() : factory.get();
+        }
+
+        render(viewTag, shape, colIndex, ligneIndex, align);
+        return kind.cast(shape);
+    }
+
+    // L'élément viewTag doit être la forme shape sur la case (colIndex, ligneIndex)
+    public void render(String viewTag, Shape shape, int colIndex, int ligneIndex, String align) {
+        rendered.add(viewTag);
+
+        if (gameElementViews.get(viewTag) == shape) {
+            GridPane.setColumnIndex(shape, colIndex);
+            GridPane.setRowIndex(shape, ligneIndex);
+            alignInRoom(shape, align);
+        }
+        else {
+            removeFromRoom(viewTag);
+            addInRoom(shape, viewTag, colIndex, ligneIndex, align);
+        }
+    }
+
+    // Retire les éléments de la classe kind qui n'ont pas été rendus depuis beginRender()
+    public void endRender(Class<? extends Shape> kind) {
+        Iterator<Map.Entry<String, Shape>> it = gameElementViews.entrySet().iterator();
+
+        while (it.hasNext()) {
+            Map.Entry<String, Shape> e = it.next();
+
+            if (kind.isInstance(e.getValue()) && !rendered.contains(e.getKey())) {
+                it.remove();
+                release(e.getValue());
+            }
+        }
+    }
+
+    public void endRender() { endRender(Shape.class); }
+
+    private void release(Shape shape) {
+        if (shape == null)
+            return;
+
+        getChildren().remove(shape);
+        shapeTags.remove(shape);
+        shape.setOnMousePressed(null);
 
-        getChildren().remove(gameElementViews.get(viewTag));
-        gameElementViews.remove(viewTag);
-        availablePos[colIndex][rowIndex] = true;
+        ArrayDeque<Shape> pool = shapePool.computeIfAbsent(shape.getClass(), k -> new ArrayDeque<>());
+        if (pool.size() < nbCol * nbLignes)
+            pool.push(shape);
     }
 
 
     // ================================= OTHERS =========================================
 
+    private void elementPressed(MouseEvent e) {
+        if (onElementPressed == null)
+            return;
+
+        String viewTag = pick(e);
+
+        if (viewTag != null)
+            onElementPressed.accept(viewTag, e);
+    }
+
     // Fonction gérant l'alignement dans une piece
     public void alignInRoom(Node nodeToAlign, String align) {
+        //Une forme qui resservirait garderait sinon l'alignement de son ancienne place:
+        GridPane.setValignment(nodeToAlign, null);
+        GridPane.setHalignment(nodeToAlign, null);
+
         switch (align) {
             case "TOP" -> GridPane.setValignment(nodeToAlign, VPos.TOP);
             case "RIGHT" -> GridPane.setHalignment(nodeToAlign, HPos.RIGHT);